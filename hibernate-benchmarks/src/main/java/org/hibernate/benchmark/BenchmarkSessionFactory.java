@@ -0,0 +1,129 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.benchmark.model.Owner;
+import org.hibernate.benchmark.model.WideEntity;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+
+/**
+ * Builds the SessionFactory shared by the benchmarks: the benchmark model mapped against an in-memory H2
+ * database, populated with a fixed data set so that results are comparable between runs.
+ */
+public final class BenchmarkSessionFactory {
+	/**
+	 * The number of owners; the entities are evenly spread over them.
+	 */
+	public static final int OWNER_COUNT = 10;
+
+	private BenchmarkSessionFactory() {
+	}
+
+	/**
+	 * Builds the SessionFactory and inserts {@code entityCount} {@link WideEntity} rows.
+	 *
+	 * @param entityCount The number of entities to insert
+	 * @param secondLevelCache Whether to enable the second-level cache
+	 *
+	 * @return The SessionFactory
+	 */
+	public static SessionFactoryImplementor build(int entityCount, boolean secondLevelCache) {
+		final Map<String,Object> settings = new HashMap<String,Object>();
+		settings.put( AvailableSettings.DRIVER, "org.h2.Driver" );
+		// a distinct database per factory, as several states may be alive in the same fork
+		settings.put( AvailableSettings.URL, "jdbc:h2:mem:bench" + System.identityHashCode( settings ) + ";DB_CLOSE_DELAY=-1" );
+		settings.put( AvailableSettings.USER, "sa" );
+		settings.put( AvailableSettings.PASS, "" );
+		settings.put( AvailableSettings.DIALECT, "org.hibernate.dialect.H2Dialect" );
+		settings.put( AvailableSettings.HBM2DDL_AUTO, "create-drop" );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "50" );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, Boolean.toString( secondLevelCache ) );
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "false" );
+		if ( secondLevelCache ) {
+			settings.put( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() );
+		}
+
+		final StandardServiceRegistry serviceRegistry = new StandardServiceRegistryBuilder()
+				.applySettings( settings )
+				.build();
+		final SessionFactory sessionFactory = new MetadataSources( serviceRegistry )
+				.addAnnotatedClass( Owner.class )
+				.addAnnotatedClass( WideEntity.class )
+				.buildMetadata()
+				.buildSessionFactory();
+
+		populate( sessionFactory, entityCount );
+		return (SessionFactoryImplementor) sessionFactory;
+	}
+
+	private static void populate(SessionFactory sessionFactory, int entityCount) {
+		final Session session = sessionFactory.openSession();
+		try {
+			session.beginTransaction();
+			final Owner[] owners = new Owner[OWNER_COUNT];
+			for ( int i = 0; i < OWNER_COUNT; i++ ) {
+				owners[i] = new Owner( (long) i, "owner-" + i );
+				session.persist( owners[i] );
+			}
+			for ( long i = 0; i < entityCount; i++ ) {
+				session.persist( new WideEntity( i, owners[(int) ( i % OWNER_COUNT )] ) );
+				if ( i % 50 == 0 ) {
+					session.flush();
+					session.clear();
+					for ( int j = 0; j < OWNER_COUNT; j++ ) {
+						owners[j] = (Owner) session.load( Owner.class, (long) j );
+					}
+				}
+			}
+			session.getTransaction().commit();
+		}
+		finally {
+			session.close();
+		}
+		// do not let the population skew the cache benchmarks
+		sessionFactory.getCache().evictAllRegions();
+	}
+
+	/**
+	 * Closes the SessionFactory (which drops the schema).
+	 *
+	 * @param sessionFactory The SessionFactory to close, may be {@code null}
+	 */
+	public static void close(SessionFactory sessionFactory) {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.WideEntity;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.internal.DefaultFlushEntityEventListener;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.FlushEntityEvent;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the dirty checking done by {@link DefaultFlushEntityEventListener} for all entities of a
+ * persistence context, isolated from the rest of the flush.
+ * <p/>
+ * The update actions scheduled for dirty entities are discarded after each invocation; the entities' loaded
+ * state is never updated, so every invocation checks the same state.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class DirtyCheckingBenchmark {
+	@Param( { "100", "1000" } )
+	private int entityCount;
+
+	@Param( { "false", "true" } )
+	private boolean dirty;
+
+	private SessionFactoryImplementor sessionFactory;
+	private Session session;
+	private Map.Entry<Object,EntityEntry>[] entries;
+	private DefaultFlushEntityEventListener listener;
+
+	@Setup( Level.Trial )
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		sessionFactory = BenchmarkSessionFactory.build( entityCount, false );
+		session = sessionFactory.openSession();
+		session.beginTransaction();
+		for ( WideEntity entity : (Iterable<WideEntity>) session.createQuery( "from WideEntity" ).list() ) {
+			if ( dirty ) {
+				entity.setName( entity.getName() + '*' );
+			}
+		}
+		entries = ( (EventSource) session ).getPersistenceContext().reentrantSafeEntityEntries();
+		listener = new DefaultFlushEntityEventListener();
+	}
+
+	@TearDown( Level.Trial )
+	public void tearDown() {
+		session.getTransaction().rollback();
+		session.close();
+		BenchmarkSessionFactory.close( sessionFactory );
+	}
+
+	@Benchmark
+	public void dirtyCheck(Blackhole blackhole) {
+		final EventSource source = (EventSource) session;
+		for ( Map.Entry<Object,EntityEntry> entry : entries ) {
+			final FlushEntityEvent event = new FlushEntityEvent( source, entry.getKey(), entry.getValue() );
+			listener.onFlushEntity( event );
+			blackhole.consume( event.getDirtyProperties() );
+		}
+		source.getActionQueue().clear();
+	}
+}
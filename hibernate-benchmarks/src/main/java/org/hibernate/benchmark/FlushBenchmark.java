@@ -0,0 +1,102 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.WideEntity;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Session#flush()} with a number of managed entities, which are either all clean or all dirty.
+ * <p/>
+ * A fresh Session is prepared for each invocation (outside of the measurement), the transaction is rolled back
+ * afterwards so that every invocation flushes the same state.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class FlushBenchmark {
+	@Param( { "100", "1000" } )
+	private int entityCount;
+
+	@Param( { "false", "true" } )
+	private boolean dirty;
+
+	private SessionFactoryImplementor sessionFactory;
+	private Session session;
+
+	@Setup( Level.Trial )
+	public void buildSessionFactory() {
+		sessionFactory = BenchmarkSessionFactory.build( entityCount, false );
+	}
+
+	@TearDown( Level.Trial )
+	public void closeSessionFactory() {
+		BenchmarkSessionFactory.close( sessionFactory );
+	}
+
+	@Setup( Level.Invocation )
+	@SuppressWarnings("unchecked")
+	public void openSession() {
+		session = sessionFactory.openSession();
+		session.beginTransaction();
+		final List<WideEntity> entities = session.createQuery( "from WideEntity" ).list();
+		if ( dirty ) {
+			for ( WideEntity entity : entities ) {
+				entity.setQuantity( entity.getQuantity() + 1 );
+			}
+		}
+	}
+
+	@TearDown( Level.Invocation )
+	public void closeSession() {
+		session.getTransaction().rollback();
+		session.close();
+	}
+
+	@Benchmark
+	public void flush() {
+		session.flush();
+	}
+}
@@ -0,0 +1,85 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Filter;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link QueryPlanCache#getHQLQueryPlan}, both for a query which has to be translated (cold) and for
+ * a query which is already cached (warm).
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class QueryPlanCacheBenchmark {
+	private static final String HQL = "select w from WideEntity w join w.owner o "
+			+ "where w.name like :name and w.quantity > :quantity and o.name = :owner "
+			+ "order by w.modified desc";
+
+	private SessionFactoryImplementor sessionFactory;
+
+	@Setup( Level.Trial )
+	public void buildSessionFactory() {
+		sessionFactory = BenchmarkSessionFactory.build( 0, false );
+		// make sure the warm benchmark measures cache hits only
+		sessionFactory.getQueryPlanCache().getHQLQueryPlan( HQL, false, Collections.<String,Filter>emptyMap() );
+	}
+
+	@TearDown( Level.Trial )
+	public void closeSessionFactory() {
+		BenchmarkSessionFactory.close( sessionFactory );
+	}
+
+	@Benchmark
+	public HQLQueryPlan cold() {
+		return new QueryPlanCache( sessionFactory ).getHQLQueryPlan( HQL, false, Collections.<String,Filter>emptyMap() );
+	}
+
+	@Benchmark
+	public HQLQueryPlan warm() {
+		return sessionFactory.getQueryPlanCache().getHQLQueryPlan( HQL, false, Collections.<String,Filter>emptyMap() );
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.WideEntity;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures second-level cache reads and writes through the {@link EntityRegionAccessStrategy} of an entity,
+ * using the cache keys and (structured) cache entries Hibernate itself would use.
+ * <p/>
+ * A read-write strategy refuses to overwrite an unversioned entry, so the put benchmark evicts the entry first.
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 5, time = 1 )
+@Measurement( iterations = 10, time = 1 )
+@Fork( 2 )
+public class SecondLevelCacheBenchmark {
+	@Param( { "1000" } )
+	private int entityCount;
+
+	private SessionFactoryImplementor sessionFactory;
+	private EntityRegionAccessStrategy accessStrategy;
+	private CacheKey[] keys;
+	private Object[] entries;
+	private long txTimestamp;
+	private int position;
+
+	@Setup( Level.Trial )
+	@SuppressWarnings("unchecked")
+	public void setUp() {
+		sessionFactory = BenchmarkSessionFactory.build( entityCount, true );
+		final EntityPersister persister = sessionFactory.getEntityPersister( WideEntity.class.getName() );
+		accessStrategy = persister.getCacheAccessStrategy();
+
+		final Session session = sessionFactory.openSession();
+		try {
+			final SessionImplementor sessionImplementor = (SessionImplementor) session;
+			final List<WideEntity> entities = session.createQuery( "from WideEntity" ).list();
+			keys = new CacheKey[entities.size()];
+			entries = new Object[entities.size()];
+			for ( int i = 0; i < keys.length; i++ ) {
+				final WideEntity entity = entities.get( i );
+				final EntityEntry entityEntry = sessionImplementor.getPersistenceContext().getEntry( entity );
+				keys[i] = sessionImplementor.generateCacheKey(
+						entity.getId(),
+						persister.getIdentifierType(),
+						persister.getRootEntityName()
+				);
+				entries[i] = persister.getCacheEntryStructure().structure(
+						persister.buildCacheEntry( entity, entityEntry.getLoadedState(), null, sessionImplementor )
+				);
+			}
+		}
+		finally {
+			session.close();
+		}
+
+		sessionFactory.getCache().evictAllRegions();
+		final long putTimestamp = sessionFactory.getSettings().getRegionFactory().nextTimestamp();
+		for ( int i = 0; i < keys.length; i++ ) {
+			accessStrategy.putFromLoad( keys[i], entries[i], putTimestamp, null );
+		}
+		txTimestamp = sessionFactory.getSettings().getRegionFactory().nextTimestamp();
+	}
+
+	@TearDown( Level.Trial )
+	public void closeSessionFactory() {
+		BenchmarkSessionFactory.close( sessionFactory );
+	}
+
+	private int next() {
+		if ( ++position == keys.length ) {
+			position = 0;
+		}
+		return position;
+	}
+
+	@Benchmark
+	public Object get() {
+		return accessStrategy.get( keys[next()], txTimestamp );
+	}
+
+	@Benchmark
+	public boolean evictAndPutFromLoad() {
+		final int i = next();
+		accessStrategy.evict( keys[i] );
+		return accessStrategy.putFromLoad( keys[i], entries[i], txTimestamp, null );
+	}
+}
@@ -0,0 +1,126 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.benchmark.model;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+/**
+ * An entity with a fair number of basic columns, so that hydration and dirty checking costs dominate.
+ */
+@Entity
+@Cacheable
+@Cache( usage = CacheConcurrencyStrategy.READ_WRITE )
+public class WideEntity {
+	@Id
+	private Long id;
+
+	@ManyToOne( fetch = FetchType.LAZY )
+	private Owner owner;
+
+	private String name;
+	private String description;
+	private String code;
+	private String category;
+	private String street;
+	private String city;
+	private String country;
+	private int quantity;
+	private int rating;
+	private long total;
+	private long views;
+	private double weight;
+	private BigDecimal price;
+	private boolean active;
+	@Temporal( TemporalType.TIMESTAMP )
+	private Date created;
+	@Temporal( TemporalType.TIMESTAMP )
+	private Date modified;
+
+	public WideEntity() {
+	}
+
+	public WideEntity(Long id, Owner owner) {
+		this.id = id;
+		this.owner = owner;
+		this.name = "name-" + id;
+		this.description = "description of entity " + id;
+		this.code = "C" + id;
+		this.category = "category-" + ( id % 10 );
+		this.street = id + " Main Street";
+		this.city = "city-" + ( id % 100 );
+		this.country = "country-" + ( id % 20 );
+		this.quantity = (int) ( id % 1000 );
+		this.rating = (int) ( id % 5 );
+		this.total = id * 100;
+		this.views = id * 7;
+		this.weight = id / 3d;
+		this.price = BigDecimal.valueOf( id, 2 );
+		this.active = id % 2 == 0;
+		this.created = new Date( 1000000000000L + id );
+		this.modified = created;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public Owner getOwner() {
+		return owner;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(int quantity) {
+		this.quantity = quantity;
+	}
+
+	public Date getModified() {
+		return modified;
+	}
+
+	public void setModified(Date modified) {
+		this.modified = modified;
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+import java.util.Iterator;
+
+/**
+ * A forward-only stream over all instances of an entity, obtained from
+ * {@link StatelessSession#stream(Class)}.
+ * <p/>
+ * Whenever the mapping allows it, instances are built straight from the JDBC
+ * <tt>ResultSet</tt>: each column value is written into the new instance as it is
+ * read, without going through the hydrated state of the regular loaders and
+ * without registering anything in a persistence context.  Collection attributes
+ * are left unset.  Other mappings (entities with subclasses, for example) fall back
+ * to a forward-only scroll of an HQL query.
+ * <p/>
+ * The underlying cursor is opened by the first call to {@link #hasNext()},
+ * {@link #next()} or {@link #forEach}, and closed as soon as the last instance
+ * has been read, or by {@link #close()}.
+ *
+ * @param <T> The entity type
+ */
+public interface EntityStream<T> extends Iterator<T> {
+	/**
+	 * Set the JDBC fetch size of the underlying statement.  Must be called before the stream is opened.
+	 *
+	 * @param fetchSize The fetch size
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public EntityStream<T> setFetchSize(int fetchSize);
+
+	/**
+	 * Pass every remaining instance to the given handler, then close the stream (even if the handler fails).
+	 *
+	 * @param handler The handler
+	 *
+	 * @return The number of instances handled
+	 */
+	public long forEach(EntityStreamHandler<? super T> handler);
+
+	/**
+	 * Release the underlying JDBC resources.  Calling this method more than once has no effect.
+	 */
+	public void close();
+}
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2012, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Loads multiple instances of an entity by their primary identifiers.
+ * <p/>
+ * Instances already associated with the session are returned as they are; the others are looked up in the
+ * second-level cache, when enabled for the entity.  Only the remaining ones are loaded from the database, through
+ * SQL selects restricting the identifier with an {@code IN} list of up to {@link #withBatchSize batch size}
+ * values.
+ */
+public interface MultiIdentifierLoadAccess {
+	/**
+	 * Specify the {@link LockOptions} to use when retrieving the entities.
+	 *
+	 * @param lockOptions The lock options to use.
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess with(LockOptions lockOptions);
+
+	/**
+	 * Specify the maximum number of identifiers to load through a single SQL select.  By default, the limit the
+	 * {@link org.hibernate.dialect.Dialect} places on the number of elements in an {@code IN} predicate is used.
+	 *
+	 * @param batchSize The maximum number of identifiers per SQL select
+	 *
+	 * @return {@code this}, for method chaining
+	 */
+	public MultiIdentifierLoadAccess withBatchSize(int batchSize);
+
+	/**
+	 * Return the persistent instances with the given identifiers.  The returned list has the same size as the
+	 * given identifiers, each instance being at the position of its identifier; the positions of the identifiers
+	 * without persistent instance hold {@code null}.  As with {@link IdentifierLoadAccess#load}, no uninitialized
+	 * instance is returned.
+	 *
+	 * @param ids The identifiers
+	 *
+	 * @return The persistent instances, in the order of the identifiers
+	 */
+	public List multiLoad(Serializable... ids);
+
+	/**
+	 * Return the persistent instances with the given identifiers.
+	 *
+	 * @param ids The identifiers
+	 *
+	 * @return The persistent instances, in the order of the identifiers
+	 *
+	 * @see #multiLoad(Serializable...)
+	 */
+	public List multiLoad(List<? extends Serializable> ids);
+}
@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate;
+
+/**
+ * A HQL query prepared once through {@link SessionFactory#prepareQuery}, for repeated execution through
+ * {@link SharedSessionContract#createQuery(QueryHandle)}.
+ * <p/>
+ * Creating a query from a handle neither looks up the query plan cache nor recomputes the parameter metadata.
+ * The plan of a prepared query is kept for the life of the SessionFactory; it is not subject to the eviction
+ * of the query plan cache.
+ */
+public interface QueryHandle {
+	/**
+	 * The HQL query string this handle was prepared for.
+	 *
+	 * @return The query string
+	 */
+	public String getQueryString();
+}
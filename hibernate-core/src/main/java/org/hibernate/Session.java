@@ -804,6 +804,30 @@ public interface Session extends SharedSessionContract {
 	 */
 	public IdentifierLoadAccess byId(Class entityClass);
 
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} instance to retrieve multiple instances of the specified entity
+	 * type by primary key.
+	 *
+	 * @param entityName The entity name of the entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by primary keys
+	 *
+	 * @throws HibernateException If the specified entity name cannot be resolved as an entity name
+	 */
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName);
+
+	/**
+	 * Create a {@link MultiIdentifierLoadAccess} instance to retrieve multiple instances of the specified entity
+	 * by primary key.
+	 *
+	 * @param entityClass The entity type to be retrieved
+	 *
+	 * @return load delegate for loading the specified entity type by primary keys
+	 *
+	 * @throws HibernateException If the specified Class cannot be resolved as a mapped entity
+	 */
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass);
+
 	/**
 	 * Create an {@link NaturalIdLoadAccess} instance to retrieve the specified entity by
 	 * its natural id.
@@ -225,6 +225,19 @@ public interface SessionFactory extends Referenceable, Serializable {
 	 */
 	public Statistics getStatistics();
 
+	/**
+	 * Prepare the given HQL query once for repeated execution through
+	 * {@link SharedSessionContract#createQuery(QueryHandle)}.  Preparing the same query string again returns
+	 * the same handle.
+	 *
+	 * @param queryString The HQL query
+	 *
+	 * @return The handle of the prepared query
+	 *
+	 * @throws QueryException Indicates a problem translating the query
+	 */
+	public QueryHandle prepareQuery(String queryString);
+
 	/**
 	 * Destroy this <tt>SessionFactory</tt> and release all resources (caches,
 	 * connection pools, etc).
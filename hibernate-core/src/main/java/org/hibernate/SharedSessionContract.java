@@ -77,6 +77,15 @@ public interface SharedSessionContract extends Serializable {
 	 */
 	public Query createQuery(String queryString);
 
+	/**
+	 * Create a {@link Query} instance for the given prepared HQL query.
+	 *
+	 * @param queryHandle The handle returned by {@link SessionFactory#prepareQuery}
+	 *
+	 * @return The query instance for manipulation and execution
+	 */
+	public Query createQuery(QueryHandle queryHandle);
+
 	/**
 	 * Create a {@link SQLQuery} instance for the given SQL query string.
 	 *
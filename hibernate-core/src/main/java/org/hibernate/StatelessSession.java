@@ -171,6 +171,25 @@ public interface StatelessSession extends SharedSessionContract {
 	 */
 	public void refresh(String entityName, Object entity, LockMode lockMode);
 
+	/**
+	 * Stream all instances of the given entity, for exports and other bulk reads which would not fit in memory.
+	 *
+	 * @param entityClass The class of the entity to stream
+	 * @param <T> The entity type
+	 *
+	 * @return The (not yet opened) stream
+	 */
+	public <T> EntityStream<T> stream(Class<T> entityClass);
+
+	/**
+	 * Stream all instances of the given entity, for exports and other bulk reads which would not fit in memory.
+	 *
+	 * @param entityName The name of the entity to stream
+	 *
+	 * @return The (not yet opened) stream
+	 */
+	public EntityStream<Object> stream(String entityName);
+
 	/**
 	 * Returns the current JDBC connection associated with this
 	 * instance.<br>
@@ -187,7 +187,7 @@ public abstract class EntityAction
 		if ( session != null ) {
 			this.session = session;
 			this.persister = session.getFactory().getEntityPersister( entityName );
-			this.instance = session.getPersistenceContext().getEntity( session.generateEntityKey( id, persister ) );
+			this.instance = session.getPersistenceContext().getEntity( persister, id );
 		}
 	}
 
@@ -554,6 +554,7 @@ public class MetadataBuilderImpl implements MetadataBuilder, TypeContributions {
 		private boolean implicitlyForceDiscriminatorInSelect;
 		private boolean useNationalizedCharacterData;
 		private boolean specjProprietarySyntaxEnabled;
+		private String metadataCacheDirectory;
 		private ArrayList<MetadataSourceType> sourceProcessOrdering;
 
 		private HashMap<String,SQLFunction> sqlFunctionMap;
@@ -663,6 +664,11 @@ public class MetadataBuilderImpl implements MetadataBuilder, TypeContributions {
 					false
 			);
 
+			metadataCacheDirectory = configService.getSetting(
+					AvailableSettings.BOOTSTRAP_METADATA_CACHE_DIRECTORY,
+					StandardConverters.STRING
+			);
+
 			implicitNamingStrategy = strategySelector.resolveDefaultableStrategy(
 					ImplicitNamingStrategy.class,
 					configService.getSettings().get( AvailableSettings.IMPLICIT_NAMING_STRATEGY ),
@@ -855,6 +861,15 @@ public class MetadataBuilderImpl implements MetadataBuilder, TypeContributions {
 			return sourceProcessOrdering;
 		}
 
+		/**
+		 * The directory in which the built Metadata is cached, if any.
+		 *
+		 * @see AvailableSettings#BOOTSTRAP_METADATA_CACHE_DIRECTORY
+		 */
+		public String getMetadataCacheDirectory() {
+			return metadataCacheDirectory;
+		}
+
 		@Override
 		public Map<String, SQLFunction> getSqlFunctions() {
 			return sqlFunctionMap == null ? Collections.<String, SQLFunction>emptyMap() : sqlFunctionMap;
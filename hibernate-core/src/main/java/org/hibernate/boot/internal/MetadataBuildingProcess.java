@@ -23,6 +23,7 @@
  */
 package org.hibernate.boot.internal;
 
+import java.io.File;
 import java.lang.reflect.Constructor;
 import java.util.Collection;
 import java.util.HashSet;
@@ -84,6 +85,27 @@ public class MetadataBuildingProcess {
 	public static MetadataImpl build(
 			final MetadataSources sources,
 			final MetadataBuildingOptionsImpl options) {
+		if ( options.getMetadataCacheDirectory() == null ) {
+			return doBuild( sources, options );
+		}
+
+		final MetadataCache metadataCache = new MetadataCache( new File( options.getMetadataCacheDirectory() ), options );
+		final String key = metadataCache.determineKey( sources );
+		if ( key == null ) {
+			return doBuild( sources, options );
+		}
+		final MetadataImpl cachedMetadata = metadataCache.load( key );
+		if ( cachedMetadata != null ) {
+			return cachedMetadata;
+		}
+		final MetadataImpl metadata = doBuild( sources, options );
+		metadataCache.store( key, metadata );
+		return metadata;
+	}
+
+	private static MetadataImpl doBuild(
+			final MetadataSources sources,
+			final MetadataBuildingOptionsImpl options) {
 		final ClassLoaderService classLoaderService = options.getServiceRegistry().getService( ClassLoaderService.class );
 
 		final ClassLoaderAccess classLoaderAccess = new ClassLoaderAccessImpl(
@@ -0,0 +1,778 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.boot.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidClassException;
+import java.io.InvalidObjectException;
+import java.io.NotSerializableException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import javax.persistence.GenerationType;
+
+import org.hibernate.Version;
+import org.hibernate.boot.CacheRegionDefinition;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.archive.scan.spi.ScanEnvironment;
+import org.hibernate.boot.internal.MetadataBuilderImpl.MetadataBuildingOptionsImpl;
+import org.hibernate.boot.jaxb.spi.Binding;
+import org.hibernate.boot.model.IdGeneratorStrategyInterpreter;
+import org.hibernate.boot.model.TypeContributor;
+import org.hibernate.boot.model.naming.ObjectNameNormalizer;
+import org.hibernate.boot.model.relational.AuxiliaryDatabaseObject;
+import org.hibernate.boot.model.relational.Database;
+import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.boot.registry.classloading.spi.ClassLoadingException;
+import org.hibernate.boot.spi.AdditionalJaxbMappingProducer;
+import org.hibernate.boot.spi.InFlightMetadataCollector;
+import org.hibernate.boot.spi.MetadataBuildingContext;
+import org.hibernate.boot.spi.MetadataBuildingOptions;
+import org.hibernate.boot.spi.MetadataContributor;
+import org.hibernate.cfg.AttributeConverterDefinition;
+import org.hibernate.cfg.MetadataSourceType;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.id.factory.IdentifierGeneratorFactory;
+import org.hibernate.id.factory.spi.MutableIdentifierGeneratorFactory;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.SerializationException;
+
+/**
+ * Stores the Metadata built for a set of mapping sources in a local directory and loads it back on the next
+ * bootstrap, skipping scanning and binding altogether.  Enabled by
+ * {@link org.hibernate.cfg.AvailableSettings#BOOTSTRAP_METADATA_CACHE_DIRECTORY}.
+ * <p/>
+ * Each cached file is named after a digest of everything the Metadata is built from: the Hibernate version, the
+ * configuration settings, the mapping documents, the bytes of the annotated classes, the state of the scanned
+ * archives and the contributors found on the class path.  Any change to those leads to a different file.
+ * <p/>
+ * The Metadata also depends on classes which are not listed in the sources, such as mapped superclasses,
+ * embeddables, attribute converters, id classes and the classes mapped by hbm.xml documents.  The file therefore
+ * starts with the names of all the classes the serialized Metadata refers to, along with a digest of their class
+ * files, which is checked before anything is deserialized; a file whose classes changed is rebuilt.  Only those
+ * classes, and a few core JDK packages, are resolved while reading the Metadata back.  If the class file of a
+ * referenced class cannot be located the Metadata is not cached.
+ * <p/>
+ * The parts of the Metadata which belong to the running environment rather than to the mappings (the service
+ * registry, the building options, the JDBC environment and dialect) are not written out; they are replaced by
+ * references which are resolved against the current bootstrap when the file is read.
+ */
+public class MetadataCache {
+	private static final CoreMessageLogger log = CoreLogging.messageLogger( MetadataCache.class );
+
+	/**
+	 * The packages of the JDK classes which may be part of the Metadata; any other class has to be listed as a
+	 * referenced class of the file.
+	 */
+	private static final String[] PLATFORM_PACKAGES = { "java.lang.", "java.util.", "java.math." };
+	private static final Set<String> PRIMITIVE_TYPES = new HashSet<String>(
+			Arrays.asList( "boolean", "byte", "char", "short", "int", "long", "float", "double", "void" )
+	);
+
+	private final File directory;
+	private final MetadataBuildingOptionsImpl options;
+	private final ClassLoaderService classLoaderService;
+
+	public MetadataCache(File directory, MetadataBuildingOptionsImpl options) {
+		this.directory = directory;
+		this.options = options;
+		this.classLoaderService = options.getServiceRegistry().getService( ClassLoaderService.class );
+	}
+
+	/**
+	 * Compute the key under which the Metadata built from the given sources is cached.
+	 *
+	 * @param sources The mapping sources, before scanning
+	 *
+	 * @return The key, or {@code null} if the sources cannot be reliably identified (in which case nothing is
+	 * cached)
+	 */
+	public String determineKey(MetadataSources sources) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance( "SHA-1" );
+			final ObjectOutputStream keyStream = new ObjectOutputStream(
+					new DigestOutputStream( new NullOutputStream(), digest )
+			);
+			keyStream.writeUTF( Version.getVersionString() );
+
+			writeSettings( keyStream );
+			writeOptions( keyStream );
+			if ( !writeScanEnvironment( keyStream ) ) {
+				return null;
+			}
+
+			for ( Binding binding : sources.getXmlBindings() ) {
+				keyStream.writeObject( binding.getOrigin() );
+				keyStream.writeObject( binding.getRoot() );
+			}
+			for ( Class<?> annotatedClass : sources.getAnnotatedClasses() ) {
+				writeClassFile( keyStream, annotatedClass.getName() );
+			}
+			for ( String annotatedClassName : sources.getAnnotatedClassNames() ) {
+				writeClassFile( keyStream, annotatedClassName );
+			}
+			for ( String annotatedPackage : sources.getAnnotatedPackages() ) {
+				writeClassFile( keyStream, annotatedPackage + ".package-info" );
+			}
+			keyStream.close();
+
+			final StringBuilder key = new StringBuilder();
+			for ( byte b : digest.digest() ) {
+				key.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+			}
+			return key.toString();
+		}
+		catch (Exception e) {
+			log.debug( "Unable to digest the metadata sources, not caching the metadata", e );
+			return null;
+		}
+	}
+
+	private void writeSettings(ObjectOutputStream keyStream) throws IOException {
+		final Map settings = options.getServiceRegistry().getService( ConfigurationService.class ).getSettings();
+		final TreeMap<String,String> sortedSettings = new TreeMap<String,String>();
+		for ( Object entry : settings.entrySet() ) {
+			final Object key = ( (Map.Entry) entry ).getKey();
+			final Object value = ( (Map.Entry) entry ).getValue();
+			sortedSettings.put( String.valueOf( key ), describe( value ) );
+		}
+		keyStream.writeObject( sortedSettings );
+	}
+
+	private static String describe(Object value) {
+		if ( value == null ) {
+			return "null";
+		}
+		if ( value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Enum ) {
+			return value.toString();
+		}
+		if ( value instanceof Class ) {
+			return ( (Class) value ).getName();
+		}
+		// the identity of arbitrary objects is meaningless across restarts, only their type is considered
+		return value.getClass().getName();
+	}
+
+	private void writeOptions(ObjectOutputStream keyStream) throws IOException {
+		final List<String> descriptions = new ArrayList<String>();
+		descriptions.add( options.getMappingDefaults().getImplicitCatalogName() );
+		descriptions.add( options.getMappingDefaults().getImplicitSchemaName() );
+		descriptions.add( describe( options.getMappingDefaults().getImplicitCacheAccessType() ) );
+		descriptions.add( describe( options.getSharedCacheMode() ) );
+		descriptions.add( describe( options.getMultiTenancyStrategy() ) );
+		descriptions.add( describe( options.getImplicitNamingStrategy() ) );
+		descriptions.add( describe( options.getPhysicalNamingStrategy() ) );
+		descriptions.add( describe( options.getReflectionManager() ) );
+		descriptions.add(
+				String.valueOf( options.ignoreExplicitDiscriminatorsForJoinedInheritance() )
+						+ options.createImplicitDiscriminatorsForJoinedInheritance()
+						+ options.shouldImplicitlyForceDiscriminatorInSelect()
+						+ options.useNationalizedCharacterData()
+						+ options.isSpecjProprietarySyntaxEnabled()
+		);
+		for ( GenerationType generationType : GenerationType.values() ) {
+			descriptions.add(
+					options.getIdGenerationTypeInterpreter().determineGeneratorName(
+							generationType,
+							new IdGeneratorStrategyInterpreter.GeneratorNameDeterminationContext() {
+								@Override
+								public Class getIdType() {
+									return Long.class;
+								}
+							}
+					)
+			);
+		}
+		for ( BasicType basicType : options.getBasicTypeRegistrations() ) {
+			descriptions.add( basicType.getName() + '=' + describe( basicType ) );
+		}
+		for ( AttributeConverterDefinition converter : options.getAttributeConverters() ) {
+			descriptions.add( describe( converter.getAttributeConverter() ) + ':' + converter.isAutoApply() );
+		}
+		for ( Map.Entry<String,SQLFunction> function : options.getSqlFunctions().entrySet() ) {
+			descriptions.add( function.getKey() + '=' + describe( function.getValue() ) );
+		}
+		for ( AuxiliaryDatabaseObject auxiliaryDatabaseObject : options.getAuxiliaryDatabaseObjectList() ) {
+			descriptions.add( auxiliaryDatabaseObject.getExportIdentifier() );
+		}
+		if ( options.getCacheRegionDefinitions() != null ) {
+			for ( CacheRegionDefinition definition : options.getCacheRegionDefinitions() ) {
+				descriptions.add(
+						definition.getRegionType() + ":" + definition.getRole() + ":"
+								+ definition.getUsage() + ":" + definition.getRegion()
+				);
+			}
+		}
+		for ( MetadataSourceType sourceType : options.getSourceProcessOrdering() ) {
+			descriptions.add( sourceType.name() );
+		}
+		for ( TypeContributor contributor : classLoaderService.loadJavaServices( TypeContributor.class ) ) {
+			descriptions.add( describe( contributor ) );
+		}
+		for ( MetadataContributor contributor : classLoaderService.loadJavaServices( MetadataContributor.class ) ) {
+			descriptions.add( describe( contributor ) );
+		}
+		for ( AdditionalJaxbMappingProducer producer : classLoaderService.loadJavaServices( AdditionalJaxbMappingProducer.class ) ) {
+			descriptions.add( describe( producer ) );
+		}
+		keyStream.writeObject( descriptions );
+	}
+
+	private boolean writeScanEnvironment(ObjectOutputStream keyStream) throws IOException {
+		final ScanEnvironment scanEnvironment = options.getScanEnvironment();
+		if ( scanEnvironment == null ) {
+			return true;
+		}
+		keyStream.writeObject( scanEnvironment.getExplicitlyListedClassNames() );
+		keyStream.writeObject( scanEnvironment.getExplicitlyListedMappingFiles() );
+
+		final List<URL> archives = new ArrayList<URL>();
+		if ( scanEnvironment.getRootUrl() != null ) {
+			archives.add( scanEnvironment.getRootUrl() );
+		}
+		if ( scanEnvironment.getNonRootUrls() != null ) {
+			archives.addAll( scanEnvironment.getNonRootUrls() );
+		}
+		for ( URL archive : archives ) {
+			if ( !"file".equals( archive.getProtocol() ) ) {
+				// without access to the last modification of the archive entries a change could go unnoticed
+				log.debugf( "Not caching the metadata of scanned archive [%s]", archive );
+				return false;
+			}
+			keyStream.writeUTF( archive.toExternalForm() );
+			writeFileState( keyStream, new File( archive.getPath() ) );
+		}
+		return true;
+	}
+
+	private static void writeFileState(ObjectOutputStream keyStream, File file) throws IOException {
+		keyStream.writeUTF( file.getName() );
+		if ( file.isDirectory() ) {
+			final File[] children = file.listFiles();
+			if ( children != null ) {
+				final TreeMap<String,File> sortedChildren = new TreeMap<String,File>();
+				for ( File child : children ) {
+					sortedChildren.put( child.getName(), child );
+				}
+				for ( File child : sortedChildren.values() ) {
+					writeFileState( keyStream, child );
+				}
+			}
+		}
+		else {
+			keyStream.writeLong( file.length() );
+			keyStream.writeLong( file.lastModified() );
+		}
+	}
+
+	private void writeClassFile(ObjectOutputStream keyStream, String className) throws IOException {
+		keyStream.writeUTF( className );
+		copyClassFile( className, keyStream );
+	}
+
+	private boolean copyClassFile(String className, OutputStream out) throws IOException {
+		final InputStream classFile = classLoaderService.locateResourceStream( classFileName( className ) );
+		if ( classFile == null ) {
+			return false;
+		}
+		try {
+			final byte[] buffer = new byte[4096];
+			int read;
+			while ( ( read = classFile.read( buffer ) ) != -1 ) {
+				out.write( buffer, 0, read );
+			}
+			return true;
+		}
+		finally {
+			classFile.close();
+		}
+	}
+
+	private static String classFileName(String className) {
+		return className.replace( '.', '/' ) + ".class";
+	}
+
+	/**
+	 * Digest the class files of the given classes.
+	 *
+	 * @param classNames The names of the classes
+	 *
+	 * @return The digest, or {@code null} if the class file of one of the classes could not be located
+	 */
+	private byte[] digestClassFiles(Collection<String> classNames) throws Exception {
+		final MessageDigest digest = MessageDigest.getInstance( "SHA-1" );
+		final DataOutputStream digestStream = new DataOutputStream(
+				new DigestOutputStream( new NullOutputStream(), digest )
+		);
+		for ( String className : classNames ) {
+			digestStream.writeUTF( className );
+			if ( !copyClassFile( className, digestStream ) ) {
+				log.debugf( "Unable to locate the class file of [%s]", className );
+				return null;
+			}
+		}
+		digestStream.close();
+		return digest.digest();
+	}
+
+	/**
+	 * Load the Metadata cached under the given key.
+	 *
+	 * @param key The key, as determined by {@link #determineKey}
+	 *
+	 * @return The cached Metadata, or {@code null} if there is none or if it could not be read
+	 */
+	public MetadataImpl load(String key) {
+		final File file = determineFile( key );
+		if ( !file.exists() ) {
+			return null;
+		}
+		log.readingCachedMappings( file );
+		try {
+			final DataInputStream in = new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+			try {
+				final List<String> referencedClassNames = new ArrayList<String>();
+				for ( int i = in.readInt(); i > 0; i-- ) {
+					referencedClassNames.add( in.readUTF() );
+				}
+				final byte[] classesDigest = new byte[in.readInt()];
+				in.readFully( classesDigest );
+				final byte[] currentClassesDigest = digestClassFiles( referencedClassNames );
+				if ( currentClassesDigest == null || !MessageDigest.isEqual( classesDigest, currentClassesDigest ) ) {
+					log.debugf( "The classes referenced by the cached metadata changed, not using %s", file.getAbsolutePath() );
+					return null;
+				}
+				return (MetadataImpl) new CachedMetadataInputStream(
+						in,
+						new HashSet<String>( referencedClassNames )
+				).readObject();
+			}
+			finally {
+				in.close();
+			}
+		}
+		catch (Exception e) {
+			log.unableToDeserializeCache( file.getAbsolutePath(), new SerializationException( e.getMessage(), e ) );
+			return null;
+		}
+	}
+
+	/**
+	 * Store the Metadata under the given key.  Failures, such as a mapping referring to objects which cannot be
+	 * serialized or to classes whose class file cannot be located, are logged and otherwise ignored.
+	 *
+	 * @param key The key, as determined by {@link #determineKey}
+	 * @param metadata The Metadata built for the key
+	 */
+	public void store(String key, MetadataImpl metadata) {
+		final File file = determineFile( key );
+		File tempFile = null;
+		try {
+			final ByteArrayOutputStream serializedMetadata = new ByteArrayOutputStream();
+			final CachedMetadataOutputStream metadataOut = new CachedMetadataOutputStream( serializedMetadata, metadata );
+			try {
+				metadataOut.writeObject( metadata );
+			}
+			finally {
+				metadataOut.close();
+			}
+			final List<String> referencedClassNames = new ArrayList<String>( metadataOut.referencedClassNames );
+			final byte[] classesDigest = digestClassFiles( referencedClassNames );
+			if ( classesDigest == null ) {
+				log.debugf( "Not caching the metadata, the class file of a class it refers to could not be located" );
+				return;
+			}
+
+			if ( !directory.exists() && !directory.mkdirs() ) {
+				throw new IOException( "Unable to create directory " + directory.getAbsolutePath() );
+			}
+			// written aside first so that concurrently starting instances never read a partial file
+			tempFile = File.createTempFile( file.getName(), ".tmp", directory );
+			final DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream( new FileOutputStream( tempFile ) )
+			);
+			try {
+				out.writeInt( referencedClassNames.size() );
+				for ( String referencedClassName : referencedClassNames ) {
+					out.writeUTF( referencedClassName );
+				}
+				out.writeInt( classesDigest.length );
+				out.write( classesDigest );
+				serializedMetadata.writeTo( out );
+			}
+			finally {
+				out.close();
+			}
+			if ( !tempFile.renameTo( file ) ) {
+				file.delete();
+				if ( !tempFile.renameTo( file ) ) {
+					throw new IOException( "Unable to rename " + tempFile.getAbsolutePath() );
+				}
+			}
+			log.debugf( "Cached metadata to %s", file.getAbsolutePath() );
+		}
+		catch (Exception e) {
+			log.unableToWriteCachedFile( file.getAbsolutePath(), e.toString() );
+			if ( tempFile != null ) {
+				tempFile.delete();
+			}
+		}
+	}
+
+	private File determineFile(String key) {
+		return new File( directory, "metadata-" + key + ".bin" );
+	}
+
+	/**
+	 * The parts of the running environment referenced from the Metadata.
+	 */
+	private static enum EnvironmentReference {
+		SERVICE_REGISTRY,
+		BUILDING_OPTIONS,
+		JDBC_ENVIRONMENT,
+		DIALECT,
+		IDENTIFIER_GENERATOR_FACTORY
+	}
+
+	/**
+	 * Stands for the {@code INSTANCE} singleton of a class, such as the standard types and type descriptors, which
+	 * are compared by identity.
+	 */
+	private static class SingletonReference implements Serializable {
+		private final String className;
+
+		private SingletonReference(String className) {
+			this.className = className;
+		}
+	}
+
+	private class CachedMetadataOutputStream extends ObjectOutputStream {
+		private final MetadataImpl metadata;
+		private final Map<Class,Field> singletonFields = new HashMap<Class,Field>();
+		/**
+		 * The classes, and their superclasses, which are either serialized or named by a serialized string; sorted
+		 * so that the digest of their class files does not depend on the order in which they were found.
+		 */
+		private final Set<String> referencedClassNames = new TreeSet<String>();
+		private final Set<String> checkedStrings = new HashSet<String>();
+
+		private CachedMetadataOutputStream(OutputStream out, MetadataImpl metadata) throws IOException {
+			super( out );
+			this.metadata = metadata;
+			enableReplaceObject( true );
+		}
+
+		@Override
+		protected void annotateClass(Class<?> type) throws IOException {
+			Class<?> elementType = type;
+			while ( elementType.isArray() ) {
+				elementType = elementType.getComponentType();
+			}
+			if ( elementType.isPrimitive() ) {
+				return;
+			}
+			if ( elementType.getClassLoader() == null ) {
+				if ( !isPlatformClass( elementType.getName() ) ) {
+					throw new NotSerializableException( elementType.getName() );
+				}
+				return;
+			}
+			addReferencedClass( elementType );
+		}
+
+		@Override
+		protected void annotateProxyClass(Class<?> type) throws IOException {
+			throw new NotSerializableException( type.getName() );
+		}
+
+		private void addReferencedClass(Class<?> type) {
+			// the whole hierarchy, so as to include the mapped superclasses
+			for ( Class<?> current = type; current != null && current.getClassLoader() != null; current = current.getSuperclass() ) {
+				if ( !referencedClassNames.add( current.getName() ) ) {
+					break;
+				}
+			}
+		}
+
+		/**
+		 * Classes such as those mapped by hbm.xml documents, embeddables, id classes or converters are often only
+		 * referred to by name.
+		 */
+		private void addReferencedClassName(String value) {
+			if ( !checkedStrings.add( value ) || !isQualifiedJavaName( value ) ) {
+				return;
+			}
+			if ( classLoaderService.locateResource( classFileName( value ) ) == null ) {
+				return;
+			}
+			try {
+				addReferencedClass( classLoaderService.classForName( value ) );
+			}
+			catch (ClassLoadingException e) {
+				referencedClassNames.add( value );
+			}
+		}
+
+		@Override
+		protected Object replaceObject(Object object) throws IOException {
+			if ( object instanceof String ) {
+				addReferencedClassName( (String) object );
+				return object;
+			}
+			if ( object instanceof ServiceRegistry ) {
+				return EnvironmentReference.SERVICE_REGISTRY;
+			}
+			if ( object instanceof MetadataBuildingOptions ) {
+				return EnvironmentReference.BUILDING_OPTIONS;
+			}
+			if ( object instanceof JdbcEnvironment ) {
+				return EnvironmentReference.JDBC_ENVIRONMENT;
+			}
+			if ( object instanceof Dialect ) {
+				return EnvironmentReference.DIALECT;
+			}
+			if ( object instanceof IdentifierGeneratorFactory ) {
+				return EnvironmentReference.IDENTIFIER_GENERATOR_FACTORY;
+			}
+			if ( object instanceof InFlightMetadataCollector ) {
+				// the mapping model refers to the Metadata while it was still being collected
+				return metadata;
+			}
+			if ( object instanceof ObjectNameNormalizer && !( object instanceof CachedObjectNameNormalizer ) ) {
+				return new CachedObjectNameNormalizer( metadata.getDatabase() );
+			}
+			if ( object != null ) {
+				final Field singletonField = locateSingletonField( object.getClass() );
+				if ( singletonField != null && readSingleton( singletonField ) == object ) {
+					return new SingletonReference( singletonField.getDeclaringClass().getName() );
+				}
+			}
+			return object;
+		}
+
+		private Field locateSingletonField(Class type) {
+			if ( singletonFields.containsKey( type ) ) {
+				return singletonFields.get( type );
+			}
+			Field singletonField = null;
+			try {
+				final Field field = type.getField( "INSTANCE" );
+				if ( Modifier.isStatic( field.getModifiers() ) && Modifier.isFinal( field.getModifiers() ) ) {
+					// the declaring class itself is not necessarily public
+					field.setAccessible( true );
+					singletonField = field;
+				}
+			}
+			catch (NoSuchFieldException ignore) {
+			}
+			catch (SecurityException ignore) {
+			}
+			singletonFields.put( type, singletonField );
+			return singletonField;
+		}
+	}
+
+	private class CachedMetadataInputStream extends ObjectInputStream {
+		private final Set<String> referencedClassNames;
+
+		private CachedMetadataInputStream(InputStream in, Set<String> referencedClassNames) throws IOException {
+			super( in );
+			this.referencedClassNames = referencedClassNames;
+			enableResolveObject( true );
+		}
+
+		@Override
+		protected Class<?> resolveClass(ObjectStreamClass descriptor) throws IOException, ClassNotFoundException {
+			String elementName = descriptor.getName();
+			if ( elementName.startsWith( "[" ) ) {
+				elementName = elementName.substring( elementName.lastIndexOf( '[' ) + 1 );
+				elementName = elementName.startsWith( "L" ) && elementName.endsWith( ";" )
+						? elementName.substring( 1, elementName.length() - 1 )
+						: null;
+			}
+			if ( elementName != null
+					&& !referencedClassNames.contains( elementName )
+					&& !isPlatformClass( elementName )
+					&& !PRIMITIVE_TYPES.contains( elementName ) ) {
+				throw new InvalidClassException( descriptor.getName(), "Not a class referenced by the cached metadata" );
+			}
+			try {
+				return classLoaderService.classForName( descriptor.getName() );
+			}
+			catch (ClassLoadingException e) {
+				// primitive types
+				return super.resolveClass( descriptor );
+			}
+		}
+
+		@Override
+		protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+			throw new InvalidClassException( "Proxy classes are not part of cached metadata" );
+		}
+
+		@Override
+		protected Object resolveObject(Object object) throws IOException {
+			if ( object instanceof SingletonReference ) {
+				final String className = ( (SingletonReference) object ).className;
+				try {
+					final Field singletonField = classLoaderService.classForName( className ).getField( "INSTANCE" );
+					singletonField.setAccessible( true );
+					return readSingleton( singletonField );
+				}
+				catch (NoSuchFieldException e) {
+					throw new InvalidObjectException( "No singleton instance in " + className );
+				}
+			}
+			if ( !( object instanceof EnvironmentReference ) ) {
+				return object;
+			}
+			switch ( (EnvironmentReference) object ) {
+				case SERVICE_REGISTRY: {
+					return options.getServiceRegistry();
+				}
+				case BUILDING_OPTIONS: {
+					return options;
+				}
+				case JDBC_ENVIRONMENT: {
+					return options.getServiceRegistry().getService( JdbcEnvironment.class );
+				}
+				case DIALECT: {
+					return options.getServiceRegistry().getService( JdbcServices.class ).getDialect();
+				}
+				case IDENTIFIER_GENERATOR_FACTORY: {
+					return options.getServiceRegistry().getService( MutableIdentifierGeneratorFactory.class );
+				}
+				default: {
+					throw new IllegalStateException( "Unexpected environment reference " + object );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Stands for the ObjectNameNormalizer passed to identifier generators through their configuration, which
+	 * during binding relies on the MetadataBuildingContext; once loaded only the Database is available.
+	 */
+	private static class CachedObjectNameNormalizer extends ObjectNameNormalizer implements Serializable {
+		private final Database database;
+
+		private CachedObjectNameNormalizer(Database database) {
+			this.database = database;
+		}
+
+		@Override
+		protected Database database() {
+			return database;
+		}
+
+		@Override
+		protected MetadataBuildingContext getBuildingContext() {
+			throw new IllegalStateException( "The MetadataBuildingContext is not available from cached Metadata" );
+		}
+	}
+
+	private static boolean isPlatformClass(String className) {
+		for ( String platformPackage : PLATFORM_PACKAGES ) {
+			if ( className.startsWith( platformPackage ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isQualifiedJavaName(String value) {
+		if ( value.indexOf( '.' ) < 0 ) {
+			return false;
+		}
+		boolean segmentStart = true;
+		for ( int i = 0; i < value.length(); i++ ) {
+			final char c = value.charAt( i );
+			if ( c == '.' ) {
+				if ( segmentStart ) {
+					return false;
+				}
+				segmentStart = true;
+			}
+			else if ( segmentStart ? Character.isJavaIdentifierStart( c ) : Character.isJavaIdentifierPart( c ) ) {
+				segmentStart = false;
+			}
+			else {
+				return false;
+			}
+		}
+		return !segmentStart;
+	}
+
+	private static Object readSingleton(Field singletonField) {
+		try {
+			return singletonField.get( null );
+		}
+		catch (IllegalAccessException e) {
+			return null;
+		}
+	}
+
+	private static class NullOutputStream extends OutputStream {
+		@Override
+		public void write(int b) {
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+		}
+	}
+}
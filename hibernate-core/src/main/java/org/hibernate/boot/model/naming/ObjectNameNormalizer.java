@@ -59,9 +59,7 @@ public abstract class ObjectNameNormalizer {
 	}
 
 	public Identifier normalizeIdentifierQuoting(Identifier identifier) {
-		return getBuildingContext().getMetadataCollector()
-				.getDatabase()
-				.getJdbcEnvironment()
+		return database().getJdbcEnvironment()
 				.getIdentifierHelper()
 				.normalizeQuoting( identifier );
 	}
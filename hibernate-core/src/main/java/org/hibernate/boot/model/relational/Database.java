@@ -23,6 +23,7 @@
  */
 package org.hibernate.boot.model.relational;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -41,7 +42,7 @@ import org.hibernate.engine.jdbc.spi.JdbcServices;
 /**
  * @author Steve Ebersole
  */
-public class Database {
+public class Database implements Serializable {
 	private final Dialect dialect;
 	private final MetadataBuildingOptions buildingOptions;
 	private final JdbcEnvironment jdbcEnvironment;
@@ -23,6 +23,8 @@
  */
 package org.hibernate.boot.model.relational;
 
+import java.io.Serializable;
+
 import org.hibernate.HibernateException;
 import org.hibernate.boot.model.naming.Identifier;
 import org.hibernate.boot.model.naming.IllegalIdentifierException;
@@ -39,7 +41,7 @@ public class QualifiedNameParser {
 	 */
 	public static final QualifiedNameParser INSTANCE = new QualifiedNameParser();
 
-	public static class NameParts implements QualifiedName {
+	public static class NameParts implements QualifiedName, Serializable {
 		private final Identifier catalogName;
 		private final Identifier schemaName;
 		private final Identifier objectName;
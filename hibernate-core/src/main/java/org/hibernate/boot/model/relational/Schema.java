@@ -23,6 +23,7 @@
  */
 package org.hibernate.boot.model.relational;
 
+import java.io.Serializable;
 import java.util.Collection;
 import java.util.Map;
 import java.util.TreeMap;
@@ -40,7 +41,7 @@ import org.hibernate.mapping.Table;
  *
  * @author Steve Ebersole
  */
-public class Schema {
+public class Schema implements Serializable {
 	private static final CoreMessageLogger log = CoreLogging.messageLogger( Schema.class );
 
 	private final Database database;
@@ -168,7 +169,7 @@ public class Schema {
 		return sequences.values();
 	}
 
-	public static class Name implements Comparable<Name> {
+	public static class Name implements Comparable<Name>, Serializable {
 		private final Identifier catalog;
 		private final Identifier schema;
 
@@ -23,6 +23,8 @@
  */
 package org.hibernate.boot.model.relational;
 
+import java.io.Serializable;
+
 import org.hibernate.HibernateException;
 import org.hibernate.boot.model.naming.Identifier;
 
@@ -31,7 +33,7 @@ import org.hibernate.boot.model.naming.Identifier;
  *
  * @author Steve Ebersole
  */
-public class Sequence implements Exportable {
+public class Sequence implements Exportable, Serializable {
 	public static class Name extends QualifiedNameParser.NameParts {
 		public Name(
 				Identifier catalogIdentifier,
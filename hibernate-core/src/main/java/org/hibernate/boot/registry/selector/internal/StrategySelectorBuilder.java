@@ -74,6 +74,8 @@ import org.hibernate.dialect.SybaseASE15Dialect;
 import org.hibernate.dialect.SybaseAnywhereDialect;
 import org.hibernate.dialect.TeradataDialect;
 import org.hibernate.dialect.TimesTenDialect;
+import org.hibernate.engine.jdbc.batch.internal.GroupingBatchBuilder;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.transaction.internal.jdbc.JdbcTransactionFactory;
 import org.hibernate.engine.transaction.internal.jta.CMTTransactionFactory;
 import org.hibernate.engine.transaction.internal.jta.JtaTransactionFactory;
@@ -167,6 +169,7 @@ public class StrategySelectorBuilder {
 		addTransactionFactories( strategySelector );
 		addMultiTableBulkIdStrategies( strategySelector );
 		addEntityCopyObserverStrategies( strategySelector );
+		addBatchBuilders( strategySelector );
 
 		// apply auto-discovered registrations
 		for ( StrategyRegistrationProvider provider : classLoaderService.loadJavaServices( StrategyRegistrationProvider.class ) ) {
@@ -395,4 +398,12 @@ public class StrategySelectorBuilder {
 				EntityCopyAllowedLoggedObserver.class
 		);
 	}
+
+	private void addBatchBuilders(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+				BatchBuilder.class,
+				GroupingBatchBuilder.SHORT_NAME,
+				GroupingBatchBuilder.class
+		);
+	}
 }
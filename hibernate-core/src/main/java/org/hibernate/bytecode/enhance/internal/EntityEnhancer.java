@@ -34,7 +34,7 @@ import org.hibernate.bytecode.enhance.spi.EnhancementContext;
 import org.hibernate.bytecode.enhance.spi.EnhancementException;
 import org.hibernate.bytecode.enhance.spi.Enhancer;
 import org.hibernate.bytecode.enhance.spi.EnhancerConstants;
-import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.SelfDirtinessNotifier;
 
 import java.util.Collection;
 import java.util.LinkedList;
@@ -110,7 +110,7 @@ public class EntityEnhancer extends Enhancer {
 
 	private void addInLineDirtyHandling(CtClass managedCtClass) {
 		try {
-			managedCtClass.addInterface( classPool.get( SelfDirtinessTracker.class.getName() ) );
+			managedCtClass.addInterface( classPool.get( SelfDirtinessNotifier.class.getName() ) );
 
 			FieldWriter.addField( managedCtClass, classPool.get( TRACKER_IMPL ), EnhancerConstants.TRACKER_FIELD_NAME );
 			FieldWriter.addField( managedCtClass, classPool.get( CollectionTracker.class.getName() ), EnhancerConstants.TRACKER_COLLECTION_NAME );
@@ -128,10 +128,12 @@ public class EntityEnhancer extends Enhancer {
 							"public void %1$s(String name) {%n" +
 							"  if (%2$s == null) { %2$s = new %3$s(); }%n" +
 							"  %2$s.add(name);%n" +
+							"  if (%4$s != null) { %4$s.markDirty(this); }%n" +
 							"}",
 					EnhancerConstants.TRACKER_CHANGER_NAME,
 					EnhancerConstants.TRACKER_FIELD_NAME,
-					TRACKER_IMPL );
+					TRACKER_IMPL,
+					EnhancerConstants.ENTITY_ENTRY_FIELD_NAME );
 
 			/* --- */
 
@@ -23,6 +23,7 @@
  */
 package org.hibernate.bytecode.internal.javassist;
 
+import java.lang.reflect.Member;
 import java.lang.reflect.Modifier;
 import java.util.Set;
 
@@ -33,6 +34,8 @@ import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
 import org.hibernate.bytecode.spi.BytecodeProvider;
 import org.hibernate.bytecode.spi.ClassTransformer;
 import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
+import org.hibernate.bytecode.spi.GeneratedPropertyAccessor;
+import org.hibernate.bytecode.spi.GeneratedPropertyAccessorProvider;
 import org.hibernate.bytecode.spi.NotInstrumentedException;
 import org.hibernate.bytecode.spi.ProxyFactoryFactory;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
@@ -47,7 +50,7 @@ import org.jboss.logging.Logger;
  *
  * @author Steve Ebersole
  */
-public class BytecodeProviderImpl implements BytecodeProvider {
+public class BytecodeProviderImpl implements BytecodeProvider, GeneratedPropertyAccessorProvider {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class,
 			BytecodeProviderImpl.class.getName()
@@ -118,6 +121,22 @@ public class BytecodeProviderImpl implements BytecodeProvider {
 		return null;
 	}
 
+	@Override
+	public GeneratedPropertyAccessor getGeneratedPropertyAccessor(Class clazz, Member[] getters, Member[] setters) {
+		try {
+			return new GeneratedPropertyAccessorFactory( clazz, getters, setters ).create();
+		}
+		catch ( Throwable t ) {
+			LOG.debugf(
+					"Generated property accessor disabled for %s [%s: %s]",
+					clazz.getName(),
+					StringHelper.unqualify( t.getClass().getName() ),
+					t.getMessage()
+			);
+			return null;
+		}
+	}
+
 	@Override
 	public ClassTransformer getTransformer(ClassFilter classFilter, FieldFilter fieldFilter) {
 		return new JavassistClassTransformer( classFilter, fieldFilter );
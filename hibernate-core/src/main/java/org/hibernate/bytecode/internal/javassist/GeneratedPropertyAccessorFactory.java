@@ -0,0 +1,354 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.internal.javassist;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javassist.CannotCompileException;
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+import javassist.util.proxy.FactoryHelper;
+import javassist.util.proxy.RuntimeSupport;
+
+import org.hibernate.bytecode.spi.GeneratedPropertyAccessor;
+
+/**
+ * Generates {@link GeneratedPropertyAccessor} implementations.  The generated class is defined in the package
+ * and class loader of the accessed class, so that it may use all of its non-private members.  Its bulk methods
+ * are straight-line code (one field access or invocation per handled property), they do not need any branching.
+ * <p/>
+ * Generated classes are cached per accessed class and set of members, so that building another SessionFactory
+ * for the same classes does not define new classes.  The cache only holds weak references, it does not keep the
+ * class loaders of the accessed classes alive.
+ */
+class GeneratedPropertyAccessorFactory {
+	private static final String ACCESSOR_CLASS_NAME = GeneratedPropertyAccessor.class.getName();
+	private static final String CONSTRUCTOR_DESC = "([Z[Z)V";
+	private static final String BULK_METHOD_DESC = "(Ljava/lang/Object;[Ljava/lang/Object;)V";
+
+	private static final AtomicInteger COUNTER = new AtomicInteger();
+
+	/**
+	 * The generated classes, by accessed class and {@link #signature}.  The generated classes reference the accessed
+	 * class (through their class loader), so they are only weakly referenced; they stay loaded as long as their
+	 * class loader does.
+	 */
+	private static final Map<Class, Map<String, WeakReference<Class>>> ACCESSOR_CLASSES =
+			new WeakHashMap<Class, Map<String, WeakReference<Class>>>();
+
+	private final Class beanClass;
+	private final Member[] getters;
+	private final Member[] setters;
+
+	GeneratedPropertyAccessorFactory(Class beanClass, Member[] getters, Member[] setters) {
+		this.beanClass = beanClass;
+		this.getters = getters;
+		this.setters = setters;
+	}
+
+	/**
+	 * Generate the accessor.
+	 *
+	 * @return The accessor, or {@code null} if none of the members is accessible.
+	 *
+	 * @throws Exception Indicates a problem generating or loading the class
+	 */
+	GeneratedPropertyAccessor create() throws Exception {
+		if ( beanClass.isInterface() || beanClass.isArray() || beanClass.getClassLoader() == null ) {
+			return null;
+		}
+
+		final boolean[] handledGetters = new boolean[getters.length];
+		final boolean[] handledSetters = new boolean[setters.length];
+		boolean any = false;
+		for ( int i = 0; i < getters.length; i++ ) {
+			handledGetters[i] = isAccessible( getters[i], false );
+			handledSetters[i] = isAccessible( setters[i], true );
+			any = any || handledGetters[i] || handledSetters[i];
+		}
+		if ( !any ) {
+			return null;
+		}
+
+		final Class accessorClass = locateAccessorClass( handledGetters, handledSetters );
+		return (GeneratedPropertyAccessor) accessorClass.getConstructor( boolean[].class, boolean[].class )
+				.newInstance( handledGetters, handledSetters );
+	}
+
+	private Class locateAccessorClass(boolean[] handledGetters, boolean[] handledSetters) throws Exception {
+		final String signature = signature( handledGetters, handledSetters );
+		synchronized ( ACCESSOR_CLASSES ) {
+			Map<String, WeakReference<Class>> accessorClasses = ACCESSOR_CLASSES.get( beanClass );
+			if ( accessorClasses == null ) {
+				accessorClasses = new HashMap<String, WeakReference<Class>>();
+				ACCESSOR_CLASSES.put( beanClass, accessorClasses );
+			}
+			final WeakReference<Class> reference = accessorClasses.get( signature );
+			Class accessorClass = reference == null ? null : reference.get();
+			if ( accessorClass == null ) {
+				accessorClass = FactoryHelper.toClass(
+						make( handledGetters, handledSetters ),
+						beanClass.getClassLoader(),
+						beanClass.getProtectionDomain()
+				);
+				accessorClasses.put( signature, new WeakReference<Class>( accessorClass ) );
+			}
+			return accessorClass;
+		}
+	}
+
+	/**
+	 * Describes the members accessed by the generated class.  Made of names only, so that it does not reference
+	 * the accessed class.
+	 */
+	private String signature(boolean[] handledGetters, boolean[] handledSetters) {
+		final StringBuilder signature = new StringBuilder();
+		for ( int i = 0; i < getters.length; i++ ) {
+			signature.append( i ).append( ':' );
+			if ( handledGetters[i] ) {
+				appendMember( signature, getters[i] );
+			}
+			signature.append( '/' );
+			if ( handledSetters[i] ) {
+				appendMember( signature, setters[i] );
+			}
+			signature.append( ';' );
+		}
+		return signature.toString();
+	}
+
+	private static void appendMember(StringBuilder signature, Member member) {
+		signature.append( member.getDeclaringClass().getName() ).append( '.' ).append( member.getName() );
+		if ( member instanceof Method ) {
+			signature.append( RuntimeSupport.makeDescriptor( (Method) member ) );
+		}
+		else {
+			signature.append( ' ' ).append( descriptor( ( (Field) member ).getType() ) );
+		}
+	}
+
+	private boolean isAccessible(Member member, boolean write) {
+		if ( member == null ) {
+			return false;
+		}
+		final int modifiers = member.getModifiers();
+		if ( Modifier.isPrivate( modifiers ) || Modifier.isStatic( modifiers ) ) {
+			return false;
+		}
+		if ( member instanceof Field ) {
+			if ( write && Modifier.isFinal( modifiers ) ) {
+				return false;
+			}
+		}
+		else if ( member instanceof Method ) {
+			final int parameterCount = ( (Method) member ).getParameterTypes().length;
+			if ( parameterCount != ( write ? 1 : 0 ) ) {
+				return false;
+			}
+		}
+		else {
+			return false;
+		}
+
+		final Class declaringClass = member.getDeclaringClass();
+		if ( !declaringClass.isAssignableFrom( beanClass ) ) {
+			return false;
+		}
+		if ( Modifier.isPublic( modifiers ) && Modifier.isPublic( declaringClass.getModifiers() ) ) {
+			return true;
+		}
+		// package-private and protected members (as well as public members of non-public classes) are only
+		// accessible from the same runtime package
+		return declaringClass.getClassLoader() == beanClass.getClassLoader()
+				&& packageName( declaringClass ).equals( packageName( beanClass ) );
+	}
+
+	private static String packageName(Class clazz) {
+		final String name = clazz.getName();
+		final int loc = name.lastIndexOf( '.' );
+		return loc < 0 ? "" : name.substring( 0, loc );
+	}
+
+	private ClassFile make(boolean[] handledGetters, boolean[] handledSetters) throws CannotCompileException {
+		final String className = beanClass.getName() + "$$_hibernate_accessor_" + COUNTER.getAndIncrement();
+		final ClassFile classfile = new ClassFile( false, className, ACCESSOR_CLASS_NAME );
+		// straight-line code only, so there is no need for stack map frames
+		classfile.setMajorVersion( ClassFile.JAVA_5 );
+		classfile.setAccessFlags( AccessFlag.PUBLIC | AccessFlag.FINAL );
+		addConstructor( classfile );
+		addGetter( classfile, handledGetters );
+		addSetter( classfile, handledSetters );
+		return classfile;
+	}
+
+	private void addConstructor(ClassFile classfile) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final MethodInfo methodInfo = new MethodInfo( constPool, MethodInfo.nameInit, CONSTRUCTOR_DESC );
+
+		final Bytecode code = new Bytecode( constPool, 0, 3 );
+		code.addAload( 0 );
+		code.addAload( 1 );
+		code.addAload( 2 );
+		code.addInvokespecial( ACCESSOR_CLASS_NAME, MethodInfo.nameInit, CONSTRUCTOR_DESC );
+		code.addOpcode( Opcode.RETURN );
+
+		methodInfo.setCodeAttribute( code.toCodeAttribute() );
+		methodInfo.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( methodInfo );
+	}
+
+	private void addGetter(ClassFile classfile, boolean[] handled) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final MethodInfo methodInfo = new MethodInfo( constPool, "getPropertyValues", BULK_METHOD_DESC );
+
+		/* | this | bean | values | raw bean | */
+		final Bytecode code = new Bytecode( constPool, 0, 4 );
+		code.addAload( 1 );
+		code.addCheckcast( beanClass.getName() );
+		code.addAstore( 3 );
+		for ( int i = 0; i < handled.length; i++ ) {
+			if ( !handled[i] ) {
+				continue;
+			}
+			final Class type;
+			// values, i, raw bean
+			code.addAload( 2 );
+			code.addIconst( i );
+			code.addAload( 3 );
+			if ( getters[i] instanceof Method ) {
+				final Method method = (Method) getters[i];
+				type = method.getReturnType();
+				code.addInvokevirtual( beanClass.getName(), method.getName(), RuntimeSupport.makeDescriptor( method ) );
+			}
+			else {
+				final Field field = (Field) getters[i];
+				type = field.getType();
+				code.addGetfield( beanClass.getName(), field.getName(), descriptor( type ) );
+			}
+			if ( type.isPrimitive() ) {
+				addBoxing( code, type );
+			}
+			code.addOpcode( Opcode.AASTORE );
+		}
+		code.addOpcode( Opcode.RETURN );
+
+		methodInfo.setCodeAttribute( code.toCodeAttribute() );
+		methodInfo.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( methodInfo );
+	}
+
+	private void addSetter(ClassFile classfile, boolean[] handled) throws CannotCompileException {
+		final ConstPool constPool = classfile.getConstPool();
+		final MethodInfo methodInfo = new MethodInfo( constPool, "setPropertyValues", BULK_METHOD_DESC );
+
+		/* | this | bean | values | raw bean | */
+		final Bytecode code = new Bytecode( constPool, 0, 4 );
+		code.addAload( 1 );
+		code.addCheckcast( beanClass.getName() );
+		code.addAstore( 3 );
+		for ( int i = 0; i < handled.length; i++ ) {
+			if ( !handled[i] ) {
+				continue;
+			}
+			final Class type = setters[i] instanceof Method
+					? ( (Method) setters[i] ).getParameterTypes()[0]
+					: ( (Field) setters[i] ).getType();
+			// raw bean, values[i]
+			code.addAload( 3 );
+			code.addAload( 2 );
+			code.addIconst( i );
+			code.addOpcode( Opcode.AALOAD );
+			if ( type.isPrimitive() ) {
+				addUnboxing( code, type );
+			}
+			else {
+				code.addCheckcast( type.getName() );
+			}
+			if ( setters[i] instanceof Method ) {
+				final Method method = (Method) setters[i];
+				code.addInvokevirtual( beanClass.getName(), method.getName(), RuntimeSupport.makeDescriptor( method ) );
+				// discard the result of "fluent" setters
+				final Class returnType = method.getReturnType();
+				if ( returnType == Long.TYPE || returnType == Double.TYPE ) {
+					code.addOpcode( Opcode.POP2 );
+				}
+				else if ( returnType != Void.TYPE ) {
+					code.addOpcode( Opcode.POP );
+				}
+			}
+			else {
+				final Field field = (Field) setters[i];
+				code.addPutfield( beanClass.getName(), field.getName(), descriptor( type ) );
+			}
+		}
+		code.addOpcode( Opcode.RETURN );
+
+		methodInfo.setCodeAttribute( code.toCodeAttribute() );
+		methodInfo.setAccessFlags( AccessFlag.PUBLIC );
+		classfile.addMethod( methodInfo );
+	}
+
+	private static void addBoxing(Bytecode code, Class type) {
+		final int index = FactoryHelper.typeIndex( type );
+		final String wrapperType = FactoryHelper.wrapperTypes[index];
+		code.addInvokestatic(
+				wrapperType,
+				"valueOf",
+				"(" + descriptor( type ) + ")" + descriptor( wrapperType )
+		);
+	}
+
+	private static void addUnboxing(Bytecode code, Class type) {
+		final int index = FactoryHelper.typeIndex( type );
+		final String wrapperType = FactoryHelper.wrapperTypes[index];
+		code.addCheckcast( wrapperType );
+		code.addInvokevirtual( wrapperType, FactoryHelper.unwarpMethods[index], FactoryHelper.unwrapDesc[index] );
+	}
+
+	private static String descriptor(Class type) {
+		if ( type.isPrimitive() ) {
+			return FactoryHelper.unwrapDesc[ FactoryHelper.typeIndex( type ) ].substring( 2 );
+		}
+		if ( type.isArray() ) {
+			return type.getName().replace( '.', '/' );
+		}
+		return descriptor( type.getName() );
+	}
+
+	private static String descriptor(String className) {
+		return 'L' + className.replace( '.', '/' ) + ';';
+	}
+}
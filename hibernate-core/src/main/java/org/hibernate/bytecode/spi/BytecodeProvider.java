@@ -34,6 +34,8 @@ import org.hibernate.bytecode.buildtime.spi.FieldFilter;
  *     <li>bean reflection optimization {@link #getReflectionOptimizer}</li>
  *     <li>field-access instrumentation {@link #getTransformer}</li>
  * </ol>
+ * Providers may additionally implement {@link GeneratedPropertyAccessorProvider} to generate bulk property
+ * accessors.
  *
  * @author Steve Ebersole
  */
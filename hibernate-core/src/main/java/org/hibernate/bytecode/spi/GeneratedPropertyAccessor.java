@@ -0,0 +1,82 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.spi;
+
+/**
+ * Reads and writes the properties of a class in bulk through generated bytecode, i.e. through direct field access
+ * and method invocation rather than reflection.  Only the properties whose members are accessible from
+ * generated code are handled; the caller is responsible for the others.
+ *
+ *
+ * @see GeneratedPropertyAccessorProvider
+ */
+public abstract class GeneratedPropertyAccessor {
+	private final boolean[] handledGetters;
+	private final boolean[] handledSetters;
+
+	protected GeneratedPropertyAccessor(boolean[] handledGetters, boolean[] handledSetters) {
+		this.handledGetters = handledGetters;
+		this.handledSetters = handledSetters;
+	}
+
+	/**
+	 * Is the value of the indexed property read by {@link #getPropertyValues}?
+	 *
+	 * @param index The property index
+	 *
+	 * @return {@code true} if handled, {@code false} if the caller needs to read the value itself.
+	 */
+	public boolean isGetterHandled(int index) {
+		return handledGetters[index];
+	}
+
+	/**
+	 * Is the value of the indexed property written by {@link #setPropertyValues}?
+	 *
+	 * @param index The property index
+	 *
+	 * @return {@code true} if handled, {@code false} if the caller needs to write the value itself.
+	 */
+	public boolean isSetterHandled(int index) {
+		return handledSetters[index];
+	}
+
+	/**
+	 * Read the values of all handled properties into the corresponding positions of {@code values}; the other
+	 * positions are left untouched.
+	 *
+	 * @param bean The instance to read from
+	 * @param values The array to fill
+	 */
+	public abstract void getPropertyValues(Object bean, Object[] values);
+
+	/**
+	 * Write the values of all handled properties from the corresponding positions of {@code values}; the other
+	 * positions are ignored.
+	 *
+	 * @param bean The instance to write to
+	 * @param values The values
+	 */
+	public abstract void setPropertyValues(Object bean, Object[] values);
+}
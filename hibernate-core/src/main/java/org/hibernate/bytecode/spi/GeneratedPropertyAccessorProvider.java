@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.bytecode.spi;
+
+import java.lang.reflect.Member;
+
+/**
+ * Optional contract for a {@link BytecodeProvider} which is able to generate {@link GeneratedPropertyAccessor}
+ * implementations.  Callers check whether the provider in use implements it and otherwise fall back to regular
+ * reflective access.
+ */
+public interface GeneratedPropertyAccessorProvider {
+	/**
+	 * Generate an accessor reading and writing the given members of a class through direct field access and
+	 * method invocation rather than reflection.  Members which cannot be accessed that way (private ones, for
+	 * example) are skipped, see {@link GeneratedPropertyAccessor#isGetterHandled}.
+	 *
+	 * @param clazz The class to be accessed.
+	 * @param getters The field or getter method of each property, {@code null} for properties to skip.
+	 * @param setters The field or setter method of each property, {@code null} for properties to skip.
+	 * @return The accessor, or {@code null} if none of the members can be accessed directly.
+	 */
+	public GeneratedPropertyAccessor getGeneratedPropertyAccessor(Class clazz, Member[] getters, Member[] setters);
+}
@@ -0,0 +1,199 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * JVM-local copy of the update timestamps of query spaces, kept in front of a
+ * {@link org.hibernate.cache.spi.NotifyingTimestampsRegion}.
+ * <p/>
+ * Query spaces are interned into slots of a fixed capacity; a space seen once capacity is exhausted is simply not
+ * tracked locally.  Reads are lock-free; writes to a slot are serialized on one of a small set of lock stripes.
+ * Each slot carries a generation, bumped by every write and invalidation, so that a value read from the region
+ * concurrently with an invalidation is never installed over it, and so that concurrent writes of the same slot
+ * (whose order in the region is unknown) leave the slot to be re-read from the region.
+ */
+public final class LocalUpdateTimestamps {
+	/**
+	 * Marks a slot whose value must be (re)read from the region.
+	 */
+	public static final long UNKNOWN = Long.MIN_VALUE;
+
+	/**
+	 * Marks a slot for which the region holds no timestamp.
+	 */
+	public static final long ABSENT = Long.MIN_VALUE + 1;
+
+	private static final int STRIPES = 16;
+
+	private final ConcurrentHashMap<Serializable, Integer> slotsBySpace = new ConcurrentHashMap<Serializable, Integer>();
+	private final AtomicInteger slotCount = new AtomicInteger();
+	private final AtomicLongArray timestamps;
+	private final AtomicLongArray generations;
+	private final Object[] stripes = new Object[STRIPES];
+
+	/**
+	 * Constructs a LocalUpdateTimestamps.
+	 *
+	 * @param maxSpaces The maximum number of query spaces tracked locally.
+	 */
+	public LocalUpdateTimestamps(int maxSpaces) {
+		this.timestamps = new AtomicLongArray( maxSpaces );
+		this.generations = new AtomicLongArray( maxSpaces );
+		for ( int i = 0; i < maxSpaces; i++ ) {
+			timestamps.set( i, UNKNOWN );
+		}
+		for ( int i = 0; i < STRIPES; i++ ) {
+			stripes[i] = new Object();
+		}
+	}
+
+	/**
+	 * Resolve (interning it if needed) the slot of the given query space.
+	 *
+	 * @param space The query space
+	 *
+	 * @return The slot, or -1 if the space is not tracked locally.
+	 */
+	public int slot(Serializable space) {
+		final Integer existing = slotsBySpace.get( space );
+		if ( existing != null ) {
+			return existing;
+		}
+		synchronized ( slotsBySpace ) {
+			final Integer raced = slotsBySpace.get( space );
+			if ( raced != null ) {
+				return raced;
+			}
+			final int slot = slotCount.get();
+			if ( slot >= timestamps.length() ) {
+				return -1;
+			}
+			slotsBySpace.put( space, slot );
+			slotCount.set( slot + 1 );
+			return slot;
+		}
+	}
+
+	/**
+	 * Get the local timestamp of the given slot.
+	 *
+	 * @param slot The slot
+	 *
+	 * @return The timestamp, {@link #ABSENT} or {@link #UNKNOWN}.
+	 */
+	public long get(int slot) {
+		return timestamps.get( slot );
+	}
+
+	/**
+	 * Get the generation of the given slot, to be passed back to {@link #seed}.
+	 *
+	 * @param slot The slot
+	 *
+	 * @return The current generation
+	 */
+	public long generation(int slot) {
+		return generations.get( slot );
+	}
+
+	/**
+	 * Announce a write of the given slot to the region by this JVM, to be completed by {@link #put}.
+	 *
+	 * @param slot The slot
+	 *
+	 * @return The generation to pass to {@link #put}
+	 */
+	public long beginPut(int slot) {
+		synchronized ( stripes[slot & ( STRIPES - 1 )] ) {
+			return generations.incrementAndGet( slot );
+		}
+	}
+
+	/**
+	 * Record a timestamp written to the region by this JVM.  Should another write or an invalidation of the slot have
+	 * happened since {@link #beginPut}, the order in which the region applied the writes is not known, so the slot is
+	 * invalidated instead, to be re-read from the region.
+	 *
+	 * @param slot The slot
+	 * @param generation The generation returned by {@link #beginPut}
+	 * @param timestamp The timestamp written to the region
+	 */
+	public void put(int slot, long generation, long timestamp) {
+		synchronized ( stripes[slot & ( STRIPES - 1 )] ) {
+			final boolean concurrent = generations.get( slot ) != generation;
+			generations.incrementAndGet( slot );
+			timestamps.set( slot, concurrent ? UNKNOWN : timestamp );
+		}
+	}
+
+	/**
+	 * Install a value read from the region, unless the slot was written or invalidated since {@code generation}
+	 * was obtained.
+	 *
+	 * @param slot The slot
+	 * @param generation The generation observed before reading the region
+	 * @param timestamp The timestamp read from the region, or {@link #ABSENT}
+	 */
+	public void seed(int slot, long generation, long timestamp) {
+		synchronized ( stripes[slot & ( STRIPES - 1 )] ) {
+			if ( generations.get( slot ) == generation ) {
+				timestamps.set( slot, timestamp );
+			}
+		}
+	}
+
+	/**
+	 * Forget the local timestamp of the given space.
+	 *
+	 * @param space The query space
+	 */
+	public void invalidate(Object space) {
+		final Integer slot = slotsBySpace.get( space );
+		if ( slot != null ) {
+			invalidate( slot.intValue() );
+		}
+	}
+
+	/**
+	 * Forget all local timestamps.
+	 */
+	public void invalidateAll() {
+		final int count = slotCount.get();
+		for ( int i = 0; i < count; i++ ) {
+			invalidate( i );
+		}
+	}
+
+	private void invalidate(int slot) {
+		synchronized ( stripes[slot & ( STRIPES - 1 )] ) {
+			generations.incrementAndGet( slot );
+			timestamps.set( slot, UNKNOWN );
+		}
+	}
+}
@@ -39,7 +39,10 @@ import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.hibernate.cfg.Settings;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -197,6 +200,8 @@ public class StandardQueryCache implements QueryCache {
 			}
 		}
 
+		preloadCachedEntities( cacheable, returnTypes, session );
+
 		final List result = new ArrayList( cacheable.size() - 1 );
 		for ( int i = 1; i < cacheable.size(); i++ ) {
 			try {
@@ -230,6 +235,44 @@ public class StandardQueryCache implements QueryCache {
 		return result;
 	}
 
+	/**
+	 * Resolve the entities referenced by the cached rows with one multi-load per entity type, so
+	 * that their second-level cache entries are read in bulk rather than one at a time during
+	 * assembly.
+	 */
+	private void preloadCachedEntities(List cacheable, Type[] returnTypes, SessionImplementor session) {
+		if ( !session.isEventSource() || cacheable.size() < 3 ) {
+			return;
+		}
+
+		final boolean singleResult = returnTypes.length == 1;
+		for ( int j = 0; j < returnTypes.length; j++ ) {
+			if ( !returnTypes[j].isEntityType() ) {
+				continue;
+			}
+			final EntityType entityType = (EntityType) returnTypes[j];
+			final EntityPersister persister = session.getFactory().getEntityPersister(
+					entityType.getAssociatedEntityName()
+			);
+			if ( !entityType.isEager() || !entityType.isReferenceToPrimaryKey() || !persister.hasCache() ) {
+				continue;
+			}
+
+			final List<Serializable> ids = new ArrayList<Serializable>( cacheable.size() - 1 );
+			for ( int i = 1; i < cacheable.size(); i++ ) {
+				final Serializable cached = singleResult
+						? (Serializable) cacheable.get( i )
+						: ( (Serializable[]) cacheable.get( i ) )[j];
+				if ( cached != null ) {
+					ids.add( (Serializable) persister.getIdentifierType().assemble( cached, session, null ) );
+				}
+			}
+			if ( ids.size() > 1 ) {
+				( (EventSource) session ).byMultipleIds( persister.getEntityName() ).multiLoad( ids );
+			}
+		}
+	}
+
 	private List getCachedResults(QueryKey key, SessionImplementor session) {
 		List cacheable = null;
 		try {
@@ -0,0 +1,49 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Optional contract for {@link TimestampsRegion} implementations able to read the timestamps of several query spaces
+ * at once, typically in a single round trip to a remote store.
+ * <p/>
+ * {@link UpdateTimestampsCache} uses it when the up-to-date check of a query result involves more than one query
+ * space whose timestamp has to be read from the region.
+ */
+public interface BulkReadTimestampsRegion extends TimestampsRegion {
+	/**
+	 * Get the timestamps of the given query spaces.
+	 *
+	 * @param keys The query spaces
+	 *
+	 * @return The timestamps, keyed by query space; spaces for which the region holds no timestamp are simply left out
+	 *
+	 * @throws CacheException Indicates a problem accessing the region
+	 */
+	public Map<Object, Object> getAll(Collection<?> keys) throws CacheException;
+}
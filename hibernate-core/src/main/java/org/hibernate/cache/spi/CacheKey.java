@@ -67,6 +67,28 @@ public class CacheKey implements Serializable {
 		this.hashCode = calculateHashCode( type, factory );
 	}
 
+	/**
+	 * Construct a key whose hash code has already been computed by the caller.  Subclasses which
+	 * do not rely on the Hibernate type for equality pass a {@code null} type and override
+	 * {@link #equals} accordingly.
+	 *
+	 * @param id The identifier associated with the cached data
+	 * @param entityOrRoleName The entity or collection-role name.
+	 * @param tenantId The tenant identifier associated this data.
+	 * @param hashCode The pre-calculated hash code of the key
+	 */
+	protected CacheKey(
+			final Serializable id,
+			final String entityOrRoleName,
+			final String tenantId,
+			final int hashCode) {
+		this.key = id;
+		this.type = null;
+		this.entityOrRoleName = entityOrRoleName;
+		this.tenantId = tenantId;
+		this.hashCode = hashCode;
+	}
+
 	private int calculateHashCode(Type type, SessionFactoryImplementor factory) {
 		int result = type.getHashCode( key, factory );
 		result = 31 * result + (tenantId != null ? tenantId.hashCode() : 0);
@@ -98,6 +120,10 @@ public class CacheKey implements Serializable {
 			return false;
 		}
 		final CacheKey that = (CacheKey) other;
+		if ( type == null || that.type == null ) {
+			// a simplified key is never equal to a fully described one
+			return false;
+		}
 		return EqualsHelper.equals( entityOrRoleName, that.entityOrRoleName )
 				&& type.isEqual( key, that.key )
 				&& EqualsHelper.equals( tenantId, that.tenantId );
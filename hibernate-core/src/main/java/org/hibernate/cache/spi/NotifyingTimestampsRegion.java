@@ -0,0 +1,49 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+/**
+ * Optional contract for {@link TimestampsRegion} implementations able to tell when timestamps held by the region
+ * were changed by something other than the {@link UpdateTimestampsCache} of this JVM (another node of the cluster,
+ * an eviction, ...).
+ * <p/>
+ * {@link UpdateTimestampsCache} keeps a local copy of the timestamps it has seen for such regions and only goes back
+ * to the region for a query space once it has been told that the timestamp of that space may have changed.  Regions
+ * which cannot give that guarantee should simply not implement this contract.
+ */
+public interface NotifyingTimestampsRegion extends TimestampsRegion {
+	/**
+	 * Register a listener to be notified of timestamp changes.
+	 *
+	 * @param listener The listener
+	 */
+	public void addInvalidationListener(TimestampsInvalidationListener listener);
+
+	/**
+	 * Unregister a listener previously registered via {@link #addInvalidationListener}.
+	 *
+	 * @param listener The listener
+	 */
+	public void removeInvalidationListener(TimestampsInvalidationListener listener);
+}
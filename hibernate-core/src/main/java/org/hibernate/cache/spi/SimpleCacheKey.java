@@ -0,0 +1,72 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+import java.io.Serializable;
+
+/**
+ * A {@link CacheKey} for entities which have a second-level cache region to themselves and are not
+ * multi-tenant.  Since nothing else is stored in the region the identifier alone tells entries apart,
+ * so equality and hashing simply delegate to the identifier value and neither the Hibernate type nor
+ * the entity name needs to be kept (or replicated) with the key.
+ * <p/>
+ * Only identifiers whose {@link Object#equals} and {@link Object#hashCode} agree with the Hibernate type
+ * are eligible; the decision is made per entity hierarchy when the SessionFactory is built.
+ */
+public class SimpleCacheKey extends CacheKey {
+	private final transient String entityName;
+
+	/**
+	 * Construct a new key for an entity instance.
+	 *
+	 * @param id The entity identifier
+	 * @param entityName The root entity name, used only for logging purposes
+	 */
+	public SimpleCacheKey(Serializable id, String entityName) {
+		super( id, null, null, id.hashCode() );
+		this.entityName = entityName;
+	}
+
+	@Override
+	public String getEntityOrRoleName() {
+		return entityName;
+	}
+
+	@Override
+	public boolean equals(Object other) {
+		if ( this == other ) {
+			return true;
+		}
+		if ( !( other instanceof SimpleCacheKey ) ) {
+			return false;
+		}
+		final SimpleCacheKey that = (SimpleCacheKey) other;
+		return hashCode() == that.hashCode() && getKey().equals( that.getKey() );
+	}
+
+	@Override
+	public String toString() {
+		return entityName + '#' + getKey().toString();
+	}
+}
@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+/**
+ * Callback used by a {@link NotifyingTimestampsRegion} to report timestamp changes.
+ * <p/>
+ * Notifications must be delivered <b>after</b> the new value is visible through {@link TimestampsRegion#get}.  A
+ * spurious notification (for a change made locally, say) is harmless; a missed one leaves queries reading stale
+ * results.
+ */
+public interface TimestampsInvalidationListener {
+	/**
+	 * The timestamp of the given query space may have changed.
+	 *
+	 * @param space The query space
+	 */
+	public void spaceInvalidated(Object space);
+
+	/**
+	 * Any timestamp held by the region may have changed (region cleared, state transfer, ...).
+	 */
+	public void regionInvalidated();
+}
@@ -24,14 +24,20 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 
 import org.hibernate.cache.CacheException;
+import org.hibernate.cache.internal.LocalUpdateTimestamps;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Settings;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
 
 import org.jboss.logging.Logger;
 
@@ -41,6 +47,11 @@ import org.jboss.logging.Logger;
  * to a higher value than the timeouts of any of the query caches. In fact, we
  * recommend that the the underlying cache not be configured for expiry at all.
  * Note, in particular, that an LRU cache expiry policy is never appropriate.
+ * <p/>
+ * When the region is a {@link NotifyingTimestampsRegion}, the timestamps are also kept in a JVM-local table
+ * ({@link LocalUpdateTimestamps}) and the region is only consulted for a space once it has reported that the
+ * timestamp of that space may have changed.  When the region is a {@link BulkReadTimestampsRegion}, the timestamps a
+ * check has to read from the region are read at once.
  *
  * @author Gavin King
  * @author Mikheil Kapanadze
@@ -56,6 +67,8 @@ public class UpdateTimestampsCache {
 
 	private final SessionFactoryImplementor factory;
 	private final TimestampsRegion region;
+	private final LocalUpdateTimestamps localTimestamps;
+	private final TimestampsInvalidationListener invalidationListener;
 
 	/**
 	 * Constructs an UpdateTimestampsCache.
@@ -65,12 +78,43 @@ public class UpdateTimestampsCache {
 	 * @param factory The SessionFactory
 	 */
 	public UpdateTimestampsCache(Settings settings, Properties props, final SessionFactoryImplementor factory) {
+		this( buildRegion( settings, props ), props, factory );
+	}
+
+	/**
+	 * Constructs an UpdateTimestampsCache around an already built region.
+	 *
+	 * @param region The region holding the timestamps
+	 * @param props Any properties
+	 * @param factory The SessionFactory
+	 */
+	public UpdateTimestampsCache(TimestampsRegion region, Properties props, SessionFactoryImplementor factory) {
 		this.factory = factory;
+		this.region = region;
+
+		if ( region instanceof NotifyingTimestampsRegion
+				&& ConfigurationHelper.getBoolean( AvailableSettings.USE_LOCAL_UPDATE_TIMESTAMPS, props, true ) ) {
+			final int maxSpaces = ConfigurationHelper.getInt(
+					AvailableSettings.LOCAL_UPDATE_TIMESTAMPS_MAX_SPACES,
+					props,
+					1024
+			);
+			this.localTimestamps = new LocalUpdateTimestamps( maxSpaces );
+			this.invalidationListener = new LocalTimestampsInvalidator( localTimestamps );
+			( (NotifyingTimestampsRegion) region ).addInvalidationListener( invalidationListener );
+		}
+		else {
+			this.localTimestamps = null;
+			this.invalidationListener = null;
+		}
+	}
+
+	private static TimestampsRegion buildRegion(Settings settings, Properties props) {
 		final String prefix = settings.getCacheRegionPrefix();
 		final String regionName = prefix == null ? REGION_NAME : prefix + '.' + REGION_NAME;
 
 		LOG.startingUpdateTimestampsCache( regionName );
-		this.region = settings.getRegionFactory().buildTimestampsRegion( regionName, props );
+		return settings.getRegionFactory().buildTimestampsRegion( regionName, props );
 	}
 
 	/**
@@ -103,6 +147,8 @@ public class UpdateTimestampsCache {
 				LOG.debugf( "Pre-invalidating space [%s], timestamp: %s", space, ts );
 			}
 
+			final int slot = localSlot( space );
+			final long generation = slot < 0 ? 0 : localTimestamps.beginPut( slot );
 			try {
 				session.getEventListenerManager().cachePutStart();
 
@@ -113,6 +159,9 @@ public class UpdateTimestampsCache {
 			finally {
 				session.getEventListenerManager().cachePutEnd();
 			}
+			if ( slot >= 0 ) {
+				localTimestamps.put( slot, generation, ts );
+			}
 
 			if ( stats ) {
 				factory.getStatisticsImplementor().updateTimestampsCachePut();
@@ -139,6 +188,8 @@ public class UpdateTimestampsCache {
 				LOG.debugf( "Invalidating space [%s], timestamp: %s", space, ts );
 			}
 
+			final int slot = localSlot( space );
+			final long generation = slot < 0 ? 0 : localTimestamps.beginPut( slot );
 			try {
 				session.getEventListenerManager().cachePutStart();
 
@@ -149,6 +200,9 @@ public class UpdateTimestampsCache {
 			finally {
 				session.getEventListenerManager().cachePutEnd();
 			}
+			if ( slot >= 0 ) {
+				localTimestamps.put( slot, generation, ts );
+			}
 
 			if ( stats ) {
 				factory.getStatisticsImplementor().updateTimestampsCachePut();
@@ -171,29 +225,36 @@ public class UpdateTimestampsCache {
 	public boolean isUpToDate(Set<Serializable> spaces, Long timestamp, SessionImplementor session) throws CacheException {
 		final boolean stats = factory != null && factory.getStatistics().isStatisticsEnabled();
 
+		// spaces whose timestamp is not known locally are checked last, so that a query made stale by a local
+		// update never has to go to the region at all
+		List<Serializable> remoteSpaces = null;
 		for ( Serializable space : spaces ) {
-			final Long lastUpdate = getLastUpdateTimestampForSpace( space, session );
-			if ( lastUpdate == null ) {
-				if ( stats ) {
-					factory.getStatisticsImplementor().updateTimestampsCacheMiss();
-				}
-				//the last update timestamp was lost from the cache
-				//(or there were no updates since startup!)
-				//updateTimestamps.put( space, new Long( updateTimestamps.nextTimestamp() ) );
-				//result = false; // safer
-			}
-			else {
-				if ( DEBUG_ENABLED ) {
-					LOG.debugf(
-							"[%s] last update timestamp: %s",
-							space,
-							lastUpdate + ", result set timestamp: " + timestamp
-					);
+			final long lastUpdate = getLocalTimestamp( space );
+			if ( lastUpdate == LocalUpdateTimestamps.UNKNOWN ) {
+				if ( remoteSpaces == null ) {
+					remoteSpaces = new ArrayList<Serializable>( spaces.size() );
 				}
-				if ( stats ) {
-					factory.getStatisticsImplementor().updateTimestampsCacheHit();
+				remoteSpaces.add( space );
+			}
+			else if ( !isUpToDate( space, lastUpdate, timestamp, stats ) ) {
+				return false;
+			}
+		}
+
+		if ( remoteSpaces == null ) {
+			return true;
+		}
+		if ( remoteSpaces.size() > 1 && region instanceof BulkReadTimestampsRegion ) {
+			final long[] lastUpdates = getLastUpdateTimestampsForSpaces( remoteSpaces, session );
+			for ( int i = 0; i < lastUpdates.length; i++ ) {
+				if ( !isUpToDate( remoteSpaces.get( i ), lastUpdates[i], timestamp, stats ) ) {
+					return false;
 				}
-				if ( lastUpdate >= timestamp ) {
+			}
+		}
+		else {
+			for ( Serializable space : remoteSpaces ) {
+				if ( !isUpToDate( space, getLastUpdateTimestampForSpace( space, session ), timestamp, stats ) ) {
 					return false;
 				}
 			}
@@ -201,7 +262,45 @@ public class UpdateTimestampsCache {
 		return true;
 	}
 
-	private Long getLastUpdateTimestampForSpace(Serializable space, SessionImplementor session) {
+	private boolean isUpToDate(Serializable space, long lastUpdate, Long timestamp, boolean stats) {
+		if ( lastUpdate == LocalUpdateTimestamps.ABSENT ) {
+			if ( stats ) {
+				factory.getStatisticsImplementor().updateTimestampsCacheMiss();
+			}
+			//the last update timestamp was lost from the cache
+			//(or there were no updates since startup!)
+			//updateTimestamps.put( space, new Long( updateTimestamps.nextTimestamp() ) );
+			//result = false; // safer
+			return true;
+		}
+
+		if ( DEBUG_ENABLED ) {
+			LOG.debugf(
+					"[%s] last update timestamp: %s",
+					space,
+					lastUpdate + ", result set timestamp: " + timestamp
+			);
+		}
+		if ( stats ) {
+			factory.getStatisticsImplementor().updateTimestampsCacheHit();
+		}
+		return lastUpdate < timestamp;
+	}
+
+	private int localSlot(Serializable space) {
+		return localTimestamps == null ? -1 : localTimestamps.slot( space );
+	}
+
+	private long getLocalTimestamp(Serializable space) {
+		final int slot = localSlot( space );
+		return slot < 0 ? LocalUpdateTimestamps.UNKNOWN : localTimestamps.get( slot );
+	}
+
+	private long getLastUpdateTimestampForSpace(Serializable space, SessionImplementor session) {
+		final int slot = localSlot( space );
+		// read the generation before going to the region, see LocalUpdateTimestamps#seed
+		final long generation = slot < 0 ? 0 : localTimestamps.generation( slot );
+
 		Long ts = null;
 		try {
 			session.getEventListenerManager().cacheGetStart();
@@ -210,7 +309,41 @@ public class UpdateTimestampsCache {
 		finally {
 			session.getEventListenerManager().cacheGetEnd( ts != null );
 		}
-		return ts;
+
+		final long lastUpdate = ts == null ? LocalUpdateTimestamps.ABSENT : ts;
+		if ( slot >= 0 ) {
+			localTimestamps.seed( slot, generation, lastUpdate );
+		}
+		return lastUpdate;
+	}
+
+	private long[] getLastUpdateTimestampsForSpaces(List<Serializable> spaces, SessionImplementor session) {
+		final int count = spaces.size();
+		final int[] slots = new int[count];
+		final long[] generations = new long[count];
+		for ( int i = 0; i < count; i++ ) {
+			slots[i] = localSlot( spaces.get( i ) );
+			generations[i] = slots[i] < 0 ? 0 : localTimestamps.generation( slots[i] );
+		}
+
+		Map<Object, Object> timestamps = null;
+		try {
+			session.getEventListenerManager().cacheGetStart();
+			timestamps = ( (BulkReadTimestampsRegion) region ).getAll( spaces );
+		}
+		finally {
+			session.getEventListenerManager().cacheGetEnd( timestamps != null && !timestamps.isEmpty() );
+		}
+
+		final long[] lastUpdates = new long[count];
+		for ( int i = 0; i < count; i++ ) {
+			final Long ts = (Long) timestamps.get( spaces.get( i ) );
+			lastUpdates[i] = ts == null ? LocalUpdateTimestamps.ABSENT : ts;
+			if ( slots[i] >= 0 ) {
+				localTimestamps.seed( slots[i], generations[i], lastUpdates[i] );
+			}
+		}
+		return lastUpdates;
 	}
 
 	/**
@@ -220,6 +353,9 @@ public class UpdateTimestampsCache {
 	 */
 	public void clear() throws CacheException {
 		region.evictAll();
+		if ( localTimestamps != null ) {
+			localTimestamps.invalidateAll();
+		}
 	}
 
 	/**
@@ -228,6 +364,9 @@ public class UpdateTimestampsCache {
 	 * @throws CacheException Indicates problem delegating call to underlying region.
 	 */
 	public void destroy() {
+		if ( invalidationListener != null ) {
+			( (NotifyingTimestampsRegion) region ).removeInvalidationListener( invalidationListener );
+		}
 		try {
 			region.destroy();
 		}
@@ -250,4 +389,22 @@ public class UpdateTimestampsCache {
 		return "UpdateTimestampsCache";
 	}
 
+	private static class LocalTimestampsInvalidator implements TimestampsInvalidationListener {
+		private final LocalUpdateTimestamps localTimestamps;
+
+		private LocalTimestampsInvalidator(LocalUpdateTimestamps localTimestamps) {
+			this.localTimestamps = localTimestamps;
+		}
+
+		@Override
+		public void spaceInvalidated(Object space) {
+			localTimestamps.invalidate( space );
+		}
+
+		@Override
+		public void regionInvalidated() {
+			localTimestamps.invalidateAll();
+		}
+	}
+
 }
@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.access;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+
+/**
+ * Optional contract for access strategies able to read and write several keys in a single call
+ * to the underlying cache.  Strategies not implementing this contract are accessed one key at a
+ * time; see {@link org.hibernate.engine.internal.CacheHelper} for the fallback.
+ * <p/>
+ * The semantic of each key is the same as for the corresponding single-key operation on
+ * {@link RegionAccessStrategy}; these methods only save the round-trips to a remote or clustered store.
+ */
+public interface BulkRegionAccessStrategy extends RegionAccessStrategy {
+	/**
+	 * Attempt to retrieve several objects from the cache.
+	 *
+	 * @param keys The keys of the items to be retrieved.
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 *
+	 * @return the cached objects, keyed by their key; keys not found in the cache are not part of the map
+	 *
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 *
+	 * @see #get(Object, long)
+	 */
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException;
+
+	/**
+	 * Attempt to cache several objects, after loading them from the database, explicitly
+	 * specifying the minimalPut behavior.
+	 *
+	 * @param values The items, keyed by their key
+	 * @param versions The item version numbers, keyed by their key; keys of unversioned items may be absent
+	 * @param txTimestamp a timestamp prior to the transaction start time
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 *
+	 * @return the number of objects successfully cached
+	 *
+	 * @throws CacheException Propogated from underlying {@link org.hibernate.cache.spi.Region}
+	 *
+	 * @see #putFromLoad(Object, Object, long, Object, boolean)
+	 */
+	public int putAllFromLoad(
+			Map<?,?> values,
+			Map<?,?> versions,
+			long txTimestamp,
+			boolean minimalPutOverride) throws CacheException;
+}
@@ -0,0 +1,108 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * Binary CacheEntry format for entities.  Used to store the entry into the second-level cache as a single
+ * compact {@code byte[]} rather than as an array of boxed values, which keeps the cached state small both
+ * on-heap and when the cache replicates or overflows it.
+ * <p/>
+ * Only the entity name, version and lazy-property flag are decoded when the entry is read from the cache;
+ * the property values are decoded when the entry is assembled.
+ */
+public class BinaryCacheEntry implements CacheEntryStructure {
+	/**
+	 * Access to the singleton instance.
+	 */
+	public static final BinaryCacheEntry INSTANCE = new BinaryCacheEntry();
+
+	private static final byte FORMAT_VERSION = 1;
+
+	@Override
+	public Object structure(Object item) {
+		final CacheEntry entry = (CacheEntry) item;
+		final BinaryStateCodec.Output output = new BinaryStateCodec.Output();
+		output.writeByte( FORMAT_VERSION );
+		output.writeString( entry.getSubclass() );
+		output.writeByte( entry.areLazyPropertiesUnfetched() ? 1 : 0 );
+		output.writeValue( entry.getVersion() );
+		output.writeValues( entry.getDisassembledState() );
+		return output.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final BinaryStateCodec.Input input = new BinaryStateCodec.Input( (byte[]) structured );
+		if ( input.readByte() != FORMAT_VERSION ) {
+			throw new CacheException( "Unsupported binary cache entry format" );
+		}
+		final String subclass = input.readString();
+		final boolean lazyPropertiesUnfetched = input.readByte() != 0;
+		final Object version = input.readValue();
+		return new LazilyDecodedCacheEntry(
+				(byte[]) structured,
+				input.getPosition(),
+				subclass,
+				lazyPropertiesUnfetched,
+				version
+		);
+	}
+
+	private BinaryCacheEntry() {
+	}
+
+	/**
+	 * Cache entry decoding the disassembled state from the binary form on first access.
+	 */
+	private static class LazilyDecodedCacheEntry extends StandardCacheEntryImpl {
+		private final byte[] encoded;
+		private final int stateOffset;
+		private Serializable[] disassembledState;
+
+		private LazilyDecodedCacheEntry(
+				byte[] encoded,
+				int stateOffset,
+				String subclass,
+				boolean lazyPropertiesUnfetched,
+				Object version) {
+			super( null, subclass, lazyPropertiesUnfetched, version );
+			this.encoded = encoded;
+			this.stateOffset = stateOffset;
+		}
+
+		@Override
+		public Serializable[] getDisassembledState() {
+			if ( disassembledState == null ) {
+				final BinaryStateCodec.Input input = new BinaryStateCodec.Input( encoded, stateOffset );
+				disassembledState = input.readValues( new Serializable[(int) input.readVarLong()] );
+			}
+			return disassembledState;
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+
+/**
+ * Binary CacheEntry format for persistent collections.  Used to store the entry into the second-level cache
+ * as a single compact {@code byte[]}; the collection state is decoded when the entry is assembled.
+ *
+ * @see BinaryCacheEntry
+ */
+public class BinaryCollectionCacheEntry implements CacheEntryStructure {
+	/**
+	 * Access to the singleton instance.
+	 */
+	public static final BinaryCollectionCacheEntry INSTANCE = new BinaryCollectionCacheEntry();
+
+	private static final byte FORMAT_VERSION = 1;
+
+	@Override
+	public Object structure(Object item) {
+		final CollectionCacheEntry entry = (CollectionCacheEntry) item;
+		final BinaryStateCodec.Output output = new BinaryStateCodec.Output();
+		output.writeByte( FORMAT_VERSION );
+		output.writeValues( entry.getState() );
+		return output.toByteArray();
+	}
+
+	@Override
+	public Object destructure(Object structured, SessionFactoryImplementor factory) {
+		final byte[] encoded = (byte[]) structured;
+		if ( encoded.length == 0 || encoded[0] != FORMAT_VERSION ) {
+			throw new CacheException( "Unsupported binary collection cache entry format" );
+		}
+		return new LazilyDecodedCollectionCacheEntry( encoded );
+	}
+
+	private BinaryCollectionCacheEntry() {
+	}
+
+	/**
+	 * Collection cache entry decoding the collection state from the binary form on first access.
+	 */
+	private static class LazilyDecodedCollectionCacheEntry extends CollectionCacheEntry {
+		private final byte[] encoded;
+		private Serializable[] state;
+
+		private LazilyDecodedCollectionCacheEntry(byte[] encoded) {
+			super( (Serializable) null );
+			this.encoded = encoded;
+		}
+
+		@Override
+		public Serializable[] getState() {
+			if ( state == null ) {
+				final BinaryStateCodec.Input input = new BinaryStateCodec.Input( encoded, 1 );
+				state = input.readValues( new Serializable[(int) input.readVarLong()] );
+			}
+			return state;
+		}
+
+		@Override
+		public void assemble(
+				final PersistentCollection collection,
+				final CollectionPersister persister,
+				final Object owner) {
+			collection.initializeFromCache( persister, getState(), owner );
+			collection.afterInitialize();
+		}
+	}
+}
@@ -0,0 +1,378 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi.entry;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.UUID;
+
+import org.hibernate.bytecode.instrumentation.spi.LazyPropertyInitializer;
+import org.hibernate.cache.CacheException;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.property.BackrefPropertyAccessor;
+
+/**
+ * Encodes disassembled state into the compact binary form used by {@link BinaryCacheEntry} and
+ * {@link BinaryCollectionCacheEntry}.
+ * <p/>
+ * Each value is written as a one byte tag followed by its payload: integral values as zig-zag varints,
+ * strings as a varint length followed by varint chars, arrays recursively.  Only values of a type without
+ * a tag of their own fall back to Java serialization.
+ */
+final class BinaryStateCodec {
+	private static final byte NULL = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = 2;
+	private static final byte INTEGER = 3;
+	private static final byte LONG = 4;
+	private static final byte SHORT = 5;
+	private static final byte BYTE = 6;
+	private static final byte CHARACTER = 7;
+	private static final byte DOUBLE = 8;
+	private static final byte FLOAT = 9;
+	private static final byte STRING = 10;
+	private static final byte BIG_DECIMAL = 11;
+	private static final byte BIG_INTEGER = 12;
+	private static final byte DATE = 13;
+	private static final byte SQL_DATE = 14;
+	private static final byte SQL_TIME = 15;
+	private static final byte SQL_TIMESTAMP = 16;
+	private static final byte UUID_VALUE = 17;
+	private static final byte BYTE_ARRAY = 18;
+	private static final byte SERIALIZABLE_ARRAY = 19;
+	private static final byte OBJECT_ARRAY = 20;
+	private static final byte UNFETCHED_PROPERTY = 21;
+	private static final byte UNKNOWN_BACKREF = 22;
+	private static final byte SERIALIZED = 23;
+
+	private BinaryStateCodec() {
+	}
+
+	/**
+	 * Growable buffer the values are encoded into.
+	 */
+	static final class Output {
+		private byte[] buffer = new byte[64];
+		private int position;
+
+		private void ensureCapacity(int additional) {
+			if ( position + additional > buffer.length ) {
+				buffer = Arrays.copyOf( buffer, Math.max( buffer.length << 1, position + additional ) );
+			}
+		}
+
+		void writeByte(int value) {
+			ensureCapacity( 1 );
+			buffer[position++] = (byte) value;
+		}
+
+		void writeBytes(byte[] bytes) {
+			writeVarLong( bytes.length );
+			ensureCapacity( bytes.length );
+			System.arraycopy( bytes, 0, buffer, position, bytes.length );
+			position += bytes.length;
+		}
+
+		void writeVarLong(long value) {
+			ensureCapacity( 10 );
+			while ( ( value & ~0x7FL ) != 0 ) {
+				buffer[position++] = (byte) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			buffer[position++] = (byte) value;
+		}
+
+		void writeSignedVarLong(long value) {
+			writeVarLong( ( value << 1 ) ^ ( value >> 63 ) );
+		}
+
+		void writeFixedLong(long value) {
+			ensureCapacity( 8 );
+			for ( int i = 56; i >= 0; i -= 8 ) {
+				buffer[position++] = (byte) ( value >>> i );
+			}
+		}
+
+		void writeString(String value) {
+			final int length = value.length();
+			writeVarLong( length );
+			for ( int i = 0; i < length; i++ ) {
+				writeVarLong( value.charAt( i ) );
+			}
+		}
+
+		void writeValue(Object value) {
+			if ( value == null ) {
+				writeByte( NULL );
+				return;
+			}
+			if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+				writeByte( UNFETCHED_PROPERTY );
+				return;
+			}
+			if ( value == BackrefPropertyAccessor.UNKNOWN ) {
+				writeByte( UNKNOWN_BACKREF );
+				return;
+			}
+
+			final Class valueClass = value.getClass();
+			if ( valueClass == String.class ) {
+				writeByte( STRING );
+				writeString( (String) value );
+			}
+			else if ( valueClass == Long.class ) {
+				writeByte( LONG );
+				writeSignedVarLong( (Long) value );
+			}
+			else if ( valueClass == Integer.class ) {
+				writeByte( INTEGER );
+				writeSignedVarLong( (Integer) value );
+			}
+			else if ( valueClass == Boolean.class ) {
+				writeByte( (Boolean) value ? TRUE : FALSE );
+			}
+			else if ( valueClass == Short.class ) {
+				writeByte( SHORT );
+				writeSignedVarLong( (Short) value );
+			}
+			else if ( valueClass == Byte.class ) {
+				writeByte( BYTE );
+				writeByte( (Byte) value );
+			}
+			else if ( valueClass == Character.class ) {
+				writeByte( CHARACTER );
+				writeVarLong( (Character) value );
+			}
+			else if ( valueClass == Double.class ) {
+				writeByte( DOUBLE );
+				writeFixedLong( Double.doubleToRawLongBits( (Double) value ) );
+			}
+			else if ( valueClass == Float.class ) {
+				writeByte( FLOAT );
+				writeVarLong( Float.floatToRawIntBits( (Float) value ) & 0xFFFFFFFFL );
+			}
+			else if ( valueClass == BigDecimal.class ) {
+				writeByte( BIG_DECIMAL );
+				writeSignedVarLong( ( (BigDecimal) value ).scale() );
+				writeBytes( ( (BigDecimal) value ).unscaledValue().toByteArray() );
+			}
+			else if ( valueClass == BigInteger.class ) {
+				writeByte( BIG_INTEGER );
+				writeBytes( ( (BigInteger) value ).toByteArray() );
+			}
+			else if ( valueClass == Date.class ) {
+				writeByte( DATE );
+				writeSignedVarLong( ( (Date) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Date.class ) {
+				writeByte( SQL_DATE );
+				writeSignedVarLong( ( (Date) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Time.class ) {
+				writeByte( SQL_TIME );
+				writeSignedVarLong( ( (Date) value ).getTime() );
+			}
+			else if ( valueClass == java.sql.Timestamp.class ) {
+				writeByte( SQL_TIMESTAMP );
+				writeSignedVarLong( ( (Date) value ).getTime() );
+				writeVarLong( ( (java.sql.Timestamp) value ).getNanos() );
+			}
+			else if ( valueClass == UUID.class ) {
+				writeByte( UUID_VALUE );
+				writeFixedLong( ( (UUID) value ).getMostSignificantBits() );
+				writeFixedLong( ( (UUID) value ).getLeastSignificantBits() );
+			}
+			else if ( valueClass == byte[].class ) {
+				writeByte( BYTE_ARRAY );
+				writeBytes( (byte[]) value );
+			}
+			else if ( valueClass == Serializable[].class ) {
+				writeByte( SERIALIZABLE_ARRAY );
+				writeValues( (Object[]) value );
+			}
+			else if ( valueClass == Object[].class ) {
+				writeByte( OBJECT_ARRAY );
+				writeValues( (Object[]) value );
+			}
+			else {
+				writeByte( SERIALIZED );
+				writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+			}
+		}
+
+		void writeValues(Object[] values) {
+			writeVarLong( values.length );
+			for ( Object value : values ) {
+				writeValue( value );
+			}
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf( buffer, position );
+		}
+	}
+
+	/**
+	 * Reads values back from an encoded buffer.
+	 */
+	static final class Input {
+		private final byte[] buffer;
+		private int position;
+
+		Input(byte[] buffer) {
+			this( buffer, 0 );
+		}
+
+		Input(byte[] buffer, int position) {
+			this.buffer = buffer;
+			this.position = position;
+		}
+
+		int getPosition() {
+			return position;
+		}
+
+		byte readByte() {
+			if ( position >= buffer.length ) {
+				throw new CacheException( "Truncated binary cache entry" );
+			}
+			return buffer[position++];
+		}
+
+		byte[] readBytes() {
+			final int length = (int) readVarLong();
+			if ( position + length > buffer.length ) {
+				throw new CacheException( "Truncated binary cache entry" );
+			}
+			final byte[] bytes = Arrays.copyOfRange( buffer, position, position + length );
+			position += length;
+			return bytes;
+		}
+
+		long readVarLong() {
+			long value = 0;
+			for ( int shift = 0; shift < 64; shift += 7 ) {
+				final byte b = readByte();
+				value |= (long) ( b & 0x7F ) << shift;
+				if ( ( b & 0x80 ) == 0 ) {
+					return value;
+				}
+			}
+			throw new CacheException( "Malformed varint in binary cache entry" );
+		}
+
+		long readSignedVarLong() {
+			final long value = readVarLong();
+			return ( value >>> 1 ) ^ -( value & 1 );
+		}
+
+		long readFixedLong() {
+			long value = 0;
+			for ( int i = 0; i < 8; i++ ) {
+				value = ( value << 8 ) | ( readByte() & 0xFF );
+			}
+			return value;
+		}
+
+		String readString() {
+			final char[] chars = new char[(int) readVarLong()];
+			for ( int i = 0; i < chars.length; i++ ) {
+				chars[i] = (char) readVarLong();
+			}
+			return new String( chars );
+		}
+
+		Object readValue() {
+			final byte tag = readByte();
+			switch ( tag ) {
+				case NULL:
+					return null;
+				case TRUE:
+					return Boolean.TRUE;
+				case FALSE:
+					return Boolean.FALSE;
+				case INTEGER:
+					return (int) readSignedVarLong();
+				case LONG:
+					return readSignedVarLong();
+				case SHORT:
+					return (short) readSignedVarLong();
+				case BYTE:
+					return readByte();
+				case CHARACTER:
+					return (char) readVarLong();
+				case DOUBLE:
+					return Double.longBitsToDouble( readFixedLong() );
+				case FLOAT:
+					return Float.intBitsToFloat( (int) readVarLong() );
+				case STRING:
+					return readString();
+				case BIG_DECIMAL: {
+					final int scale = (int) readSignedVarLong();
+					return new BigDecimal( new BigInteger( readBytes() ), scale );
+				}
+				case BIG_INTEGER:
+					return new BigInteger( readBytes() );
+				case DATE:
+					return new Date( readSignedVarLong() );
+				case SQL_DATE:
+					return new java.sql.Date( readSignedVarLong() );
+				case SQL_TIME:
+					return new java.sql.Time( readSignedVarLong() );
+				case SQL_TIMESTAMP: {
+					final java.sql.Timestamp timestamp = new java.sql.Timestamp( readSignedVarLong() );
+					timestamp.setNanos( (int) readVarLong() );
+					return timestamp;
+				}
+				case UUID_VALUE:
+					return new UUID( readFixedLong(), readFixedLong() );
+				case BYTE_ARRAY:
+					return readBytes();
+				case SERIALIZABLE_ARRAY:
+					return readValues( new Serializable[(int) readVarLong()] );
+				case OBJECT_ARRAY:
+					return readValues( new Object[(int) readVarLong()] );
+				case UNFETCHED_PROPERTY:
+					return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+				case UNKNOWN_BACKREF:
+					return BackrefPropertyAccessor.UNKNOWN;
+				case SERIALIZED:
+					return SerializationHelper.deserialize( readBytes() );
+				default:
+					throw new CacheException( "Unknown value tag in binary cache entry: " + tag );
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		<T> T[] readValues(T[] values) {
+			for ( int i = 0; i < values.length; i++ ) {
+				values[i] = (T) readValue();
+			}
+			return values;
+		}
+	}
+}
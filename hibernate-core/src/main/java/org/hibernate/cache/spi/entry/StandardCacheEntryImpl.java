@@ -161,7 +161,7 @@ public class StandardCacheEntryImpl implements CacheEntry {
 
 		//assembled state gets put in a new array (we read from cache by value!)
 		final Object[] assembledProps = TypeHelper.assemble(
-				disassembledState,
+				getDisassembledState(),
 				persister.getPropertyTypes(),
 				session, instance
 		);
@@ -191,6 +191,6 @@ public class StandardCacheEntryImpl implements CacheEntry {
 
 	@Override
 	public String toString() {
-		return "CacheEntry(" + subclass + ')' + ArrayHelper.toString( disassembledState );
+		return "CacheEntry(" + subclass + ')' + ArrayHelper.toString( getDisassembledState() );
 	}
 }
@@ -23,6 +23,7 @@
  */
 package org.hibernate.cfg;
 
+import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
@@ -37,7 +38,7 @@ import org.jboss.logging.Logger;
 /**
  * @author Steve Ebersole
  */
-public class AttributeConverterDefinition {
+public class AttributeConverterDefinition implements Serializable {
 	private static final Logger log = Logger.getLogger( AttributeConverterDefinition.class );
 
 	private final AttributeConverter attributeConverter;
@@ -208,4 +209,31 @@ public class AttributeConverterDefinition {
 				databaseColumnType.getName()
 		);
 	}
+
+	private Object writeReplace() {
+		return new SerialForm( this );
+	}
+
+	/**
+	 * AttributeConverters are rarely serializable themselves; unless they are, only their class is serialized and
+	 * a new instance is created when deserializing.
+	 */
+	private static class SerialForm implements Serializable {
+		private final Object attributeConverter;
+		private final boolean autoApply;
+
+		private SerialForm(AttributeConverterDefinition definition) {
+			this.attributeConverter = definition.attributeConverter instanceof Serializable
+					? definition.attributeConverter
+					: definition.attributeConverter.getClass();
+			this.autoApply = definition.autoApply;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object readResolve() {
+			return attributeConverter instanceof Class
+					? from( (Class<? extends AttributeConverter>) attributeConverter, autoApply )
+					: from( (AttributeConverter) attributeConverter, autoApply );
+		}
+	}
 }
@@ -201,6 +201,12 @@ public interface AvailableSettings {
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
 	String STATEMENT_BATCH_SIZE = "hibernate.jdbc.batch_size";
+	/**
+	 * Maximum number of idle prepared statements Hibernate keeps open per JDBC connection, to reuse them rather than
+	 * preparing the same SQL again.  The statements are closed when the connection is released.  Useful with
+	 * connection pools which do not cache statements themselves; 0 (the default) disables the cache.
+	 */
+	String STATEMENT_CACHE_SIZE = "hibernate.jdbc.statement_cache_size";
 	/**
 	 * Select a custom batcher.
 	 */
@@ -338,6 +344,11 @@ public interface AvailableSettings {
 	 * Enable use of structured second-level cache entries
 	 */
 	String USE_STRUCTURED_CACHE = "hibernate.cache.use_structured_entries";
+	/**
+	 * Enable use of compact binary second-level cache entries, which store the disassembled state of entities
+	 * and collections as a single {@code byte[]}.  Ignored if {@link #USE_STRUCTURED_CACHE} is enabled.
+	 */
+	String USE_BINARY_CACHE = "hibernate.cache.use_binary_entries";
 	/**
 	 * Enables the automatic eviction of a bi-directional association's collection cache when an element in the
 	 * ManyToOne collection is added/updated/removed without properly managing the change on the OneToMany side.
@@ -348,6 +359,19 @@ public interface AvailableSettings {
 	 */
 	String GENERATE_STATISTICS = "hibernate.generate_statistics";
 
+	/**
+	 * The maximum number of queries for which statistics are kept; the statistics of the least recently used
+	 * queries are discarded beyond that.  Default is 5000.
+	 */
+	String QUERY_STATISTICS_MAX_SIZE = "hibernate.statistics.query_max_size";
+
+	/**
+	 * The number of slowest SQL statement executions kept, along with their parameter values, by
+	 * {@link org.hibernate.stat.SqlStatementTrackingStatistics#getSlowestSqlStatements()}.  Default is 10; 0 disables keeping them.
+	 * The statistics of SQL statements are bounded by {@link #QUERY_STATISTICS_MAX_SIZE}.
+	 */
+	String SLOW_SQL_STATEMENTS_MAX_SIZE = "hibernate.statistics.slow_sql_max_size";
+
 	String USE_IDENTIFIER_ROLLBACK = "hibernate.use_identifier_rollback";
 
 	/**
@@ -355,6 +379,15 @@ public interface AvailableSettings {
 	 */
 	String USE_REFLECTION_OPTIMIZER = "hibernate.bytecode.use_reflection_optimizer";
 
+	/**
+	 * Should entity state be read and written through accessor classes generated when the SessionFactory is built,
+	 * rather than through reflection?  Only applies when the reflection optimizer is not used.  Default is
+	 * {@code true}.
+	 *
+	 * @see org.hibernate.bytecode.spi.GeneratedPropertyAccessorProvider
+	 */
+	String USE_GENERATED_ACCESSORS = "hibernate.bytecode.use_generated_accessors";
+
 	/**
 	 * The classname of the HQL query parser factory
 	 */
@@ -373,6 +406,32 @@ public interface AvailableSettings {
 	 */
 	String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * Should the entity and collection persisters defer building their static loaders (and the SQL they use) until
+	 * first needed?  Speeds up the startup of large models, at the cost of building them during the first
+	 * operations against each entity; see
+	 * {@link org.hibernate.engine.spi.SessionFactoryImplementor#initializePersisters} to build selected ones
+	 * upfront.  Also changes the default of {@link #QUERY_STARTUP_CHECKING} to {@code false}, so that named
+	 * queries are only compiled when first used.  Default is {@code false}.
+	 */
+	String LAZY_PERSISTER_INITIALIZATION = "hibernate.persister.lazy_initialization";
+
+	/**
+	 * Number of threads used to build the entity and collection persisters, generate their SQL and loaders and
+	 * check the named queries while the SessionFactory is built.  Entity persisters of the same hierarchy are always
+	 * built by the same thread.  Default is {@code 1}, building everything on the calling thread.
+	 */
+	String BOOTSTRAP_PARALLELISM = "hibernate.bootstrap.parallelism";
+
+	/**
+	 * Directory in which the Metadata built from the mappings is stored, so that later bootstraps with the same
+	 * mappings and configuration load it instead of scanning and binding again.  The directory is created if
+	 * needed.  By default nothing is cached.
+	 *
+	 * @see org.hibernate.boot.internal.MetadataCache
+	 */
+	String BOOTSTRAP_METADATA_CACHE_DIRECTORY = "hibernate.bootstrap.metadata_cache_directory";
+
 	/**
 	 * Auto export/update schema using hbm2ddl tool. Valid values are <tt>update</tt>,
 	 * <tt>create</tt>, <tt>create-drop</tt> and <tt>validate</tt>.
@@ -423,6 +482,16 @@ public interface AvailableSettings {
 	 */
 	String ORDER_INSERTS = "hibernate.order_inserts";
 
+	/**
+	 * Should flushes only consider the entities which may have changed, rather than every entity in the persistence
+	 * context?  Entities enhanced for inline dirty checking (see
+	 * {@link org.hibernate.engine.spi.SelfDirtinessNotifier}) are then only flushed once they reported a change,
+	 * or one of their collections was modified; all other entities are still flushed every time.  Note that in-place
+	 * changes to mutable values (such as {@code Date#setTime}) of such entities go unnoticed.  Default is
+	 * {@code false}.
+	 */
+	String INCREMENTAL_FLUSH = "hibernate.flush.incremental";
+
 	/**
 	 * Default precedence of null values in {@code ORDER BY} clause.  Supported options: {@code none} (default),
 	 * {@code first}, {@code last}.
@@ -678,6 +747,20 @@ public interface AvailableSettings {
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * Should the update timestamps of query spaces be mirrored in a JVM-local table when the timestamps region
+	 * reports invalidations ({@link org.hibernate.cache.spi.NotifyingTimestampsRegion})?  Default is {@code true};
+	 * has no effect for other regions.
+	 */
+	String USE_LOCAL_UPDATE_TIMESTAMPS = "hibernate.cache.use_local_update_timestamps";
+
+	/**
+	 * The maximum number of query spaces whose update timestamps are mirrored locally.  Default is 1024.
+	 *
+	 * @see #USE_LOCAL_UPDATE_TIMESTAMPS
+	 */
+	String LOCAL_UPDATE_TIMESTAMPS_MAX_SPACES = "hibernate.cache.local_update_timestamps.max_spaces";
+
 	/**
 	 * Enable nationalized character support on all string / clob based attribute ( string, char, clob, text etc ).
 	 *
@@ -53,6 +53,7 @@ public final class Settings {
 	private String defaultSchemaName;
 	private String defaultCatalogName;
 	private Integer jdbcFetchSize;
+	private int jdbcStatementCacheSize;
 	private String sessionFactoryName;
 	private boolean sessionFactoryNameAlsoJndiName;
 	private boolean autoCreateSchema;
@@ -61,6 +62,7 @@ public final class Settings {
 	private boolean autoValidateSchema;
 	private boolean queryCacheEnabled;
 	private boolean structuredCacheEntriesEnabled;
+	private boolean binaryCacheEntriesEnabled;
 	private boolean secondLevelCacheEnabled;
 	private boolean autoEvictCollectionCache;
 	private String cacheRegionPrefix;
@@ -78,6 +80,9 @@ public final class Settings {
 	private boolean wrapResultSetsEnabled;
 	private boolean orderUpdatesEnabled;
 	private boolean orderInsertsEnabled;
+	private boolean incrementalFlushEnabled;
+	private boolean lazyPersisterInitializationEnabled;
+	private int bootstrapParallelism = 1;
 	private EntityMode defaultEntityMode;
 	private boolean dataDefinitionImplicitCommit;
 	private boolean dataDefinitionInTransactionSupported;
@@ -158,6 +163,10 @@ public final class Settings {
 		return jdbcFetchSize;
 	}
 
+	public int getJdbcStatementCacheSize() {
+		return jdbcStatementCacheSize;
+	}
+
 	public String getSessionFactoryName() {
 		return sessionFactoryName;
 	}
@@ -242,10 +251,26 @@ public final class Settings {
 		return orderInsertsEnabled;
 	}
 
+	public boolean isIncrementalFlushEnabled() {
+		return incrementalFlushEnabled;
+	}
+
+	public boolean isLazyPersisterInitializationEnabled() {
+		return lazyPersisterInitializationEnabled;
+	}
+
+	public int getBootstrapParallelism() {
+		return bootstrapParallelism;
+	}
+
 	public boolean isStructuredCacheEntriesEnabled() {
 		return structuredCacheEntriesEnabled;
 	}
 
+	public boolean isBinaryCacheEntriesEnabled() {
+		return binaryCacheEntriesEnabled;
+	}
+
 	public boolean isDirectReferenceCacheEntriesEnabled() {
 		return directReferenceCacheEntriesEnabled;
 	}
@@ -328,6 +353,10 @@ public final class Settings {
 		jdbcFetchSize = integer;
 	}
 
+	void setJdbcStatementCacheSize(int jdbcStatementCacheSize) {
+		this.jdbcStatementCacheSize = jdbcStatementCacheSize;
+	}
+
 	void setSessionFactoryName(String string) {
 		sessionFactoryName = string;
 	}
@@ -412,10 +441,26 @@ public final class Settings {
 		this.orderInsertsEnabled = orderInsertsEnabled;
 	}
 
+	void setIncrementalFlushEnabled(boolean incrementalFlushEnabled) {
+		this.incrementalFlushEnabled = incrementalFlushEnabled;
+	}
+
+	void setLazyPersisterInitializationEnabled(boolean lazyPersisterInitializationEnabled) {
+		this.lazyPersisterInitializationEnabled = lazyPersisterInitializationEnabled;
+	}
+
+	void setBootstrapParallelism(int bootstrapParallelism) {
+		this.bootstrapParallelism = bootstrapParallelism;
+	}
+
 	void setStructuredCacheEntriesEnabled(boolean structuredCacheEntriesEnabled) {
 		this.structuredCacheEntriesEnabled = structuredCacheEntriesEnabled;
 	}
 
+	void setBinaryCacheEntriesEnabled(boolean binaryCacheEntriesEnabled) {
+		this.binaryCacheEntriesEnabled = binaryCacheEntriesEnabled;
+	}
+
 	void setDefaultEntityMode(EntityMode defaultEntityMode) {
 		this.defaultEntityMode = defaultEntityMode;
 	}
@@ -174,6 +174,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setJdbcFetchSize(statementFetchSize);
 
+		int statementCacheSize = ConfigurationHelper.getInt(AvailableSettings.STATEMENT_CACHE_SIZE, properties, 0);
+		if ( debugEnabled ) {
+			LOG.debugf( "JDBC statement cache size: %s", statementCacheSize );
+		}
+		settings.setJdbcStatementCacheSize(statementCacheSize);
+
 		MultiTenancyStrategy multiTenancyStrategy = MultiTenancyStrategy.determineMultiTenancyStrategy( properties );
 		if ( debugEnabled ) {
 			LOG.debugf( "multi-tenancy strategy : %s", multiTenancyStrategy );
@@ -251,6 +257,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setOrderInsertsEnabled( orderInserts );
 
+		boolean incrementalFlush = ConfigurationHelper.getBoolean( AvailableSettings.INCREMENTAL_FLUSH, properties );
+		if ( debugEnabled ) {
+			LOG.debugf( "Incremental flushes: %s", enabledDisabled(incrementalFlush) );
+		}
+		settings.setIncrementalFlushEnabled( incrementalFlush );
+
 		String defaultNullPrecedence = ConfigurationHelper.getString(
 				AvailableSettings.DEFAULT_NULL_ORDERING, properties, "none", "first", "last"
 		);
@@ -317,6 +329,12 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setStructuredCacheEntriesEnabled( useStructuredCacheEntries );
 
+		boolean useBinaryCacheEntries = ConfigurationHelper.getBoolean( AvailableSettings.USE_BINARY_CACHE, properties, false );
+		if ( debugEnabled ) {
+			LOG.debugf( "Binary second-level cache entries: %s", enabledDisabled(useBinaryCacheEntries) );
+		}
+		settings.setBinaryCacheEntriesEnabled( useBinaryCacheEntries );
+
 		boolean useDirectReferenceCacheEntries = ConfigurationHelper.getBoolean(
 				AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES,
 				properties,
@@ -374,7 +392,26 @@ public class SettingsFactory implements Serializable {
 		}
 		settings.setDefaultEntityMode( defaultEntityMode );
 
-		boolean namedQueryChecking = ConfigurationHelper.getBoolean( AvailableSettings.QUERY_STARTUP_CHECKING, properties, true );
+		boolean lazyPersisterInitialization = ConfigurationHelper.getBoolean(
+				AvailableSettings.LAZY_PERSISTER_INITIALIZATION,
+				properties
+		);
+		if ( debugEnabled ) {
+			LOG.debugf( "Lazy persister initialization: %s", enabledDisabled(lazyPersisterInitialization) );
+		}
+		settings.setLazyPersisterInitializationEnabled( lazyPersisterInitialization );
+
+		int bootstrapParallelism = ConfigurationHelper.getInt( AvailableSettings.BOOTSTRAP_PARALLELISM, properties, 1 );
+		if ( debugEnabled ) {
+			LOG.debugf( "Bootstrap parallelism: %s", bootstrapParallelism );
+		}
+		settings.setBootstrapParallelism( bootstrapParallelism );
+
+		boolean namedQueryChecking = ConfigurationHelper.getBoolean(
+				AvailableSettings.QUERY_STARTUP_CHECKING,
+				properties,
+				!lazyPersisterInitialization
+		);
 		if ( debugEnabled ) {
 			LOG.debugf( "Named query checking : %s", enabledDisabled(namedQueryChecking) );
 		}
@@ -128,7 +128,19 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 
 	@Override
 	public final void dirty() {
-		dirty = true;
+		if ( !dirty ) {
+			dirty = true;
+			registerDirtyOwner();
+		}
+	}
+
+	/**
+	 * Let incremental flushes know the owner needs flushing, even though the owner itself did not change
+	 */
+	private void registerDirtyOwner() {
+		if ( session != null && owner != null ) {
+			session.getPersistenceContext().registerDirtyEntity( owner );
+		}
 	}
 
 	@Override
@@ -485,7 +497,10 @@ public abstract class AbstractPersistentCollection implements Serializable, Pers
 		}
 		operationQueue.add( operation );
 		//needed so that we remove this collection from the second-level cache
-		dirty = true;
+		if ( !dirty ) {
+			dirty = true;
+			registerDirtyOwner();
+		}
 	}
 
 	/**
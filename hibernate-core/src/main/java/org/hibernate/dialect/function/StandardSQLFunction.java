@@ -23,6 +23,7 @@
  */
 package org.hibernate.dialect.function;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.hibernate.engine.spi.Mapping;
@@ -37,7 +38,7 @@ import org.hibernate.type.Type;
  *
  * @author David Channon
  */
-public class StandardSQLFunction implements SQLFunction {
+public class StandardSQLFunction implements SQLFunction, Serializable {
 	private final String name;
 	private final Type registeredType;
 
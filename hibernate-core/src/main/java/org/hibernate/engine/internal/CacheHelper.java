@@ -24,9 +24,13 @@
 package org.hibernate.engine.internal;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.NaturalIdCacheKey;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
 import org.hibernate.cache.spi.access.RegionAccessStrategy;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -66,4 +70,102 @@ public final class CacheHelper {
 			RegionAccessStrategy cacheAccessStrategy) {
 		return fromSharedCache( session, (Object) cacheKey, cacheAccessStrategy );
 	}
+
+	/**
+	 * Read several entries from the shared cache, in a single call when the access strategy is a
+	 * {@link BulkRegionAccessStrategy} and one key at a time otherwise.
+	 *
+	 * @param session The session
+	 * @param cacheKeys The keys to read
+	 * @param cacheAccessStrategy The access strategy of the region holding the keys
+	 *
+	 * @return The cached values, keyed by cache key; keys not found are not part of the map
+	 */
+	public static Map<CacheKey,Serializable> fromSharedCache(
+			SessionImplementor session,
+			Collection<CacheKey> cacheKeys,
+			RegionAccessStrategy cacheAccessStrategy) {
+		final Map<CacheKey,Serializable> cachedValues = new HashMap<CacheKey,Serializable>();
+		if ( cacheKeys.isEmpty() ) {
+			return cachedValues;
+		}
+		try {
+			session.getEventListenerManager().cacheGetStart();
+			if ( cacheAccessStrategy instanceof BulkRegionAccessStrategy ) {
+				final Map<Object,Object> cached = ( (BulkRegionAccessStrategy) cacheAccessStrategy ).getAll(
+						cacheKeys,
+						session.getTimestamp()
+				);
+				for ( Map.Entry<Object,Object> entry : cached.entrySet() ) {
+					if ( entry.getValue() != null ) {
+						cachedValues.put( (CacheKey) entry.getKey(), (Serializable) entry.getValue() );
+					}
+				}
+			}
+			else {
+				for ( CacheKey cacheKey : cacheKeys ) {
+					final Serializable cachedValue = (Serializable) cacheAccessStrategy.get( cacheKey, session.getTimestamp() );
+					if ( cachedValue != null ) {
+						cachedValues.put( cacheKey, cachedValue );
+					}
+				}
+			}
+		}
+		finally {
+			session.getEventListenerManager().cacheGetEnd( !cachedValues.isEmpty() );
+		}
+		return cachedValues;
+	}
+
+	/**
+	 * Write several entries just loaded from the database to the shared cache, in a single call when the
+	 * access strategy is a {@link BulkRegionAccessStrategy} and one key at a time otherwise.
+	 *
+	 * @param session The session
+	 * @param values The values to cache, keyed by cache key
+	 * @param versions The versions of the values, keyed by cache key
+	 * @param cacheAccessStrategy The access strategy of the region receiving the values
+	 * @param minimalPutOverride Explicit minimalPut flag
+	 *
+	 * @return The number of values actually cached
+	 */
+	public static int toSharedCache(
+			SessionImplementor session,
+			Map<CacheKey,Object> values,
+			Map<CacheKey,Object> versions,
+			RegionAccessStrategy cacheAccessStrategy,
+			boolean minimalPutOverride) {
+		if ( values.isEmpty() ) {
+			return 0;
+		}
+		try {
+			session.getEventListenerManager().cachePutStart();
+			if ( cacheAccessStrategy instanceof BulkRegionAccessStrategy ) {
+				return ( (BulkRegionAccessStrategy) cacheAccessStrategy ).putAllFromLoad(
+						values,
+						versions,
+						session.getTimestamp(),
+						minimalPutOverride
+				);
+			}
+
+			int puts = 0;
+			for ( Map.Entry<CacheKey,Object> entry : values.entrySet() ) {
+				final boolean put = cacheAccessStrategy.putFromLoad(
+						entry.getKey(),
+						entry.getValue(),
+						session.getTimestamp(),
+						versions.get( entry.getKey() ),
+						minimalPutOverride
+				);
+				if ( put ) {
+					puts++;
+				}
+			}
+			return puts;
+		}
+		finally {
+			session.getEventListenerManager().cachePutEnd();
+		}
+	}
 }
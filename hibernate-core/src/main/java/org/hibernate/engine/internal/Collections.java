@@ -149,6 +149,22 @@ public final class Collections {
 
 	}
 
+	/**
+	 * Handle a collection which was not reached because an incremental flush skipped its owner.  The owner did
+	 * not change, and neither did its reference to the collection; only the elements may need to be updated.
+	 *
+	 * @param coll The collection
+	 * @param session The session
+	 */
+	public static void processUnflushedOwnerCollection(PersistentCollection coll, SessionImplementor session) {
+		final CollectionEntry entry = session.getPersistenceContext().getCollectionEntry( coll );
+		entry.setReached( true );
+		entry.setCurrentPersister( entry.getLoadedPersister() );
+		entry.setCurrentKey( entry.getLoadedKey() );
+
+		prepareCollectionForUpdate( coll, entry, session.getFactory() );
+	}
+
     /**
      * Initialize the role of the collection.
      *
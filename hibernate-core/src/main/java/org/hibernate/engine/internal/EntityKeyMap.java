@@ -0,0 +1,633 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.hibernate.AssertionFailure;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.compare.EqualsHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.PostgresUUIDType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+import org.hibernate.type.UUIDBinaryType;
+import org.hibernate.type.UUIDCharType;
+
+/**
+ * The {@link Map} implementation used by {@link StatefulPersistenceContext} for state keyed by {@link EntityKey}.
+ * <p/>
+ * Entries are partitioned by entity hierarchy (root entity name, which is what {@link EntityKey#equals} considers)
+ * and each partition is an open-addressing table using linear probing, so no per-entry node is allocated.  Partitions
+ * for {@code long}, {@code int} and {@code short} identifiers keep the identifier values in a primitive array, and
+ * partitions for String and UUID identifiers compare them via {@code equals}; neither has to go through the
+ * identifier {@link Type}.  {@link #get(EntityPersister, Serializable)} allows lookups without building an
+ * {@link EntityKey} first.
+ * <p/>
+ * Values can optionally be held weakly (as done for proxies).  Entries whose value got collected are skipped during
+ * iteration and purged on the next write.
+ * <p/>
+ * Like the Session itself, this map is not thread-safe.
+ */
+public final class EntityKeyMap<V> extends AbstractMap<EntityKey, V> {
+	private static final int LONG_IDS = 0;
+	private static final int NATURAL_IDS = 1;
+	private static final int TYPED_IDS = 2;
+
+	private static final int MIN_CAPACITY = 8;
+
+	private static final Object TOMBSTONE = new Object();
+	private static final Object ABSENT = new Object();
+
+	private final ReferenceQueue<Object> referenceQueue;
+
+	private final Map<String, Partition> partitionsByRootEntityName = new HashMap<String, Partition>();
+	private final List<Partition> partitions = new ArrayList<Partition>();
+	private Partition lastPartition;
+
+	private int size;
+	private int modCount;
+	private transient Set<Map.Entry<EntityKey, V>> entrySet;
+
+	/**
+	 * Constructs a map holding its values strongly.
+	 */
+	public EntityKeyMap() {
+		this( false );
+	}
+
+	/**
+	 * Constructs a map.
+	 *
+	 * @param weakValues Should values be held through weak references?
+	 */
+	public EntityKeyMap(boolean weakValues) {
+		this.referenceQueue = weakValues ? new ReferenceQueue<Object>() : null;
+	}
+
+	@Override
+	public int size() {
+		purge();
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	@Override
+	public V get(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		return get( entityKey.getPersister(), entityKey.getIdentifier() );
+	}
+
+	/**
+	 * Get the value mapped to the entity identified by the given persister and identifier, without the need to
+	 * build an {@link EntityKey}.
+	 *
+	 * @param persister The entity persister
+	 * @param id The entity identifier
+	 *
+	 * @return The mapped value, or {@code null}
+	 */
+	public V get(EntityPersister persister, Serializable id) {
+		if ( id == null ) {
+			throw new AssertionFailure( "null identifier" );
+		}
+		final Partition partition = locatePartition( persister, false );
+		if ( partition == null ) {
+			return null;
+		}
+		final int slot = partition.find( id );
+		return slot < 0 ? null : unwrap( partition.values[slot] );
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return false;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		final Partition partition = locatePartition( entityKey.getPersister(), false );
+		if ( partition == null ) {
+			return false;
+		}
+		final int slot = partition.find( entityKey.getIdentifier() );
+		if ( slot < 0 ) {
+			return false;
+		}
+		return referenceQueue == null || unwrap( partition.values[slot] ) != null;
+	}
+
+	@Override
+	public V put(EntityKey key, V value) {
+		purge();
+		final Partition partition = locatePartition( key.getPersister(), true );
+		final Object previous = partition.put( key, wrap( key, value ) );
+		if ( previous == ABSENT ) {
+			size++;
+			modCount++;
+			return null;
+		}
+		return unwrap( previous );
+	}
+
+	@Override
+	public V remove(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final EntityKey entityKey = (EntityKey) key;
+		final Partition partition = locatePartition( entityKey.getPersister(), false );
+		if ( partition == null ) {
+			return null;
+		}
+		final int slot = partition.find( entityKey.getIdentifier() );
+		if ( slot < 0 ) {
+			return null;
+		}
+		final Object previous = partition.values[slot];
+		partition.removeAt( slot );
+		size--;
+		modCount++;
+		return unwrap( previous );
+	}
+
+	@Override
+	public void clear() {
+		partitionsByRootEntityName.clear();
+		partitions.clear();
+		lastPartition = null;
+		size = 0;
+		modCount++;
+		if ( referenceQueue != null ) {
+			while ( referenceQueue.poll() != null ) {
+				// drain; all entries are gone anyway
+			}
+		}
+	}
+
+	@Override
+	public Set<Map.Entry<EntityKey, V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new EntrySet();
+		}
+		return entrySet;
+	}
+
+	private Partition locatePartition(EntityPersister persister, boolean create) {
+		final Partition last = lastPartition;
+		if ( last != null && ( last.persister == persister
+				|| EqualsHelper.equals( last.rootEntityName, persister.getRootEntityName() ) ) ) {
+			return last;
+		}
+		Partition partition = partitionsByRootEntityName.get( persister.getRootEntityName() );
+		if ( partition == null ) {
+			if ( !create ) {
+				return null;
+			}
+			partition = new Partition( persister );
+			partitionsByRootEntityName.put( partition.rootEntityName, partition );
+			partitions.add( partition );
+		}
+		lastPartition = partition;
+		return partition;
+	}
+
+	private Object wrap(EntityKey key, V value) {
+		if ( referenceQueue == null || value == null ) {
+			return value;
+		}
+		return new WeakValue( key, value, referenceQueue );
+	}
+
+	@SuppressWarnings("unchecked")
+	private V unwrap(Object stored) {
+		if ( stored instanceof WeakValue ) {
+			return (V) ( (WeakValue) stored ).get();
+		}
+		return (V) stored;
+	}
+
+	/**
+	 * Removes the entries whose weakly held value was collected.  Removal never relocates other entries, so
+	 * this is safe to do while iterating.
+	 */
+	private void purge() {
+		if ( referenceQueue == null ) {
+			return;
+		}
+		Reference<?> reference;
+		while ( ( reference = referenceQueue.poll() ) != null ) {
+			final WeakValue weakValue = (WeakValue) reference;
+			final Partition partition = locatePartition( weakValue.key.getPersister(), false );
+			if ( partition == null ) {
+				continue;
+			}
+			final int slot = partition.find( weakValue.key.getIdentifier() );
+			if ( slot >= 0 && partition.values[slot] == weakValue ) {
+				partition.removeAt( slot );
+				size--;
+			}
+		}
+	}
+
+	private static int spread(int hash) {
+		final int h = hash * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+
+	private static int longHash(long value) {
+		return spread( (int) ( value ^ ( value >>> 32 ) ) );
+	}
+
+	/**
+	 * The open-addressing table holding the entries of one entity hierarchy.
+	 */
+	private static final class Partition {
+		private final EntityPersister persister;
+		private final String rootEntityName;
+		private final Type identifierType;
+		private final SessionFactoryImplementor factory;
+		private final Class identifierClass;
+		private int mode;
+
+		private Object[] keys;
+		private Object[] values;
+		private long[] longIds;
+		private int size;
+		private int used;
+		private int threshold;
+
+		private Partition(EntityPersister persister) {
+			this.persister = persister;
+			this.rootEntityName = persister.getRootEntityName();
+			this.identifierType = persister.getIdentifierType();
+			this.factory = persister.getFactory();
+			this.identifierClass = identifierType.getReturnedClass();
+			if ( identifierType instanceof LongType
+					|| identifierType instanceof IntegerType
+					|| identifierType instanceof ShortType ) {
+				mode = LONG_IDS;
+			}
+			else if ( identifierType instanceof StringType
+					|| identifierType instanceof UUIDBinaryType
+					|| identifierType instanceof UUIDCharType
+					|| identifierType instanceof PostgresUUIDType ) {
+				mode = NATURAL_IDS;
+			}
+			else {
+				mode = TYPED_IDS;
+			}
+			allocate( MIN_CAPACITY );
+		}
+
+		private void allocate(int capacity) {
+			keys = new Object[capacity];
+			values = new Object[capacity];
+			longIds = mode == LONG_IDS ? new long[capacity] : null;
+			threshold = capacity - capacity / 3;
+			size = 0;
+			used = 0;
+		}
+
+		private int hash(Serializable id) {
+			switch ( mode ) {
+				case LONG_IDS:
+					return longHash( ( (Number) id ).longValue() );
+				case NATURAL_IDS:
+					return spread( id.hashCode() );
+				default:
+					return spread( identifierType.getHashCode( id, factory ) );
+			}
+		}
+
+		private boolean sameIdentifier(Serializable stored, Serializable id) {
+			if ( stored == id ) {
+				return true;
+			}
+			return mode == NATURAL_IDS ? stored.equals( id ) : identifierType.isEqual( stored, id, factory );
+		}
+
+		private int find(Serializable id) {
+			final int mask = keys.length - 1;
+			Object key;
+			if ( mode == LONG_IDS ) {
+				if ( id.getClass() != identifierClass ) {
+					// the identifier type would not consider it equal either
+					return -1;
+				}
+				final long value = ( (Number) id ).longValue();
+				int slot = longHash( value ) & mask;
+				while ( ( key = keys[slot] ) != null ) {
+					if ( key != TOMBSTONE && longIds[slot] == value ) {
+						return slot;
+					}
+					slot = ( slot + 1 ) & mask;
+				}
+				return -1;
+			}
+
+			int slot = hash( id ) & mask;
+			while ( ( key = keys[slot] ) != null ) {
+				if ( key != TOMBSTONE && sameIdentifier( ( (EntityKey) key ).getIdentifier(), id ) ) {
+					return slot;
+				}
+				slot = ( slot + 1 ) & mask;
+			}
+			return -1;
+		}
+
+		private Object put(EntityKey entityKey, Object value) {
+			final Serializable id = entityKey.getIdentifier();
+			if ( mode == LONG_IDS && id.getClass() != identifierClass ) {
+				// unexpected identifier class; fall back to the identifier type for this whole partition
+				mode = TYPED_IDS;
+				rehash( keys.length );
+			}
+
+			final int mask = keys.length - 1;
+			final long longId = mode == LONG_IDS ? ( (Number) id ).longValue() : 0L;
+			int slot = ( mode == LONG_IDS ? longHash( longId ) : hash( id ) ) & mask;
+			int free = -1;
+			Object key;
+			while ( ( key = keys[slot] ) != null ) {
+				if ( key == TOMBSTONE ) {
+					if ( free < 0 ) {
+						free = slot;
+					}
+				}
+				else if ( mode == LONG_IDS
+						? longIds[slot] == longId
+						: sameIdentifier( ( (EntityKey) key ).getIdentifier(), id ) ) {
+					final Object previous = values[slot];
+					values[slot] = value;
+					return previous;
+				}
+				slot = ( slot + 1 ) & mask;
+			}
+
+			if ( free < 0 ) {
+				free = slot;
+				used++;
+			}
+			keys[free] = entityKey;
+			values[free] = value;
+			if ( longIds != null ) {
+				longIds[free] = longId;
+			}
+			size++;
+
+			if ( used > threshold ) {
+				// grow if live entries justify it, otherwise just get rid of the tombstones
+				rehash( size > threshold / 2 ? keys.length << 1 : keys.length );
+			}
+			return ABSENT;
+		}
+
+		private void removeAt(int slot) {
+			values[slot] = null;
+			if ( keys[( slot + 1 ) & ( keys.length - 1 )] == null ) {
+				// end of a probe sequence, no tombstone needed
+				keys[slot] = null;
+				used--;
+			}
+			else {
+				keys[slot] = TOMBSTONE;
+			}
+			size--;
+		}
+
+		private void rehash(int capacity) {
+			final Object[] oldKeys = keys;
+			final Object[] oldValues = values;
+			allocate( capacity );
+			final int mask = capacity - 1;
+			for ( int i = 0; i < oldKeys.length; i++ ) {
+				final Object key = oldKeys[i];
+				if ( key == null || key == TOMBSTONE ) {
+					continue;
+				}
+				final Serializable id = ( (EntityKey) key ).getIdentifier();
+				int slot = hash( id ) & mask;
+				while ( keys[slot] != null ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				keys[slot] = key;
+				values[slot] = oldValues[i];
+				if ( longIds != null ) {
+					longIds[slot] = ( (Number) id ).longValue();
+				}
+				size++;
+				used++;
+			}
+		}
+	}
+
+	private static final class WeakValue extends WeakReference<Object> {
+		private final EntityKey key;
+
+		private WeakValue(EntityKey key, Object value, ReferenceQueue<Object> queue) {
+			super( value, queue );
+			this.key = key;
+		}
+	}
+
+	private final class Entry implements Map.Entry<EntityKey, V> {
+		private final Partition partition;
+		private final int slot;
+		private final EntityKey key;
+		private V value;
+
+		private Entry(Partition partition, int slot, EntityKey key, V value) {
+			this.partition = partition;
+			this.slot = slot;
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public EntityKey getKey() {
+			return key;
+		}
+
+		@Override
+		public V getValue() {
+			return value;
+		}
+
+		@Override
+		public V setValue(V value) {
+			if ( partition.keys[slot] != key ) {
+				throw new ConcurrentModificationException();
+			}
+			final V previous = this.value;
+			partition.values[slot] = wrap( key, value );
+			this.value = value;
+			return previous;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof Map.Entry ) ) {
+				return false;
+			}
+			final Map.Entry other = (Map.Entry) o;
+			return key.equals( other.getKey() ) && EqualsHelper.equals( value, other.getValue() );
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() ^ ( value == null ? 0 : value.hashCode() );
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + value;
+		}
+	}
+
+	private final class EntrySet extends AbstractSet<Map.Entry<EntityKey, V>> {
+		@Override
+		public Iterator<Map.Entry<EntityKey, V>> iterator() {
+			return new EntryIterator();
+		}
+
+		@Override
+		public int size() {
+			return EntityKeyMap.this.size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if ( !( o instanceof Map.Entry ) ) {
+				return false;
+			}
+			final Map.Entry entry = (Map.Entry) o;
+			return containsKey( entry.getKey() ) && EqualsHelper.equals( get( entry.getKey() ), entry.getValue() );
+		}
+
+		@Override
+		public void clear() {
+			EntityKeyMap.this.clear();
+		}
+	}
+
+	private final class EntryIterator implements Iterator<Map.Entry<EntityKey, V>> {
+		private int partitionIndex;
+		private Partition partition;
+		private int slot;
+		private Entry next;
+		private Entry lastReturned;
+		private int expectedModCount = modCount;
+
+		private EntryIterator() {
+			advance();
+		}
+
+		private void advance() {
+			next = null;
+			while ( true ) {
+				if ( partition == null ) {
+					if ( partitionIndex >= partitions.size() ) {
+						return;
+					}
+					partition = partitions.get( partitionIndex++ );
+					slot = -1;
+				}
+				while ( ++slot < partition.keys.length ) {
+					final Object key = partition.keys[slot];
+					if ( key == null || key == TOMBSTONE ) {
+						continue;
+					}
+					final Object stored = partition.values[slot];
+					final V value = unwrap( stored );
+					if ( value == null && stored != null ) {
+						// weakly held value got collected
+						continue;
+					}
+					next = new Entry( partition, slot, (EntityKey) key, value );
+					return;
+				}
+				partition = null;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Map.Entry<EntityKey, V> next() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( next == null ) {
+				throw new NoSuchElementException();
+			}
+			lastReturned = next;
+			advance();
+			return lastReturned;
+		}
+
+		@Override
+		public void remove() {
+			if ( lastReturned == null ) {
+				throw new IllegalStateException();
+			}
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( lastReturned.partition.keys[lastReturned.slot] == lastReturned.key ) {
+				lastReturned.partition.removeAt( lastReturned.slot );
+				size--;
+			}
+			modCount++;
+			expectedModCount = modCount;
+			lastReturned = null;
+		}
+	}
+}
@@ -361,8 +361,10 @@ public final class MutableEntityEntry implements Serializable, EntityEntry {
 	@SuppressWarnings( {"SimplifiableIfStatement"})
 	private boolean isUnequivocallyNonDirty(Object entity) {
 
-		if(entity instanceof SelfDirtinessTracker)
-			return ((SelfDirtinessTracker) entity).$$_hibernate_hasDirtyAttributes();
+		if ( entity instanceof SelfDirtinessTracker
+				&& ( (SelfDirtinessTracker) entity ).$$_hibernate_hasDirtyAttributes() ) {
+			return false;
+		}
 
 		final CustomEntityDirtinessStrategy customEntityDirtinessStrategy =
 				persistenceContext.getSession().getFactory().getCustomEntityDirtinessStrategy();
@@ -382,6 +384,14 @@ public final class MutableEntityEntry implements Serializable, EntityEntry {
 		return false;
 	}
 
+	@Override
+	public void markDirty(Object entity) {
+		// changes applied while hydrating are not changes to the loaded state
+		if ( getStatus() != Status.LOADING ) {
+			persistenceContext.registerDirtyEntity( entity );
+		}
+	}
+
 	@Override
 	public boolean isModifiableEntity() {
 		Status status = getStatus();
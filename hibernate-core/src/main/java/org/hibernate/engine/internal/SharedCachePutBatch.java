@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+
+/**
+ * Collects the entity data put into the second-level cache while the results of a load are
+ * initialized, so that each region receives them in a single {@link CacheHelper#toSharedCache} call
+ * rather than one call per entity.
+ */
+public final class SharedCachePutBatch {
+	private final Map<EntityRegionAccessStrategy,PendingPuts> pendingPuts
+			= new LinkedHashMap<EntityRegionAccessStrategy,PendingPuts>();
+	private final Map<EntityRegionAccessStrategy,PendingPuts> pendingMinimalPuts
+			= new LinkedHashMap<EntityRegionAccessStrategy,PendingPuts>();
+
+	void add(
+			EntityRegionAccessStrategy cacheAccessStrategy,
+			CacheKey cacheKey,
+			Object value,
+			Object version,
+			boolean minimalPut) {
+		final Map<EntityRegionAccessStrategy,PendingPuts> puts = minimalPut ? pendingMinimalPuts : pendingPuts;
+		PendingPuts regionPuts = puts.get( cacheAccessStrategy );
+		if ( regionPuts == null ) {
+			regionPuts = new PendingPuts();
+			puts.put( cacheAccessStrategy, regionPuts );
+		}
+		regionPuts.values.put( cacheKey, value );
+		regionPuts.versions.put( cacheKey, version );
+	}
+
+	/**
+	 * Write the collected data to the second-level cache.
+	 *
+	 * @param session The session which loaded the data
+	 */
+	public void execute(SessionImplementor session) {
+		execute( pendingPuts, false, session );
+		execute( pendingMinimalPuts, true, session );
+	}
+
+	private static void execute(
+			Map<EntityRegionAccessStrategy,PendingPuts> puts,
+			boolean minimalPut,
+			SessionImplementor session) {
+		final SessionFactoryImplementor factory = session.getFactory();
+		for ( Map.Entry<EntityRegionAccessStrategy,PendingPuts> entry : puts.entrySet() ) {
+			final EntityRegionAccessStrategy cacheAccessStrategy = entry.getKey();
+			final int putCount = CacheHelper.toSharedCache(
+					session,
+					entry.getValue().values,
+					entry.getValue().versions,
+					cacheAccessStrategy,
+					minimalPut
+			);
+			if ( factory.getStatistics().isStatisticsEnabled() ) {
+				final String regionName = cacheAccessStrategy.getRegion().getName();
+				for ( int i = 0; i < putCount; i++ ) {
+					factory.getStatisticsImplementor().secondLevelCachePut( regionName );
+				}
+			}
+		}
+		puts.clear();
+	}
+
+	private static class PendingPuts {
+		private final Map<CacheKey,Object> values = new LinkedHashMap<CacheKey,Object>();
+		private final Map<CacheKey,Object> versions = new LinkedHashMap<CacheKey,Object>();
+	}
+}
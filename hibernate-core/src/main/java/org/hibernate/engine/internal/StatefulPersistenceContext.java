@@ -37,7 +37,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.Hibernate;
@@ -63,12 +62,12 @@ import org.hibernate.engine.spi.EntityEntryFactory;
 import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.EntityUniqueKey;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SelfDirtinessNotifier;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
-import org.hibernate.internal.util.collections.ConcurrentReferenceHashMap;
 import org.hibernate.internal.util.collections.IdentityMap;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
@@ -102,20 +101,24 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private SessionImplementor session;
 
 	// Loaded entity instances, by EntityKey
-	private Map<EntityKey, Object> entitiesByKey;
+	private EntityKeyMap<Object> entitiesByKey;
 
 	// Loaded entity instances, by EntityUniqueKey
 	private Map<EntityUniqueKey, Object> entitiesByUniqueKey;
 
 	private EntityEntryContext entityEntryContext;
+
+	// Entities to be considered by the next incremental flush; null unless incremental flushes are enabled
+	private IdentityMap<Object, EntityEntry> dirtyEntities;
+	private Object lastDirtyEntity;
 //	private Map<Object,EntityEntry> entityEntries;
 
-	// Entity proxies, by EntityKey
-	private ConcurrentMap<EntityKey, Object> proxiesByKey;
+	// Entity proxies, by EntityKey (weakly held)
+	private EntityKeyMap<Object> proxiesByKey;
 
 	// Snapshots of current database state for entities
 	// that have *not* been loaded
-	private Map<EntityKey, Object> entitySnapshotsByKey;
+	private EntityKeyMap<Object> entitySnapshotsByKey;
 
 	// Identity map of array holder ArrayHolder instances, by the array instance
 	private Map<Object, PersistentCollection> arrayHolders;
@@ -164,13 +167,15 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public StatefulPersistenceContext(SessionImplementor session) {
 		this.session = session;
 
-		entitiesByKey = new HashMap<EntityKey, Object>( INIT_COLL_SIZE );
+		entitiesByKey = new EntityKeyMap<Object>();
 		entitiesByUniqueKey = new HashMap<EntityUniqueKey, Object>( INIT_COLL_SIZE );
-		//noinspection unchecked
-		proxiesByKey = new ConcurrentReferenceHashMap<EntityKey, Object>( INIT_COLL_SIZE, .75f, 1, ConcurrentReferenceHashMap.ReferenceType.STRONG, ConcurrentReferenceHashMap.ReferenceType.WEAK, null );
-		entitySnapshotsByKey = new HashMap<EntityKey, Object>( INIT_COLL_SIZE );
+		proxiesByKey = new EntityKeyMap<Object>( true );
+		entitySnapshotsByKey = new EntityKeyMap<Object>();
 
 		entityEntryContext = new EntityEntryContext();
+		if ( session.getFactory().getSettings().isIncrementalFlushEnabled() ) {
+			dirtyEntities = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
+		}
 //		entityEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		collectionEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		parentsByChild = new IdentityHashMap<Object,Object>( INIT_COLL_SIZE );
@@ -243,6 +248,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		entitiesByKey.clear();
 		entitiesByUniqueKey.clear();
 		entityEntryContext.clear();
+		if ( dirtyEntities != null ) {
+			dirtyEntities.clear();
+			lastDirtyEntity = null;
+		}
 //		entityEntries.clear();
 		parentsByChild.clear();
 		entitySnapshotsByKey.clear();
@@ -283,6 +292,12 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	public void setEntryStatus(EntityEntry entry, Status status) {
 		entry.setStatus( status );
 		setHasNonReadOnlyEnties( status );
+		if ( dirtyEntities != null && status == Status.DELETED ) {
+			final Object entity = entitiesByKey.get( entry.getEntityKey() );
+			if ( entity != null ) {
+				dirtyEntities.put( entity, entry );
+			}
+		}
 	}
 
 	private void setHasNonReadOnlyEnties(Status status) {
@@ -395,6 +410,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		return entitiesByKey.get( key );
 	}
 
+	@Override
+	public Object getEntity(EntityPersister persister, Serializable id) {
+		return entitiesByKey.get( persister, id );
+	}
+
 	@Override
 	public boolean containsEntity(EntityKey key) {
 		return entitiesByKey.containsKey( key );
@@ -435,6 +455,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 
 	@Override
 	public EntityEntry removeEntry(Object entity) {
+		if ( dirtyEntities != null ) {
+			dirtyEntities.remove( entity );
+			lastDirtyEntity = null;
+		}
 		return entityEntryContext.removeEntityEntry( entity );
 	}
 
@@ -508,6 +532,19 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		entityEntryContext.addEntityEntry( entity, e );
 //		entityEntries.put(entity, e);
 
+		if ( dirtyEntities != null ) {
+			// a SelfDirtinessNotifier which was just loaded (or re-associated along with its snapshot) only needs
+			// flushing once it reports a change; anything saved, deleted or reattached by update() does right away.
+			// Entities already registered stay so until flushed (a saved entity still needs its collections created)
+			final boolean clean = entity instanceof SelfDirtinessNotifier
+					&& ( status == Status.LOADING
+							|| ( loadedState != null && ( status == Status.MANAGED || status == Status.READ_ONLY ) ) )
+					&& !( (SelfDirtinessNotifier) entity ).$$_hibernate_hasDirtyAttributes();
+			if ( !clean || dirtyEntities.containsKey( entity ) ) {
+				dirtyEntities.put( entity, e );
+			}
+		}
+
 		setHasNonReadOnlyEnties( status );
 		return e;
 	}
@@ -565,7 +602,9 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			final EntityPersister persister = session.getFactory().getEntityPersister( li.getEntityName() );
 			final EntityKey key = session.generateEntityKey( li.getIdentifier(), persister );
 		  	// any earlier proxy takes precedence
-			proxiesByKey.putIfAbsent( key, proxy );
+			if ( proxiesByKey.get( key ) == null ) {
+				proxiesByKey.put( key, proxy );
+			}
 			proxy.getHibernateLazyInitializer().setSession( session );
 		}
 	}
@@ -697,7 +736,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		// these 2 are not always the same.  Same is true in the case of ToOne associations with property-ref...
 		final EntityPersister ownerPersister = collectionPersister.getOwnerEntityPersister();
 		if ( ownerPersister.getIdentifierType().getReturnedClass().isInstance( key ) ) {
-			return getEntity( session.generateEntityKey( key, collectionPersister.getOwnerEntityPersister() ) );
+			return getEntity( collectionPersister.getOwnerEntityPersister(), key );
 		}
 
 		// we have a property-ref type mapping for the collection key.  But that could show up a few ways here...
@@ -708,7 +747,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( owenerId == null ) {
 				return null;
 			}
-			return getEntity( session.generateEntityKey( owenerId, ownerPersister ) );
+			return getEntity( ownerPersister, owenerId );
 		}
 
 		final CollectionType collectionType = collectionPersister.getCollectionType();
@@ -745,11 +784,11 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			//			in place of natural id snapshots.  BUt really its better to just do it the right way ^^ if we start
 			// 			going that route
 			final Serializable ownerId = ownerPersister.getIdByUniqueKey( key, collectionType.getLHSPropertyName(), session );
-			return getEntity( session.generateEntityKey( ownerId, ownerPersister ) );
+			return getEntity( ownerPersister, ownerId );
 		}
 
 		// as a last resort this is what the old code did...
-		return getEntity( session.generateEntityKey( key, collectionPersister.getOwnerEntityPersister() ) );
+		return getEntity( collectionPersister.getOwnerEntityPersister(), key );
 	}
 
 	@Override
@@ -1100,6 +1139,48 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		return entityEntryContext.reentrantSafeEntityEntries();
 	}
 
+	@Override
+	public void registerDirtyEntity(Object entity) {
+		if ( dirtyEntities == null || entity == lastDirtyEntity ) {
+			return;
+		}
+		final EntityEntry entry = entityEntryContext.getEntityEntry( entity );
+		if ( entry != null ) {
+			dirtyEntities.put( entity, entry );
+			lastDirtyEntity = entity;
+		}
+	}
+
+	@Override
+	public Entry<Object,EntityEntry>[] reentrantSafeDirtyEntityEntries() {
+		if ( dirtyEntities == null ) {
+			return entityEntryContext.reentrantSafeEntityEntries();
+		}
+		return IdentityMap.concurrentEntries( dirtyEntities );
+	}
+
+	@Override
+	public void pruneDirtyEntities() {
+		if ( dirtyEntities == null ) {
+			return;
+		}
+		lastDirtyEntity = null;
+		for ( Map.Entry<Object, EntityEntry> me : IdentityMap.concurrentEntries( dirtyEntities ) ) {
+			final Object entity = me.getKey();
+			if ( !( entity instanceof SelfDirtinessNotifier )
+					|| ( (SelfDirtinessNotifier) entity ).$$_hibernate_hasDirtyAttributes() ) {
+				continue;
+			}
+			final EntityEntry entry = entityEntryContext.getEntityEntry( entity );
+			if ( entry == null
+					|| entry.getStatus() == Status.MANAGED
+					|| entry.getStatus() == Status.READ_ONLY
+					|| entry.getStatus() == Status.GONE ) {
+				dirtyEntities.remove( entity );
+			}
+		}
+	}
+
 	@Override
 	public Serializable getOwnerId(String entityName, String propertyName, Object childEntity, Map mergeMap) {
 		final String collectionRole = entityName + '.' + propertyName;
@@ -1523,7 +1604,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitiesByKey entries" );
 			}
-			rtn.entitiesByKey = new HashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitiesByKey = new EntityKeyMap<Object>();
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitiesByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
@@ -1541,15 +1622,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] proxiesByKey entries" );
 			}
-			//noinspection unchecked
-			rtn.proxiesByKey = new ConcurrentReferenceHashMap<EntityKey, Object>(
-					count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count,
-					.75f,
-					1,
-					ConcurrentReferenceHashMap.ReferenceType.STRONG,
-					ConcurrentReferenceHashMap.ReferenceType.WEAK,
-					null
-			);
+			rtn.proxiesByKey = new EntityKeyMap<Object>( true );
 			for ( int i = 0; i < count; i++ ) {
 				final EntityKey ek = EntityKey.deserialize( ois, sfi );
 				final Object proxy = ois.readObject();
@@ -1569,12 +1642,18 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitySnapshotsByKey entries" );
 			}
-			rtn.entitySnapshotsByKey = new HashMap<EntityKey,Object>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitySnapshotsByKey = new EntityKeyMap<Object>();
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitySnapshotsByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
 
 			rtn.entityEntryContext = EntityEntryContext.deserialize( ois, rtn );
+			if ( rtn.dirtyEntities != null ) {
+				// what changed before serialization is unknown at this point
+				for ( Map.Entry<Object, EntityEntry> entry : rtn.entityEntryContext.reentrantSafeEntityEntries() ) {
+					rtn.dirtyEntities.put( entry.getKey(), entry.getValue() );
+				}
+			}
 
 			count = ois.readInt();
 			if ( tracing ) {
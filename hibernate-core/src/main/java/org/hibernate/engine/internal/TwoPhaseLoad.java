@@ -136,12 +136,32 @@ public final class TwoPhaseLoad {
 			final boolean readOnly,
 			final SessionImplementor session,
 			final PreLoadEvent preLoadEvent) {
+		initializeEntity( entity, readOnly, session, preLoadEvent, null );
+	}
+
+	/**
+	 * Perform the second step of 2-phase load, deferring the second-level cache put of the entity
+	 * data to the given batch.
+	 *
+	 * @param entity The entity being loaded
+	 * @param readOnly Is the entity being loaded as read-only
+	 * @param session The Session
+	 * @param preLoadEvent The (re-used) pre-load event
+	 * @param cachePutBatch The batch collecting the second-level cache puts; if {@code null} the
+	 * entity data is put into the cache immediately
+	 */
+	public static void initializeEntity(
+			final Object entity,
+			final boolean readOnly,
+			final SessionImplementor session,
+			final PreLoadEvent preLoadEvent,
+			final SharedCachePutBatch cachePutBatch) {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final EntityEntry entityEntry = persistenceContext.getEntry( entity );
 		if ( entityEntry == null ) {
 			throw new AssertionFailure( "possible non-threadsafe access to the session" );
 		}
-		doInitializeEntity( entity, entityEntry, readOnly, session, preLoadEvent );
+		doInitializeEntity( entity, entityEntry, readOnly, session, preLoadEvent, cachePutBatch );
 	}
 
 	private static void doInitializeEntity(
@@ -149,7 +169,8 @@ public final class TwoPhaseLoad {
 			final EntityEntry entityEntry,
 			final boolean readOnly,
 			final SessionImplementor session,
-			final PreLoadEvent preLoadEvent) throws HibernateException {
+			final PreLoadEvent preLoadEvent,
+			final SharedCachePutBatch cachePutBatch) throws HibernateException {
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		final EntityPersister persister = entityEntry.getPersister();
 		final Serializable id = entityEntry.getId();
@@ -215,6 +236,15 @@ public final class TwoPhaseLoad {
 						version
 				);
 			}
+			else if ( cachePutBatch != null ) {
+				cachePutBatch.add(
+						persister.getCacheAccessStrategy(),
+						cacheKey,
+						persister.getCacheEntryStructure().structure( entry ),
+						version,
+						useMinimalPuts( session, entityEntry )
+				);
+			}
 			else {
 				try {
 					session.getEventListenerManager().cachePutStart();
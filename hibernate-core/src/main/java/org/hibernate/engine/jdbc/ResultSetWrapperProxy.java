@@ -42,7 +42,11 @@ import org.jboss.logging.Logger;
  *
  * @author Steve Ebersole
  * @author Gail Badner
+ *
+ * @deprecated Every call through the proxy goes through reflection; use
+ * {@link org.hibernate.engine.jdbc.internal.ColumnNameCachingResultSet} instead.
  */
+@Deprecated
 public class ResultSetWrapperProxy implements InvocationHandler {
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
 			CoreMessageLogger.class,
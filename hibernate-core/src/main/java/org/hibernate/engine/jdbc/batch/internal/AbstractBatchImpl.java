@@ -37,6 +37,8 @@ import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
 import org.hibernate.engine.transaction.spi.TransactionContext;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 import org.jboss.logging.Logger;
 
@@ -52,10 +54,13 @@ public abstract class AbstractBatchImpl implements Batch {
 			AbstractBatchImpl.class.getName()
 	);
 
+	private static final long NOT_TIMED = Long.MIN_VALUE;
+
 	private final BatchKey key;
 	private final JdbcCoordinator jdbcCoordinator;
 
 	private final TransactionContext transactionContext;
+	private final StatisticsImplementor statistics;
 	private final SqlStatementLogger sqlStatementLogger;
 	private final SqlExceptionHelper sqlExceptionHelper;
 
@@ -76,6 +81,7 @@ public abstract class AbstractBatchImpl implements Batch {
 		final JdbcServices jdbcServices = transactionContext.getTransactionEnvironment().getJdbcServices();
 		this.sqlStatementLogger = jdbcServices.getSqlStatementLogger();
 		this.sqlExceptionHelper = jdbcServices.getSqlExceptionHelper();
+		this.statistics = transactionContext.getTransactionEnvironment().getStatisticsImplementor();
 	}
 
 	/**
@@ -90,6 +96,52 @@ public abstract class AbstractBatchImpl implements Batch {
 		return transactionContext;
 	}
 
+	/**
+	 * Notify that a JDBC batch is about to be executed.
+	 *
+	 * @return The execution start time, to be passed back to {@link #batchExecutionEnded}; or a marker value if
+	 * statistics are not being collected.
+	 */
+	protected long batchExecutionStarted() {
+		transactionContext.startBatchExecution();
+		return statistics != null && statistics.isStatisticsEnabled() ? System.nanoTime() : NOT_TIMED;
+	}
+
+	/**
+	 * Notify that execution of a JDBC batch has completed.
+	 *
+	 * @param statement The statement whose batch was executed
+	 * @param startTime The value returned from the matching {@link #batchExecutionStarted} call
+	 * @param rowCounts The row counts returned by the batch execution, or {@code null} if it failed
+	 */
+	protected void batchExecutionEnded(PreparedStatement statement, long startTime, int[] rowCounts) {
+		if ( startTime != NOT_TIMED ) {
+			final long executionTime = System.nanoTime() - startTime;
+			if ( statistics instanceof LatencyTrackingStatisticsImplementor ) {
+				( (LatencyTrackingStatisticsImplementor) statistics ).statementExecutionTime( executionTime );
+			}
+			jdbcCoordinator.getSqlStatementProfiler().statementExecuted(
+					statement,
+					executionTime,
+					totalRowCount( rowCounts )
+			);
+		}
+		transactionContext.endBatchExecution();
+	}
+
+	private static int totalRowCount(int[] rowCounts) {
+		int total = 0;
+		if ( rowCounts != null ) {
+			for ( int rowCount : rowCounts ) {
+				// drivers may answer Statement.SUCCESS_NO_INFO
+				if ( rowCount > 0 ) {
+					total += rowCount;
+				}
+			}
+		}
+		return total;
+	}
+
 	/**
 	 * Convenience access to the SQLException helper.
 	 *
@@ -148,7 +200,17 @@ public abstract class AbstractBatchImpl implements Batch {
 		return statement;
 	}
 
-	private PreparedStatement buildBatchStatement(String sql, boolean callable) {
+	/**
+	 * Prepare a statement for SQL not yet part of this batch.  The statement is prepared through
+	 * {@link org.hibernate.engine.jdbc.spi.StatementPreparer#prepareStatement(String, boolean)}, which executes and
+	 * releases the current batch first.
+	 *
+	 * @param sql The SQL
+	 * @param callable Whether the statement is callable
+	 *
+	 * @return The prepared statement
+	 */
+	protected PreparedStatement buildBatchStatement(String sql, boolean callable) {
 		return jdbcCoordinator.getStatementPreparer().prepareStatement( sql, callable );
 	}
 
@@ -26,7 +26,7 @@ package org.hibernate.engine.jdbc.batch.internal;
 import java.util.Map;
 
 import org.hibernate.boot.registry.StandardServiceInitiator;
-import org.hibernate.boot.registry.classloading.spi.ClassLoaderService;
+import org.hibernate.boot.registry.selector.spi.StrategySelector;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.internal.util.config.ConfigurationHelper;
@@ -45,7 +45,8 @@ public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuil
 	public static final BatchBuilderInitiator INSTANCE = new BatchBuilderInitiator();
 
 	/**
-	 * Names the BatchBuilder implementation to use.
+	 * Names the BatchBuilder implementation to use, either as a class name or as a registered short name
+	 * (e.g. {@value GroupingBatchBuilder#SHORT_NAME}).
 	 */
 	public static final String BUILDER = "hibernate.jdbc.batch.builder";
 
@@ -67,12 +68,12 @@ public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuil
 			return (BatchBuilder) builder;
 		}
 
-		final String builderClassName = builder.toString();
+		final String builderName = builder.toString();
 		try {
-			return (BatchBuilder) registry.getService( ClassLoaderService.class ).classForName( builderClassName ).newInstance();
+			return registry.getService( StrategySelector.class ).resolveStrategy( BatchBuilder.class, builderName );
 		}
 		catch (Exception e) {
-			throw new ServiceException( "Could not build explicit BatchBuilder [" + builderClassName + "]", e );
+			throw new ServiceException( "Could not build explicit BatchBuilder [" + builderName + "]", e );
 		}
 	}
 }
@@ -121,13 +121,13 @@ public class BatchingBatch extends AbstractBatchImpl {
 			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
 				try {
 					final PreparedStatement statement = entry.getValue();
-					final int[] rowCounts;
+					int[] rowCounts = null;
+					final long startTime = batchExecutionStarted();
 					try {
-						transactionContext().startBatchExecution();
 						rowCounts = statement.executeBatch();
 					}
 					finally {
-						transactionContext().endBatchExecution();
+						batchExecutionEnded( statement, startTime, rowCounts );
 					}
 					checkRowCounts( rowCounts, statement );
 				}
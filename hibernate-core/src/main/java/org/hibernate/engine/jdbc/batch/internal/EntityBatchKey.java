@@ -0,0 +1,109 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.DependentBatchKey;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * BatchKey for the insert, update and delete statements of an entity.  Knows (through the
+ * {@link org.hibernate.engine.spi.EntityDependencyGraph}) which other entity hierarchies the entity's table(s)
+ * may reference, which allows {@link GroupingBatchingBatch} to re-order statements
+ * without violating foreign-key constraints.
+ */
+public class EntityBatchKey extends BasicBatchKey implements DependentBatchKey {
+	/**
+	 * The kind of DML statements described by an EntityBatchKey.
+	 */
+	public static enum Operation {
+		INSERT,
+		UPDATE,
+		DELETE
+	}
+
+	private final EntityPersister persister;
+	private final Operation operation;
+
+	/**
+	 * Constructs an EntityBatchKey
+	 *
+	 * @param persister The persister of the entity being written
+	 * @param operation The kind of statements being batched
+	 * @param expectation The expectation for the batch
+	 */
+	public EntityBatchKey(EntityPersister persister, Operation operation, Expectation expectation) {
+		super( persister.getEntityName() + '#' + operation.name(), expectation );
+		this.persister = persister;
+		this.operation = operation;
+	}
+
+	public EntityPersister getPersister() {
+		return persister;
+	}
+
+	public Operation getOperation() {
+		return operation;
+	}
+
+	@Override
+	public boolean canPrecede(BatchKey other) {
+		if ( !EntityBatchKey.class.isInstance( other ) ) {
+			return false;
+		}
+		final EntityBatchKey that = (EntityBatchKey) other;
+		if ( operation != that.operation ) {
+			return false;
+		}
+		switch ( operation ) {
+			case INSERT: {
+				// our rows must not be inserted before the rows they reference
+				return !references( that.persister );
+			}
+			case DELETE: {
+				// rows referencing ours must be deleted first
+				return !that.references( persister );
+			}
+			default: {
+				// the inserts already happened and the deletes did not happen yet
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Might the table(s) of this key's entity hold foreign-keys to the table(s) of the given entity?
+	 *
+	 * @param target The (possibly) referenced entity
+	 *
+	 * @return {@code true} if a reference is possible.
+	 */
+	public boolean references(EntityPersister target) {
+		return persister.getFactory().getEntityDependencyGraph().references(
+				persister.getEntityName(),
+				target.getRootEntityName()
+		);
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.Map;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.spi.Configurable;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A builder for {@link GroupingBatchingBatch} instances, which keep the statements of multiple batch keys
+ * open at once.  Selected by setting {@link BatchBuilderInitiator#BUILDER} to {@link #SHORT_NAME}.
+ */
+public class GroupingBatchBuilder implements BatchBuilder, Configurable {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			GroupingBatchBuilder.class.getName()
+	);
+
+	/**
+	 * Short name for this builder, usable as the value of {@link BatchBuilderInitiator#BUILDER}.
+	 */
+	public static final String SHORT_NAME = "grouping";
+
+	/**
+	 * Names the maximum number of distinct statements a batch keeps open at once.
+	 */
+	public static final String MAX_STATEMENTS = "hibernate.jdbc.batch.max_statements";
+
+	/**
+	 * The default for {@link #MAX_STATEMENTS}
+	 */
+	public static final int DEFAULT_MAX_STATEMENTS = 20;
+
+	private int size;
+	private int maxStatements = DEFAULT_MAX_STATEMENTS;
+
+	/**
+	 * Constructs a GroupingBatchBuilder
+	 */
+	public GroupingBatchBuilder() {
+	}
+
+	/**
+	 * Constructs a GroupingBatchBuilder
+	 *
+	 * @param size The batch size to use.
+	 * @param maxStatements The maximum number of statements to keep open at once.
+	 */
+	public GroupingBatchBuilder(int size, int maxStatements) {
+		this.size = size;
+		this.maxStatements = maxStatements;
+	}
+
+	@Override
+	public void configure(Map configurationValues) {
+		size = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, size );
+		maxStatements = ConfigurationHelper.getInt( MAX_STATEMENTS, configurationValues, maxStatements );
+	}
+
+	@SuppressWarnings("UnusedDeclaration")
+	public void setJdbcBatchSize(int size) {
+		this.size = size;
+	}
+
+	@SuppressWarnings("UnusedDeclaration")
+	public void setMaxStatements(int maxStatements) {
+		this.maxStatements = maxStatements;
+	}
+
+	@Override
+	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+		LOG.tracef( "Building grouping batch [size=%s, maxStatements=%s]", size, maxStatements );
+		return size > 1
+				? new GroupingBatchingBatch( key, jdbcCoordinator, size, Math.max( maxStatements, 1 ) )
+				: new NonBatchingBatch( key, jdbcCoordinator );
+	}
+
+	@Override
+	public String getManagementDomain() {
+		// use Hibernate default domain
+		return null;
+	}
+
+	@Override
+	public String getManagementServiceType() {
+		// use Hibernate default scheme
+		return null;
+	}
+
+	@Override
+	public Object getManagementBean() {
+		return this;
+	}
+}
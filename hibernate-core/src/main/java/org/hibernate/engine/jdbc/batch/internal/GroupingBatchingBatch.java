@@ -0,0 +1,281 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.DependentBatchKey;
+import org.hibernate.engine.jdbc.batch.spi.GroupingBatch;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which keeps one open statement per distinct
+ * SQL, even across {@link BatchKey batch keys}, rather than executing the batch every time the SQL changes.  The
+ * statements are executed in the order in which their SQL was first added to the batch.
+ * <p/>
+ * Executing in that order moves statements ahead of statements added to the batch before them.  That is only done
+ * when the key of the moved statement is a {@link DependentBatchKey} which states that it
+ * {@link DependentBatchKey#canPrecede can precede} the keys of the statements it is moved ahead of; otherwise the
+ * batch is executed first.  The batch is also implicitly executed once a statement reaches the batch size, and
+ * its statements are released once their number would exceed the configured maximum.
+ */
+public class GroupingBatchingBatch extends AbstractBatchImpl implements GroupingBatch {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			GroupingBatchingBatch.class.getName()
+	);
+
+	private final JdbcCoordinator jdbcCoordinator;
+	private final int batchSize;
+	private final int maxStatements;
+
+	private final Map<String,StatementGroup> groupsBySql = new HashMap<String,StatementGroup>();
+	private final List<StatementGroup> groups = new ArrayList<StatementGroup>();
+
+	private BatchKey currentKey;
+	private StatementGroup currentGroup;
+	private int pendingRows;
+	private boolean batchExecuted;
+
+	/**
+	 * Constructs a GroupingBatchingBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size.
+	 * @param maxStatements The maximum number of statements to keep open at once.
+	 */
+	public GroupingBatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize,
+			int maxStatements) {
+		super( key, jdbcCoordinator );
+		if ( ! key.getExpectation().canBeBatched() ) {
+			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
+		}
+		this.jdbcCoordinator = jdbcCoordinator;
+		this.batchSize = batchSize;
+		this.maxStatements = maxStatements;
+		this.currentKey = key;
+	}
+
+	@Override
+	public boolean join(BatchKey key) {
+		if ( ! key.getExpectation().canBeBatched() ) {
+			return false;
+		}
+		if ( ! key.equals( currentKey ) ) {
+			currentKey = key;
+			currentGroup = null;
+		}
+		return true;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		StatementGroup group = groupsBySql.get( sql );
+		if ( group == null ) {
+			if ( groups.size() >= maxStatements ) {
+				LOG.debugf( "Maximum number of batch statements [%s] reached; releasing statements", maxStatements );
+				executeImplicitly();
+				releaseStatements();
+			}
+			else if ( callable && ! groups.isEmpty() ) {
+				// see buildBatchStatement
+				LOG.debug( "Preparing a callable batch statement; releasing statements" );
+				executeImplicitly();
+				releaseStatements();
+			}
+			final PreparedStatement statement = super.getBatchStatement( sql, callable );
+			group = new StatementGroup( sql, currentKey );
+			group.statement = statement;
+			groupsBySql.put( sql, group );
+			groups.add( group );
+			currentGroup = group;
+			return statement;
+		}
+		else if ( ! group.key.equals( currentKey ) ) {
+			// the same SQL used by a different key; keep the row-count expectations apart
+			executeImplicitly();
+			group.key = currentKey;
+		}
+		else if ( ! canMoveAhead( group ) ) {
+			executeImplicitly();
+		}
+
+		group.statement = super.getBatchStatement( sql, callable );
+		currentGroup = group;
+		return group.statement;
+	}
+
+	/**
+	 * Prepares non-callable statements without executing the pending statements, which is what
+	 * {@link org.hibernate.engine.jdbc.spi.StatementPreparer#prepareStatement(String, boolean)} would do.  There is
+	 * no such alternative for callable statements, so the statements of this batch are executed and released before
+	 * preparing one.
+	 */
+	@Override
+	protected PreparedStatement buildBatchStatement(String sql, boolean callable) {
+		if ( callable ) {
+			return super.buildBatchStatement( sql, true );
+		}
+		return jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
+	}
+
+	/**
+	 * Can rows for the current key be added to the given group, which means executing them ahead of the
+	 * (pending) rows of all groups created after it?
+	 */
+	private boolean canMoveAhead(StatementGroup group) {
+		for ( int i = group.position + 1; i < groups.size(); i++ ) {
+			final StatementGroup later = groups.get( i );
+			if ( later.rowCount == 0 ) {
+				continue;
+			}
+			if ( ! DependentBatchKey.class.isInstance( currentKey )
+					|| ! ( (DependentBatchKey) currentKey ).canPrecede( later.key ) ) {
+				LOG.tracef( "Cannot move [%s] ahead of pending [%s]; executing batch", currentKey, later.key );
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void addToBatch() {
+		if ( currentGroup == null ) {
+			throw new HibernateException( "No batch statement obtained for the current batch key" );
+		}
+		try {
+			currentGroup.statement.addBatch();
+		}
+		catch ( SQLException e ) {
+			LOG.debugf( "SQLException escaped proxy", e );
+			throw sqlExceptionHelper().convert( e, "could not perform addBatch", currentGroup.sql );
+		}
+		currentGroup.rowCount++;
+		pendingRows++;
+		if ( currentGroup.rowCount >= batchSize ) {
+			executeImplicitly();
+		}
+	}
+
+	private void executeImplicitly() {
+		if ( pendingRows > 0 ) {
+			notifyObserversImplicitExecution();
+			performExecution();
+			batchExecuted = true;
+		}
+	}
+
+	@Override
+	protected void doExecuteBatch() {
+		if ( pendingRows == 0 ) {
+			if ( ! batchExecuted ) {
+				LOG.debug( "No batched statements to execute" );
+			}
+		}
+		else {
+			performExecution();
+		}
+	}
+
+	private void performExecution() {
+		LOG.debugf( "Executing batch of %s statement(s), %s row(s)", groups.size(), pendingRows );
+		try {
+			for ( StatementGroup group : groups ) {
+				if ( group.rowCount == 0 ) {
+					continue;
+				}
+				try {
+					int[] rowCounts = null;
+					final long startTime = batchExecutionStarted();
+					try {
+						rowCounts = group.statement.executeBatch();
+					}
+					finally {
+						batchExecutionEnded( group.statement, startTime, rowCounts );
+					}
+					checkRowCounts( rowCounts, group );
+				}
+				catch ( SQLException e ) {
+					abortBatch();
+					throw sqlExceptionHelper().convert( e, "could not execute batch", group.sql );
+				}
+				group.rowCount = 0;
+			}
+		}
+		catch ( RuntimeException re ) {
+			LOG.unableToExecuteBatch( re.getMessage() );
+			throw re;
+		}
+		finally {
+			pendingRows = 0;
+		}
+	}
+
+	private void checkRowCounts(int[] rowCounts, StatementGroup group) throws SQLException, HibernateException {
+		final int numberOfRowCounts = rowCounts.length;
+		if ( numberOfRowCounts != group.rowCount ) {
+			LOG.unexpectedRowCounts();
+		}
+		for ( int i = 0; i < numberOfRowCounts; i++ ) {
+			group.key.getExpectation().verifyOutcome( rowCounts[i], group.statement, i );
+		}
+	}
+
+	@Override
+	protected void releaseStatements() {
+		super.releaseStatements();
+		groupsBySql.clear();
+		groups.clear();
+		currentGroup = null;
+		pendingRows = 0;
+	}
+
+	private class StatementGroup {
+		private final String sql;
+		private final int position;
+		private BatchKey key;
+		private PreparedStatement statement;
+		private int rowCount;
+
+		private StatementGroup(String sql, BatchKey key) {
+			this.sql = sql;
+			this.key = key;
+			this.position = groups.size();
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.spi;
+
+/**
+ * A {@link BatchKey} which knows about the foreign-key dependencies of the rows it describes.  This allows
+ * a {@link GroupingBatch} to decide whether statements for this key may be executed ahead of statements
+ * for other keys which were added to the batch earlier.
+ */
+public interface DependentBatchKey extends BatchKey {
+	/**
+	 * Can statements belonging to this key be executed ahead of (previously added) statements belonging to
+	 * the given key without violating constraints?
+	 *
+	 * @param other The key of the statements we would like to move ahead of.
+	 *
+	 * @return {@code true} if re-ordering is safe; {@code false} if it might not be.
+	 */
+	public boolean canPrecede(BatchKey other);
+}
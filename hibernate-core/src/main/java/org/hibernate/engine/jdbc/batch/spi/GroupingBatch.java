@@ -0,0 +1,41 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.batch.spi;
+
+/**
+ * A {@link Batch} which is able to group the statements of multiple {@link BatchKey batch keys}, rather than
+ * needing to be executed each time the key changes.
+ */
+public interface GroupingBatch extends Batch {
+	/**
+	 * Asks the batch to make the given key the current one, such that subsequent calls to
+	 * {@link #getBatchStatement} and {@link #addToBatch} pertain to it.
+	 *
+	 * @param key The key for the statements about to be added.
+	 *
+	 * @return {@code true} if the batch accepted the key; {@code false} indicates the batch should be executed
+	 * and a new one built for the key.
+	 */
+	public boolean join(BatchKey key);
+}
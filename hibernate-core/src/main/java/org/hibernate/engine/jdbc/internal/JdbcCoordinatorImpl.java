@@ -42,12 +42,14 @@ import org.hibernate.TransactionException;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.GroupingBatch;
 import org.hibernate.engine.jdbc.spi.InvalidatableWrapper;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.engine.jdbc.spi.JdbcWrapper;
 import org.hibernate.engine.jdbc.spi.LogicalConnectionImplementor;
 import org.hibernate.engine.jdbc.spi.ResultSetReturn;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
+import org.hibernate.engine.jdbc.spi.SqlStatementProfiler;
 import org.hibernate.engine.jdbc.spi.StatementPreparer;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.transaction.internal.TransactionCoordinatorImpl;
@@ -118,6 +120,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 				transactionCoordinator.getTransactionContext().getJdbcConnectionAccess()
 		);
 		this.exceptionHelper = logicalConnection.getJdbcServices().getSqlExceptionHelper();
+		enableStatementCache();
 	}
 
 	/**
@@ -132,6 +135,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		this.transactionCoordinator = transactionCoordinator;
 		this.logicalConnection = logicalConnection;
 		this.exceptionHelper = logicalConnection.getJdbcServices().getSqlExceptionHelper();
+		enableStatementCache();
 	}
 
 	private JdbcCoordinatorImpl(LogicalConnectionImpl logicalConnection) {
@@ -208,13 +212,16 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	@Override
 	public Batch getBatch(BatchKey key) {
 		if ( currentBatch != null ) {
-			if ( currentBatch.getKey().equals( key ) ) {
-				return currentBatch;
+			if ( GroupingBatch.class.isInstance( currentBatch ) ) {
+				if ( ( (GroupingBatch) currentBatch ).join( key ) ) {
+					return currentBatch;
+				}
 			}
-			else {
-				currentBatch.execute();
-				currentBatch.release();
+			else if ( currentBatch.getKey().equals( key ) ) {
+				return currentBatch;
 			}
+			currentBatch.execute();
+			currentBatch.release();
 		}
 		currentBatch = batchBuilder().buildBatch( key, this );
 		return currentBatch;
@@ -256,6 +263,18 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		return resultSetExtractor;
 	}
 
+	private transient SqlStatementProfiler sqlStatementProfiler;
+
+	@Override
+	public SqlStatementProfiler getSqlStatementProfiler() {
+		if ( sqlStatementProfiler == null ) {
+			sqlStatementProfiler = new SqlStatementProfilerImpl(
+					transactionEnvironment().getStatisticsImplementor()
+			);
+		}
+		return sqlStatementProfiler;
+	}
+
 	@Override
 	public void setTransactionTimeOut(int seconds) {
 		transactionTimeOutInstant = System.currentTimeMillis() + ( seconds * 1000 );
@@ -364,6 +383,23 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	 */
 	public void afterDeserialize(TransactionCoordinatorImpl transactionCoordinator) {
 		this.transactionCoordinator = transactionCoordinator;
+		enableStatementCache();
+	}
+
+	private void enableStatementCache() {
+		final SessionFactoryImplementor sessionFactory = sessionFactory();
+		if ( sessionFactory != null && sessionFactory.getSettings().getJdbcStatementCacheSize() > 0 ) {
+			logicalConnection.enableStatementCache( sessionFactory.getSettings().getJdbcStatementCacheSize() );
+		}
+	}
+
+	/**
+	 * The prepared statement cache of the logical connection, if enabled.
+	 *
+	 * @return The statement cache, or {@code null}
+	 */
+	StatementCache getStatementCache() {
+		return logicalConnection.getStatementCache();
 	}
 
 	@Override
@@ -419,6 +455,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		}
 		xref.remove( statement );
 		close( statement );
+		getSqlStatementProfiler().statementReleased( statement );
 		
 		afterStatementExecution();
 	}
@@ -507,6 +544,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		for ( Map.Entry<Statement,Set<ResultSet>> entry : xref.entrySet() ) {
 			closeAll( entry.getValue() );
 			close( entry.getKey() );
+			getSqlStatementProfiler().statementReleased( entry.getKey() );
 		}
 		xref.clear();
 
@@ -554,7 +592,10 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 				// EARLY EXIT!!!
 				return;
 			}
-			statement.close();
+			final StatementCache statementCache = logicalConnection.getStatementCache();
+			if ( statementCache == null || !statementCache.checkIn( statement ) ) {
+				statement.close();
+			}
 			if ( lastQuery == statement ) {
 				lastQuery = null;
 			}
@@ -71,6 +71,8 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 
 	private boolean isClosed;
 
+	private transient StatementCache statementCache;
+
 	/**
 	 * Constructs a LogicalConnectionImpl
 	 *
@@ -181,6 +183,10 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 			if ( !isUserSuppliedConnection && physicalConnection != null ) {
 				releaseConnection();
 			}
+			else if ( statementCache != null ) {
+				// the user-supplied connection stays open, but the statements cached on it must not
+				statementCache.clear();
+			}
 			return c;
 		}
 		finally {
@@ -195,6 +201,26 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		}
 	}
 
+	/**
+	 * Keep released prepared statements open for reuse, until the physical connection is released.
+	 *
+	 * @param maxSize The maximum number of idle statements to keep
+	 */
+	void enableStatementCache(int maxSize) {
+		if ( statementCache == null ) {
+			statementCache = new StatementCache( maxSize );
+		}
+	}
+
+	/**
+	 * The prepared statement cache, if enabled.
+	 *
+	 * @return The statement cache, or {@code null}
+	 */
+	StatementCache getStatementCache() {
+		return statementCache;
+	}
+
 	@Override
 	public ConnectionReleaseMode getConnectionReleaseMode() {
 		return connectionReleaseMode;
@@ -247,6 +273,9 @@ public class LogicalConnectionImpl implements LogicalConnectionImplementor {
 		if ( physicalConnection == null ) {
 			return;
 		}
+		if ( statementCache != null ) {
+			statementCache.clear();
+		}
 		try {
 			if ( !physicalConnection.isClosed() ) {
 				getJdbcServices().getSqlExceptionHelper().logAndClearWarnings( physicalConnection );
@@ -32,6 +32,9 @@ import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.ResultSetReturn;
 import org.hibernate.engine.jdbc.spi.SqlExceptionHelper;
 import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
+import org.hibernate.engine.transaction.spi.TransactionEnvironment;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 /**
  * Standard implementation of the ResultSetReturn contract
@@ -39,11 +42,14 @@ import org.hibernate.engine.jdbc.spi.SqlStatementLogger;
  * @author Brett Meyer
  */
 public class ResultSetReturnImpl implements ResultSetReturn {
+	private static final long NOT_TIMED = Long.MIN_VALUE;
+
 	private final JdbcCoordinator jdbcCoordinator;
 
 	private final Dialect dialect;
 	private final SqlStatementLogger sqlStatementLogger;
 	private final SqlExceptionHelper sqlExceptionHelper;
+	private final StatisticsImplementor statistics;
 	
 	private boolean isJdbc4 = true;
 
@@ -55,13 +61,15 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	public ResultSetReturnImpl(JdbcCoordinator jdbcCoordinator) {
 		this.jdbcCoordinator = jdbcCoordinator;
 
-		final JdbcServices jdbcServices = jdbcCoordinator.getTransactionCoordinator().getTransactionContext()
-				.getTransactionEnvironment()
-				.getJdbcServices();
+		final TransactionEnvironment transactionEnvironment = jdbcCoordinator.getTransactionCoordinator()
+				.getTransactionContext()
+				.getTransactionEnvironment();
+		final JdbcServices jdbcServices = transactionEnvironment.getJdbcServices();
 
 		this.dialect = jdbcServices.getDialect();
 		this.sqlStatementLogger = jdbcServices.getSqlStatementLogger();
 		this.sqlExceptionHelper = jdbcServices.getSqlExceptionHelper();
+		this.statistics = transactionEnvironment.getStatisticsImplementor();
 	}
 
 	@Override
@@ -77,12 +85,12 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		}
 		try {
 			final ResultSet rs;
+			final long startTime = statementExecutionStarted();
 			try {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				rs = statement.executeQuery();
 			}
 			finally {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
+				statementExecutionEnded( statement, startTime, -1 );
 			}
 			postExtract( rs, statement );
 			return rs;
@@ -116,12 +124,12 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		// IMPL NOTE : SQL logged by caller
 		try {
 			final ResultSet rs;
+			final long startTime = statementExecutionStarted();
 			try {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				rs = dialect.getResultSet( callableStatement );
 			}
 			finally {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
+				statementExecutionEnded( callableStatement, startTime, -1 );
 			}
 			postExtract( rs, callableStatement );
 			return rs;
@@ -134,14 +142,15 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	@Override
 	public ResultSet extract(Statement statement, String sql) {
 		sqlStatementLogger.logStatement( sql );
+		jdbcCoordinator.getSqlStatementProfiler().statementPrepared( statement, sql );
 		try {
 			final ResultSet rs;
+			final long startTime = statementExecutionStarted();
 			try {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				rs = statement.executeQuery( sql );
 			}
 			finally {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
+				statementExecutionEnded( statement, startTime, -1 );
 			}
 			postExtract( rs, statement );
 			return rs;
@@ -156,8 +165,8 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		// sql logged by StatementPreparerImpl
 		try {
 			final ResultSet rs;
+			final long startTime = statementExecutionStarted();
 			try {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				if ( !statement.execute() ) {
 					while ( !statement.getMoreResults() && statement.getUpdateCount() != -1 ) {
 						// do nothing until we hit the resultset
@@ -166,7 +175,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 				rs = statement.getResultSet();
 			}
 			finally {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
+				statementExecutionEnded( statement, startTime, -1 );
 			}
 			postExtract( rs, statement );
 			return rs;
@@ -179,10 +188,11 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	@Override
 	public ResultSet execute(Statement statement, String sql) {
 		sqlStatementLogger.logStatement( sql );
+		jdbcCoordinator.getSqlStatementProfiler().statementPrepared( statement, sql );
 		try {
 			final ResultSet rs;
+			final long startTime = statementExecutionStarted();
 			try {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
 				if ( !statement.execute( sql ) ) {
 					while ( !statement.getMoreResults() && statement.getUpdateCount() != -1 ) {
 						// do nothing until we hit the resultset
@@ -191,7 +201,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 				rs = statement.getResultSet();
 			}
 			finally {
-				jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
+				statementExecutionEnded( statement, startTime, -1 );
 			}
 			postExtract( rs, statement );
 			return rs;
@@ -203,31 +213,52 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	
 	@Override
 	public int executeUpdate(PreparedStatement statement) {
+		final long startTime = statementExecutionStarted();
+		int rowCount = -1;
 		try {
-			jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
-			return statement.executeUpdate();
+			rowCount = statement.executeUpdate();
+			return rowCount;
 		}
 		catch (SQLException e) {
 			throw sqlExceptionHelper.convert( e, "could not execute statement" );
 		}
 		finally {
-			jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
+			statementExecutionEnded( statement, startTime, rowCount );
 		}
 	}
 	
 	@Override
 	public int executeUpdate(Statement statement, String sql) {
 		sqlStatementLogger.logStatement( sql );
+		jdbcCoordinator.getSqlStatementProfiler().statementPrepared( statement, sql );
+		final long startTime = statementExecutionStarted();
+		int rowCount = -1;
 		try {
-			jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
-			return statement.executeUpdate( sql );
+			rowCount = statement.executeUpdate( sql );
+			return rowCount;
 		}
 		catch (SQLException e) {
 			throw sqlExceptionHelper.convert( e, "could not execute statement" );
 		}
 		finally {
-			jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
+			statementExecutionEnded( statement, startTime, rowCount );
+		}
+	}
+
+	private long statementExecutionStarted() {
+		jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startStatementExecution();
+		return statistics != null && statistics.isStatisticsEnabled() ? System.nanoTime() : NOT_TIMED;
+	}
+
+	private void statementExecutionEnded(Statement statement, long startTime, int rowCount) {
+		if ( startTime != NOT_TIMED ) {
+			final long executionTime = System.nanoTime() - startTime;
+			if ( statistics instanceof LatencyTrackingStatisticsImplementor ) {
+				( (LatencyTrackingStatisticsImplementor) statistics ).statementExecutionTime( executionTime );
+			}
+			jdbcCoordinator.getSqlStatementProfiler().statementExecuted( statement, executionTime, rowCount );
 		}
+		jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endStatementExecution();
 	}
 
 	private void postExtract(ResultSet rs, Statement st) {
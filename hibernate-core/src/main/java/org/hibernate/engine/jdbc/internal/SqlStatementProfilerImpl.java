@@ -0,0 +1,163 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.hibernate.engine.jdbc.spi.SqlStatementProfiler;
+import org.hibernate.stat.spi.SqlStatementTrackingStatisticsImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.type.Type;
+
+/**
+ * Standard implementation of the SqlStatementProfiler contract.  Like the {@link JdbcCoordinatorImpl} it belongs to,
+ * it is not thread-safe.
+ */
+public class SqlStatementProfilerImpl implements SqlStatementProfiler {
+	private static final Type[] NO_TYPES = new Type[0];
+	private static final Object[] NO_VALUES = new Object[0];
+
+	private final SqlStatementTrackingStatisticsImplementor statistics;
+	private Map<Statement, Profile> profiles;
+
+	/**
+	 * Constructs a SqlStatementProfilerImpl
+	 *
+	 * @param statistics The statistics to report executions to; executions are only profiled if they collect
+	 * statistics per SQL statement
+	 */
+	public SqlStatementProfilerImpl(StatisticsImplementor statistics) {
+		this.statistics = statistics instanceof SqlStatementTrackingStatisticsImplementor
+				? (SqlStatementTrackingStatisticsImplementor) statistics
+				: null;
+	}
+
+	@Override
+	public void statementPrepared(Statement statement, String sql) {
+		if ( statistics == null || !statistics.isStatisticsEnabled() ) {
+			return;
+		}
+		if ( profiles == null ) {
+			profiles = new IdentityHashMap<Statement, Profile>();
+		}
+		final Profile profile = profiles.get( statement );
+		if ( profile == null ) {
+			profiles.put( statement, new Profile( sql ) );
+		}
+		else {
+			// a plain statement executing another SQL string
+			profile.report( statistics );
+			profile.sql = sql;
+		}
+	}
+
+	@Override
+	public void parameterBound(PreparedStatement statement, int position, Type type, Object value) {
+		final Profile profile = getProfile( statement );
+		if ( profile != null ) {
+			profile.bind( position, type, value );
+		}
+	}
+
+	@Override
+	public void statementExecuted(Statement statement, long executionTime, int rowCount) {
+		final Profile profile = getProfile( statement );
+		if ( profile == null ) {
+			return;
+		}
+		// a batch or a re-executed statement
+		profile.report( statistics );
+		profile.executionTime = executionTime;
+		if ( rowCount < 0 ) {
+			profile.executedAt = System.nanoTime();
+		}
+		else {
+			profile.rows = rowCount;
+			profile.report( statistics );
+		}
+	}
+
+	@Override
+	public void rowsRead(Statement statement, int rows) {
+		final Profile profile = getProfile( statement );
+		if ( profile != null ) {
+			profile.rows += rows;
+		}
+	}
+
+	@Override
+	public void statementReleased(Statement statement) {
+		if ( profiles != null ) {
+			final Profile profile = profiles.remove( statement );
+			if ( profile != null ) {
+				profile.report( statistics );
+			}
+		}
+	}
+
+	private Profile getProfile(Statement statement) {
+		return profiles == null ? null : profiles.get( statement );
+	}
+
+	private static class Profile {
+		private static final long NOT_EXECUTED = -1;
+
+		private String sql;
+		private Type[] parameterTypes = NO_TYPES;
+		private Object[] parameterValues = NO_VALUES;
+		private long executionTime = NOT_EXECUTED;
+		private long executedAt;
+		private long rows;
+
+		private Profile(String sql) {
+			this.sql = sql;
+		}
+
+		private void bind(int position, Type type, Object value) {
+			if ( position > parameterValues.length ) {
+				parameterTypes = Arrays.copyOf( parameterTypes, position );
+				parameterValues = Arrays.copyOf( parameterValues, position );
+			}
+			parameterTypes[position - 1] = type;
+			parameterValues[position - 1] = value;
+		}
+
+		private void report(SqlStatementTrackingStatisticsImplementor statistics) {
+			if ( executionTime == NOT_EXECUTED ) {
+				return;
+			}
+			final long fetchTime = executedAt == 0 ? 0 : System.nanoTime() - executedAt;
+			if ( statistics.isStatisticsEnabled() ) {
+				statistics.sqlStatementExecuted( sql, executionTime, fetchTime, rows, parameterTypes, parameterValues );
+			}
+			executionTime = NOT_EXECUTED;
+			executedAt = 0;
+			rows = 0;
+		}
+	}
+}
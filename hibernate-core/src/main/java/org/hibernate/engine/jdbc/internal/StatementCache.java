@@ -0,0 +1,206 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Per-connection cache of prepared statements.  Statements prepared through the cache are kept open when they are
+ * released, up to a maximum number of idle statements evicted least recently used first, and handed out again the
+ * next time the same SQL is prepared with the same options.  A statement is only ever handed out once at a time.
+ * <p/>
+ * Like the {@link LogicalConnectionImpl} owning it, this is not thread-safe.
+ */
+class StatementCache {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			StatementCache.class.getName()
+	);
+
+	private final int maxSize;
+	private final LinkedHashMap<Key, CachedStatement> idleStatements;
+	private final Map<Statement, CachedStatement> statementsInUse = new IdentityHashMap<Statement, CachedStatement>();
+
+	/**
+	 * Constructs a StatementCache
+	 *
+	 * @param maxSize The maximum number of idle statements to keep
+	 */
+	StatementCache(int maxSize) {
+		this.maxSize = maxSize;
+		this.idleStatements = new LinkedHashMap<Key, CachedStatement>( 16, .75f, true );
+	}
+
+	/**
+	 * Take an idle statement out of the cache.
+	 *
+	 * @param key The key of the statement
+	 *
+	 * @return The idle statement, or {@code null} if there is none and a new one has to be prepared.
+	 */
+	PreparedStatement checkOut(Key key) {
+		final CachedStatement cachedStatement = idleStatements.remove( key );
+		if ( cachedStatement == null ) {
+			return null;
+		}
+		statementsInUse.put( cachedStatement.statement, cachedStatement );
+		return cachedStatement.statement;
+	}
+
+	/**
+	 * Track a newly prepared statement, so that it is kept when it is released.
+	 *
+	 * @param key The key of the statement
+	 * @param statement The statement
+	 *
+	 * @throws SQLException Indicates a problem accessing the statement
+	 */
+	void prepared(Key key, PreparedStatement statement) throws SQLException {
+		statementsInUse.put( statement, new CachedStatement( key, statement ) );
+	}
+
+	/**
+	 * Put back a released statement.
+	 *
+	 * @param statement The released statement
+	 *
+	 * @return {@code true} if the statement was kept; {@code false} if it should be closed.
+	 */
+	boolean checkIn(Statement statement) {
+		final CachedStatement cachedStatement = statementsInUse.remove( statement );
+		if ( cachedStatement == null || idleStatements.containsKey( cachedStatement.key ) ) {
+			return false;
+		}
+		try {
+			cachedStatement.reset();
+		}
+		catch (SQLException e) {
+			LOG.debugf( "Unable to reset statement for reuse [%s]", e.getMessage() );
+			return false;
+		}
+		idleStatements.put( cachedStatement.key, cachedStatement );
+		if ( idleStatements.size() > maxSize ) {
+			final Iterator<CachedStatement> eldest = idleStatements.values().iterator();
+			final CachedStatement evicted = eldest.next();
+			eldest.remove();
+			close( evicted.statement );
+		}
+		return true;
+	}
+
+	/**
+	 * Close all idle statements and forget the ones in use, ahead of releasing the connection.
+	 */
+	void clear() {
+		for ( CachedStatement cachedStatement : idleStatements.values() ) {
+			close( cachedStatement.statement );
+		}
+		idleStatements.clear();
+		statementsInUse.clear();
+	}
+
+	private void close(PreparedStatement statement) {
+		try {
+			statement.close();
+		}
+		catch (SQLException e) {
+			LOG.debugf( "Unable to close cached statement [%s]", e.getMessage() );
+		}
+	}
+
+	private static final class CachedStatement {
+		private final Key key;
+		private final PreparedStatement statement;
+		private final int fetchSize;
+
+		private CachedStatement(Key key, PreparedStatement statement) throws SQLException {
+			this.key = key;
+			this.statement = statement;
+			this.fetchSize = statement.getFetchSize();
+		}
+
+		private void reset() throws SQLException {
+			statement.clearParameters();
+			statement.clearBatch();
+			if ( statement.getFetchSize() != fetchSize ) {
+				statement.setFetchSize( fetchSize );
+			}
+		}
+	}
+
+	/**
+	 * The SQL and the options a statement was prepared with; Hibernate always prepares read-only result sets.
+	 */
+	static final class Key {
+		private final String sql;
+		private final int resultSetType;
+		private final int autoGeneratedKeys;
+		private final String[] columnNames;
+		private final int hashCode;
+
+		Key(String sql, int resultSetType, int autoGeneratedKeys, String[] columnNames) {
+			this.sql = sql;
+			this.resultSetType = resultSetType;
+			this.autoGeneratedKeys = autoGeneratedKeys;
+			this.columnNames = columnNames;
+			int result = sql.hashCode();
+			result = 31 * result + resultSetType;
+			result = 31 * result + autoGeneratedKeys;
+			result = 31 * result + Arrays.hashCode( columnNames );
+			this.hashCode = result;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( !( o instanceof Key ) ) {
+				return false;
+			}
+			final Key that = (Key) o;
+			return hashCode == that.hashCode
+					&& resultSetType == that.resultSetType
+					&& autoGeneratedKeys == that.autoGeneratedKeys
+					&& sql.equals( that.sql )
+					&& Arrays.equals( columnNames, that.columnNames );
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
@@ -104,6 +104,13 @@ class StatementPreparerImpl implements StatementPreparer {
 						? connection().prepareCall( sql )
 						: connection().prepareStatement( sql );
 			}
+
+			@Override
+			protected StatementCache.Key cacheKey() {
+				return isCallable
+						? null
+						: new StatementCache.Key( sql, ResultSet.TYPE_FORWARD_ONLY, Statement.NO_GENERATED_KEYS, null );
+			}
 		};
 	}
 
@@ -123,6 +130,11 @@ class StatementPreparerImpl implements StatementPreparer {
 			public PreparedStatement doPrepare() throws SQLException {
 				return connection().prepareStatement( sql, autoGeneratedKeys );
 			}
+
+			@Override
+			protected StatementCache.Key cacheKey() {
+				return new StatementCache.Key( sql, ResultSet.TYPE_FORWARD_ONLY, autoGeneratedKeys, null );
+			}
 		}.prepareStatement();
 	}
 
@@ -134,6 +146,11 @@ class StatementPreparerImpl implements StatementPreparer {
 			public PreparedStatement doPrepare() throws SQLException {
 				return connection().prepareStatement( sql, columnNames );
 			}
+
+			@Override
+			protected StatementCache.Key cacheKey() {
+				return new StatementCache.Key( sql, ResultSet.TYPE_FORWARD_ONLY, Statement.NO_GENERATED_KEYS, columnNames );
+			}
 		}.prepareStatement();
 	}
 
@@ -152,6 +169,13 @@ class StatementPreparerImpl implements StatementPreparer {
 								? connection().prepareCall( sql, scrollMode.toResultSetType(), ResultSet.CONCUR_READ_ONLY )
 								: connection().prepareStatement( sql, scrollMode.toResultSetType(), ResultSet.CONCUR_READ_ONLY );
 				}
+
+				@Override
+				protected StatementCache.Key cacheKey() {
+					return isCallable
+							? null
+							: new StatementCache.Key( sql, scrollMode.toResultSetType(), Statement.NO_GENERATED_KEYS, null );
+				}
 			}.prepareStatement();
 			jdbcCoordinator.registerLastQuery( ps );
 			return ps;
@@ -163,6 +187,13 @@ class StatementPreparerImpl implements StatementPreparer {
 								? connection().prepareCall( sql )
 								: connection().prepareStatement( sql );
 				}
+
+				@Override
+				protected StatementCache.Key cacheKey() {
+					return isCallable
+							? null
+							: new StatementCache.Key( sql, ResultSet.TYPE_FORWARD_ONLY, Statement.NO_GENERATED_KEYS, null );
+				}
 			}.prepareStatement();
 			jdbcCoordinator.registerLastQuery( ps );
 			return ps;
@@ -171,6 +202,7 @@ class StatementPreparerImpl implements StatementPreparer {
 
 	private abstract class StatementPreparationTemplate {
 		protected final String sql;
+		private boolean reused;
 
 		protected StatementPreparationTemplate(String sql) {
 			this.sql = jdbcCoordinator.getTransactionCoordinator().getTransactionContext().onPrepareStatement( sql );
@@ -180,14 +212,25 @@ class StatementPreparerImpl implements StatementPreparer {
 			try {
 				jdbcCoordinator.getLogicalConnection().getJdbcServices().getSqlStatementLogger().logStatement( sql );
 
-				final PreparedStatement preparedStatement;
-				try {
-					jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startPrepareStatement();
-					preparedStatement = doPrepare();
+				final StatementCache statementCache = jdbcCoordinator.getStatementCache();
+				final StatementCache.Key cacheKey = statementCache == null ? null : cacheKey();
+				PreparedStatement preparedStatement = cacheKey == null ? null : statementCache.checkOut( cacheKey );
+				if ( preparedStatement != null ) {
+					reused = true;
 					setStatementTimeout( preparedStatement );
 				}
-				finally {
-					jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endPrepareStatement();
+				else {
+					try {
+						jdbcCoordinator.getTransactionCoordinator().getTransactionContext().startPrepareStatement();
+						preparedStatement = doPrepare();
+						setStatementTimeout( preparedStatement );
+					}
+					finally {
+						jdbcCoordinator.getTransactionCoordinator().getTransactionContext().endPrepareStatement();
+					}
+					if ( cacheKey != null ) {
+						statementCache.prepared( cacheKey, preparedStatement );
+					}
 				}
 				postProcess( preparedStatement );
 				return preparedStatement;
@@ -199,9 +242,21 @@ class StatementPreparerImpl implements StatementPreparer {
 
 		protected abstract PreparedStatement doPrepare() throws SQLException;
 
+		/**
+		 * The key under which the prepared statement may be cached for reuse.
+		 *
+		 * @return The cache key, or {@code null} if the statement should not be cached
+		 */
+		protected StatementCache.Key cacheKey() {
+			return null;
+		}
+
 		public void postProcess(PreparedStatement preparedStatement) throws SQLException {
 			jdbcCoordinator.register( preparedStatement );
-			logicalConnection().notifyObserversStatementPrepared();
+			jdbcCoordinator.getSqlStatementProfiler().statementPrepared( preparedStatement, sql );
+			if ( !reused ) {
+				logicalConnection().notifyObserversStatementPrepared();
+			}
 		}
 
 		private void setStatementTimeout(PreparedStatement preparedStatement) throws SQLException {
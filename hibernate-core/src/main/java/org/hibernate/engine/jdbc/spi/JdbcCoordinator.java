@@ -87,6 +87,13 @@ public interface JdbcCoordinator extends Serializable {
 	 */
 	public ResultSetReturn getResultSetReturn();
 
+	/**
+	 * Obtain the SQL statement profiler associated with this JDBC coordinator.
+	 *
+	 * @return This coordinator's SQL statement profiler
+	 */
+	public SqlStatementProfiler getSqlStatementProfiler();
+
 	/**
 	 * Callback to let us know that a flush is beginning.  We use this fact
 	 * to temporarily circumvent aggressive connection releasing until after
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.jdbc.spi;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+import org.hibernate.type.Type;
+
+/**
+ * Follows the JDBC statements of a {@link JdbcCoordinator} from preparation to release, and reports every execution
+ * to the {@link org.hibernate.stat.spi.StatisticsImplementor statistics} together with its SQL, bound parameters and
+ * row count.  Does nothing unless statistics are enabled.
+ */
+public interface SqlStatementProfiler {
+	/**
+	 * A statement was prepared, or is about to be executed, for the given SQL.
+	 *
+	 * @param statement The statement
+	 * @param sql The SQL it executes
+	 */
+	public void statementPrepared(Statement statement, String sql);
+
+	/**
+	 * A parameter value was bound to a prepared statement.
+	 *
+	 * @param statement The statement
+	 * @param position The (1-based) position of the parameter
+	 * @param type The type binding the value
+	 * @param value The value
+	 */
+	public void parameterBound(PreparedStatement statement, int position, Type type, Object value);
+
+	/**
+	 * A statement was executed.
+	 *
+	 * @param statement The statement
+	 * @param executionTime The execution time, in nanoseconds
+	 * @param rowCount The number of rows changed, or a negative number if the statement returned results which are
+	 * reported through {@link #rowsRead} instead
+	 */
+	public void statementExecuted(Statement statement, long executionTime, int rowCount);
+
+	/**
+	 * Rows were read from the results of a statement.
+	 *
+	 * @param statement The statement
+	 * @param rows The number of rows read
+	 */
+	public void rowsRead(Statement statement, int rows);
+
+	/**
+	 * A statement was released; executions whose results were still being read are reported now.
+	 *
+	 * @param statement The statement
+	 */
+	public void statementReleased(Statement statement);
+}
@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.query.spi;
+
+import org.hibernate.QueryHandle;
+
+/**
+ * The {@link QueryHandle} implementation, holding the plan prepared by a {@link QueryPlanCache}.
+ */
+public class HQLQueryHandle implements QueryHandle {
+	private final QueryPlanCache queryPlanCache;
+	private final HQLQueryPlan queryPlan;
+
+	HQLQueryHandle(QueryPlanCache queryPlanCache, HQLQueryPlan queryPlan) {
+		this.queryPlanCache = queryPlanCache;
+		this.queryPlan = queryPlan;
+	}
+
+	@Override
+	public String getQueryString() {
+		return queryPlan.getSourceQuery();
+	}
+
+	/**
+	 * The plan of the query, built for non-shallow execution without any enabled filter.
+	 *
+	 * @return The query plan
+	 */
+	public HQLQueryPlan getQueryPlan() {
+		return queryPlan;
+	}
+
+	public ParameterMetadata getParameterMetadata() {
+		return queryPlan.getParameterMetadata();
+	}
+
+	/**
+	 * Was this handle prepared by the given cache?
+	 *
+	 * @param queryPlanCache The query plan cache of a SessionFactory
+	 *
+	 * @return {@code true} if the handle belongs to the SessionFactory owning the cache
+	 */
+	public boolean isPreparedBy(QueryPlanCache queryPlanCache) {
+		return this.queryPlanCache == queryPlanCache;
+	}
+
+	@Override
+	public String toString() {
+		return "HQLQueryHandle(" + getQueryString() + ')';
+	}
+}
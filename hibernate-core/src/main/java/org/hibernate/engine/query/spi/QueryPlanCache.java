@@ -30,10 +30,13 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.hibernate.Filter;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
+import org.hibernate.QueryHandle;
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -43,9 +46,15 @@ import org.hibernate.internal.FilterImpl;
 import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.stat.spi.QueryPlanCacheTrackingStatisticsImplementor;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 /**
  * Acts as a cache for compiled query plans, as well as query-parameter metadata.
+ * <p/>
+ * Plans are evicted following the LIRS policy, which favors plans that are reused over plans that were only
+ * used once.  HQL queries can also be {@link #prepareHQLQuery prepared}: their plans are then held apart from
+ * the bounded cache and are never evicted.
  *
  * @see Environment#QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE
  * @see Environment#QUERY_PLAN_CACHE_MAX_SIZE
@@ -81,6 +90,10 @@ public class QueryPlanCache implements Serializable {
 	 */
 	private final BoundedConcurrentHashMap<String,ParameterMetadata> parameterMetadataCache;
 
+	/**
+	 * the HQL queries prepared through {@link #prepareHQLQuery}, keyed by query string
+	 */
+	private final ConcurrentMap<String,HQLQueryHandle> preparedQueries = new ConcurrentHashMap<String,HQLQueryHandle>();
 
 	private NativeQueryInterpreter nativeQueryInterpreterService;
 
@@ -116,7 +129,12 @@ public class QueryPlanCache implements Serializable {
 			);
 		}
 
-		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
+		queryPlanCache = new BoundedConcurrentHashMap(
+				maxQueryPlanCount,
+				20,
+				BoundedConcurrentHashMap.Eviction.LIRS,
+				new EvictionStatisticsListener()
+		);
 		parameterMetadataCache = new BoundedConcurrentHashMap<String, ParameterMetadata>(
 				maxParameterMetadataCount,
 				20,
@@ -160,18 +178,52 @@ public class QueryPlanCache implements Serializable {
 	@SuppressWarnings("unchecked")
 	public HQLQueryPlan getHQLQueryPlan(String queryString, boolean shallow, Map<String,Filter> enabledFilters)
 			throws QueryException, MappingException {
+		if ( !shallow && !preparedQueries.isEmpty() && CollectionHelper.isEmpty( enabledFilters ) ) {
+			final HQLQueryHandle handle = preparedQueries.get( queryString );
+			if ( handle != null ) {
+				LOG.tracev( "Located prepared HQL query plan ({0})", queryString );
+				queryPlanCacheHit( queryString );
+				return handle.getQueryPlan();
+			}
+		}
 		final HQLQueryPlanKey key = new HQLQueryPlanKey( queryString, shallow, enabledFilters );
 		HQLQueryPlan value = (HQLQueryPlan) queryPlanCache.get( key );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
+			queryPlanCacheMiss( queryString );
 			value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
 			queryPlanCache.putIfAbsent( key, value );
 		} else {
 			LOG.tracev( "Located HQL query plan in cache ({0})", queryString );
+			queryPlanCacheHit( queryString );
 		}
 		return value;
 	}
 
+	/**
+	 * Prepare the given HQL query for repeated execution.  The plan is built (or taken from the cache) once and
+	 * kept until the SessionFactory is closed; preparing the same query string again returns the same handle.
+	 *
+	 * @param queryString The HQL query string
+	 *
+	 * @return The handle to pass to {@link org.hibernate.SharedSessionContract#createQuery(QueryHandle)}
+	 *
+	 * @throws QueryException Indicates a problem translating the query
+	 * @throws MappingException Indicates a problem translating the query
+	 */
+	public HQLQueryHandle prepareHQLQuery(String queryString) throws QueryException, MappingException {
+		HQLQueryHandle handle = preparedQueries.get( queryString );
+		if ( handle == null ) {
+			final HQLQueryPlan plan = getHQLQueryPlan( queryString, false, Collections.<String,Filter>emptyMap() );
+			handle = new HQLQueryHandle( this, plan );
+			final HQLQueryHandle existing = preparedQueries.putIfAbsent( queryString, handle );
+			if ( existing != null ) {
+				handle = existing;
+			}
+		}
+		return handle;
+	}
+
 	/**
 	 * Get the query plan for the given collection HQL filter fragment, creating it and caching it if not already cached
 	 *
@@ -199,11 +251,13 @@ public class QueryPlanCache implements Serializable {
 					collectionRole,
 					filterString
 			);
+			queryPlanCacheMiss( filterString );
 			value = new FilterQueryPlan( filterString, collectionRole, shallow, enabledFilters,factory );
 			queryPlanCache.putIfAbsent( key, value );
 		}
 		else {
 			LOG.tracev( "Located collection-filter query plan in cache ({0} : {1})", collectionRole, filterString );
+			queryPlanCacheHit( filterString );
 		}
 		return value;
 	}
@@ -223,11 +277,13 @@ public class QueryPlanCache implements Serializable {
 		NativeSQLQueryPlan value = (NativeSQLQueryPlan) queryPlanCache.get( spec );
 		if ( value == null ) {
 			LOG.tracev( "Unable to locate native-sql query plan in cache; generating ({0})", spec.getQueryString() );
+			queryPlanCacheMiss( spec.getQueryString() );
 			value = nativeQueryInterpreterService.createQueryPlan( spec, factory );
 			queryPlanCache.putIfAbsent( spec, value );
 		}
 		else {
 			LOG.tracev( "Located native-sql query plan in cache ({0})", spec.getQueryString() );
+			queryPlanCacheHit( spec.getQueryString() );
 		}
 		return value;
 	}
@@ -239,6 +295,52 @@ public class QueryPlanCache implements Serializable {
 		LOG.trace( "Cleaning QueryPlan Cache" );
 		queryPlanCache.clear();
 		parameterMetadataCache.clear();
+		preparedQueries.clear();
+	}
+
+	/**
+	 * The statistics to report the use of the cache to, if they are enabled and track it.
+	 */
+	private QueryPlanCacheTrackingStatisticsImplementor queryPlanCacheStatistics() {
+		final StatisticsImplementor statistics = factory.getStatisticsImplementor();
+		return statistics instanceof QueryPlanCacheTrackingStatisticsImplementor && statistics.isStatisticsEnabled()
+				? (QueryPlanCacheTrackingStatisticsImplementor) statistics
+				: null;
+	}
+
+	private void queryPlanCacheHit(String query) {
+		final QueryPlanCacheTrackingStatisticsImplementor statistics = queryPlanCacheStatistics();
+		if ( statistics != null ) {
+			statistics.queryPlanCacheHit( query );
+		}
+	}
+
+	private void queryPlanCacheMiss(String query) {
+		final QueryPlanCacheTrackingStatisticsImplementor statistics = queryPlanCacheStatistics();
+		if ( statistics != null ) {
+			statistics.queryPlanCacheMiss( query );
+		}
+	}
+
+	private void queryPlanCacheEviction(int count) {
+		final QueryPlanCacheTrackingStatisticsImplementor statistics = queryPlanCacheStatistics();
+		if ( statistics != null ) {
+			statistics.queryPlanCacheEviction( count );
+		}
+	}
+
+	/**
+	 * Reports the plans evicted from the cache to the statistics.
+	 */
+	private class EvictionStatisticsListener implements BoundedConcurrentHashMap.EvictionListener, Serializable {
+		@Override
+		public void onEntryEviction(Map evicted) {
+			queryPlanCacheEviction( evicted.size() );
+		}
+
+		@Override
+		public void onEntryChosenForEviction(Object internalCacheEntry) {
+		}
 	}
 
 	private static class HQLQueryPlanKey implements Serializable {
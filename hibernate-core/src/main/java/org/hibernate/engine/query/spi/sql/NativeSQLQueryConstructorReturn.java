@@ -23,6 +23,7 @@
  */
 package org.hibernate.engine.query.spi.sql;
 
+import java.io.Serializable;
 import java.util.List;
 
 /**
@@ -30,7 +31,7 @@ import java.util.List;
  *
  * @author Steve Ebersole
  */
-public class NativeSQLQueryConstructorReturn implements NativeSQLQueryReturn {
+public class NativeSQLQueryConstructorReturn implements NativeSQLQueryReturn, Serializable {
 	private final Class targetClass;
 	private final NativeSQLQueryScalarReturn[] columnReturns;
 
@@ -23,6 +23,8 @@
  */
 package org.hibernate.engine.query.spi.sql;
 
+import java.io.Serializable;
+
 import org.hibernate.type.Type;
 
 /**
@@ -30,7 +32,7 @@ import org.hibernate.type.Type;
  *
  * @author gloegl
  */
-public class NativeSQLQueryScalarReturn implements NativeSQLQueryReturn {
+public class NativeSQLQueryScalarReturn implements NativeSQLQueryReturn, Serializable {
 	private final Type type;
 	private final String columnAlias;
 	private final int hashCode;
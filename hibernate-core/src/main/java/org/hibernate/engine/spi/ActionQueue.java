@@ -32,6 +32,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -61,6 +62,7 @@ import org.hibernate.cache.CacheException;
 import org.hibernate.engine.internal.NonNullableTransientDependencies;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.type.Type;
@@ -119,7 +121,9 @@ public class ActionQueue {
 
 		unresolvedInsertions = new UnresolvedEntityInsertActions();
 
-		insertions = new ExecutableList<AbstractEntityInsertAction>( new InsertActionSorter() );
+		insertions = new ExecutableList<AbstractEntityInsertAction>(
+				new EntityTypeInsertActionSorter( session.getFactory().getEntityDependencyGraph() )
+		);
 		deletions = new ExecutableList<EntityDeleteAction>();
 		updates = new ExecutableList<EntityUpdateAction>();
 
@@ -784,6 +788,82 @@ public class ActionQueue {
 		}
 	}
 
+	/**
+	 * Order the {@link #insertions} queue such that we group inserts against the same entity together (without
+	 * violating constraints), based on the {@link EntityDependencyGraph} of the SessionFactory.  All inserts of an
+	 * entity are moved behind the inserts of the entities it may reference, keeping their relative order.  This
+	 * only needs a single pass over the actions and yields one group (and so one batch) per entity.
+	 * <p/>
+	 * The inserts of entities taking part in a cycle of references cannot be ordered by looking at the entity
+	 * types alone.  They are kept together (at the position of the cycle) and handed over to the row level
+	 * {@link InsertActionSorter}.
+	 * <p/>
+	 * NOTE: this class is not thread-safe.
+	 */
+	private static class EntityTypeInsertActionSorter implements ExecutableList.Sorter<AbstractEntityInsertAction> {
+		private final EntityDependencyGraph dependencyGraph;
+
+		public EntityTypeInsertActionSorter(EntityDependencyGraph dependencyGraph) {
+			this.dependencyGraph = dependencyGraph;
+		}
+
+		@Override
+		public void sort(List<AbstractEntityInsertAction> insertions) {
+			if ( insertions.size() < 2 ) {
+				return;
+			}
+
+			// entities which are not part of a cycle are grouped by entity name, the others by insert rank
+			final Map<Object, InsertGroup> groupsByKey = new HashMap<Object, InsertGroup>();
+			final List<InsertGroup> groups = new ArrayList<InsertGroup>();
+			for ( AbstractEntityInsertAction action : insertions ) {
+				final EntityPersister persister = action.getPersister();
+				final int rank = dependencyGraph.getInsertRank( persister.getEntityName() );
+				final boolean cyclic = dependencyGraph.isCyclic( persister );
+				final Object key = cyclic ? Integer.valueOf( rank ) : persister.getEntityName();
+
+				InsertGroup group = groupsByKey.get( key );
+				if ( group == null ) {
+					group = new InsertGroup( rank, cyclic );
+					groupsByKey.put( key, group );
+					groups.add( group );
+				}
+				group.actions.add( action );
+			}
+
+			if ( groups.size() == 1 && !groups.get( 0 ).cyclic ) {
+				return;
+			}
+
+			// stable, so groups of the same rank (entities of one hierarchy) keep their relative order
+			Collections.sort( groups );
+
+			insertions.clear();
+			for ( InsertGroup group : groups ) {
+				if ( group.cyclic && group.actions.size() > 1 ) {
+					new InsertActionSorter().sort( group.actions );
+				}
+				insertions.addAll( group.actions );
+			}
+		}
+
+		private static class InsertGroup implements Comparable<InsertGroup> {
+			private final int rank;
+			private final boolean cyclic;
+			private final List<AbstractEntityInsertAction> actions = new ArrayList<AbstractEntityInsertAction>();
+
+			private InsertGroup(int rank, boolean cyclic) {
+				this.rank = rank;
+				this.cyclic = cyclic;
+			}
+
+			@Override
+			public int compareTo(InsertGroup other) {
+				return rank < other.rank ? -1 : ( rank == other.rank ? 0 : 1 );
+			}
+		}
+	}
+
 	/**
 	 * Order the {@link #insertions} queue such that we group inserts against the same entity together (without
 	 * violating constraints). The original order is generated by cascade order, which in turn is based on the
@@ -818,7 +898,7 @@ public class ActionQueue {
 		public void sort(List<AbstractEntityInsertAction> insertions) {
 			// optimize the hash size to eliminate a rehash.
 			this.latestBatches = new HashMap<String, Integer>();
-			this.entityBatchNumber = new HashMap<Object, Integer>( insertions.size() + 1, 1.0f );
+			this.entityBatchNumber = new IdentityHashMap<Object, Integer>( insertions.size() + 1 );
 			this.actionBatches = new HashMap<Integer, List<AbstractEntityInsertAction>>();
 
 			// the list of entity names that indicate the batch number
@@ -28,11 +28,13 @@ import java.util.Map;
 
 import org.hibernate.Cache;
 import org.hibernate.HibernateException;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.hibernate.service.Service;
+import org.hibernate.type.Type;
 
 /**
  * Define internal contact of <tt>Cache API</tt>
@@ -110,4 +112,25 @@ public interface CacheImplementor extends Service, Cache, Serializable {
 	 * @return The {@code RegionFactory}
 	 */
 	public RegionFactory getRegionFactory();
+
+	/**
+	 * Use the simplified {@link org.hibernate.cache.spi.SimpleCacheKey} for the given entity hierarchy.
+	 * Only valid when the hierarchy has a cache region to itself, multi-tenancy is not used and the
+	 * identifier values implement equality consistently with their Hibernate type.
+	 *
+	 * @param rootEntityName The root entity name of the hierarchy
+	 */
+	public void enableSimpleCacheKeys(String rootEntityName);
+
+	/**
+	 * Build the key under which data for the given identifier is kept in its second-level cache region.
+	 *
+	 * @param id The entity identifier or collection key
+	 * @param type The Hibernate type of the identifier
+	 * @param entityOrRoleName The root entity name or the collection role
+	 * @param tenantId The tenant identifier, or {@code null}
+	 *
+	 * @return The cache key
+	 */
+	public CacheKey buildCacheKey(Serializable id, Type type, String entityOrRoleName, String tenantId);
 }
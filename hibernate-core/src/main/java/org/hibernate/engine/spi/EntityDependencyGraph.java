@@ -0,0 +1,234 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.spi;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.ForeignKeyDirection;
+import org.hibernate.type.Type;
+
+/**
+ * The foreign-key dependencies between the entity hierarchies of a SessionFactory, as derived from the
+ * association metadata of the entity and collection persisters.  Built once per SessionFactory and used to
+ * order and group the inserts of a flush without inspecting the state of each row.
+ * <p/>
+ * Each entity hierarchy is assigned an <i>insert rank</i>: the hierarchies an entity's table(s) may reference
+ * always have a lower rank, unless they are part of the same cycle of references (including a hierarchy
+ * referencing itself).  Hierarchies taking part in such a cycle are reported as {@link #isCyclic cyclic} and
+ * share their rank.
+ */
+public class EntityDependencyGraph {
+	private final Map<String,String> rootEntityNames;
+	private final Map<String,Set<String>> referencedRootEntityNames;
+	private final Map<String,Integer> insertRanks;
+	private final Set<String> cyclicRootEntityNames;
+
+	/**
+	 * Builds the dependency graph of the given SessionFactory.  All entity and collection persisters must have
+	 * been instantiated.
+	 *
+	 * @param factory The SessionFactory
+	 */
+	public EntityDependencyGraph(SessionFactoryImplementor factory) {
+		this.rootEntityNames = new HashMap<String,String>();
+		// sorted, so that the ranks do not depend on hashing
+		this.referencedRootEntityNames = new TreeMap<String,Set<String>>();
+		for ( EntityPersister persister : factory.getEntityPersisters().values() ) {
+			rootEntityNames.put( persister.getEntityName(), persister.getRootEntityName() );
+			referencedRootEntityNames( persister.getRootEntityName() );
+		}
+
+		for ( EntityPersister persister : factory.getEntityPersisters().values() ) {
+			collectReferences( persister.getRootEntityName(), persister.getIdentifierType(), factory );
+			for ( Type type : persister.getPropertyTypes() ) {
+				collectReferences( persister.getRootEntityName(), type, factory );
+			}
+		}
+		for ( CollectionPersister persister : factory.getCollectionPersisters().values() ) {
+			if ( persister.isOneToMany() ) {
+				// the key column(s) live in the table(s) of the element entity
+				final String elementEntityName = ( (EntityType) persister.getElementType() ).getAssociatedEntityName( factory );
+				referencedRootEntityNames( rootEntityNames.get( elementEntityName ) ).add(
+						persister.getOwnerEntityPersister().getRootEntityName()
+				);
+			}
+		}
+
+		this.insertRanks = new HashMap<String,Integer>();
+		this.cyclicRootEntityNames = new HashSet<String>();
+		new ComponentFinder( referencedRootEntityNames, insertRanks, cyclicRootEntityNames ).run();
+	}
+
+	private Set<String> referencedRootEntityNames(String rootEntityName) {
+		Set<String> names = referencedRootEntityNames.get( rootEntityName );
+		if ( names == null ) {
+			names = new TreeSet<String>();
+			referencedRootEntityNames.put( rootEntityName, names );
+		}
+		return names;
+	}
+
+	private void collectReferences(String rootEntityName, Type type, SessionFactoryImplementor factory) {
+		if ( type == null ) {
+			return;
+		}
+		if ( type.isEntityType() ) {
+			final EntityType entityType = (EntityType) type;
+			final String associatedRootEntityName = rootEntityNames.get(
+					entityType.getAssociatedEntityName( factory )
+			);
+			if ( entityType.getForeignKeyDirection() == ForeignKeyDirection.FROM_PARENT ) {
+				referencedRootEntityNames( rootEntityName ).add( associatedRootEntityName );
+			}
+			else {
+				// e.g. an unconstrained one-to-one: the associated table holds the foreign-key
+				referencedRootEntityNames( associatedRootEntityName ).add( rootEntityName );
+			}
+		}
+		else if ( type.isComponentType() ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				collectReferences( rootEntityName, subtype, factory );
+			}
+		}
+	}
+
+	/**
+	 * Might the table(s) of the named entity hold foreign-keys to the table(s) of the named entity hierarchy?
+	 * The answer is given for the entity's hierarchy as a whole.
+	 *
+	 * @param entityName The name of the (possibly) referencing entity
+	 * @param targetRootEntityName The root entity name of the (possibly) referenced hierarchy
+	 *
+	 * @return {@code true} if a reference is possible.
+	 */
+	public boolean references(String entityName, String targetRootEntityName) {
+		final Set<String> names = referencedRootEntityNames.get( rootEntityNames.get( entityName ) );
+		return names != null && names.contains( targetRootEntityName );
+	}
+
+	/**
+	 * Get the insert rank of the named entity.  Rows of entities with a lower rank never reference rows of
+	 * entities with a higher rank.
+	 *
+	 * @param entityName The entity name
+	 *
+	 * @return The insert rank
+	 */
+	public int getInsertRank(String entityName) {
+		final Integer rank = insertRanks.get( rootEntityNames.get( entityName ) );
+		if ( rank == null ) {
+			throw new IllegalArgumentException( "Unknown entity: " + entityName );
+		}
+		return rank;
+	}
+
+	/**
+	 * Is the hierarchy of the given entity part of a cycle of references?  The inserts of such entities
+	 * cannot be ordered based on the entity type alone.
+	 *
+	 * @param persister The entity persister
+	 *
+	 * @return {@code true} if the hierarchy references itself, directly or indirectly.
+	 */
+	public boolean isCyclic(EntityPersister persister) {
+		return cyclicRootEntityNames.contains( persister.getRootEntityName() );
+	}
+
+	/**
+	 * Tarjan's strongly connected components algorithm.  Components are completed in reverse topological
+	 * order, i.e. a component is only completed after all the components it references, so the completion
+	 * order is directly usable as insert rank.
+	 */
+	private static class ComponentFinder {
+		private final Map<String,Set<String>> edges;
+		private final Map<String,Integer> ranks;
+		private final Set<String> cyclic;
+
+		private final Map<String,Integer> indexes = new HashMap<String,Integer>();
+		private final Map<String,Integer> lowLinks = new HashMap<String,Integer>();
+		private final List<String> stack = new ArrayList<String>();
+		private final Set<String> onStack = new HashSet<String>();
+		private int componentCount;
+
+		private ComponentFinder(Map<String,Set<String>> edges, Map<String,Integer> ranks, Set<String> cyclic) {
+			this.edges = edges;
+			this.ranks = ranks;
+			this.cyclic = cyclic;
+		}
+
+		private void run() {
+			for ( String node : edges.keySet() ) {
+				if ( !indexes.containsKey( node ) ) {
+					visit( node );
+				}
+			}
+		}
+
+		private void visit(String node) {
+			final int index = indexes.size();
+			indexes.put( node, index );
+			lowLinks.put( node, index );
+			stack.add( node );
+			onStack.add( node );
+
+			final Set<String> targets = edges.get( node );
+			for ( String target : targets ) {
+				if ( !indexes.containsKey( target ) ) {
+					visit( target );
+					lowLinks.put( node, Math.min( lowLinks.get( node ), lowLinks.get( target ) ) );
+				}
+				else if ( onStack.contains( target ) ) {
+					lowLinks.put( node, Math.min( lowLinks.get( node ), indexes.get( target ) ) );
+				}
+			}
+
+			if ( lowLinks.get( node ).intValue() == index ) {
+				final int rank = componentCount++;
+				final List<String> component = new ArrayList<String>();
+				String member;
+				do {
+					member = stack.remove( stack.size() - 1 );
+					onStack.remove( member );
+					ranks.put( member, rank );
+					component.add( member );
+				} while ( !member.equals( node ) );
+
+				if ( component.size() > 1 || targets.contains( node ) ) {
+					cyclic.addAll( component );
+				}
+			}
+		}
+	}
+}
@@ -120,6 +120,13 @@ public interface EntityEntry {
 	 */
 	boolean requiresDirtyCheck(Object entity);
 
+	/**
+	 * Notification from a {@link SelfDirtinessNotifier} entity that it tracked a change to one of its attributes.
+	 *
+	 * @param entity The entity instance
+	 */
+	void markDirty(Object entity);
+
 	/**
 	 * Can the entity be modified?
 	 *
@@ -180,6 +180,17 @@ public interface PersistenceContext {
 	 */
 	public Object getEntity(EntityKey key);
 
+	/**
+	 * Get the entity instance associated with the given persister and identifier, without the need to build an
+	 * {@link EntityKey} for the lookup.
+	 *
+	 * @param persister The entity persister
+	 * @param id The entity identifier
+	 *
+	 * @return The matching entity, or {@code null}
+	 */
+	public Object getEntity(EntityPersister persister, Serializable id);
+
 	/**
 	 * Is there an entity with the given key in the persistence context
 	 *
@@ -506,6 +517,31 @@ public interface PersistenceContext {
 	 */
 	public Map.Entry<Object,EntityEntry>[] reentrantSafeEntityEntries();
 
+	/**
+	 * Register an entity as possibly changed, so that the next incremental flush considers it.  Entities which are
+	 * not {@link SelfDirtinessNotifier}s are always considered.  Does nothing unless incremental flushes are enabled.
+	 *
+	 * @param entity The entity instance
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#INCREMENTAL_FLUSH
+	 */
+	public void registerDirtyEntity(Object entity);
+
+	/**
+	 * Provides access to the entity/EntityEntry combos to be considered by an incremental flush, in the same
+	 * reentrant-safe manner as {@link #reentrantSafeEntityEntries}.  Unless incremental flushes are enabled, these
+	 * are all the combos.
+	 *
+	 * @return The entity/EntityEntry combos possibly needing a flush
+	 */
+	public Map.Entry<Object,EntityEntry>[] reentrantSafeDirtyEntityEntries();
+
+	/**
+	 * Forget about the {@link SelfDirtinessNotifier} entities registered as possibly changed which are no longer
+	 * dirty.  Called once a flush got executed.
+	 */
+	public void pruneDirtyEntities();
+
 	/**
 	 * Get the mapping from entity instance to entity entry
 	 *
@@ -39,8 +39,10 @@ import org.hibernate.Interceptor;
 import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.Query;
+import org.hibernate.QueryHandle;
 import org.hibernate.ReplicationMode;
 import org.hibernate.SQLQuery;
 import org.hibernate.ScrollMode;
@@ -401,6 +403,11 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.createQuery( queryString );
 	}
 
+	@Override
+	public Query createQuery(QueryHandle queryHandle) {
+		return session.createQuery( queryHandle );
+	}
+
 	@Override
 	public SQLQuery createSQLQuery(String queryString) {
 		return session.createSQLQuery( queryString );
@@ -701,6 +708,16 @@ public class SessionDelegatorBaseImpl implements SessionImplementor, Session {
 		return session.byId( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return session.byMultipleIds( entityName );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) {
+		return session.byMultipleIds( entityClass );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return session.byNaturalId( entityName );
@@ -101,6 +101,13 @@ public interface SessionFactoryImplementor extends Mapping, SessionFactory {
 	 */
 	public Map<String,EntityPersister> getEntityPersisters();
 
+	/**
+	 * Get the foreign-key dependencies between the mapped entities, as derived from their association metadata.
+	 *
+	 * @return The entity dependency graph
+	 */
+	public EntityDependencyGraph getEntityDependencyGraph();
+
 	/**
 	 * Get the persister object for a collection role.
 	 *
@@ -118,6 +125,17 @@ public interface SessionFactoryImplementor extends Mapping, SessionFactory {
 	 */
 	public Map<String, CollectionPersister> getCollectionPersisters();
 
+	/**
+	 * Build upfront the loaders of the given entities and of the collections they own, which are otherwise built on
+	 * first use when {@link org.hibernate.cfg.AvailableSettings#LAZY_PERSISTER_INITIALIZATION} is enabled.  Has no
+	 * effect on persisters which are already initialized.
+	 *
+	 * @param entityNames The names of the entities to initialize; all entities if none is given.
+	 *
+	 * @throws MappingException Indicates one of the names is not a known entity.
+	 */
+	public void initializePersisters(String... entityNames) throws MappingException;
+
 	/**
 	 * Get the JdbcServices.
 	 * @return the JdbcServices
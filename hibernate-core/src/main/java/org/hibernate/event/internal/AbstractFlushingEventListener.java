@@ -24,6 +24,7 @@
 package org.hibernate.event.internal;
 
 import java.io.Serializable;
+import java.util.IdentityHashMap;
 import java.util.Map;
 
 import org.hibernate.HibernateException;
@@ -99,8 +100,13 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		persistenceContext.setFlushing( true );
 		try {
-			int entityCount = flushEntities( event, persistenceContext );
-			int collectionCount = flushCollections( session, persistenceContext );
+			final Map.Entry<Object,EntityEntry>[] entityEntries = entityEntriesToFlush( session, persistenceContext );
+			int entityCount = flushEntities( event, persistenceContext, entityEntries );
+			int collectionCount = flushCollections(
+					session,
+					persistenceContext,
+					session.getFactory().getSettings().isIncrementalFlushEnabled() ? entityEntries : null
+			);
 
 			event.setNumberOfEntitiesProcessed( entityCount );
 			event.setNumberOfCollectionsProcessed( collectionCount );
@@ -139,6 +145,18 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 		);
 	}
 
+	/**
+	 * The entities to flush: all of them, or for incremental flushes only those which possibly changed
+	 */
+	private Map.Entry<Object,EntityEntry>[] entityEntriesToFlush(
+			EventSource session,
+			PersistenceContext persistenceContext) {
+		if ( session.getFactory().getSettings().isIncrementalFlushEnabled() ) {
+			return persistenceContext.reentrantSafeDirtyEntityEntries();
+		}
+		return persistenceContext.reentrantSafeEntityEntries();
+	}
+
 	/**
 	 * process cascade save/update at the start of a flush to discover
 	 * any newly referenced entity that must be passed to saveOrUpdate(),
@@ -150,7 +168,7 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		final Object anything = getAnything();
 		//safe from concurrent modification because of how concurrentEntries() is implemented on IdentityMap
-		for ( Map.Entry<Object,EntityEntry> me : persistenceContext.reentrantSafeEntityEntries() ) {
+		for ( Map.Entry<Object,EntityEntry> me : entityEntriesToFlush( session, persistenceContext ) ) {
 //		for ( Map.Entry me : IdentityMap.concurrentEntries( persistenceContext.getEntityEntries() ) ) {
 			EntityEntry entry = (EntityEntry) me.getValue();
 			Status status = entry.getStatus();
@@ -199,7 +217,10 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	 * 2. schedule any entity updates
 	 * 3. search out any reachable collections
 	 */
-	private int flushEntities(final FlushEvent event, final PersistenceContext persistenceContext) throws HibernateException {
+	private int flushEntities(
+			final FlushEvent event,
+			final PersistenceContext persistenceContext,
+			final Map.Entry<Object,EntityEntry>[] entityEntries) throws HibernateException {
 
 		LOG.trace( "Flushing entities and processing referenced collections" );
 
@@ -215,7 +236,6 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		// So this needs to be safe from concurrent modification problems.
 
-		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
 		final int count = entityEntries.length;
 
 		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
@@ -241,9 +261,14 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 	/**
 	 * process any unreferenced collections and then inspect all known collections,
 	 * scheduling creates/removes/updates
+	 *
+	 * @param flushedEntityEntries For incremental flushes, the entities which got flushed; {@code null} otherwise
 	 */
 	@SuppressWarnings("unchecked")
-	private int flushCollections(final EventSource session, final PersistenceContext persistenceContext) throws HibernateException {
+	private int flushCollections(
+			final EventSource session,
+			final PersistenceContext persistenceContext,
+			final Map.Entry<Object,EntityEntry>[] flushedEntityEntries) throws HibernateException {
 		LOG.trace( "Processing unreferenced collections" );
 
 		final Map.Entry<PersistentCollection,CollectionEntry>[] entries = IdentityMap.concurrentEntries(
@@ -252,10 +277,28 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		final int count = entries.length;
 
+		IdentityHashMap<Object,EntityEntry> flushedEntities = null;
+		if ( flushedEntityEntries != null ) {
+			flushedEntities = new IdentityHashMap<Object,EntityEntry>( flushedEntityEntries.length );
+			for ( Map.Entry<Object,EntityEntry> me : flushedEntityEntries ) {
+				flushedEntities.put( me.getKey(), me.getValue() );
+			}
+		}
+
 		for ( Map.Entry<PersistentCollection,CollectionEntry> me : entries ) {
 			CollectionEntry ce = me.getValue();
 			if ( !ce.isReached() && !ce.isIgnore() ) {
-				Collections.processUnreachableCollection( me.getKey(), session );
+				final Object owner = me.getKey().getOwner();
+				if ( flushedEntities != null
+						&& owner != null
+						&& !flushedEntities.containsKey( owner )
+						&& persistenceContext.isEntryFor( owner ) ) {
+					// not reached because an incremental flush skipped its (unchanged) owner
+					Collections.processUnflushedOwnerCollection( me.getKey(), session );
+				}
+				else {
+					Collections.processUnreachableCollection( me.getKey(), session );
+				}
 			}
 		}
 
@@ -371,6 +414,7 @@ public abstract class AbstractFlushingEventListener implements Serializable {
 
 		final PersistenceContext persistenceContext = session.getPersistenceContext();
 		persistenceContext.getCollectionsByKey().clear();
+		persistenceContext.pruneDirtyEntities();
 		
 		// the database has changed now, so the subselect results need to be invalidated
 		// the batch fetching queues should also be cleared - especially the collection batch fetching one
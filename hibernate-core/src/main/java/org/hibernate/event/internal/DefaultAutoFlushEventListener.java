@@ -29,6 +29,7 @@ import org.hibernate.event.spi.AutoFlushEvent;
 import org.hibernate.event.spi.AutoFlushEventListener;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
 
 import org.jboss.logging.Logger;
 
@@ -55,6 +56,8 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 			source.getEventListenerManager().partialFlushStart();
 
 			if ( flushMightBeNeeded(source) ) {
+				final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+				final long startTime = stats ? System.nanoTime() : 0;
 				// Need to get the number of collection removals before flushing to executions
 				// (because flushing to executions can add collection removal actions to the action queue).
 				final int oldSize = source.getActionQueue().numberOfCollectionRemovals();
@@ -69,8 +72,11 @@ public class DefaultAutoFlushEventListener extends AbstractFlushingEventListener
 
 					postPostFlush( source );
 
-					if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
+					if ( stats ) {
 						source.getFactory().getStatisticsImplementor().flush();
+						if ( source.getFactory().getStatisticsImplementor() instanceof LatencyTrackingStatisticsImplementor ) {
+							( (LatencyTrackingStatisticsImplementor) source.getFactory().getStatisticsImplementor() ).flushTime( System.nanoTime() - startTime );
+						}
 					}
 				}
 				else {
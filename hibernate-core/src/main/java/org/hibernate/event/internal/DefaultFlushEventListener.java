@@ -28,6 +28,7 @@ import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.FlushEvent;
 import org.hibernate.event.spi.FlushEventListener;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
 
 /**
  * Defines the default flush event listeners used by hibernate for 
@@ -49,6 +50,8 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 		if ( persistenceContext.getNumberOfManagedEntities() > 0 ||
 				persistenceContext.getCollectionEntries().size() > 0 ) {
 
+			final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+			final long startTime = stats ? System.nanoTime() : 0;
 			try {
 				source.getEventListenerManager().flushStart();
 
@@ -65,8 +68,11 @@ public class DefaultFlushEventListener extends AbstractFlushingEventListener imp
 
 			postPostFlush( source );
 
-			if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
+			if ( stats ) {
 				source.getFactory().getStatisticsImplementor().flush();
+				if ( source.getFactory().getStatisticsImplementor() instanceof LatencyTrackingStatisticsImplementor ) {
+					( (LatencyTrackingStatisticsImplementor) source.getFactory().getStatisticsImplementor() ).flushTime( System.nanoTime() - startTime );
+				}
 			}
 		}
 	}
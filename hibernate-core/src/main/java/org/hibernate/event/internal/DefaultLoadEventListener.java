@@ -58,6 +58,7 @@ import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
 import org.hibernate.proxy.LazyInitializer;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
 import org.hibernate.type.EmbeddedComponentType;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -465,6 +466,9 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 						MessageHelper.infoString( persister, event.getEntityId(), event.getSession().getFactory() )
 				);
 			}
+			if ( options.isCacheOnly() ) {
+				return null;
+			}
 			entity = loadFromDatasource( event, persister, keyToLoad, options );
 		}
 
@@ -500,6 +504,8 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 			final EntityKey keyToLoad,
 			final LoadEventListener.LoadType options) {
 		final SessionImplementor source = event.getSession();
+		final boolean stats = source.getFactory().getStatistics().isStatisticsEnabled();
+		final long startTime = stats ? System.nanoTime() : 0;
 		Object entity = persister.load(
 				event.getEntityId(),
 				event.getInstanceToLoad(),
@@ -507,8 +513,13 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 				source
 		);
 
-		if ( event.isAssociationFetch() && source.getFactory().getStatistics().isStatisticsEnabled() ) {
-			source.getFactory().getStatisticsImplementor().fetchEntity( event.getEntityClassName() );
+		if ( stats ) {
+			if ( source.getFactory().getStatisticsImplementor() instanceof LatencyTrackingStatisticsImplementor ) {
+				( (LatencyTrackingStatisticsImplementor) source.getFactory().getStatisticsImplementor() ).entityLoadTime( System.nanoTime() - startTime );
+			}
+			if ( event.isAssociationFetch() ) {
+				source.getFactory().getStatisticsImplementor().fetchEntity( event.getEntityClassName() );
+			}
 		}
 
 		return entity;
@@ -589,13 +600,18 @@ public class DefaultLoadEventListener extends AbstractLockUpgradeEventListener i
 		}
 
 		final SessionFactoryImplementor factory = source.getFactory();
-		final CacheKey ck = source.generateCacheKey(
-				event.getEntityId(),
-				persister.getIdentifierType(),
-				persister.getRootEntityName()
-		);
-
-		final Object ce = CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+		final Object ce;
+		if ( event.getSharedCacheEntry() != null ) {
+			ce = event.getSharedCacheEntry();
+		}
+		else {
+			final CacheKey ck = source.generateCacheKey(
+					event.getEntityId(),
+					persister.getIdentifierType(),
+					persister.getRootEntityName()
+			);
+			ce = CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+		}
 		if ( factory.getStatistics().isStatisticsEnabled() ) {
 			if ( ce == null ) {
 				factory.getStatisticsImplementor().secondLevelCacheMiss(
@@ -414,6 +414,8 @@ public class DefaultMergeEventListener extends AbstractSaveEventListener impleme
 		);
 
 		persister.setPropertyValues( target, copiedValues );
+		// the values were not written through the entity's own accessors, so any dirtiness tracking missed them
+		source.getPersistenceContext().registerDirtyEntity( target );
 	}
 
 	protected void copyValues(
@@ -453,6 +455,8 @@ public class DefaultMergeEventListener extends AbstractSaveEventListener impleme
 		}
 
 		persister.setPropertyValues( target, copiedValues );
+		// the values were not written through the entity's own accessors, so any dirtiness tracking missed them
+		source.getPersistenceContext().registerDirtyEntity( target );
 	}
 
 	/**
@@ -62,6 +62,7 @@ public class LoadEvent extends AbstractEvent {
 	private LockOptions lockOptions;
 	private boolean isAssociationFetch;
 	private Object result;
+	private Serializable sharedCacheEntry;
 
 	public LoadEvent(Serializable entityId, Object instanceToLoad, EventSource source) {
 		this( entityId, null, instanceToLoad, DEFAULT_LOCK_OPTIONS, false, source );
@@ -197,4 +198,18 @@ public class LoadEvent extends AbstractEvent {
 	public void setResult(Object result) {
 		this.result = result;
 	}
+
+	public Serializable getSharedCacheEntry() {
+		return sharedCacheEntry;
+	}
+
+	/**
+	 * Supply the second-level cache entry of the entity when it was already read (for example as part of
+	 * a bulk read), so that the cache is not accessed again.
+	 *
+	 * @param sharedCacheEntry The entry read from the second-level cache
+	 */
+	public void setSharedCacheEntry(Serializable sharedCacheEntry) {
+		this.sharedCacheEntry = sharedCacheEntry;
+	}
 }
@@ -55,6 +55,17 @@ public interface LoadEventListener extends Serializable {
 			.setCheckDeleted( true )
 			.setNakedEntityReturned( false );
 
+	/**
+	 * Like {@link #GET}, but only resolves the entity from the session and second-level caches: {@code null} is
+	 * returned instead of hitting the database.
+	 */
+	public static final LoadType GET_CACHED = new LoadType( "GET_CACHED" )
+			.setAllowNulls( true )
+			.setAllowProxyCreation( false )
+			.setCheckDeleted( true )
+			.setNakedEntityReturned( false )
+			.setCacheOnly( true );
+
 	public static final LoadType LOAD = new LoadType( "LOAD" )
 			.setAllowNulls( false )
 			.setAllowProxyCreation( true )
@@ -92,6 +103,7 @@ public interface LoadEventListener extends Serializable {
 		private boolean allowNulls;
 		private boolean checkDeleted;
 		private boolean allowProxyCreation;
+		private boolean cacheOnly;
 
 		private LoadType(String name) {
 			this.name = name;
@@ -133,6 +145,15 @@ public interface LoadEventListener extends Serializable {
 			return this;
 		}
 
+		public boolean isCacheOnly() {
+			return cacheOnly;
+		}
+
+		private LoadType setCacheOnly(boolean cacheOnly) {
+			this.cacheOnly = cacheOnly;
+			return this;
+		}
+
 		public String getName() {
 			return name;
 		}
@@ -73,6 +73,7 @@ import org.hibernate.persister.entity.Queryable;
 import org.hibernate.sql.JoinFragment;
 import org.hibernate.sql.JoinType;
 import org.hibernate.sql.QuerySelect;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.AssociationType;
 import org.hibernate.type.EntityType;
@@ -967,6 +968,9 @@ public class QueryTranslatorImpl extends BasicLoader implements FilterTranslator
 						0,
 						milliseconds
 					);
+				if ( session.getFactory().getStatisticsImplementor() instanceof LatencyTrackingStatisticsImplementor ) {
+					( (LatencyTrackingStatisticsImplementor) session.getFactory().getStatisticsImplementor() ).queryExecutionTime( endTime - startTime );
+				}
 			}
 
 			return result;
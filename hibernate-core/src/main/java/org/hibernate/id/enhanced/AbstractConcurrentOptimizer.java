@@ -0,0 +1,235 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import org.hibernate.HibernateException;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Base support for optimizers which do not synchronize value generation.  Values are handed out from the current
+ * block of values through an atomic counter.  Once a block is exhausted a single thread obtains the next one from
+ * the database while the others briefly spin.  How the database value maps to a block of values is up to the
+ * subclass.
+ * <p/>
+ * Generated values must fit into a {@code long}.
+ */
+public abstract class AbstractConcurrentOptimizer extends AbstractOptimizer {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			AbstractConcurrentOptimizer.class.getName()
+	);
+
+	private static final int SPIN_LIMIT = 100;
+	private static final long PARK_NANOS = 50000L;
+
+	/**
+	 * A block of values, {@code [loValue, hiValue)}, obtained from one database value.
+	 */
+	protected static final class Block {
+		private final IntegralDataTypeHolder sourceValue;
+		private final long hiValue;
+		private final long prefetchValue;
+		private final AtomicLong nextValue;
+
+		/**
+		 * Constructs a Block
+		 *
+		 * @param sourceValue The database value the block was obtained from
+		 * @param loValue The first value of the block
+		 * @param hiValue The value just past the end of the block
+		 */
+		protected Block(IntegralDataTypeHolder sourceValue, long loValue, long hiValue) {
+			this.sourceValue = sourceValue;
+			this.hiValue = hiValue;
+			this.prefetchValue = loValue + ( hiValue - loValue ) / 2;
+			this.nextValue = new AtomicLong( loValue );
+		}
+	}
+
+	private static class GenerationState {
+		private final AtomicReference<Block> currentBlock = new AtomicReference<Block>();
+		private final AtomicReference<Block> prefetchedBlock = new AtomicReference<Block>();
+		private final AtomicBoolean fetching = new AtomicBoolean();
+		private volatile IntegralDataTypeHolder lastSourceValue;
+	}
+
+	private final boolean prefetch;
+
+	private final GenerationState noTenantState = new GenerationState();
+	private final ConcurrentMap<String,GenerationState> tenantSpecificState = new ConcurrentHashMap<String, GenerationState>();
+
+	/**
+	 * Constructs an AbstractConcurrentOptimizer
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 * @param prefetch Should the next block be obtained once half of the current one is used?
+	 */
+	protected AbstractConcurrentOptimizer(Class returnClass, int incrementSize, boolean prefetch) {
+		super( returnClass, incrementSize );
+		if ( incrementSize < 1 ) {
+			throw new HibernateException( "increment size cannot be less than 1" );
+		}
+		this.prefetch = prefetch;
+	}
+
+	/**
+	 * Obtain the next block of values from the database.  Only ever called by one thread at a time per tenant.
+	 *
+	 * @param lastSourceValue The database value the previous block was obtained from; {@code null} for the first
+	 * @param callback The callback used to read values from the database
+	 *
+	 * @return The next block
+	 */
+	protected abstract Block fetchBlock(IntegralDataTypeHolder lastSourceValue, AccessCallback callback);
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
+
+		int attempts = 0;
+		while ( true ) {
+			final Block block = generationState.currentBlock.get();
+			if ( block != null ) {
+				final long value = block.nextValue.getAndIncrement();
+				if ( value < block.hiValue ) {
+					if ( prefetch && value == block.prefetchValue ) {
+						prefetchBlock( generationState, callback );
+					}
+					return makeValue( value );
+				}
+			}
+
+			// the block is exhausted (or there is none yet); one thread obtains the next one
+			if ( generationState.fetching.compareAndSet( false, true ) ) {
+				try {
+					if ( generationState.currentBlock.get() == block ) {
+						Block next = generationState.prefetchedBlock.getAndSet( null );
+						if ( next == null ) {
+							next = obtainBlock( generationState, callback );
+						}
+						generationState.currentBlock.set( next );
+					}
+				}
+				finally {
+					generationState.fetching.set( false );
+				}
+			}
+			else if ( ++attempts < SPIN_LIMIT ) {
+				Thread.yield();
+			}
+			else {
+				LockSupport.parkNanos( PARK_NANOS );
+			}
+		}
+	}
+
+	private void prefetchBlock(GenerationState generationState, AccessCallback callback) {
+		if ( generationState.prefetchedBlock.get() != null
+				|| !generationState.fetching.compareAndSet( false, true ) ) {
+			// already prefetched, or someone is fetching right now
+			return;
+		}
+		try {
+			generationState.prefetchedBlock.set( obtainBlock( generationState, callback ) );
+		}
+		catch (RuntimeException e) {
+			// the value for this call was already handed out; the block will be obtained once it is needed
+			log.debugf( "Unable to prefetch next block of values : %s", e.getMessage() );
+		}
+		finally {
+			generationState.fetching.set( false );
+		}
+	}
+
+	/**
+	 * Only ever called by the thread holding {@link GenerationState#fetching}
+	 */
+	private Block obtainBlock(GenerationState generationState, AccessCallback callback) {
+		final Block block = fetchBlock( generationState.lastSourceValue, callback );
+		generationState.lastSourceValue = block.sourceValue;
+		return block;
+	}
+
+	private Serializable makeValue(long value) {
+		if ( returnClass == Long.class ) {
+			return value;
+		}
+		return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( value ).makeValue();
+	}
+
+	private GenerationState locateGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			return noTenantState;
+		}
+		GenerationState state = tenantSpecificState.get( tenantIdentifier );
+		if ( state == null ) {
+			state = new GenerationState();
+			final GenerationState previous = tenantSpecificState.putIfAbsent( tenantIdentifier, state );
+			if ( previous != null ) {
+				state = previous;
+			}
+		}
+		return state;
+	}
+
+	private Block noTenantCurrentBlock() {
+		final Block block = noTenantState.currentBlock.get();
+		if ( block == null ) {
+			throw new IllegalStateException( "Could not locate previous generation state for no-tenant" );
+		}
+		return block;
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		noTenantCurrentBlock();
+		return noTenantState.lastSourceValue;
+	}
+
+	/**
+	 * Getter for property 'lastValue'.
+	 * <p/>
+	 * Exposure intended for testing purposes.
+	 *
+	 * @return Value for property 'lastValue'.
+	 */
+	public IntegralDataTypeHolder getLastValue() {
+		final Block block = noTenantCurrentBlock();
+		final long lastValue = Math.min( block.nextValue.get(), block.hiValue ) - 1;
+		return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass ).initialize( lastValue );
+	}
+}
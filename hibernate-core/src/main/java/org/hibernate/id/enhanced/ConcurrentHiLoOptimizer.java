@@ -0,0 +1,76 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Variation of {@link HiLoOptimizer} which does not synchronize value generation.  Each database value
+ * {@code hi} stands for the block {@code [(hi * incrementSize) + 1 - incrementSize, (hi * incrementSize) + 1)}
+ * exactly as with {@link HiLoOptimizer}, so the two can be swapped.  Values are handed out from the current block
+ * through an atomic counter; once it is exhausted a single thread obtains the next database value while the
+ * others briefly spin.
+ * <p/>
+ * Generated values must fit into a {@code long}.
+ */
+public class ConcurrentHiLoOptimizer extends AbstractConcurrentOptimizer {
+	private static final Logger log = Logger.getLogger( ConcurrentHiLoOptimizer.class );
+
+	/**
+	 * Constructs a ConcurrentHiLoOptimizer
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public ConcurrentHiLoOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize, false );
+		if ( log.isTraceEnabled() ) {
+			log.tracev(
+					"Creating concurrent hilo optimizer with [incrementSize={0}; returnClass={1}]",
+					incrementSize,
+					returnClass.getName()
+			);
+		}
+	}
+
+	@Override
+	protected Block fetchBlock(IntegralDataTypeHolder lastSourceValue, AccessCallback callback) {
+		IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		if ( lastSourceValue == null ) {
+			// same as HiLoOptimizer: tables historically started at 0, but 1 is the first value we use
+			while ( sourceValue.lt( 1 ) ) {
+				sourceValue = callback.getNextValue();
+			}
+		}
+		final long hiValue = sourceValue.copy().multiplyBy( incrementSize ).increment().makeValue().longValue();
+		return new Block( sourceValue, hiValue - incrementSize, hiValue );
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return false;
+	}
+}
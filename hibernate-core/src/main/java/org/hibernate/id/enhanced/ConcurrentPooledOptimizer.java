@@ -0,0 +1,115 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Variation of {@link PooledOptimizer} which does not synchronize value generation.  Values are handed out
+ * from the current block ({@code [hi - incrementSize, hi)}, with the hi value stored in the database) through
+ * an atomic counter.  Once a block is exhausted a single thread obtains the next one from the database while
+ * the others briefly spin.
+ * <p/>
+ * The database values are interpreted exactly as {@link PooledOptimizer} does, so the two can be swapped.
+ * Generated values must fit into a {@code long}.
+ *
+ * @see PrefetchingPooledOptimizer
+ */
+public class ConcurrentPooledOptimizer extends AbstractConcurrentOptimizer implements InitialValueAwareOptimizer {
+	private static final CoreMessageLogger log = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			ConcurrentPooledOptimizer.class.getName()
+	);
+
+	private volatile long initialValue = -1;
+
+	/**
+	 * Constructs a ConcurrentPooledOptimizer
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public ConcurrentPooledOptimizer(Class returnClass, int incrementSize) {
+		this( returnClass, incrementSize, false );
+	}
+
+	/**
+	 * Constructs a ConcurrentPooledOptimizer
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 * @param prefetch Should the next block be obtained once half of the current one is used?
+	 */
+	protected ConcurrentPooledOptimizer(Class returnClass, int incrementSize, boolean prefetch) {
+		super( returnClass, incrementSize, prefetch );
+		if ( log.isTraceEnabled() ) {
+			log.tracev(
+					"Creating concurrent pooled optimizer with [incrementSize={0}; returnClass={1}; prefetch={2}]",
+					incrementSize,
+					returnClass.getName(),
+					prefetch
+			);
+		}
+	}
+
+	@Override
+	protected Block fetchBlock(IntegralDataTypeHolder lastSourceValue, AccessCallback callback) {
+		final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		final IntegralDataTypeHolder hiValue;
+		final long loValue;
+		if ( lastSourceValue == null ) {
+			if ( sourceValue.lt( 1 ) ) {
+				log.pooledOptimizerReportedInitialValue( sourceValue );
+			}
+			// same reasoning as PooledOptimizer: the call to obtain next-value might just have given us
+			// the initialValue, in which case it is the lo value of our first block
+			if ( ( initialValue == -1 && sourceValue.lt( incrementSize ) ) || sourceValue.eq( initialValue ) ) {
+				hiValue = callback.getNextValue();
+				loValue = sourceValue.makeValue().longValue();
+			}
+			else {
+				hiValue = sourceValue;
+				loValue = hiValue.makeValue().longValue() - incrementSize;
+			}
+		}
+		else {
+			hiValue = sourceValue;
+			loValue = hiValue.makeValue().longValue() - incrementSize;
+		}
+		return new Block( hiValue, loValue, hiValue.makeValue().longValue() );
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+
+	@Override
+	public void injectInitialValue(long initialValue) {
+		this.initialValue = initialValue;
+	}
+}
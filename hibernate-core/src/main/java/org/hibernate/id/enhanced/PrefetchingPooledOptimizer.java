@@ -0,0 +1,44 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.id.enhanced;
+
+/**
+ * Variation of {@link ConcurrentPooledOptimizer} which obtains the next block of values from the database once
+ * half of the current block has been handed out, so that generation normally does not wait on the database
+ * round trip when a block runs out.  The thread handing out the value at the half-way mark performs the fetch.
+ * <p/>
+ * Note that the prefetched block is lost (leaving a gap in the generated values) if the application stops before
+ * using it.
+ */
+public class PrefetchingPooledOptimizer extends ConcurrentPooledOptimizer {
+	/**
+	 * Constructs a PrefetchingPooledOptimizer
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public PrefetchingPooledOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize, true );
+	}
+}
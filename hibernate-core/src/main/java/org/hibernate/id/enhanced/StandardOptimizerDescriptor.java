@@ -46,6 +46,11 @@ public enum StandardOptimizerDescriptor {
 	 * Hibernate hilo algorithm
 	 */
 	LEGACY_HILO( "legacy-hilo", LegacyHiLoAlgorithmOptimizer.class ),
+	/**
+	 * Describes the optimizer interpreting the database values as {@link #HILO} does, but generating values
+	 * without synchronization
+	 */
+	HILO_CONCURRENT( "hilo-concurrent", ConcurrentHiLoOptimizer.class ),
 	/**
 	 * Describes the optimizer for use with tables/sequences that store the chunk information.  Here, specifically the
 	 * hi value is stored in the database.
@@ -55,7 +60,17 @@ public enum StandardOptimizerDescriptor {
 	 * Describes the optimizer for use with tables/sequences that store the chunk information.  Here, specifically the
 	 * lo value is stored in the database.
 	 */
-	POOLED_LO( "pooled-lo", PooledLoOptimizer.class, true );
+	POOLED_LO( "pooled-lo", PooledLoOptimizer.class, true ),
+	/**
+	 * Describes the optimizer interpreting the database values as {@link #POOLED} does, but generating values
+	 * without synchronization
+	 */
+	POOLED_CONCURRENT( "pooled-concurrent", ConcurrentPooledOptimizer.class, true ),
+	/**
+	 * Describes the {@link #POOLED_CONCURRENT} optimizer which additionally obtains the next block of values
+	 * before the current one runs out
+	 */
+	POOLED_PREFETCH( "pooled-prefetch", PrefetchingPooledOptimizer.class, true );
 
 	private static final Logger log = Logger.getLogger( StandardOptimizerDescriptor.class );
 
@@ -107,12 +122,21 @@ public enum StandardOptimizerDescriptor {
 		else if ( LEGACY_HILO.externalName.equals( externalName ) ) {
 			return LEGACY_HILO;
 		}
+		else if ( HILO_CONCURRENT.externalName.equals( externalName ) ) {
+			return HILO_CONCURRENT;
+		}
 		else if ( POOLED.externalName.equals( externalName ) ) {
 			return POOLED;
 		}
 		else if ( POOLED_LO.externalName.equals( externalName ) ) {
 			return POOLED_LO;
 		}
+		else if ( POOLED_CONCURRENT.externalName.equals( externalName ) ) {
+			return POOLED_CONCURRENT;
+		}
+		else if ( POOLED_PREFETCH.externalName.equals( externalName ) ) {
+			return POOLED_PREFETCH;
+		}
 		else {
 			log.debugf( "Unknown optimizer key [%s]; returning null assuming Optimizer impl class name", externalName );
 			return null;
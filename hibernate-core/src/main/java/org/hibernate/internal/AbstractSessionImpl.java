@@ -33,6 +33,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.MultiTenancyStrategy;
 import org.hibernate.Query;
+import org.hibernate.QueryHandle;
 import org.hibernate.SQLQuery;
 import org.hibernate.ScrollableResults;
 import org.hibernate.SessionEventListener;
@@ -43,6 +44,7 @@ import org.hibernate.engine.jdbc.LobCreationContext;
 import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
 import org.hibernate.engine.jdbc.connections.spi.JdbcConnectionAccess;
 import org.hibernate.engine.jdbc.connections.spi.MultiTenantConnectionProvider;
+import org.hibernate.engine.query.spi.HQLQueryHandle;
 import org.hibernate.engine.query.spi.HQLQueryPlan;
 import org.hibernate.engine.query.spi.NativeSQLQueryPlan;
 import org.hibernate.engine.query.spi.ParameterMetadata;
@@ -242,6 +244,18 @@ public abstract class AbstractSessionImpl
 		return query;
 	}
 
+	@Override
+	public Query createQuery(QueryHandle queryHandle) {
+		errorIfClosed();
+		if ( !( queryHandle instanceof HQLQueryHandle )
+				|| !( (HQLQueryHandle) queryHandle ).isPreparedBy( factory.getQueryPlanCache() ) ) {
+			throw new IllegalArgumentException( "Query handle was not prepared by this session's SessionFactory" );
+		}
+		final QueryImpl query = new QueryImpl( (HQLQueryHandle) queryHandle, this );
+		query.setComment( queryHandle.getQueryString() );
+		return query;
+	}
+
 	@Override
 	public SQLQuery createSQLQuery(String sql) {
 		errorIfClosed();
@@ -329,7 +343,7 @@ public abstract class AbstractSessionImpl
 
 	@Override
 	public CacheKey generateCacheKey(Serializable id, Type type, String entityOrRoleName) {
-		return new CacheKey( id, type, entityOrRoleName, getTenantIdentifier(), getFactory() );
+		return factory.getCache().buildCacheKey( id, type, entityOrRoleName, getTenantIdentifier() );
 	}
 
 	private transient JdbcConnectionAccess jdbcConnectionAccess;
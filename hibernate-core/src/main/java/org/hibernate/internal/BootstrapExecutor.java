@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+
+/**
+ * Runs the independent steps of building a SessionFactory, either on the calling thread or, with
+ * {@link org.hibernate.cfg.AvailableSettings#BOOTSTRAP_PARALLELISM} above 1, on a pool of threads which lives as
+ * long as the bootstrap.
+ */
+class BootstrapExecutor {
+	private final ExecutorService executorService;
+
+	/**
+	 * Constructs a BootstrapExecutor
+	 *
+	 * @param parallelism The number of threads to use; 1 or less runs everything on the calling thread.
+	 */
+	BootstrapExecutor(int parallelism) {
+		if ( parallelism > 1 ) {
+			final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
+					parallelism,
+					parallelism,
+					1,
+					TimeUnit.SECONDS,
+					new LinkedBlockingQueue<Runnable>(),
+					new BootstrapThreadFactory()
+			);
+			// so that the threads go away even if the bootstrap fails before shutting us down
+			threadPoolExecutor.allowCoreThreadTimeOut( true );
+			this.executorService = threadPoolExecutor;
+		}
+		else {
+			this.executorService = null;
+		}
+	}
+
+	/**
+	 * Run the given tasks and wait for all of them to complete.
+	 *
+	 * @param tasks The tasks
+	 * @param <T> The result type of the tasks
+	 *
+	 * @return The results of the tasks, in the order of the tasks
+	 *
+	 * @throws HibernateException The first failure, in the order of the tasks
+	 */
+	<T> List<T> invokeAll(List<? extends Callable<T>> tasks) {
+		final List<T> results = new ArrayList<T>( tasks.size() );
+		if ( executorService == null || tasks.size() < 2 ) {
+			for ( Callable<T> task : tasks ) {
+				try {
+					results.add( task.call() );
+				}
+				catch (Exception e) {
+					throw asRuntimeException( e );
+				}
+			}
+			return results;
+		}
+
+		final List<Future<T>> futures;
+		try {
+			futures = executorService.invokeAll( tasks );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while building the SessionFactory", e );
+		}
+		for ( Future<T> future : futures ) {
+			try {
+				results.add( future.get() );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new HibernateException( "Interrupted while building the SessionFactory", e );
+			}
+			catch (ExecutionException e) {
+				throw asRuntimeException( e.getCause() );
+			}
+		}
+		return results;
+	}
+
+	private static RuntimeException asRuntimeException(Throwable t) {
+		if ( t instanceof RuntimeException ) {
+			return (RuntimeException) t;
+		}
+		if ( t instanceof Error ) {
+			throw (Error) t;
+		}
+		return new HibernateException( t );
+	}
+
+	/**
+	 * Release the threads, if any.
+	 */
+	void shutdown() {
+		if ( executorService != null ) {
+			executorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Daemon threads sharing the context class loader of the thread building the SessionFactory, which is where
+	 * entity classes may be looked up.
+	 */
+	private static class BootstrapThreadFactory implements ThreadFactory {
+		private final AtomicInteger threadNumber = new AtomicInteger();
+		private final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			final Thread thread = new Thread( runnable, "hibernate-bootstrap-" + threadNumber.incrementAndGet() );
+			thread.setDaemon( true );
+			thread.setContextClassLoader( contextClassLoader );
+			return thread;
+		}
+	}
+}
@@ -24,9 +24,11 @@
 package org.hibernate.internal;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -35,6 +37,7 @@ import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.QueryCache;
 import org.hibernate.cache.spi.Region;
 import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.SimpleCacheKey;
 import org.hibernate.cache.spi.UpdateTimestampsCache;
 import org.hibernate.cfg.Settings;
 import org.hibernate.engine.spi.CacheImplementor;
@@ -43,6 +46,7 @@ import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -61,6 +65,9 @@ public class CacheImpl implements CacheImplementor {
 	private final transient UpdateTimestampsCache updateTimestampsCache;
 	private final transient ConcurrentMap<String, QueryCache> queryCaches;
 	private final transient ConcurrentMap<String, Region> allCacheRegions = new ConcurrentHashMap<String, Region>();
+	private final transient Set<String> simpleCacheKeyEntityNames = Collections.newSetFromMap(
+			new ConcurrentHashMap<String, Boolean>()
+	);
 
 	public CacheImpl(SessionFactoryImplementor sessionFactory) {
 		this.sessionFactory = sessionFactory;
@@ -119,12 +126,11 @@ public class CacheImpl implements CacheImplementor {
 	}
 
 	private CacheKey buildCacheKey(Serializable identifier, EntityPersister p) {
-		return new CacheKey(
+		return buildCacheKey(
 				identifier,
 				p.getIdentifierType(),
 				p.getRootEntityName(),
-				null,                         // have to assume non tenancy
-				sessionFactory
+				null                         // have to assume non tenancy
 		);
 	}
 
@@ -197,15 +203,28 @@ public class CacheImpl implements CacheImplementor {
 	}
 
 	private CacheKey buildCacheKey(Serializable ownerIdentifier, CollectionPersister p) {
-		return new CacheKey(
+		return buildCacheKey(
 				ownerIdentifier,
 				p.getKeyType(),
 				p.getRole(),
-				null,                        // have to assume non tenancy
-				sessionFactory
+				null                         // have to assume non tenancy
 		);
 	}
 
+	@Override
+	public void enableSimpleCacheKeys(String rootEntityName) {
+		LOG.debugf( "Using simple second-level cache keys for entity [%s]", rootEntityName );
+		simpleCacheKeyEntityNames.add( rootEntityName );
+	}
+
+	@Override
+	public CacheKey buildCacheKey(Serializable id, Type type, String entityOrRoleName, String tenantId) {
+		if ( tenantId == null && simpleCacheKeyEntityNames.contains( entityOrRoleName ) ) {
+			return new SimpleCacheKey( id, entityOrRoleName );
+		}
+		return new CacheKey( id, type, entityOrRoleName, tenantId, sessionFactory );
+	}
+
 	@Override
 	public void evictCollectionRegion(String role) {
 		CollectionPersister p = sessionFactory.getCollectionPersister( role );
@@ -0,0 +1,427 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.internal;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.hibernate.EntityStream;
+import org.hibernate.EntityStreamHandler;
+import org.hibernate.HibernateException;
+import org.hibernate.Query;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.criterion.Restrictions;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.sql.Select;
+import org.hibernate.tuple.entity.EntityTuplizer;
+import org.hibernate.type.ManyToOneType;
+import org.hibernate.type.Type;
+
+/**
+ * {@link EntityStream} implementation for {@link StatelessSessionImpl}.
+ * <p/>
+ * The direct path reads the identifier and every non-collection property of a row through their {@link Type} and
+ * writes them into the new instance through the {@link EntityTuplizer} one by one.  It is only used for mappings
+ * whose rows can be read by a single select without any discriminator based subclass resolution; other mappings
+ * are scrolled through HQL.
+ * <p/>
+ * Many-to-one associations are not resolved row by row, which could issue a select per row: only the identifier is
+ * read from the row.  Lazy associations get a proxy, as the Loader would give them.  The others are resolved for a
+ * chunk of rows at once, by one query per associated entity.
+ */
+public class EntityStreamImpl<T> implements EntityStream<T> {
+	private static final String SUFFIX = "0_";
+	private static final int ASSOCIATION_BATCH_SIZE = 32;
+
+	private final StatelessSessionImpl session;
+	private final EntityPersister persister;
+
+	private Integer fetchSize;
+	private boolean opened;
+	private boolean closed;
+
+	// direct path
+	private String sql;
+	private PreparedStatement statement;
+	private ResultSet resultSet;
+	private String[] identifierAliases;
+	private Type[] propertyTypes;
+	private String[][] propertyAliases;
+	private EntityPersister[] associatedPersisters;
+	private boolean loadsAssociations;
+	private boolean exhausted;
+	private final LinkedList<Object> readAhead = new LinkedList<Object>();
+
+	// fallback path
+	private ScrollableResults scrollableResults;
+
+	private T next;
+	private boolean nextReady;
+
+	EntityStreamImpl(StatelessSessionImpl session, EntityPersister persister) {
+		this.session = session;
+		this.persister = persister;
+	}
+
+	@Override
+	public EntityStream<T> setFetchSize(int fetchSize) {
+		if ( opened ) {
+			throw new IllegalStateException( "The fetch size cannot be changed once the stream is opened" );
+		}
+		this.fetchSize = fetchSize;
+		return this;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if ( !nextReady ) {
+			advance();
+		}
+		return next != null;
+	}
+
+	@Override
+	public T next() {
+		if ( !hasNext() ) {
+			throw new NoSuchElementException();
+		}
+		final T result = next;
+		next = null;
+		nextReady = false;
+		return result;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public long forEach(EntityStreamHandler<? super T> handler) {
+		long count = 0;
+		try {
+			while ( hasNext() ) {
+				handler.handle( next() );
+				count++;
+			}
+		}
+		finally {
+			close();
+		}
+		return count;
+	}
+
+	@Override
+	public void close() {
+		if ( closed ) {
+			return;
+		}
+		closed = true;
+		next = null;
+		nextReady = true;
+		readAhead.clear();
+		if ( scrollableResults != null ) {
+			scrollableResults.close();
+			scrollableResults = null;
+		}
+		if ( statement != null ) {
+			final JdbcCoordinator jdbcCoordinator = session.getTransactionCoordinator().getJdbcCoordinator();
+			try {
+				if ( resultSet != null ) {
+					jdbcCoordinator.release( resultSet, statement );
+				}
+				jdbcCoordinator.release( statement );
+			}
+			finally {
+				resultSet = null;
+				statement = null;
+				session.afterOperation( true );
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void advance() {
+		nextReady = true;
+		if ( closed ) {
+			return;
+		}
+		if ( !opened ) {
+			open();
+		}
+
+		if ( scrollableResults != null ) {
+			if ( scrollableResults.next() ) {
+				next = (T) scrollableResults.get( 0 );
+			}
+			else {
+				close();
+			}
+			return;
+		}
+
+		try {
+			if ( readAhead.isEmpty() ) {
+				readRows();
+			}
+			if ( readAhead.isEmpty() ) {
+				close();
+			}
+			else {
+				next = (T) readAhead.removeFirst();
+			}
+		}
+		catch (SQLException e) {
+			close();
+			throw session.getFactory().getSQLExceptionHelper().convert(
+					e,
+					"could not stream instances of " + persister.getEntityName(),
+					sql
+			);
+		}
+		catch (RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	private void open() {
+		session.errorIfClosed();
+		opened = true;
+
+		if ( !isDirectlyStreamable( persister ) ) {
+			final Query query = session.createQuery( "from " + persister.getEntityName() );
+			if ( fetchSize != null ) {
+				query.setFetchSize( fetchSize );
+			}
+			scrollableResults = query.scroll( ScrollMode.FORWARD_ONLY );
+			return;
+		}
+
+		final AbstractEntityPersister persister = (AbstractEntityPersister) this.persister;
+		this.sql = generateSelect( persister );
+		this.identifierAliases = persister.getIdentifierAliases( SUFFIX );
+		this.propertyTypes = persister.getPropertyTypes();
+		this.propertyAliases = new String[propertyTypes.length][];
+		this.associatedPersisters = new EntityPersister[propertyTypes.length];
+		for ( int i = 0; i < propertyTypes.length; i++ ) {
+			if ( !propertyTypes[i].isCollectionType() ) {
+				propertyAliases[i] = persister.getPropertyAliases( SUFFIX, i );
+			}
+			if ( propertyTypes[i] instanceof ManyToOneType
+					&& ( (ManyToOneType) propertyTypes[i] ).isReferenceToPrimaryKey() ) {
+				final ManyToOneType associationType = (ManyToOneType) propertyTypes[i];
+				associatedPersisters[i] = session.getFactory().getEntityPersister( associationType.getAssociatedEntityName() );
+				loadsAssociations = loadsAssociations
+						|| associationType.isEager()
+						|| !associatedPersisters[i].hasProxy();
+			}
+		}
+
+		final JdbcCoordinator jdbcCoordinator = session.getTransactionCoordinator().getJdbcCoordinator();
+		try {
+			statement = jdbcCoordinator.getStatementPreparer().prepareQueryStatement( sql, false, ScrollMode.FORWARD_ONLY );
+			if ( fetchSize != null ) {
+				statement.setFetchSize( fetchSize );
+			}
+			resultSet = jdbcCoordinator.getResultSetReturn().extract( statement );
+		}
+		catch (SQLException e) {
+			close();
+			throw session.getFactory().getSQLExceptionHelper().convert(
+					e,
+					"could not stream instances of " + persister.getEntityName(),
+					sql
+			);
+		}
+		catch (RuntimeException e) {
+			close();
+			throw e;
+		}
+	}
+
+	private void readRows() throws SQLException {
+		final int batchSize = loadsAssociations ? ASSOCIATION_BATCH_SIZE : 1;
+		final List<Object> entities = new ArrayList<Object>( batchSize );
+		final List<Serializable[]> associationIds = new ArrayList<Serializable[]>( batchSize );
+		while ( entities.size() < batchSize && !exhausted ) {
+			if ( resultSet.next() ) {
+				final Serializable[] ids = new Serializable[propertyTypes.length];
+				entities.add( readRow( ids ) );
+				associationIds.add( ids );
+			}
+			else {
+				exhausted = true;
+			}
+		}
+		if ( loadsAssociations && !entities.isEmpty() ) {
+			resolveAssociations( entities, associationIds );
+		}
+		readAhead.addAll( entities );
+	}
+
+	/**
+	 * Read the entity of the current row.  The identifiers of the associations which must be loaded are left in
+	 * {@code associationIds}, to be resolved by {@link #resolveAssociations}.
+	 */
+	private Object readRow(Serializable[] associationIds) throws SQLException {
+		final Serializable id = (Serializable) persister.getIdentifierType().nullSafeGet(
+				resultSet,
+				identifierAliases,
+				session,
+				null
+		);
+		if ( id == null ) {
+			throw new HibernateException( "Null identifier streaming instances of " + persister.getEntityName() );
+		}
+
+		final Object entity = persister.instantiate( id, session );
+		final EntityTuplizer tuplizer = persister.getEntityTuplizer();
+		for ( int i = 0; i < propertyTypes.length; i++ ) {
+			if ( propertyAliases[i] == null ) {
+				continue;
+			}
+			if ( associatedPersisters[i] != null ) {
+				final Serializable associationId = (Serializable) associatedPersisters[i].getIdentifierType().nullSafeGet(
+						resultSet,
+						propertyAliases[i],
+						session,
+						null
+				);
+				if ( associationId == null ) {
+					tuplizer.setPropertyValue( entity, i, null );
+				}
+				else if ( ( (ManyToOneType) propertyTypes[i] ).isEager() || !associatedPersisters[i].hasProxy() ) {
+					associationIds[i] = associationId;
+				}
+				else {
+					tuplizer.setPropertyValue( entity, i, propertyTypes[i].resolve( associationId, session, entity ) );
+				}
+			}
+			else {
+				final Object value = propertyTypes[i].nullSafeGet( resultSet, propertyAliases[i], session, entity );
+				tuplizer.setPropertyValue( entity, i, value );
+			}
+		}
+		return entity;
+	}
+
+	private void resolveAssociations(List<Object> entities, List<Serializable[]> associationIds) {
+		final Map<EntityPersister, Set<Serializable>> idsByPersister = new HashMap<EntityPersister, Set<Serializable>>();
+		for ( Serializable[] ids : associationIds ) {
+			for ( int i = 0; i < ids.length; i++ ) {
+				if ( ids[i] != null ) {
+					Set<Serializable> persisterIds = idsByPersister.get( associatedPersisters[i] );
+					if ( persisterIds == null ) {
+						persisterIds = new LinkedHashSet<Serializable>();
+						idsByPersister.put( associatedPersisters[i], persisterIds );
+					}
+					persisterIds.add( ids[i] );
+				}
+			}
+		}
+
+		final Map<EntityPersister, Map<Serializable, Object>> loaded =
+				new HashMap<EntityPersister, Map<Serializable, Object>>();
+		for ( Map.Entry<EntityPersister, Set<Serializable>> entry : idsByPersister.entrySet() ) {
+			loaded.put( entry.getKey(), load( entry.getKey(), entry.getValue() ) );
+		}
+
+		final EntityTuplizer tuplizer = persister.getEntityTuplizer();
+		for ( int row = 0; row < entities.size(); row++ ) {
+			final Serializable[] ids = associationIds.get( row );
+			for ( int i = 0; i < ids.length; i++ ) {
+				if ( ids[i] != null ) {
+					tuplizer.setPropertyValue( entities.get( row ), i, loaded.get( associatedPersisters[i] ).get( ids[i] ) );
+				}
+			}
+		}
+	}
+
+	private Map<Serializable, Object> load(EntityPersister associatedPersister, Set<Serializable> ids) {
+		final Map<Serializable, Object> result = new HashMap<Serializable, Object>();
+		final String identifierPropertyName = associatedPersister.getIdentifierPropertyName();
+		if ( identifierPropertyName == null || associatedPersister.getIdentifierType().isComponentType() ) {
+			for ( Serializable id : ids ) {
+				result.put( id, session.get( associatedPersister.getEntityName(), id ) );
+			}
+			return result;
+		}
+
+		// a criteria query, unlike HQL, applies the join fetches of the mapping
+		final List loadedEntities = session.createCriteria( associatedPersister.getEntityName() )
+				.add( Restrictions.in( identifierPropertyName, ids ) )
+				.list();
+		for ( Object loadedEntity : loadedEntities ) {
+			result.put( associatedPersister.getIdentifier( loadedEntity, session ), loadedEntity );
+		}
+		return result;
+	}
+
+	private String generateSelect(AbstractEntityPersister persister) {
+		final String alias = StringHelper.generateAlias( persister.getEntityName() );
+
+		final Select select = new Select( session.getFactory().getDialect() );
+		if ( session.getFactory().getSettings().isCommentsEnabled() ) {
+			select.setComment( "stream " + persister.getEntityName() );
+		}
+		select.setSelectClause(
+				persister.identifierSelectFragment( alias, SUFFIX )
+						+ persister.propertySelectFragment( alias, SUFFIX, true )
+		);
+		select.setFromClause( persister.fromTableFragment( alias ) + persister.fromJoinFragment( alias, true, false ) );
+
+		final String where = persister.whereJoinFragment( alias, true, false )
+				+ persister.filterFragment( alias, session.getLoadQueryInfluencers().getEnabledFilters() );
+		final String trimmedWhere = where.trim();
+		if ( trimmedWhere.length() > 0 ) {
+			select.setWhereClause( trimmedWhere.startsWith( "and " ) ? trimmedWhere.substring( 4 ) : trimmedWhere );
+		}
+		return select.toStatementString();
+	}
+
+	private static boolean isDirectlyStreamable(EntityPersister persister) {
+		if ( !( persister instanceof AbstractEntityPersister ) ) {
+			return false;
+		}
+		final AbstractEntityPersister abstractPersister = (AbstractEntityPersister) persister;
+		return !abstractPersister.getEntityMetamodel().hasSubclasses()
+				&& !abstractPersister.hasSequentialSelect()
+				&& !abstractPersister.getEntityMetamodel().getIdentifierProperty().isVirtual();
+	}
+}
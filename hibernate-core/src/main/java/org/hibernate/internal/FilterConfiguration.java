@@ -23,6 +23,7 @@
  */
 package org.hibernate.internal;
 
+import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -35,7 +36,7 @@ import org.hibernate.persister.entity.Joinable;
  *
  * @author Rob Worsnop
  */
-public class FilterConfiguration {
+public class FilterConfiguration implements Serializable {
 	private final String name;
 	private final String condition;
 	private final boolean autoAliasInjection;
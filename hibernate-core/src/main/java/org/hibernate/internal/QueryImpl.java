@@ -36,6 +36,7 @@ import org.hibernate.LockOptions;
 import org.hibernate.Query;
 import org.hibernate.ScrollMode;
 import org.hibernate.ScrollableResults;
+import org.hibernate.engine.query.spi.HQLQueryHandle;
 import org.hibernate.engine.query.spi.ParameterMetadata;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.SessionImplementor;
@@ -49,6 +50,7 @@ import org.hibernate.engine.spi.SessionImplementor;
 public class QueryImpl extends AbstractQueryImpl {
 
 	private LockOptions lockOptions = new LockOptions();
+	private HQLQueryHandle queryHandle;
 
 	public QueryImpl(
 			String queryString,
@@ -62,6 +64,24 @@ public class QueryImpl extends AbstractQueryImpl {
 		this( queryString, null, session, parameterMetadata );
 	}
 
+	public QueryImpl(HQLQueryHandle queryHandle, SessionImplementor session) {
+		this( queryHandle.getQueryString(), null, session, queryHandle.getParameterMetadata() );
+		this.queryHandle = queryHandle;
+	}
+
+	@Override
+	public QueryParameters getQueryParameters(Map namedParams) {
+		final QueryParameters queryParameters = super.getQueryParameters( namedParams );
+		// the prepared plan only applies as long as the query string is not expanded and no filter is enabled
+		if ( queryParameters.getQueryPlan() == null
+				&& queryHandle != null
+				&& getNamedParameterLists().isEmpty()
+				&& getSession().getLoadQueryInfluencers().getEnabledFilters().isEmpty() ) {
+			queryParameters.setQueryPlan( queryHandle.getQueryPlan() );
+		}
+		return queryParameters;
+	}
+
 	public Iterator iterate() throws HibernateException {
 		verifyParameters();
 		Map namedParams = getNamedParams();
@@ -142,6 +162,9 @@ public class QueryImpl extends AbstractQueryImpl {
 	}
 
 	public boolean isSelect() {
+		if ( queryHandle != null ) {
+			return queryHandle.getQueryPlan().isSelect();
+		}
 		return getSession().getFactory().getQueryPlanCache()
 				.getHQLQueryPlan( getQueryString(), false, Collections.<String, Filter>emptyMap() )
 				.isSelect();
@@ -28,24 +28,28 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.math.BigInteger;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
 
 import org.hibernate.AssertionFailure;
-import org.hibernate.Cache;
 import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.CustomEntityDirtinessStrategy;
 import org.hibernate.EmptyInterceptor;
@@ -54,6 +58,7 @@ import org.hibernate.HibernateException;
 import org.hibernate.Interceptor;
 import org.hibernate.MappingException;
 import org.hibernate.MultiTenancyStrategy;
+import org.hibernate.QueryHandle;
 import org.hibernate.Session;
 import org.hibernate.SessionBuilder;
 import org.hibernate.SessionEventListener;
@@ -103,6 +108,7 @@ import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.query.spi.ReturnMetadata;
 import org.hibernate.engine.spi.ActionQueue;
 import org.hibernate.engine.spi.CacheImplementor;
+import org.hibernate.engine.spi.EntityDependencyGraph;
 import org.hibernate.engine.spi.FilterDefinition;
 import org.hibernate.engine.spi.NamedQueryDefinition;
 import org.hibernate.engine.spi.NamedSQLQueryDefinition;
@@ -128,7 +134,9 @@ import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.RootClass;
 import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.metadata.CollectionMetadata;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
 import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.Queryable;
@@ -183,11 +191,18 @@ public final class SessionFactoryImpl
 
 	private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, SessionFactoryImpl.class.getName());
 	private static final IdentifierGenerator UUID_GENERATOR = UUIDGenerator.buildSessionFactoryUniqueIdentifierGenerator();
+	private static final Set<Class> SIMPLE_CACHE_KEY_TYPES = new HashSet<Class>(
+			Arrays.<Class>asList(
+					Long.class, Integer.class, Short.class, Byte.class, Character.class,
+					String.class, UUID.class, BigInteger.class
+			)
+	);
 
 	private final String name;
 	private final String uuid;
 
 	private final transient Map<String,EntityPersister> entityPersisters;
+	private final transient EntityDependencyGraph entityDependencyGraph;
 	private final transient Map<String,ClassMetadata> classMetadata;
 	private final transient Map<String,CollectionPersister> collectionPersisters;
 	private final transient Map<String,CollectionMetadata> collectionMetadata;
@@ -332,9 +347,14 @@ public final class SessionFactoryImpl
 		//
 		// todo : similar for CollectionPersister/CollectionMetadata
 
+		final BootstrapExecutor bootstrapExecutor = new BootstrapExecutor( settings.getBootstrapParallelism() );
+
 		this.entityPersisters = new HashMap<String,EntityPersister>();
 		Map cacheAccessStrategiesMap = new HashMap();
 		Map<String,ClassMetadata> inFlightClassMetadataMap = new HashMap<String,ClassMetadata>();
+		// cache regions and temporary tables are set up here; the persisters of each hierarchy are then built together
+		final Map<String,List<EntityPersisterCreation>> entityPersisterCreations =
+				new LinkedHashMap<String,List<EntityPersisterCreation>>();
 		for ( final PersistentClass model : metadata.getEntityBindings() ) {
 			model.prepareTemporaryTables( metadata, getDialect() );
 			final String cacheRegionName = cacheRegionPrefix + model.getRootClass().getCacheRegionName();
@@ -353,20 +373,54 @@ public final class SessionFactoryImpl
 					model
 			);
 
-			final EntityPersister cp = persisterFactory.createEntityPersister(
-					model,
-					accessStrategy,
-					naturalIdAccessStrategy,
-					persisterCreationContext
+			List<EntityPersisterCreation> hierarchyCreations = entityPersisterCreations.get(
+					model.getRootClass().getEntityName()
+			);
+			if ( hierarchyCreations == null ) {
+				hierarchyCreations = new ArrayList<EntityPersisterCreation>();
+				entityPersisterCreations.put( model.getRootClass().getEntityName(), hierarchyCreations );
+			}
+			hierarchyCreations.add(
+					new EntityPersisterCreation(
+							persisterFactory,
+							model,
+							accessStrategy,
+							naturalIdAccessStrategy,
+							persisterCreationContext
+					)
+			);
+		}
+		final List<Callable<List<EntityPersister>>> entityHierarchyCreations = new ArrayList<Callable<List<EntityPersister>>>();
+		for ( final List<EntityPersisterCreation> hierarchyCreations : entityPersisterCreations.values() ) {
+			entityHierarchyCreations.add(
+					new Callable<List<EntityPersister>>() {
+						@Override
+						public List<EntityPersister> call() {
+							final List<EntityPersister> persisters = new ArrayList<EntityPersister>();
+							for ( EntityPersisterCreation creation : hierarchyCreations ) {
+								persisters.add( creation.call() );
+							}
+							return persisters;
+						}
+					}
 			);
-			entityPersisters.put( model.getEntityName(), cp );
-			inFlightClassMetadataMap.put( model.getEntityName(), cp.getClassMetadata() );
+		}
+		final Iterator<List<EntityPersister>> createdHierarchies = bootstrapExecutor.invokeAll( entityHierarchyCreations )
+				.iterator();
+		for ( List<EntityPersisterCreation> hierarchyCreations : entityPersisterCreations.values() ) {
+			final Iterator<EntityPersister> createdPersisters = createdHierarchies.next().iterator();
+			for ( EntityPersisterCreation creation : hierarchyCreations ) {
+				final EntityPersister cp = createdPersisters.next();
+				entityPersisters.put( creation.model.getEntityName(), cp );
+				inFlightClassMetadataMap.put( creation.model.getEntityName(), cp.getClassMetadata() );
+			}
 		}
 		this.classMetadata = Collections.unmodifiableMap( inFlightClassMetadataMap );
 
 		this.collectionPersisters = new HashMap<String,CollectionPersister>();
 		Map<String,Set<String>> inFlightEntityToCollectionRoleMap = new HashMap<String,Set<String>>();
 		Map<String,CollectionMetadata> tmpCollectionMetadata = new HashMap<String,CollectionMetadata>();
+		final List<Callable<CollectionPersister>> collectionPersisterCreations = new ArrayList<Callable<CollectionPersister>>();
 		for ( final Collection model : metadata.getCollectionBindings() ) {
 			final String cacheRegionName = cacheRegionPrefix + model.getCacheRegionName();
 			final AccessType accessType = AccessType.fromExternalName( model.getCacheConcurrencyStrategy() );
@@ -386,11 +440,24 @@ public final class SessionFactoryImpl
 				accessStrategy = null;
 			}
 
-			final CollectionPersister persister = persisterFactory.createCollectionPersister(
-					model,
-					accessStrategy,
-					persisterCreationContext
+			collectionPersisterCreations.add(
+					new Callable<CollectionPersister>() {
+						@Override
+						public CollectionPersister call() {
+							return persisterFactory.createCollectionPersister(
+									model,
+									accessStrategy,
+									persisterCreationContext
+							);
+						}
+					}
 			);
+		}
+		final Iterator<CollectionPersister> createdCollectionPersisters = bootstrapExecutor.invokeAll(
+				collectionPersisterCreations
+		).iterator();
+		for ( final Collection model : metadata.getCollectionBindings() ) {
+			final CollectionPersister persister = createdCollectionPersisters.next();
 			collectionPersisters.put( model.getRole(), persister );
 			tmpCollectionMetadata.put( model.getRole(), persister.getCollectionMetadata() );
 			Type indexType = persister.getIndexType();
@@ -415,6 +482,7 @@ public final class SessionFactoryImpl
 			}
 		}
 		this.collectionMetadata = Collections.unmodifiableMap( tmpCollectionMetadata );
+		enableSimpleCacheKeys( metadata, cacheRegionPrefix );
 
 		for ( Map.Entry<String,Set<String>> entityToCollectionRoleMapEntry : inFlightEntityToCollectionRoleMap.entrySet() ) {
 			entityToCollectionRoleMapEntry.setValue(
@@ -431,13 +499,38 @@ public final class SessionFactoryImpl
 			persister.generateEntityDefinition();
 		}
 
+		// the SQL and loaders of all entities are built before the ones of the collections
+		final List<Callable<Void>> entityPostInstantiations = new ArrayList<Callable<Void>>();
+		for ( final EntityPersister persister : entityPersisters.values() ) {
+			entityPostInstantiations.add(
+					new Callable<Void>() {
+						@Override
+						public Void call() {
+							persister.postInstantiate();
+							return null;
+						}
+					}
+			);
+		}
+		bootstrapExecutor.invokeAll( entityPostInstantiations );
 		for ( EntityPersister persister : entityPersisters.values() ) {
-			persister.postInstantiate();
 			registerEntityNameResolvers( persister );
 		}
-		for ( CollectionPersister persister : collectionPersisters.values() ) {
-			persister.postInstantiate();
+		final List<Callable<Void>> collectionPostInstantiations = new ArrayList<Callable<Void>>();
+		for ( final CollectionPersister persister : collectionPersisters.values() ) {
+			collectionPostInstantiations.add(
+					new Callable<Void>() {
+						@Override
+						public Void call() {
+							persister.postInstantiate();
+							return null;
+						}
+					}
+			);
 		}
+		bootstrapExecutor.invokeAll( collectionPostInstantiations );
+
+		this.entityDependencyGraph = new EntityDependencyGraph( this );
 
 		LOG.debug( "Instantiated session factory" );
 
@@ -468,7 +561,10 @@ public final class SessionFactoryImpl
 
 		//checking for named queries
 		if ( settings.isNamedQueryStartupCheckingEnabled() ) {
-			final Map<String,HibernateException> errors = checkNamedQueries();
+			final Map<String,HibernateException> errors = namedQueryRepository.checkNamedQueries(
+					queryPlanCache,
+					bootstrapExecutor
+			);
 			if ( ! errors.isEmpty() ) {
 				StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
 				String sep = "";
@@ -480,6 +576,7 @@ public final class SessionFactoryImpl
 				throw new HibernateException( failingQueries.toString() );
 			}
 		}
+		bootstrapExecutor.shutdown();
 
 		// this needs to happen after persisters are all ready to go...
 		this.fetchProfiles = new HashMap<String,FetchProfile>();
@@ -614,6 +711,69 @@ public final class SessionFactoryImpl
 		return accessStrategy;
 	}
 
+	/**
+	 * Entity hierarchies which have a cache region to themselves, are not multi-tenant and use an identifier whose
+	 * equality is that of the Java value get cached under {@link org.hibernate.cache.spi.SimpleCacheKey}.
+	 */
+	private void enableSimpleCacheKeys(MetadataImplementor metadata, String cacheRegionPrefix) {
+		if ( !settings.isSecondLevelCacheEnabled() || settings.getMultiTenancyStrategy() != MultiTenancyStrategy.NONE ) {
+			return;
+		}
+
+		final Map<String,Set<String>> regionUsers = new HashMap<String,Set<String>>();
+		for ( PersistentClass model : metadata.getEntityBindings() ) {
+			if ( model.getCacheConcurrencyStrategy() != null ) {
+				addRegionUser(
+						regionUsers,
+						cacheRegionPrefix + model.getRootClass().getCacheRegionName(),
+						model.getRootClass().getEntityName()
+				);
+			}
+			if ( model.hasNaturalId() && model.getNaturalIdCacheRegionName() != null ) {
+				addRegionUser(
+						regionUsers,
+						cacheRegionPrefix + model.getNaturalIdCacheRegionName(),
+						model.getEntityName()
+				);
+			}
+		}
+		for ( Collection model : metadata.getCollectionBindings() ) {
+			if ( model.getCacheConcurrencyStrategy() != null ) {
+				addRegionUser( regionUsers, cacheRegionPrefix + model.getCacheRegionName(), model.getRole() );
+			}
+		}
+
+		for ( PersistentClass model : metadata.getEntityBindings() ) {
+			if ( model.getSuperclass() != null || model.getCacheConcurrencyStrategy() == null ) {
+				continue;
+			}
+			final Set<String> users = regionUsers.get( cacheRegionPrefix + model.getRootClass().getCacheRegionName() );
+			if ( users.size() == 1 && hasSimpleIdentifier( model ) ) {
+				cacheAccess.enableSimpleCacheKeys( model.getEntityName() );
+			}
+		}
+	}
+
+	private static void addRegionUser(Map<String,Set<String>> regionUsers, String regionName, String user) {
+		Set<String> users = regionUsers.get( regionName );
+		if ( users == null ) {
+			users = new HashSet<String>();
+			regionUsers.put( regionName, users );
+		}
+		users.add( user );
+	}
+
+	private static boolean hasSimpleIdentifier(PersistentClass model) {
+		if ( model.getIdentifier() == null || model.hasEmbeddedIdentifier() ) {
+			return false;
+		}
+		final Type identifierType = model.getIdentifier().getType();
+		if ( identifierType.isComponentType() || identifierType.isAssociationType() ) {
+			return false;
+		}
+		return SIMPLE_CACHE_KEY_TYPES.contains( identifierType.getReturnedClass() );
+	}
+
 	private JdbcConnectionAccess buildLocalConnectionAccess() {
 		return new JdbcConnectionAccess() {
 			@Override
@@ -738,10 +898,6 @@ public final class SessionFactoryImpl
 		return queryPlanCache;
 	}
 
-	private Map<String,HibernateException> checkNamedQueries() throws HibernateException {
-		return namedQueryRepository.checkNamedQueries( queryPlanCache );
-	}
-
 	public EntityPersister getEntityPersister(String entityName) throws MappingException {
 		EntityPersister result = entityPersisters.get(entityName);
 		if ( result == null ) {
@@ -755,11 +911,44 @@ public final class SessionFactoryImpl
 		return collectionPersisters;
 	}
 
+	@Override
+	public void initializePersisters(String... entityNames) throws MappingException {
+		final List<EntityPersister> persisters;
+		if ( entityNames.length == 0 ) {
+			persisters = new ArrayList<EntityPersister>( entityPersisters.values() );
+		}
+		else {
+			persisters = new ArrayList<EntityPersister>( entityNames.length );
+			for ( String entityName : entityNames ) {
+				persisters.add( getEntityPersister( entityName ) );
+			}
+		}
+
+		final Set<String> initializedEntityNames = new HashSet<String>();
+		for ( EntityPersister persister : persisters ) {
+			if ( persister instanceof AbstractEntityPersister ) {
+				( (AbstractEntityPersister) persister ).initializeLoaders();
+			}
+			initializedEntityNames.add( persister.getEntityName() );
+		}
+		for ( CollectionPersister persister : collectionPersisters.values() ) {
+			if ( persister instanceof AbstractCollectionPersister
+					&& initializedEntityNames.contains( persister.getOwnerEntityPersister().getEntityName() ) ) {
+				( (AbstractCollectionPersister) persister ).initializeLoaders();
+			}
+		}
+	}
+
 	@Override
 	public Map<String, EntityPersister> getEntityPersisters() {
 		return entityPersisters;
 	}
 
+	@Override
+	public EntityDependencyGraph getEntityDependencyGraph() {
+		return entityDependencyGraph;
+	}
+
 	public CollectionPersister getCollectionPersister(String role) throws MappingException {
 		CollectionPersister result = collectionPersisters.get(role);
 		if ( result == null ) {
@@ -1029,7 +1218,7 @@ public final class SessionFactoryImpl
 		serviceRegistry.destroy();
 	}
 
-	public Cache getCache() {
+	public CacheImplementor getCache() {
 		return cacheAccess;
 	}
 
@@ -1098,6 +1287,11 @@ public final class SessionFactoryImpl
 		return getStatisticsImplementor();
 	}
 
+	@Override
+	public QueryHandle prepareQuery(String queryString) {
+		return queryPlanCache.prepareHQLQuery( queryString );
+	}
+
 	public StatisticsImplementor getStatisticsImplementor() {
 		return serviceRegistry.getService( StatisticsImplementor.class );
 	}
@@ -1195,6 +1389,41 @@ public final class SessionFactoryImpl
 		return typeHelper;
 	}
 
+	/**
+	 * The creation of a single entity persister, deferred so that the hierarchies can be built
+	 * concurrently by the {@link BootstrapExecutor}.
+	 */
+	private static class EntityPersisterCreation implements Callable<EntityPersister> {
+		private final PersisterFactory persisterFactory;
+		private final PersistentClass model;
+		private final EntityRegionAccessStrategy accessStrategy;
+		private final NaturalIdRegionAccessStrategy naturalIdAccessStrategy;
+		private final PersisterCreationContext persisterCreationContext;
+
+		private EntityPersisterCreation(
+				PersisterFactory persisterFactory,
+				PersistentClass model,
+				EntityRegionAccessStrategy accessStrategy,
+				NaturalIdRegionAccessStrategy naturalIdAccessStrategy,
+				PersisterCreationContext persisterCreationContext) {
+			this.persisterFactory = persisterFactory;
+			this.model = model;
+			this.accessStrategy = accessStrategy;
+			this.naturalIdAccessStrategy = naturalIdAccessStrategy;
+			this.persisterCreationContext = persisterCreationContext;
+		}
+
+		@Override
+		public EntityPersister call() {
+			return persisterFactory.createEntityPersister(
+					model,
+					accessStrategy,
+					naturalIdAccessStrategy,
+					persisterCreationContext
+			);
+		}
+	}
+
 	static class SessionBuilderImpl implements SessionBuilderImplementor {
 		private static final Logger log = CoreLogging.logger( SessionBuilderImpl.class );
 
@@ -35,7 +35,9 @@ import java.sql.Connection;
 import java.sql.NClob;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -58,6 +60,7 @@ import org.hibernate.Interceptor;
 import org.hibernate.LobHelper;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.MultiIdentifierLoadAccess;
 import org.hibernate.MappingException;
 import org.hibernate.NaturalIdLoadAccess;
 import org.hibernate.ObjectDeletedException;
@@ -79,8 +82,10 @@ import org.hibernate.TransientObjectException;
 import org.hibernate.TypeHelper;
 import org.hibernate.UnknownProfileException;
 import org.hibernate.UnresolvableObjectException;
+import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.criterion.NaturalIdentifier;
+import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.SessionEventListenerManagerImpl;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.jdbc.LobCreator;
@@ -145,6 +150,7 @@ import org.hibernate.jdbc.Work;
 import org.hibernate.jdbc.WorkExecutor;
 import org.hibernate.jdbc.WorkExecutorVisitable;
 import org.hibernate.loader.criteria.CriteriaLoader;
+import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder;
 import org.hibernate.loader.custom.CustomLoader;
 import org.hibernate.loader.custom.CustomQuery;
 import org.hibernate.persister.collection.CollectionPersister;
@@ -1085,6 +1091,16 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		return new IdentifierLoadAccessImpl( entityClass );
 	}
 
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(String entityName) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityName ) );
+	}
+
+	@Override
+	public MultiIdentifierLoadAccess byMultipleIds(Class entityClass) {
+		return new MultiIdentifierLoadAccessImpl( locateEntityPersister( entityClass.getName() ) );
+	}
+
 	@Override
 	public NaturalIdLoadAccess byNaturalId(String entityName) {
 		return new NaturalIdLoadAccessImpl( entityName );
@@ -2603,6 +2619,178 @@ public final class SessionImpl extends AbstractSessionImpl implements EventSourc
 		}
 	}
 
+	private class MultiIdentifierLoadAccessImpl implements MultiIdentifierLoadAccess {
+		private final EntityPersister entityPersister;
+		private LockOptions lockOptions;
+		private Integer batchSize;
+
+		private MultiIdentifierLoadAccessImpl(EntityPersister entityPersister) {
+			this.entityPersister = entityPersister;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccess with(LockOptions lockOptions) {
+			this.lockOptions = lockOptions;
+			return this;
+		}
+
+		@Override
+		public MultiIdentifierLoadAccess withBatchSize(int batchSize) {
+			if ( batchSize < 1 ) {
+				throw new IllegalArgumentException( "Batch size must be positive: " + batchSize );
+			}
+			this.batchSize = batchSize;
+			return this;
+		}
+
+		@Override
+		public List multiLoad(Serializable... ids) {
+			return multiLoad( Arrays.asList( ids ) );
+		}
+
+		@Override
+		public List multiLoad(List<? extends Serializable> ids) {
+			errorIfClosed();
+			checkTransactionSynchStatus();
+
+			final LockOptions lockOptions = this.lockOptions == null ? LockOptions.NONE : this.lockOptions;
+			final boolean useCache = entityPersister.hasCache()
+					&& getCacheMode().isGetEnabled()
+					&& lockOptions.getLockMode().lessThan( LockMode.READ );
+
+			final Object[] results = new Object[ids.size()];
+			final EntityKey[] keys = new EntityKey[ids.size()];
+			final Map<EntityKey,Serializable> unresolvedIds = new LinkedHashMap<EntityKey,Serializable>();
+			boolean success = false;
+			try {
+				for ( int i = 0; i < results.length; i++ ) {
+					final Serializable id = ids.get( i );
+					keys[i] = generateEntityKey( id, entityPersister );
+					if ( unresolvedIds.containsKey( keys[i] ) ) {
+						continue;
+					}
+
+					final Object managed = persistenceContext.getEntity( keys[i] );
+					if ( managed != null ) {
+						if ( lockOptions.getLockMode() != LockMode.NONE ) {
+							// let the load listener upgrade the lock
+							results[i] = byId( entityPersister.getEntityName() ).with( lockOptions ).load( id );
+						}
+						else {
+							final Status status = persistenceContext.getEntry( managed ).getStatus();
+							results[i] = status == Status.DELETED || status == Status.GONE
+									? null
+									: persistenceContext.proxyFor( entityPersister, keys[i], managed );
+						}
+						continue;
+					}
+					unresolvedIds.put( keys[i], id );
+				}
+
+				final Map<EntityKey,Object> cachedEntities = useCache
+						? loadFromSharedCache( unresolvedIds )
+						: Collections.<EntityKey,Object>emptyMap();
+				final Map<EntityKey,Serializable> idsToLoad = new LinkedHashMap<EntityKey,Serializable>( unresolvedIds );
+				idsToLoad.keySet().removeAll( cachedEntities.keySet() );
+				if ( !idsToLoad.isEmpty() ) {
+					loadFromDatasource( idsToLoad.values(), lockOptions );
+				}
+
+				for ( int i = 0; i < results.length; i++ ) {
+					if ( results[i] != null ) {
+						continue;
+					}
+					if ( cachedEntities.containsKey( keys[i] ) ) {
+						results[i] = cachedEntities.get( keys[i] );
+					}
+					else if ( idsToLoad.containsKey( keys[i] ) ) {
+						final Object loaded = persistenceContext.getEntity( keys[i] );
+						results[i] = loaded == null
+								? null
+								: persistenceContext.proxyFor( entityPersister, keys[i], loaded );
+					}
+				}
+				success = true;
+			}
+			finally {
+				afterOperation( success );
+			}
+			return Arrays.asList( results );
+		}
+
+		/**
+		 * Reads the entries of the given ids from the second-level cache in one bulk read, and assembles
+		 * the entities found there through the load listeners.  Ids already proxied in the session are
+		 * left to the regular load so that the proxy gets initialized.
+		 */
+		private Map<EntityKey,Object> loadFromSharedCache(Map<EntityKey,Serializable> ids) {
+			final Map<CacheKey,EntityKey> cacheKeys = new LinkedHashMap<CacheKey,EntityKey>();
+			for ( Map.Entry<EntityKey,Serializable> entry : ids.entrySet() ) {
+				if ( persistenceContext.getProxy( entry.getKey() ) == null ) {
+					final CacheKey cacheKey = generateCacheKey(
+							entry.getValue(),
+							entityPersister.getIdentifierType(),
+							entityPersister.getRootEntityName()
+					);
+					cacheKeys.put( cacheKey, entry.getKey() );
+				}
+			}
+
+			final Map<CacheKey,Serializable> cacheEntries = CacheHelper.fromSharedCache(
+					SessionImpl.this,
+					cacheKeys.keySet(),
+					entityPersister.getCacheAccessStrategy()
+			);
+
+			final Map<EntityKey,Object> entities = new HashMap<EntityKey,Object>();
+			for ( Map.Entry<CacheKey,EntityKey> entry : cacheKeys.entrySet() ) {
+				final Serializable cacheEntry = cacheEntries.get( entry.getKey() );
+				if ( cacheEntry == null ) {
+					if ( factory.getStatistics().isStatisticsEnabled() ) {
+						factory.getStatisticsImplementor().secondLevelCacheMiss(
+								entityPersister.getCacheAccessStrategy().getRegion().getName()
+						);
+					}
+					continue;
+				}
+
+				final LoadEvent event = new LoadEvent(
+						ids.get( entry.getValue() ),
+						entityPersister.getEntityName(),
+						false,
+						SessionImpl.this
+				);
+				event.setSharedCacheEntry( cacheEntry );
+				fireLoad( event, LoadEventListener.GET_CACHED );
+				if ( event.getResult() != null ) {
+					entities.put( entry.getValue(), event.getResult() );
+				}
+			}
+			return entities;
+		}
+
+		private void loadFromDatasource(Collection<Serializable> ids, LockOptions lockOptions) {
+			if ( !( entityPersister instanceof OuterJoinLoadable ) ) {
+				// custom persisters only know how to load one instance at a time
+				for ( Serializable id : ids ) {
+					byId( entityPersister.getEntityName() ).with( lockOptions ).load( id );
+				}
+				return;
+			}
+
+			final OuterJoinLoadable persister = (OuterJoinLoadable) entityPersister;
+			DynamicBatchingEntityLoaderBuilder.INSTANCE.multiLoad(
+					persister,
+					ids.toArray( new Serializable[ids.size()] ),
+					batchSize != null
+							? batchSize
+							: DynamicBatchingEntityLoaderBuilder.INSTANCE.determineMultiLoadBatchSize( persister, factory.getDialect() ),
+					lockOptions,
+					SessionImpl.this
+			);
+		}
+	}
+
 	private EntityPersister locateEntityPersister(String entityName) {
 		final EntityPersister entityPersister = factory.getEntityPersister( entityName );
 		if ( entityPersister == null ) {
@@ -35,6 +35,7 @@ import org.hibernate.ConnectionReleaseMode;
 import org.hibernate.Criteria;
 import org.hibernate.EmptyInterceptor;
 import org.hibernate.EntityMode;
+import org.hibernate.EntityStream;
 import org.hibernate.FlushMode;
 import org.hibernate.HibernateException;
 import org.hibernate.Interceptor;
@@ -271,6 +272,18 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 		UnresolvableObjectException.throwIfNull( result, id, persister.getEntityName() );
 	}
 
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> EntityStream<T> stream(Class<T> entityClass) {
+		return (EntityStream<T>) stream( entityClass.getName() );
+	}
+
+	@Override
+	public EntityStream<Object> stream(String entityName) {
+		errorIfClosed();
+		return new EntityStreamImpl<Object>( this, getFactory().getEntityPersister( entityName ) );
+	}
+
 	@Override
 	public Object immediateLoad(String entityName, Serializable id)
 			throws HibernateException {
@@ -301,7 +314,7 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 		errorIfClosed();
 		EntityPersister persister = getFactory().getEntityPersister( entityName );
 		// first, try to load it from the temp PC associated to this SS
-		Object loaded = temporaryPersistenceContext.getEntity( generateEntityKey( id, persister ) );
+		Object loaded = temporaryPersistenceContext.getEntity( persister, id );
 		if ( loaded != null ) {
 			// we found it in the temp PC.  Should indicate we are in the midst of processing a result set
 			// containing eager fetches via join fetch
@@ -621,7 +634,10 @@ public class StatelessSessionImpl extends AbstractSessionImpl implements Statele
 	public List list(String query, QueryParameters queryParameters) throws HibernateException {
 		errorIfClosed();
 		queryParameters.validateParameters();
-		HQLQueryPlan plan = getHQLQueryPlan( query, false );
+		HQLQueryPlan plan = queryParameters.getQueryPlan();
+		if ( plan == null ) {
+			plan = getHQLQueryPlan( query, false );
+		}
 		boolean success = false;
 		List results = Collections.EMPTY_LIST;
 		try {
@@ -0,0 +1,67 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.jmx;
+
+import org.hibernate.stat.SlowSqlStatement;
+import org.hibernate.stat.SqlStatementStatistics;
+
+/**
+ * Management interface exposing the SQL statement statistics of a SessionFactory.  It is registered through the
+ * {@link org.hibernate.jmx.spi.JmxService} when JMX is {@link org.hibernate.cfg.AvailableSettings#JMX_ENABLED enabled}.
+ */
+public interface SqlStatisticsMXBean {
+	/**
+	 * Are statistics being collected?
+	 *
+	 * @return {@code true} if statistics are being collected
+	 */
+	public boolean isStatisticsEnabled();
+
+	/**
+	 * Enable or disable the collection of statistics.
+	 *
+	 * @param enabled Whether to collect statistics
+	 */
+	public void setStatisticsEnabled(boolean enabled);
+
+	/**
+	 * Reset all statistics.
+	 */
+	public void clear();
+
+	/**
+	 * @see org.hibernate.stat.SqlStatementTrackingStatistics#getSqlStatements()
+	 */
+	public String[] getSqlStatements();
+
+	/**
+	 * @see org.hibernate.stat.SqlStatementTrackingStatistics#getSqlStatementStatistics(String)
+	 */
+	public SqlStatementStatistics getSqlStatementStatistics(String sql);
+
+	/**
+	 * @see org.hibernate.stat.SqlStatementTrackingStatistics#getSlowestSqlStatements()
+	 */
+	public SlowSqlStatement[] getSlowestSqlStatements();
+}
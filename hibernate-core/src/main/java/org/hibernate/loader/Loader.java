@@ -61,6 +61,7 @@ import org.hibernate.dialect.pagination.LimitHandler;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.dialect.pagination.NoopLimitHandler;
 import org.hibernate.engine.internal.CacheHelper;
+import org.hibernate.engine.internal.SharedCachePutBatch;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.engine.jdbc.ColumnNameCache;
 import org.hibernate.engine.spi.EntityEntry;
@@ -89,6 +90,7 @@ import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.UniqueKeyLoadable;
 import org.hibernate.pretty.MessageHelper;
 import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
 import org.hibernate.transform.CacheableResultTransformer;
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.AssociationType;
@@ -918,7 +920,9 @@ public abstract class Loader {
 // that I could do the control breaking at the means to know when to stop
 
 		try {
-			return processResultSet( rs, queryParameters, session, returnProxies, forcedResultTransformer, maxRows, afterLoadActions );
+			final List results = processResultSet( rs, queryParameters, session, returnProxies, forcedResultTransformer, maxRows, afterLoadActions );
+			session.getTransactionCoordinator().getJdbcCoordinator().getSqlStatementProfiler().rowsRead( st, results.size() );
+			return results;
 		}
 		finally {
 			session.getTransactionCoordinator().getJdbcCoordinator().release( st );
@@ -1111,8 +1115,13 @@ public abstract class Loader {
 		if ( hydratedObjects!=null ) {
 			int hydratedObjectsSize = hydratedObjects.size();
 			LOG.tracev( "Total objects hydrated: {0}", hydratedObjectsSize );
+			// with several entities hydrated, hand their data to the second-level cache in bulk
+			final SharedCachePutBatch cachePutBatch = hydratedObjectsSize > 1 ? new SharedCachePutBatch() : null;
 			for ( int i = 0; i < hydratedObjectsSize; i++ ) {
-				TwoPhaseLoad.initializeEntity( hydratedObjects.get(i), readOnly, session, pre );
+				TwoPhaseLoad.initializeEntity( hydratedObjects.get(i), readOnly, session, pre, cachePutBatch );
+			}
+			if ( cachePutBatch != null ) {
+				cachePutBatch.execute( session );
 			}
 		}
 
@@ -2567,6 +2576,9 @@ public abstract class Loader {
 					result.size(),
 					milliseconds
 				);
+			if ( getFactory().getStatisticsImplementor() instanceof LatencyTrackingStatisticsImplementor ) {
+				( (LatencyTrackingStatisticsImplementor) getFactory().getStatisticsImplementor() ).queryExecutionTime( endTime - startTime );
+			}
 		}
 
 		return result;
@@ -2634,6 +2646,9 @@ public abstract class Loader {
 						0,
 						milliseconds
 					);
+				if ( getFactory().getStatisticsImplementor() instanceof LatencyTrackingStatisticsImplementor ) {
+					( (LatencyTrackingStatisticsImplementor) getFactory().getStatisticsImplementor() ).queryExecutionTime( endTime - startTime );
+				}
 			}
 
 			if ( needsFetchingScroll() ) {
@@ -28,10 +28,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.engine.spi.LoadQueryInfluencers;
 import org.hibernate.engine.spi.PersistenceContext;
@@ -44,6 +46,7 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.entity.OuterJoinLoadable;
 import org.hibernate.pretty.MessageHelper;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -58,6 +61,74 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 
 	public static final DynamicBatchingEntityLoaderBuilder INSTANCE = new DynamicBatchingEntityLoaderBuilder();
 
+	/**
+	 * The number of identifier values per multi-load SQL select, unless limited by the Dialect.
+	 */
+	public static final int DEFAULT_MULTI_LOAD_BATCH_SIZE = 1000;
+
+	/**
+	 * Load the instances of the given entity with the given identifiers from the database, through one SQL select
+	 * per {@code batchSize} identifiers.  The loaded instances are associated with the session.
+	 *
+	 * @param persister The entity persister
+	 * @param ids The identifiers to load; the session and second-level caches are expected to have been checked
+	 * @param batchSize The maximum number of identifiers per SQL select
+	 * @param lockOptions The lock options to apply
+	 * @param session The session
+	 *
+	 * @return The loaded instances, in no particular order
+	 */
+	public List multiLoad(
+			OuterJoinLoadable persister,
+			Serializable[] ids,
+			int batchSize,
+			LockOptions lockOptions,
+			SessionImplementor session) {
+		final DynamicEntityLoader loader = new DynamicEntityLoader(
+				persister,
+				batchSize,
+				lockOptions,
+				session.getFactory(),
+				session.getLoadQueryInfluencers()
+		);
+
+		final List results = new ArrayList( ids.length );
+		for ( int start = 0; start < ids.length; start += batchSize ) {
+			final int numberOfIds = Math.min( batchSize, ids.length - start );
+			final Serializable[] idsToLoad = new Serializable[numberOfIds];
+			System.arraycopy( ids, start, idsToLoad, 0, numberOfIds );
+
+			if ( log.isDebugEnabled() ) {
+				log.debugf( "Multi-loading entity: %s", MessageHelper.infoString( persister, idsToLoad, session.getFactory() ) );
+			}
+
+			final Type[] types = new Type[numberOfIds];
+			Arrays.fill( types, persister.getIdentifierType() );
+			final QueryParameters qp = new QueryParameters();
+			qp.setPositionalParameterTypes( types );
+			qp.setPositionalParameterValues( idsToLoad );
+			qp.setLockOptions( lockOptions );
+
+			results.addAll( loader.doEntityBatchFetch( session, qp, idsToLoad ) );
+		}
+		return results;
+	}
+
+	/**
+	 * Determine the number of identifiers per multi-load SQL select, keeping the number of parameters within the
+	 * {@link Dialect#getInExpressionCountLimit() limit} of the Dialect.
+	 *
+	 * @param persister The entity persister
+	 * @param dialect The Dialect
+	 *
+	 * @return The number of identifiers per SQL select
+	 */
+	public int determineMultiLoadBatchSize(OuterJoinLoadable persister, Dialect dialect) {
+		final int inExpressionCountLimit = dialect.getInExpressionCountLimit();
+		final int limit = inExpressionCountLimit > 0 ? inExpressionCountLimit : DEFAULT_MULTI_LOAD_BATCH_SIZE;
+		return Math.max( 1, limit / persister.getIdentifierColumnNames().length );
+	}
+
 	@Override
 	protected UniqueEntityLoader buildBatchingLoader(
 			OuterJoinLoadable persister,
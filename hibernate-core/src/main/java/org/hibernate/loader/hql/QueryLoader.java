@@ -60,6 +60,7 @@ import org.hibernate.persister.collection.QueryableCollection;
 import org.hibernate.persister.entity.Loadable;
 import org.hibernate.persister.entity.Lockable;
 import org.hibernate.persister.entity.Queryable;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
 import org.hibernate.transform.ResultTransformer;
 import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
@@ -539,6 +540,9 @@ public class QueryLoader extends BasicLoader {
 						0,
 						milliseconds
 				);
+				if ( session.getFactory().getStatisticsImplementor() instanceof LatencyTrackingStatisticsImplementor ) {
+					( (LatencyTrackingStatisticsImplementor) session.getFactory().getStatisticsImplementor() ).queryExecutionTime( endTime - startTime );
+				}
 			}
 
 			return result;
@@ -31,6 +31,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.hibernate.engine.internal.SharedCachePutBatch;
 import org.hibernate.engine.internal.TwoPhaseLoad;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.PostLoadEvent;
@@ -240,14 +241,19 @@ public abstract class AbstractRowReader implements RowReader {
 			return;
 		}
 
+		final SharedCachePutBatch cachePutBatch = numberOfHydratedObjects > 1 ? new SharedCachePutBatch() : null;
 		for ( HydratedEntityRegistration registration : hydratedEntityRegistrations ) {
 			TwoPhaseLoad.initializeEntity(
 					registration.getInstance(),
 					context.isReadOnly(),
 					context.getSession(),
-					preLoadEvent
+					preLoadEvent,
+					cachePutBatch
 			);
 		}
+		if ( cachePutBatch != null ) {
+			cachePutBatch.execute( context.getSession() );
+		}
 	}
 
 	private void finishLoadingCollections(ResultSetProcessingContextImpl context) {
@@ -309,7 +309,7 @@ public class Component extends SimpleValue implements MetaAttributable {
 		return getClass().getName() + '(' + properties.toString() + ')';
 	}
 
-	private IdentifierGenerator builtIdentifierGenerator;
+	private transient IdentifierGenerator builtIdentifierGenerator;
 
 	@Override
 	public IdentifierGenerator createIdentifierGenerator(
@@ -22,6 +22,7 @@
  * Boston, MA  02110-1301  USA
  */
 package org.hibernate.mapping;
+import java.io.Serializable;
 import java.util.LinkedHashSet;
 
 /**
@@ -34,7 +35,7 @@ import java.util.LinkedHashSet;
  *
  * @see org.hibernate.engine.profile.FetchProfile
  */
-public class FetchProfile {
+public class FetchProfile implements Serializable {
 	private final String name;
 	private final MetadataSource source;
 	private LinkedHashSet<Fetch> fetches = new LinkedHashSet<Fetch>();
@@ -111,7 +112,7 @@ public class FetchProfile {
 	/**
 	 * Defines an individual association fetch within the given profile.
 	 */
-	public static class Fetch {
+	public static class Fetch implements Serializable {
 		private final String entity;
 		private final String association;
 		private final String style;
@@ -23,6 +23,7 @@
  */
 package org.hibernate.mapping;
 
+import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -585,7 +586,7 @@ public class SimpleValue implements KeyValue {
 		}
 	}
 
-	private final class ParameterTypeImpl implements DynamicParameterizedType.ParameterType {
+	private final class ParameterTypeImpl implements DynamicParameterizedType.ParameterType, Serializable {
 
 		private final Class returnedClass;
 		private final Annotation[] annotationsMethod;
@@ -41,6 +41,7 @@ import org.hibernate.QueryException;
 import org.hibernate.TransientObjectException;
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.BinaryCollectionCacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
 import org.hibernate.cache.spi.entry.StructuredCollectionCacheEntry;
 import org.hibernate.cache.spi.entry.StructuredMapCacheEntry;
@@ -217,7 +218,7 @@ public abstract class AbstractCollectionPersister
 	private final EntityPersister elementPersister;
 	private final CollectionRegionAccessStrategy cacheAccessStrategy;
 	private final CollectionType collectionType;
-	private CollectionInitializer initializer;
+	private volatile CollectionInitializer initializer;
 
 	private final CacheEntryStructure cacheEntryStructure;
 
@@ -257,6 +258,9 @@ public abstract class AbstractCollectionPersister
 					? StructuredMapCacheEntry.INSTANCE
 					: StructuredCollectionCacheEntry.INSTANCE;
 		}
+		else if ( factory.getSettings().isBinaryCacheEntriesEnabled() ) {
+			cacheEntryStructure = BinaryCollectionCacheEntry.INSTANCE;
+		}
 		else {
 			cacheEntryStructure = UnstructuredCacheEntry.INSTANCE;
 		}
@@ -672,9 +676,27 @@ public abstract class AbstractCollectionPersister
 
 	@Override
 	public void postInstantiate() throws MappingException {
-		initializer = queryLoaderName == null ?
-				createCollectionInitializer( LoadQueryInfluencers.NONE ) :
-				new NamedQueryCollectionInitializer( queryLoaderName, this );
+		if ( !factory.getSettings().isLazyPersisterInitializationEnabled() ) {
+			initializeLoaders();
+		}
+	}
+
+	/**
+	 * Build the static initializer of this persister, unless already done.  This normally happens from
+	 * {@link #postInstantiate}; with {@link org.hibernate.cfg.AvailableSettings#LAZY_PERSISTER_INITIALIZATION} it is
+	 * deferred until the initializer is first needed.
+	 */
+	public final void initializeLoaders() {
+		if ( initializer != null ) {
+			return;
+		}
+		synchronized ( this ) {
+			if ( initializer == null ) {
+				initializer = queryLoaderName == null ?
+						createCollectionInitializer( LoadQueryInfluencers.NONE ) :
+						new NamedQueryCollectionInitializer( queryLoaderName, this );
+			}
+		}
 	}
 
 	protected void logStaticSQL() {
@@ -696,14 +718,14 @@ public abstract class AbstractCollectionPersister
 		if ( queryLoaderName != null ) {
 			// if there is a user-specified loader, return that
 			// TODO: filters!?
-			return initializer;
+			return getInitializer();
 		}
 		CollectionInitializer subselectInitializer = getSubselectInitializer( key, session );
 		if ( subselectInitializer != null ) {
 			return subselectInitializer;
 		}
 		else if ( session.getEnabledFilters().isEmpty() ) {
-			return initializer;
+			return getInitializer();
 		}
 		else {
 			return createCollectionInitializer( session.getLoadQueryInfluencers() );
@@ -2061,6 +2083,7 @@ public abstract class AbstractCollectionPersister
 	 * @return The default collection initializer for this persister/collection.
 	 */
 	public CollectionInitializer getInitializer() {
+		initializeLoaders();
 		return initializer;
 	}
 
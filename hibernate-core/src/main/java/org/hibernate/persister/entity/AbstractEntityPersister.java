@@ -56,6 +56,7 @@ import org.hibernate.bytecode.spi.EntityInstrumentationMetadata;
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntry;
 import org.hibernate.cache.spi.entry.CacheEntryStructure;
 import org.hibernate.cache.spi.entry.ReferenceCacheEntryImpl;
@@ -68,7 +69,7 @@ import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.DefaultEntityEntryFactory;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.internal.Versioning;
-import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.internal.EntityBatchKey;
 import org.hibernate.engine.spi.CachedNaturalIdValueSource;
 import org.hibernate.engine.spi.CascadeStyle;
 import org.hibernate.engine.spi.CascadingActions;
@@ -234,6 +235,7 @@ public abstract class AbstractEntityPersister
 	private final Map uniqueKeyLoaders = new HashMap();
 	private final Map lockers = new HashMap();
 	private final Map loaders = new HashMap();
+	private volatile boolean loadersInitialized;
 
 	// SQL strings
 	private String sqlVersionSelectString;
@@ -799,8 +801,11 @@ public abstract class AbstractEntityPersister
 			return new ReferenceCacheEntryHelper( this );
 		}
 
-		return factory.getSettings().isStructuredCacheEntriesEnabled()
-				? new StructuredCacheEntryHelper( this )
+		if ( factory.getSettings().isStructuredCacheEntriesEnabled() ) {
+			return new StructuredCacheEntryHelper( this );
+		}
+		return factory.getSettings().isBinaryCacheEntriesEnabled()
+				? new BinaryCacheEntryHelper( this )
 				: new StandardCacheEntryHelper( this );
 	}
 
@@ -1981,6 +1986,7 @@ public abstract class AbstractEntityPersister
 				&& propertyName.indexOf('.')<0; //ugly little workaround for fact that createUniqueKeyLoaders() does not handle component properties
 
 		if ( useStaticLoader ) {
+			initializeLoaders();
 			return ( EntityLoader ) uniqueKeyLoaders.get( propertyName );
 		}
 		else {
@@ -2642,7 +2648,7 @@ public abstract class AbstractEntityPersister
 			.toStatementString();
 	}
 
-	private BasicBatchKey inserBatchKey;
+	private EntityBatchKey inserBatchKey;
 
 	/**
 	 * Perform an SQL INSERT.
@@ -2681,8 +2687,9 @@ public abstract class AbstractEntityPersister
 		// nor can we batch statements where the expectation is based on an output param
 		final boolean useBatch = j == 0 && expectation.canBeBatched();
 		if ( useBatch && inserBatchKey == null ) {
-			inserBatchKey = new BasicBatchKey(
-					getEntityName() + "#INSERT",
+			inserBatchKey = new EntityBatchKey(
+					this,
+					EntityBatchKey.Operation.INSERT,
 					expectation
 			);
 		}
@@ -2787,7 +2794,7 @@ public abstract class AbstractEntityPersister
 
 	}
 
-	private BasicBatchKey updateBatchKey;
+	private EntityBatchKey updateBatchKey;
 
 	protected boolean update(
 			final Serializable id,
@@ -2804,8 +2811,9 @@ public abstract class AbstractEntityPersister
 		final Expectation expectation = Expectations.appropriateExpectation( updateResultCheckStyles[j] );
 		final boolean useBatch = j == 0 && expectation.canBeBatched() && isBatchable(); //note: updates to joined tables can't be batched...
 		if ( useBatch && updateBatchKey == null ) {
-			updateBatchKey = new BasicBatchKey(
-					getEntityName() + "#UPDATE",
+			updateBatchKey = new EntityBatchKey(
+					this,
+					EntityBatchKey.Operation.UPDATE,
 					expectation
 			);
 		}
@@ -2901,7 +2909,7 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
-	private BasicBatchKey deleteBatchKey;
+	private EntityBatchKey deleteBatchKey;
 
 	/**
 	 * Perform an SQL DELETE
@@ -2924,8 +2932,9 @@ public abstract class AbstractEntityPersister
 		final Expectation expectation = Expectations.appropriateExpectation( deleteResultCheckStyles[j] );
 		final boolean useBatch = j == 0 && isBatchable() && expectation.canBeBatched();
 		if ( useBatch && deleteBatchKey == null ) {
-			deleteBatchKey = new BasicBatchKey(
-					getEntityName() + "#DELETE",
+			deleteBatchKey = new EntityBatchKey(
+					this,
+					EntityBatchKey.Operation.DELETE,
 					expectation
 			);
 		}
@@ -3607,13 +3616,32 @@ public abstract class AbstractEntityPersister
 	public final void postInstantiate() throws MappingException {
 		doLateInit();
 
-		createLoaders();
-		createUniqueKeyLoaders();
+		if ( !getFactory().getSettings().isLazyPersisterInitializationEnabled() ) {
+			initializeLoaders();
+		}
 		createQueryLoader();
 
 		doPostInstantiate();
 	}
 
+	/**
+	 * Build the static loaders of this persister, unless already done.  This normally happens from
+	 * {@link #postInstantiate}; with {@link org.hibernate.cfg.AvailableSettings#LAZY_PERSISTER_INITIALIZATION} it is
+	 * deferred until the loaders are first needed.
+	 */
+	public final void initializeLoaders() {
+		if ( loadersInitialized ) {
+			return;
+		}
+		synchronized ( loaders ) {
+			if ( !loadersInitialized ) {
+				createLoaders();
+				createUniqueKeyLoaders();
+				loadersInitialized = true;
+			}
+		}
+	}
+
 	protected void doPostInstantiate() {
 	}
 
@@ -3757,6 +3785,7 @@ public abstract class AbstractEntityPersister
 			// Next, we consider whether an 'internal' fetch profile has been set.
 			// This indicates a special fetch profile Hibernate needs applied
 			// (for its merge loading process e.g.).
+			initializeLoaders();
 			return ( UniqueEntityLoader ) getLoaders().get( session.getLoadQueryInfluencers().getInternalFetchProfile() );
 		}
 		else if ( isAffectedByEnabledFetchProfiles( session ) ) {
@@ -3771,6 +3800,7 @@ public abstract class AbstractEntityPersister
 			return createEntityLoader( lockOptions, session.getLoadQueryInfluencers() );
 		}
 		else {
+			initializeLoaders();
 			return ( UniqueEntityLoader ) getLoaders().get( lockOptions.getLockMode() );
 		}
 	}
@@ -4898,6 +4928,31 @@ public abstract class AbstractEntityPersister
 		}
 	}
 
+	private static class BinaryCacheEntryHelper implements CacheEntryHelper {
+		private final EntityPersister persister;
+
+		private BinaryCacheEntryHelper(EntityPersister persister) {
+			this.persister = persister;
+		}
+
+		@Override
+		public CacheEntryStructure getCacheEntryStructure() {
+			return BinaryCacheEntry.INSTANCE;
+		}
+
+		@Override
+		public CacheEntry buildCacheEntry(Object entity, Object[] state, Object version, SessionImplementor session) {
+			return new StandardCacheEntryImpl(
+					state,
+					persister,
+					persister.hasUninitializedLazyProperties( entity ),
+					version,
+					session,
+					entity
+			);
+		}
+	}
+
 	private static class NoopCacheEntryHelper implements CacheEntryHelper {
 		public static final NoopCacheEntryHelper INSTANCE = new NoopCacheEntryHelper();
 
@@ -0,0 +1,64 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * The distribution of the durations of a timed operation, such as query executions or flushes.
+ * <p/>
+ * Durations are expressed in nanoseconds.  Percentiles are approximations, within about 3% of the recorded
+ * values.
+ */
+public interface LatencyStatistics extends Serializable {
+	/**
+	 * The number of recorded durations.
+	 *
+	 * @return The number of recorded durations
+	 */
+	public long getCount();
+
+	/**
+	 * The mean of the recorded durations.
+	 *
+	 * @return The mean duration, or 0 if nothing was recorded
+	 */
+	public long getMean();
+
+	/**
+	 * The longest recorded duration.
+	 *
+	 * @return The longest duration, or 0 if nothing was recorded
+	 */
+	public long getMax();
+
+	/**
+	 * The duration below which the given percentage of the recorded durations fall.
+	 *
+	 * @param percentile The percentile, between 0 and 100; for example 50 for the median or 99
+	 *
+	 * @return The duration at the given percentile, or 0 if nothing was recorded
+	 */
+	public long getPercentile(double percentile);
+}
@@ -0,0 +1,60 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * One of the slowest executions of a SQL statement, as kept by {@link SqlStatementTrackingStatistics#getSlowestSqlStatements()}.
+ */
+public interface SlowSqlStatement extends Serializable {
+	/**
+	 * The SQL of the statement, as it was executed.
+	 *
+	 * @return The SQL
+	 */
+	public String getSql();
+
+	/**
+	 * The values bound to the parameters of the statement; for a JDBC batch those of its last row.  Only values bound
+	 * through Hibernate basic types are known, the others are {@code null}.
+	 *
+	 * @return The parameter values, rendered for logging
+	 */
+	public String[] getParameters();
+
+	/**
+	 * The time spent in the JDBC driver executing the statement, in nanoseconds.
+	 *
+	 * @return The execution time
+	 */
+	public long getExecutionTime();
+
+	/**
+	 * When the statement was executed.
+	 *
+	 * @return The time of the execution, in milliseconds since the epoch
+	 */
+	public long getTimestamp();
+}
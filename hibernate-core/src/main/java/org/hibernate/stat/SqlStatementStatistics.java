@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+import java.io.Serializable;
+
+/**
+ * Statistics of the executions of a SQL statement.
+ * <p/>
+ * Statements are grouped by their normalized SQL: whitespace is collapsed, literals are replaced by parameter
+ * markers and lists of parameter markers, such as those of batch loading, are collapsed.  Times are expressed in
+ * nanoseconds.
+ */
+public interface SqlStatementStatistics extends Serializable {
+	/**
+	 * The normalized SQL of the statement.
+	 *
+	 * @return The SQL
+	 */
+	public String getSql();
+
+	/**
+	 * The number of executions of the statement, counting an execution of a JDBC batch as one.
+	 *
+	 * @return The number of executions
+	 */
+	public long getExecutionCount();
+
+	/**
+	 * The number of rows affected by the statement or, for queries, read from its results by Hibernate.
+	 *
+	 * @return The number of rows
+	 */
+	public long getRowCount();
+
+	/**
+	 * The time spent in the JDBC driver executing the statement.
+	 *
+	 * @return The total execution time
+	 */
+	public long getExecutionTotalTime();
+
+	/**
+	 * The average time of an execution of the statement.
+	 *
+	 * @return The average execution time
+	 */
+	public long getExecutionAvgTime();
+
+	/**
+	 * The longest execution of the statement.
+	 *
+	 * @return The longest execution time
+	 */
+	public long getExecutionMaxTime();
+
+	/**
+	 * The time spent reading the results of the statement, from the end of its execution until its release.
+	 *
+	 * @return The total fetch time
+	 */
+	public long getFetchTotalTime();
+}
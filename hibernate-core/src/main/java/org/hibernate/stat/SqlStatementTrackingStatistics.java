@@ -0,0 +1,46 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat;
+
+/**
+ * Optional contract for {@link Statistics} implementations which also collect statistics per executed SQL statement.
+ * The default implementation does; check for this contract before using it.
+ */
+public interface SqlStatementTrackingStatistics extends Statistics {
+	/**
+	 * Get the normalized SQL of the statements executed since statistics were enabled or cleared; bounded to the
+	 * most recently executed ones.
+	 */
+	public String[] getSqlStatements();
+	/**
+	 * Get the statistics of a SQL statement
+	 *
+	 * @param sql The SQL, normalized or not
+	 */
+	public SqlStatementStatistics getSqlStatementStatistics(String sql);
+	/**
+	 * Get the slowest SQL statement executions, slowest first, along with their parameter values
+	 */
+	public SlowSqlStatement[] getSlowestSqlStatements();
+}
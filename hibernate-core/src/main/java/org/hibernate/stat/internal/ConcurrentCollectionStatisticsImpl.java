@@ -23,7 +23,6 @@
  */
 package org.hibernate.stat.internal;
 
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.stat.CollectionStatistics;
 
@@ -37,30 +36,30 @@ public class ConcurrentCollectionStatisticsImpl extends CategorizedStatistics im
 		super(role);
 	}
 
-	private	AtomicLong loadCount	 = new AtomicLong();
-	private	AtomicLong fetchCount	 = new AtomicLong();
-	private	AtomicLong updateCount	 = new AtomicLong();
-	private	AtomicLong removeCount	 = new AtomicLong();
-	private	AtomicLong recreateCount = new AtomicLong();
+	private	StripedCounter loadCount	 = new StripedCounter();
+	private	StripedCounter fetchCount	 = new StripedCounter();
+	private	StripedCounter updateCount	 = new StripedCounter();
+	private	StripedCounter removeCount	 = new StripedCounter();
+	private	StripedCounter recreateCount = new StripedCounter();
 
 	public long getLoadCount() {
-		return loadCount.get();
+		return loadCount.sum();
 	}
 
 	public long getFetchCount() {
-		return fetchCount.get();
+		return fetchCount.sum();
 	}
 
 	public long getRecreateCount() {
-		return recreateCount.get();
+		return recreateCount.sum();
 	}
 
 	public long getRemoveCount() {
-		return removeCount.get();
+		return removeCount.sum();
 	}
 
 	public long getUpdateCount() {
-		return updateCount.get();
+		return updateCount.sum();
 	}
 
 	public String toString() {
@@ -76,22 +75,22 @@ public class ConcurrentCollectionStatisticsImpl extends CategorizedStatistics im
 	}
 
 	void incrementLoadCount() {
-		loadCount.getAndIncrement();
+		loadCount.increment();
 	}
 
 	void incrementFetchCount() {
-		fetchCount.getAndIncrement();
+		fetchCount.increment();
 	}
 
 	void incrementUpdateCount() {
-		updateCount.getAndIncrement();
+		updateCount.increment();
 	}
 
 	void incrementRecreateCount() {
-		recreateCount.getAndIncrement();
+		recreateCount.increment();
 	}
 
 	void incrementRemoveCount() {
-		removeCount.getAndIncrement();
+		removeCount.increment();
 	}
 }
@@ -23,7 +23,6 @@
  */
 package org.hibernate.stat.internal;
 
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.stat.EntityStatistics;
 
@@ -38,35 +37,35 @@ public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implem
 		super(name);
 	}
 
-	private	AtomicLong loadCount			  =	new	AtomicLong();
-	private	AtomicLong updateCount			  =	new	AtomicLong();
-	private	AtomicLong insertCount			  =	new	AtomicLong();
-	private	AtomicLong deleteCount			  =	new	AtomicLong();
-	private	AtomicLong fetchCount			  =	new	AtomicLong();
-	private	AtomicLong optimisticFailureCount =	new	AtomicLong();
+	private	StripedCounter loadCount			  =	new	StripedCounter();
+	private	StripedCounter updateCount			  =	new	StripedCounter();
+	private	StripedCounter insertCount			  =	new	StripedCounter();
+	private	StripedCounter deleteCount			  =	new	StripedCounter();
+	private	StripedCounter fetchCount			  =	new	StripedCounter();
+	private	StripedCounter optimisticFailureCount =	new	StripedCounter();
 
 	public long getDeleteCount() {
-		return deleteCount.get();
+		return deleteCount.sum();
 	}
 
 	public long getInsertCount() {
-		return insertCount.get();
+		return insertCount.sum();
 	}
 
 	public long getLoadCount() {
-		return loadCount.get();
+		return loadCount.sum();
 	}
 
 	public long getUpdateCount() {
-		return updateCount.get();
+		return updateCount.sum();
 	}
 
 	public long getFetchCount() {
-		return fetchCount.get();
+		return fetchCount.sum();
 	}
 
 	public long getOptimisticFailureCount() {
-		return optimisticFailureCount.get();
+		return optimisticFailureCount.sum();
 	}
 
 	public String toString() {
@@ -83,26 +82,26 @@ public class ConcurrentEntityStatisticsImpl extends CategorizedStatistics implem
 	}
 
 	void incrementLoadCount() {
-		loadCount.getAndIncrement();
+		loadCount.increment();
 	}
 
 	void incrementFetchCount() {
-		fetchCount.getAndIncrement();
+		fetchCount.increment();
 	}
 
 	void incrementUpdateCount() {
-		updateCount.getAndIncrement();
+		updateCount.increment();
 	}
 
 	void incrementInsertCount() {
-		insertCount.getAndIncrement();
+		insertCount.increment();
 	}
 
 	void incrementDeleteCount() {
-		deleteCount.getAndIncrement();
+		deleteCount.increment();
 	}
 
 	void incrementOptimisticFailureCount() {
-		optimisticFailureCount.getAndIncrement();
+		optimisticFailureCount.increment();
 	}
 }
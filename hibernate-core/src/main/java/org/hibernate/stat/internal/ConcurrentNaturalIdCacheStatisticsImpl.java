@@ -43,13 +43,13 @@ import org.hibernate.stat.NaturalIdCacheStatistics;
 public class ConcurrentNaturalIdCacheStatisticsImpl extends CategorizedStatistics implements NaturalIdCacheStatistics {
 	private static final long serialVersionUID = 1L;
 	private final transient Region region;
-	private final AtomicLong hitCount = new AtomicLong();
-	private final AtomicLong missCount = new AtomicLong();
-	private final AtomicLong putCount = new AtomicLong();
-	private final AtomicLong executionCount = new AtomicLong();
+	private final StripedCounter hitCount = new StripedCounter();
+	private final StripedCounter missCount = new StripedCounter();
+	private final StripedCounter putCount = new StripedCounter();
+	private final StripedCounter executionCount = new StripedCounter();
 	private final AtomicLong executionMaxTime = new AtomicLong();
 	private final AtomicLong executionMinTime = new AtomicLong( Long.MAX_VALUE );
-	private final AtomicLong totalExecutionTime = new AtomicLong();
+	private final StripedCounter totalExecutionTime = new StripedCounter();
 
 	private final Lock readLock;
 	private final Lock writeLock;
@@ -66,17 +66,17 @@ public class ConcurrentNaturalIdCacheStatisticsImpl extends CategorizedStatistic
 
 	@Override
 	public long getHitCount() {
-		return this.hitCount.get();
+		return this.hitCount.sum();
 	}
 
 	@Override
 	public long getMissCount() {
-		return this.missCount.get();
+		return this.missCount.sum();
 	}
 
 	@Override
 	public long getPutCount() {
-		return this.putCount.get();
+		return this.putCount.sum();
 	}
 
 	/**
@@ -84,7 +84,7 @@ public class ConcurrentNaturalIdCacheStatisticsImpl extends CategorizedStatistic
 	 */
 	@Override
 	public long getExecutionCount() {
-		return this.executionCount.get();
+		return this.executionCount.sum();
 	}
 
 	/**
@@ -98,8 +98,8 @@ public class ConcurrentNaturalIdCacheStatisticsImpl extends CategorizedStatistic
 		this.writeLock.lock();
 		try {
 			long avgExecutionTime = 0;
-			if ( this.executionCount.get() > 0 ) {
-				avgExecutionTime = this.totalExecutionTime.get() / this.executionCount.get();
+			if ( this.executionCount.sum() > 0 ) {
+				avgExecutionTime = this.totalExecutionTime.sum() / this.executionCount.sum();
 			}
 			return avgExecutionTime;
 		}
@@ -172,15 +172,15 @@ public class ConcurrentNaturalIdCacheStatisticsImpl extends CategorizedStatistic
 	}
 
 	void incrementHitCount() {
-		this.hitCount.getAndIncrement();
+		this.hitCount.increment();
 	}
 
 	void incrementMissCount() {
-		this.missCount.getAndIncrement();
+		this.missCount.increment();
 	}
 
 	void incrementPutCount() {
-		this.putCount.getAndIncrement();
+		this.putCount.increment();
 	}
 
 	void queryExecuted(long time) {
@@ -191,8 +191,8 @@ public class ConcurrentNaturalIdCacheStatisticsImpl extends CategorizedStatistic
 			// Less chances for a context switch
 			for ( long old = this.executionMinTime.get(); time < old && !this.executionMinTime.compareAndSet( old, time ); old = this.executionMinTime.get() ) {;}
 			for ( long old = this.executionMaxTime.get(); time > old && !this.executionMaxTime.compareAndSet( old, time ); old = this.executionMaxTime.get() ) {;}
-			this.executionCount.getAndIncrement();
-			this.totalExecutionTime.addAndGet( time );
+			this.executionCount.increment();
+			this.totalExecutionTime.add( time );
 		}
 		finally {
 			this.readLock.unlock();
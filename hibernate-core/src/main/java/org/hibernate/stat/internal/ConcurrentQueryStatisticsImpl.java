@@ -24,9 +24,6 @@
 package org.hibernate.stat.internal;
 
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.hibernate.stat.QueryStatistics;
 
@@ -37,24 +34,16 @@ import org.hibernate.stat.QueryStatistics;
  *
  * @author Alex Snaps
  */
-public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics implements QueryStatistics {
-	private final AtomicLong cacheHitCount = new AtomicLong();
-	private final AtomicLong cacheMissCount = new AtomicLong();
-	private final AtomicLong cachePutCount = new AtomicLong();
-	private final AtomicLong executionCount = new AtomicLong();
-	private final AtomicLong executionRowCount = new AtomicLong();
+public class ConcurrentQueryStatisticsImpl extends RecentlyAccessedStatistics implements QueryStatistics {
+	private final StripedCounter cacheHitCount = new StripedCounter();
+	private final StripedCounter cacheMissCount = new StripedCounter();
+	private final StripedCounter cachePutCount = new StripedCounter();
+	private final StripedCounter executionCount = new StripedCounter();
+	private final StripedCounter executionRowCount = new StripedCounter();
 	private final AtomicLong executionMaxTime = new AtomicLong();
 	private final AtomicLong executionMinTime = new AtomicLong(Long.MAX_VALUE);
-	private final AtomicLong totalExecutionTime = new AtomicLong();
+	private final StripedCounter totalExecutionTime = new StripedCounter();
 
-	private final Lock readLock;
-	private final Lock writeLock;
-
-	{
-		ReadWriteLock lock = new ReentrantReadWriteLock();
-		readLock = lock.readLock();
-		writeLock = lock.writeLock();
-	}
 
 	ConcurrentQueryStatisticsImpl(String query) {
 		super(query);
@@ -64,22 +53,22 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * queries executed to the DB
 	 */
 	public long getExecutionCount() {
-		return executionCount.get();
+		return executionCount.sum();
 	}
 
 	/**
 	 * Queries retrieved successfully from the cache
 	 */
 	public long getCacheHitCount() {
-		return cacheHitCount.get();
+		return cacheHitCount.sum();
 	}
 
 	public long getCachePutCount() {
-		return cachePutCount.get();
+		return cachePutCount.sum();
 	}
 
 	public long getCacheMissCount() {
-		return cacheMissCount.get();
+		return cacheMissCount.sum();
 	}
 
 	/**
@@ -92,26 +81,17 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 *         is not known at execution time.
 	 */
 	public long getExecutionRowCount() {
-		return executionRowCount.get();
+		return executionRowCount.sum();
 	}
 
 	/**
 	 * average time in ms taken by the excution of this query onto the DB
 	 */
 	public long getExecutionAvgTime() {
-		// We write lock here to be sure that we always calculate the average time
-		// with all updates from the executed applied: executionCount and totalExecutionTime
-		// both used in the calculation
-		writeLock.lock();
-		try {
-			long avgExecutionTime = 0;
-			if (executionCount.get() > 0) {
-				avgExecutionTime = totalExecutionTime.get() / executionCount.get();
-			}
-			return avgExecutionTime;
-		} finally {
-			writeLock.unlock();
-		}
+		// not guarded against concurrent executions: both sums are read without a lock so that executions
+		// do not contend on one, at the price of a possibly slightly skewed average
+		final long count = executionCount.sum();
+		return count > 0 ? totalExecutionTime.sum() / count : 0;
 	}
 
 	/**
@@ -135,19 +115,12 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	 * @param time time taken
 	 */
 	void executed(long rows, long time) {
-		// read lock is enough, concurrent updates are supported by the underlying type AtomicLong
-		// this only guards executed(long, long) to be called, when another thread is executing getExecutionAvgTime()
-		readLock.lock();
-		try {
-			// Less chances for a context switch
-			for (long old = executionMinTime.get(); (time < old) && !executionMinTime.compareAndSet(old, time); old = executionMinTime.get());
-			for (long old = executionMaxTime.get(); (time > old) && !executionMaxTime.compareAndSet(old, time); old = executionMaxTime.get());
-			executionCount.getAndIncrement();
-			executionRowCount.addAndGet(rows);
-			totalExecutionTime.addAndGet(time);
-		} finally {
-			readLock.unlock();
-		}
+		// Less chances for a context switch
+		for (long old = executionMinTime.get(); (time < old) && !executionMinTime.compareAndSet(old, time); old = executionMinTime.get());
+		for (long old = executionMaxTime.get(); (time > old) && !executionMaxTime.compareAndSet(old, time); old = executionMaxTime.get());
+		executionCount.increment();
+		executionRowCount.add(rows);
+		totalExecutionTime.add(time);
 	}
 
 	public String toString() {
@@ -166,14 +139,14 @@ public class ConcurrentQueryStatisticsImpl extends CategorizedStatistics impleme
 	}
 
 	void incrementCacheHitCount() {
-		cacheHitCount.getAndIncrement();
+		cacheHitCount.increment();
 	}
 
 	void incrementCacheMissCount() {
-		cacheMissCount.getAndIncrement();
+		cacheMissCount.increment();
 	}
 
 	void incrementCachePutCount() {
-		cachePutCount.getAndIncrement();
+		cachePutCount.increment();
 	}
 }
@@ -26,7 +26,6 @@ package org.hibernate.stat.internal;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import org.hibernate.cache.spi.CacheKey;
 import org.hibernate.cache.spi.Region;
@@ -39,9 +38,9 @@ import org.hibernate.stat.SecondLevelCacheStatistics;
  */
 public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatistics implements SecondLevelCacheStatistics {
 	private final transient Region region;
-	private AtomicLong hitCount = new AtomicLong();
-	private AtomicLong missCount = new AtomicLong();
-	private AtomicLong putCount = new AtomicLong();
+	private StripedCounter hitCount = new StripedCounter();
+	private StripedCounter missCount = new StripedCounter();
+	private StripedCounter putCount = new StripedCounter();
 
 	ConcurrentSecondLevelCacheStatisticsImpl(Region region) {
 		super( region.getName() );
@@ -49,15 +48,15 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	}
 
 	public long getHitCount() {
-		return hitCount.get();
+		return hitCount.sum();
 	}
 
 	public long getMissCount() {
-		return missCount.get();
+		return missCount.sum();
 	}
 
 	public long getPutCount() {
-		return putCount.get();
+		return putCount.sum();
 	}
 
 	public long getElementCountInMemory() {
@@ -99,14 +98,14 @@ public class ConcurrentSecondLevelCacheStatisticsImpl extends CategorizedStatist
 	}
 
 	void incrementHitCount() {
-		hitCount.getAndIncrement();
+		hitCount.increment();
 	}
 
 	void incrementMissCount() {
-		missCount.getAndIncrement();
+		missCount.increment();
 	}
 
 	void incrementPutCount() {
-		putCount.getAndIncrement();
+		putCount.increment();
 	}
 }
@@ -0,0 +1,175 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.hibernate.stat.SqlStatementStatistics;
+
+/**
+ * SQL statement statistics
+ */
+public class ConcurrentSqlStatementStatisticsImpl extends RecentlyAccessedStatistics implements SqlStatementStatistics {
+	private static final Pattern PARAMETER_LIST = Pattern.compile( "\\?(?:\\s*,\\s*\\?)+" );
+
+	private final StripedCounter executionCount = new StripedCounter();
+	private final StripedCounter rowCount = new StripedCounter();
+	private final StripedCounter executionTotalTime = new StripedCounter();
+	private final AtomicLong executionMaxTime = new AtomicLong();
+	private final StripedCounter fetchTotalTime = new StripedCounter();
+
+	ConcurrentSqlStatementStatisticsImpl(String sql) {
+		super( sql );
+	}
+
+	@Override
+	public String getSql() {
+		return getCategoryName();
+	}
+
+	@Override
+	public long getExecutionCount() {
+		return executionCount.sum();
+	}
+
+	@Override
+	public long getRowCount() {
+		return rowCount.sum();
+	}
+
+	@Override
+	public long getExecutionTotalTime() {
+		return executionTotalTime.sum();
+	}
+
+	@Override
+	public long getExecutionAvgTime() {
+		final long count = executionCount.sum();
+		return count > 0 ? executionTotalTime.sum() / count : 0;
+	}
+
+	@Override
+	public long getExecutionMaxTime() {
+		return executionMaxTime.get();
+	}
+
+	@Override
+	public long getFetchTotalTime() {
+		return fetchTotalTime.sum();
+	}
+
+	void executed(long executionTime, long fetchTime, long rows) {
+		for ( long old = executionMaxTime.get();
+				executionTime > old && !executionMaxTime.compareAndSet( old, executionTime );
+				old = executionMaxTime.get() ) {
+			// nothing to do here given the odd loop structure...
+		}
+		executionCount.increment();
+		rowCount.add( rows );
+		executionTotalTime.add( executionTime );
+		fetchTotalTime.add( fetchTime );
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()
+				.append( "SqlStatementStatistics" )
+				.append( "[sql=" ).append( getSql() )
+				.append( ",executionCount=" ).append( executionCount )
+				.append( ",rowCount=" ).append( rowCount )
+				.append( ",executionAvgTime=" ).append( getExecutionAvgTime() )
+				.append( ",executionMaxTime=" ).append( executionMaxTime )
+				.append( ",fetchTotalTime=" ).append( fetchTotalTime )
+				.append( ']' )
+				.toString();
+	}
+
+	/**
+	 * Normalize a SQL string, so that the executions of the same statement are grouped together: whitespace is
+	 * collapsed, string and numeric literals are replaced by parameter markers and lists of parameter markers are
+	 * collapsed into one.  Normalizing normalized SQL leaves it unchanged.
+	 *
+	 * @param sql The SQL to normalize
+	 *
+	 * @return The normalized SQL
+	 */
+	public static String normalize(String sql) {
+		final StringBuilder normalized = new StringBuilder( sql.length() );
+		final int length = sql.length();
+		int i = 0;
+		while ( i < length ) {
+			final char c = sql.charAt( i );
+			if ( Character.isWhitespace( c ) ) {
+				while ( i < length && Character.isWhitespace( sql.charAt( i ) ) ) {
+					i++;
+				}
+				if ( normalized.length() > 0 && i < length ) {
+					normalized.append( ' ' );
+				}
+			}
+			else if ( c == '\'' ) {
+				// string literal, with '' as escaped quote
+				i++;
+				while ( i < length ) {
+					if ( sql.charAt( i++ ) == '\'' ) {
+						if ( i < length && sql.charAt( i ) == '\'' ) {
+							i++;
+						}
+						else {
+							break;
+						}
+					}
+				}
+				normalized.append( '?' );
+			}
+			else if ( c == '"' ) {
+				// quoted identifier, kept as is
+				final int end = sql.indexOf( '"', i + 1 );
+				final int next = end < 0 ? length : end + 1;
+				normalized.append( sql, i, next );
+				i = next;
+			}
+			else if ( Character.isDigit( c ) && !isIdentifierPart( normalized ) ) {
+				while ( i < length && ( Character.isDigit( sql.charAt( i ) ) || sql.charAt( i ) == '.' ) ) {
+					i++;
+				}
+				normalized.append( '?' );
+			}
+			else {
+				normalized.append( c );
+				i++;
+			}
+		}
+		return PARAMETER_LIST.matcher( normalized ).replaceAll( "?, ..." );
+	}
+
+	private static boolean isIdentifierPart(StringBuilder normalized) {
+		if ( normalized.length() == 0 ) {
+			return false;
+		}
+		final char previous = normalized.charAt( normalized.length() - 1 );
+		return Character.isLetterOrDigit( previous ) || previous == '_' || previous == '$' || previous == '.';
+	}
+}
@@ -23,21 +23,38 @@
  */
 package org.hibernate.stat.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.hibernate.cache.spi.Region;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.jmx.SqlStatisticsMXBean;
 import org.hibernate.service.Service;
+import org.hibernate.service.spi.Manageable;
 import org.hibernate.stat.CollectionStatistics;
 import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.LatencyStatistics;
 import org.hibernate.stat.NaturalIdCacheStatistics;
 import org.hibernate.stat.QueryStatistics;
 import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.SlowSqlStatement;
+import org.hibernate.stat.SqlStatementStatistics;
+import org.hibernate.stat.spi.LatencyTrackingStatisticsImplementor;
+import org.hibernate.stat.spi.QueryPlanCacheTrackingStatisticsImplementor;
+import org.hibernate.stat.spi.SqlStatementTrackingStatisticsImplementor;
 import org.hibernate.stat.spi.StatisticsImplementor;
+import org.hibernate.type.Type;
 
 import org.jboss.logging.Logger;
 
@@ -47,59 +64,67 @@ import org.jboss.logging.Logger;
  * @author Alex Snaps
  */
 @SuppressWarnings({ "unchecked" })
-public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service {
+public class ConcurrentStatisticsImpl
+		implements StatisticsImplementor, LatencyTrackingStatisticsImplementor, SqlStatementTrackingStatisticsImplementor,
+		QueryPlanCacheTrackingStatisticsImplementor, Service, Manageable, SqlStatisticsMXBean {
 
     private static final CoreMessageLogger LOG = Logger.getMessageLogger(CoreMessageLogger.class, ConcurrentStatisticsImpl.class.getName());
 
+	private static final int DEFAULT_QUERY_STATISTICS_MAX_SIZE = 5000;
+	private static final int DEFAULT_SLOW_SQL_STATEMENTS_MAX_SIZE = 10;
+
 	private SessionFactoryImplementor sessionFactory;
 
 	private volatile boolean isStatisticsEnabled;
 	private volatile long startTime;
-	private AtomicLong sessionOpenCount = new AtomicLong();
-	private AtomicLong sessionCloseCount = new AtomicLong();
-	private AtomicLong flushCount = new AtomicLong();
-	private AtomicLong connectCount = new AtomicLong();
-
-	private AtomicLong prepareStatementCount = new AtomicLong();
-	private AtomicLong closeStatementCount = new AtomicLong();
-
-	private AtomicLong entityLoadCount = new AtomicLong();
-	private AtomicLong entityUpdateCount = new AtomicLong();
-	private AtomicLong entityInsertCount = new AtomicLong();
-	private AtomicLong entityDeleteCount = new AtomicLong();
-	private AtomicLong entityFetchCount = new AtomicLong();
-	private AtomicLong collectionLoadCount = new AtomicLong();
-	private AtomicLong collectionUpdateCount = new AtomicLong();
-	private AtomicLong collectionRemoveCount = new AtomicLong();
-	private AtomicLong collectionRecreateCount = new AtomicLong();
-	private AtomicLong collectionFetchCount = new AtomicLong();
-
-	private AtomicLong secondLevelCacheHitCount = new AtomicLong();
-	private AtomicLong secondLevelCacheMissCount = new AtomicLong();
-	private AtomicLong secondLevelCachePutCount = new AtomicLong();
+	private StripedCounter sessionOpenCount = new StripedCounter();
+	private StripedCounter sessionCloseCount = new StripedCounter();
+	private StripedCounter flushCount = new StripedCounter();
+	private StripedCounter connectCount = new StripedCounter();
+
+	private StripedCounter prepareStatementCount = new StripedCounter();
+	private StripedCounter closeStatementCount = new StripedCounter();
+
+	private StripedCounter entityLoadCount = new StripedCounter();
+	private StripedCounter entityUpdateCount = new StripedCounter();
+	private StripedCounter entityInsertCount = new StripedCounter();
+	private StripedCounter entityDeleteCount = new StripedCounter();
+	private StripedCounter entityFetchCount = new StripedCounter();
+	private StripedCounter collectionLoadCount = new StripedCounter();
+	private StripedCounter collectionUpdateCount = new StripedCounter();
+	private StripedCounter collectionRemoveCount = new StripedCounter();
+	private StripedCounter collectionRecreateCount = new StripedCounter();
+	private StripedCounter collectionFetchCount = new StripedCounter();
+
+	private StripedCounter secondLevelCacheHitCount = new StripedCounter();
+	private StripedCounter secondLevelCacheMissCount = new StripedCounter();
+	private StripedCounter secondLevelCachePutCount = new StripedCounter();
 	
-	private AtomicLong naturalIdCacheHitCount = new AtomicLong();
-	private AtomicLong naturalIdCacheMissCount = new AtomicLong();
-	private AtomicLong naturalIdCachePutCount = new AtomicLong();
-	private AtomicLong naturalIdQueryExecutionCount = new AtomicLong();
+	private StripedCounter naturalIdCacheHitCount = new StripedCounter();
+	private StripedCounter naturalIdCacheMissCount = new StripedCounter();
+	private StripedCounter naturalIdCachePutCount = new StripedCounter();
+	private StripedCounter naturalIdQueryExecutionCount = new StripedCounter();
 	private AtomicLong naturalIdQueryExecutionMaxTime = new AtomicLong();
 	private volatile String naturalIdQueryExecutionMaxTimeRegion;
 	
-	private AtomicLong queryExecutionCount = new AtomicLong();
+	private StripedCounter queryExecutionCount = new StripedCounter();
 	private AtomicLong queryExecutionMaxTime = new AtomicLong();
 	private volatile String queryExecutionMaxTimeQueryString;
-	private AtomicLong queryCacheHitCount = new AtomicLong();
-	private AtomicLong queryCacheMissCount = new AtomicLong();
-	private AtomicLong queryCachePutCount = new AtomicLong();
+	private StripedCounter queryCacheHitCount = new StripedCounter();
+	private StripedCounter queryCacheMissCount = new StripedCounter();
+	private StripedCounter queryCachePutCount = new StripedCounter();
+	private StripedCounter queryPlanCacheHitCount = new StripedCounter();
+	private StripedCounter queryPlanCacheMissCount = new StripedCounter();
+	private StripedCounter queryPlanCacheEvictionCount = new StripedCounter();
 
-	private AtomicLong updateTimestampsCacheHitCount = new AtomicLong();
-	private AtomicLong updateTimestampsCacheMissCount = new AtomicLong();
-	private AtomicLong updateTimestampsCachePutCount = new AtomicLong();
+	private StripedCounter updateTimestampsCacheHitCount = new StripedCounter();
+	private StripedCounter updateTimestampsCacheMissCount = new StripedCounter();
+	private StripedCounter updateTimestampsCachePutCount = new StripedCounter();
 
-	private AtomicLong committedTransactionCount = new AtomicLong();
-	private AtomicLong transactionCount = new AtomicLong();
+	private StripedCounter committedTransactionCount = new StripedCounter();
+	private StripedCounter transactionCount = new StripedCounter();
 
-	private AtomicLong optimisticFailureCount = new AtomicLong();
+	private StripedCounter optimisticFailureCount = new StripedCounter();
 
 	/**
 	 * natural id cache statistics per region
@@ -118,16 +143,58 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	private final ConcurrentMap collectionStatistics = new ConcurrentHashMap();
 	/**
-	 * entity statistics per query string (HQL or SQL)
+	 * entity statistics per query string (HQL or SQL), bounded to the most recently used queries
 	 */
 	private final ConcurrentMap queryStatistics = new ConcurrentHashMap();
+	private final int queryStatisticsMaxSize;
+	private final ReentrantLock queryStatisticsEvictionLock = new ReentrantLock();
+	/**
+	 * SQL statement statistics per normalized SQL, bounded like the query statistics
+	 */
+	private final ConcurrentMap sqlStatementStatistics = new ConcurrentHashMap();
+	private final ReentrantLock sqlStatementStatisticsEvictionLock = new ReentrantLock();
+	/**
+	 * logical clock of the query and SQL statement statistics accesses, only advanced when statistics are created so
+	 * that recording an access neither reads the system clock nor, most of the time, writes anything
+	 */
+	private final AtomicLong accessTicks = new AtomicLong();
+	/**
+	 * normalized SQL per SQL as executed
+	 */
+	private final ConcurrentMap<String, String> normalizedSql = new ConcurrentHashMap<String, String>();
+	/**
+	 * the slowest SQL statement executions, slowest first; guarded by its own monitor
+	 */
+	private final List<SlowSqlStatementImpl> slowSqlStatements = new ArrayList<SlowSqlStatementImpl>();
+	private final int slowSqlStatementsMaxSize;
+	/**
+	 * executions which are not slower than this can not make it into the slowest ones
+	 */
+	private volatile long slowSqlStatementThreshold;
+
+	private final LatencyHistogram queryExecutionLatency = new LatencyHistogram();
+	private final LatencyHistogram entityLoadLatency = new LatencyHistogram();
+	private final LatencyHistogram flushLatency = new LatencyHistogram();
+	private final LatencyHistogram statementExecutionLatency = new LatencyHistogram();
 
 	@SuppressWarnings({ "UnusedDeclaration" })
 	public ConcurrentStatisticsImpl() {
+		this.queryStatisticsMaxSize = DEFAULT_QUERY_STATISTICS_MAX_SIZE;
+		this.slowSqlStatementsMaxSize = DEFAULT_SLOW_SQL_STATEMENTS_MAX_SIZE;
 		clear();
 	}
 
 	public ConcurrentStatisticsImpl(SessionFactoryImplementor sessionFactory) {
+		this.queryStatisticsMaxSize = ConfigurationHelper.getInt(
+				AvailableSettings.QUERY_STATISTICS_MAX_SIZE,
+				sessionFactory.getProperties(),
+				DEFAULT_QUERY_STATISTICS_MAX_SIZE
+		);
+		this.slowSqlStatementsMaxSize = ConfigurationHelper.getInt(
+				AvailableSettings.SLOW_SQL_STATEMENTS_MAX_SIZE,
+				sessionFactory.getProperties(),
+				DEFAULT_SLOW_SQL_STATEMENTS_MAX_SIZE
+		);
 		clear();
 		this.sessionFactory = sessionFactory;
 	}
@@ -136,85 +203,99 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 * reset all statistics
 	 */
 	public void clear() {
-		secondLevelCacheHitCount.set( 0 );
-		secondLevelCacheMissCount.set( 0 );
-		secondLevelCachePutCount.set( 0 );
+		secondLevelCacheHitCount.reset();
+		secondLevelCacheMissCount.reset();
+		secondLevelCachePutCount.reset();
 		
-		naturalIdCacheHitCount.set( 0 );
-		naturalIdCacheMissCount.set( 0 );
-		naturalIdCachePutCount.set( 0 );
-		naturalIdQueryExecutionCount.set( 0 );
+		naturalIdCacheHitCount.reset();
+		naturalIdCacheMissCount.reset();
+		naturalIdCachePutCount.reset();
+		naturalIdQueryExecutionCount.reset();
 		naturalIdQueryExecutionMaxTime.set( 0 );
 		naturalIdQueryExecutionMaxTimeRegion = null;
 
-		sessionCloseCount.set( 0 );
-		sessionOpenCount.set( 0 );
-		flushCount.set( 0 );
-		connectCount.set( 0 );
+		sessionCloseCount.reset();
+		sessionOpenCount.reset();
+		flushCount.reset();
+		connectCount.reset();
 
-		prepareStatementCount.set( 0 );
-		closeStatementCount.set( 0 );
+		prepareStatementCount.reset();
+		closeStatementCount.reset();
 
-		entityDeleteCount.set( 0 );
-		entityInsertCount.set( 0 );
-		entityUpdateCount.set( 0 );
-		entityLoadCount.set( 0 );
-		entityFetchCount.set( 0 );
+		entityDeleteCount.reset();
+		entityInsertCount.reset();
+		entityUpdateCount.reset();
+		entityLoadCount.reset();
+		entityFetchCount.reset();
 
-		collectionRemoveCount.set( 0 );
-		collectionUpdateCount.set( 0 );
-		collectionRecreateCount.set( 0 );
-		collectionLoadCount.set( 0 );
-		collectionFetchCount.set( 0 );
+		collectionRemoveCount.reset();
+		collectionUpdateCount.reset();
+		collectionRecreateCount.reset();
+		collectionLoadCount.reset();
+		collectionFetchCount.reset();
 
-		queryExecutionCount.set( 0 );
-		queryCacheHitCount.set( 0 );
+		queryExecutionCount.reset();
+		queryCacheHitCount.reset();
 		queryExecutionMaxTime.set( 0 );
 		queryExecutionMaxTimeQueryString = null;
-		queryCacheMissCount.set( 0 );
-		queryCachePutCount.set( 0 );
+		queryCacheMissCount.reset();
+		queryCachePutCount.reset();
+		queryPlanCacheHitCount.reset();
+		queryPlanCacheMissCount.reset();
+		queryPlanCacheEvictionCount.reset();
 
-		updateTimestampsCacheMissCount.set( 0 );
-		updateTimestampsCacheHitCount.set( 0 );
-		updateTimestampsCachePutCount.set( 0 );
+		updateTimestampsCacheMissCount.reset();
+		updateTimestampsCacheHitCount.reset();
+		updateTimestampsCachePutCount.reset();
 
-		transactionCount.set( 0 );
-		committedTransactionCount.set( 0 );
+		transactionCount.reset();
+		committedTransactionCount.reset();
 
-		optimisticFailureCount.set( 0 );
+		optimisticFailureCount.reset();
 
 		secondLevelCacheStatistics.clear();
 		entityStatistics.clear();
 		collectionStatistics.clear();
 		queryStatistics.clear();
+		sqlStatementStatistics.clear();
+		normalizedSql.clear();
+		synchronized ( slowSqlStatements ) {
+			slowSqlStatements.clear();
+			slowSqlStatementThreshold = slowSqlStatementsMaxSize > 0 ? -1 : Long.MAX_VALUE;
+		}
 		naturalIdCacheStatistics.clear();
 
+		queryExecutionLatency.reset();
+		entityLoadLatency.reset();
+		flushLatency.reset();
+		statementExecutionLatency.reset();
+
 		startTime = System.currentTimeMillis();
 	}
 
 	public void openSession() {
-		sessionOpenCount.getAndIncrement();
+		sessionOpenCount.increment();
 	}
 
 	public void closeSession() {
-		sessionCloseCount.getAndIncrement();
+		sessionCloseCount.increment();
 	}
 
 	public void flush() {
-		flushCount.getAndIncrement();
+		flushCount.increment();
 	}
 
 	public void connect() {
-		connectCount.getAndIncrement();
+		connectCount.increment();
 	}
 
 	public void loadEntity(String entityName) {
-		entityLoadCount.getAndIncrement();
+		entityLoadCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementLoadCount();
 	}
 
 	public void fetchEntity(String entityName) {
-		entityFetchCount.getAndIncrement();
+		entityFetchCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementFetchCount();
 	}
 
@@ -240,19 +321,19 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void updateEntity(String entityName) {
-		entityUpdateCount.getAndIncrement();
+		entityUpdateCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementUpdateCount();
 	}
 
 	public void insertEntity(String entityName) {
-		entityInsertCount.getAndIncrement();
+		entityInsertCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementInsertCount();
 	}
 
 	public void deleteEntity(String entityName) {
-		entityDeleteCount.getAndIncrement();
+		entityDeleteCount.increment();
 		ConcurrentEntityStatisticsImpl es = (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName );
 		es.incrementDeleteCount();
 	}
@@ -279,27 +360,27 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void loadCollection(String role) {
-		collectionLoadCount.getAndIncrement();
+		collectionLoadCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementLoadCount();
 	}
 
 	public void fetchCollection(String role) {
-		collectionFetchCount.getAndIncrement();
+		collectionFetchCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementFetchCount();
 	}
 
 	public void updateCollection(String role) {
-		collectionUpdateCount.getAndIncrement();
+		collectionUpdateCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementUpdateCount();
 	}
 
 	public void recreateCollection(String role) {
-		collectionRecreateCount.getAndIncrement();
+		collectionRecreateCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementRecreateCount();
 	}
 
 	public void removeCollection(String role) {
-		collectionRemoveCount.getAndIncrement();
+		collectionRemoveCount.increment();
 		( (ConcurrentCollectionStatisticsImpl) getCollectionStatistics( role ) ).incrementRemoveCount();
 	}
 	
@@ -358,41 +439,41 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 
 	public void secondLevelCachePut(String regionName) {
-		secondLevelCachePutCount.getAndIncrement();
+		secondLevelCachePutCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementPutCount();
 	}
 
 	public void secondLevelCacheHit(String regionName) {
-		secondLevelCacheHitCount.getAndIncrement();
+		secondLevelCacheHitCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementHitCount();
 	}
 
 	public void secondLevelCacheMiss(String regionName) {
-		secondLevelCacheMissCount.getAndIncrement();
+		secondLevelCacheMissCount.increment();
 		( (ConcurrentSecondLevelCacheStatisticsImpl) getSecondLevelCacheStatistics( regionName ) ).incrementMissCount();
 	}
 	
 	@Override
 	public void naturalIdCachePut(String regionName) {
-		naturalIdCachePutCount.getAndIncrement();
+		naturalIdCachePutCount.increment();
 		( (ConcurrentNaturalIdCacheStatisticsImpl) getNaturalIdCacheStatistics( regionName ) ).incrementPutCount();
 	}
 
 	@Override
 	public void naturalIdCacheHit(String regionName) {
-		naturalIdCacheHitCount.getAndIncrement();
+		naturalIdCacheHitCount.increment();
 		( (ConcurrentNaturalIdCacheStatisticsImpl) getNaturalIdCacheStatistics( regionName ) ).incrementHitCount();
 	}
 
 	@Override
 	public void naturalIdCacheMiss(String regionName) {
-		naturalIdCacheMissCount.getAndIncrement();
+		naturalIdCacheMissCount.increment();
 		( (ConcurrentNaturalIdCacheStatisticsImpl) getNaturalIdCacheStatistics( regionName ) ).incrementMissCount();
 	}
 	
 	@Override
 	public void naturalIdQueryExecuted(String regionName, long time) {
-		naturalIdQueryExecutionCount.getAndIncrement();
+		naturalIdQueryExecutionCount.increment();
 		boolean isLongestQuery = false;
 		for ( long old = naturalIdQueryExecutionMaxTime.get();
 			  ( isLongestQuery = time > old ) && ( !naturalIdQueryExecutionMaxTime.compareAndSet( old, time ) );
@@ -410,7 +491,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	@Override
 	public void queryExecuted(String hql, int rows, long time) {
         LOG.hql(hql, time, (long) rows );
-		queryExecutionCount.getAndIncrement();
+		queryExecutionCount.increment();
 		boolean isLongestQuery = false;
 		for ( long old = queryExecutionMaxTime.get();
 			  ( isLongestQuery = time > old ) && ( !queryExecutionMaxTime.compareAndSet( old, time ) );
@@ -427,7 +508,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void queryCacheHit(String hql, String regionName) {
-		queryCacheHitCount.getAndIncrement();
+		queryCacheHitCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCacheHitCount();
@@ -439,7 +520,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void queryCacheMiss(String hql, String regionName) {
-		queryCacheMissCount.getAndIncrement();
+		queryCacheMissCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCacheMissCount();
@@ -450,8 +531,20 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 		slcs.incrementMissCount();
 	}
 	@Override
+	public void queryPlanCacheHit(String query) {
+		queryPlanCacheHitCount.increment();
+	}
+	@Override
+	public void queryPlanCacheMiss(String query) {
+		queryPlanCacheMissCount.increment();
+	}
+	@Override
+	public void queryPlanCacheEviction(int count) {
+		queryPlanCacheEvictionCount.add( count );
+	}
+	@Override
 	public void queryCachePut(String hql, String regionName) {
-		queryCachePutCount.getAndIncrement();
+		queryCachePutCount.increment();
 		if ( hql != null ) {
 			ConcurrentQueryStatisticsImpl qs = (ConcurrentQueryStatisticsImpl) getQueryStatistics( hql );
 			qs.incrementCachePutCount();
@@ -464,17 +557,17 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 
 	@Override
 	public void updateTimestampsCacheHit() {
-		updateTimestampsCacheHitCount.getAndIncrement();
+		updateTimestampsCacheHitCount.increment();
 	}
 
 	@Override
 	public void updateTimestampsCacheMiss() {
-		updateTimestampsCacheMissCount.getAndIncrement();
+		updateTimestampsCacheMissCount.increment();
 	}
 
 	@Override
 	public void updateTimestampsCachePut() {
-		updateTimestampsCachePutCount.getAndIncrement();
+		updateTimestampsCachePutCount.increment();
 	}
 
 	/**
@@ -495,16 +588,246 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 			) ) != null ) {
 				qs = previous;
 			}
+			else {
+				accessTicks.incrementAndGet();
+				if ( queryStatistics.size() > queryStatisticsMaxSize ) {
+					evictLeastRecentlyUsed( queryStatistics, queryStatisticsEvictionLock );
+				}
+			}
 		}
+		qs.accessed( accessTicks.get() );
 		return qs;
 	}
 
+	/**
+	 * Discard the least recently used query or SQL statement statistics, going a tenth below the maximum size so
+	 * that evictions stay rare.
+	 */
+	private void evictLeastRecentlyUsed(ConcurrentMap statistics, ReentrantLock evictionLock) {
+		if ( !evictionLock.tryLock() ) {
+			// another thread is already evicting
+			return;
+		}
+		try {
+			final int excess = statistics.size() - queryStatisticsMaxSize;
+			if ( excess <= 0 ) {
+				return;
+			}
+			// snapshot the access times, they keep changing while we sort
+			final List<StatisticsAccess> accesses = new ArrayList<StatisticsAccess>( statistics.size() );
+			for ( Object entry : statistics.entrySet() ) {
+				final Map.Entry<String, RecentlyAccessedStatistics> statisticsEntry = (Map.Entry<String, RecentlyAccessedStatistics>) entry;
+				accesses.add( new StatisticsAccess( statisticsEntry.getKey(), statisticsEntry.getValue() ) );
+			}
+			Collections.sort( accesses, StatisticsAccess.LEAST_RECENT_FIRST );
+			final int evictions = Math.min( accesses.size(), excess + queryStatisticsMaxSize / 10 );
+			for ( int i = 0; i < evictions; i++ ) {
+				final StatisticsAccess access = accesses.get( i );
+				statistics.remove( access.name, access.statistics );
+			}
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private static class StatisticsAccess {
+		private static final Comparator<StatisticsAccess> LEAST_RECENT_FIRST = new Comparator<StatisticsAccess>() {
+			@Override
+			public int compare(StatisticsAccess first, StatisticsAccess second) {
+				return first.tick < second.tick ? -1 : ( first.tick == second.tick ? 0 : 1 );
+			}
+		};
+
+		private final String name;
+		private final RecentlyAccessedStatistics statistics;
+		private final long tick;
+
+		private StatisticsAccess(String name, RecentlyAccessedStatistics statistics) {
+			this.name = name;
+			this.statistics = statistics;
+			this.tick = statistics.getLastAccessTick();
+		}
+	}
+
+	/**
+	 * SQL statement statistics from SQL, normalized or not
+	 *
+	 * @param sql The SQL
+	 *
+	 * @return SqlStatementStatistics
+	 */
+	@Override
+	public SqlStatementStatistics getSqlStatementStatistics(String sql) {
+		final String normalized = normalize( sql );
+		ConcurrentSqlStatementStatisticsImpl ss = (ConcurrentSqlStatementStatisticsImpl) sqlStatementStatistics.get( normalized );
+		if ( ss == null ) {
+			ss = new ConcurrentSqlStatementStatisticsImpl( normalized );
+			final ConcurrentSqlStatementStatisticsImpl previous = (ConcurrentSqlStatementStatisticsImpl) sqlStatementStatistics.putIfAbsent(
+					normalized,
+					ss
+			);
+			if ( previous != null ) {
+				ss = previous;
+			}
+			else {
+				accessTicks.incrementAndGet();
+				if ( sqlStatementStatistics.size() > queryStatisticsMaxSize ) {
+					evictLeastRecentlyUsed( sqlStatementStatistics, sqlStatementStatisticsEvictionLock );
+				}
+			}
+		}
+		ss.accessed( accessTicks.get() );
+		return ss;
+	}
+
+	private String normalize(String sql) {
+		String normalized = normalizedSql.get( sql );
+		if ( normalized == null ) {
+			normalized = ConcurrentSqlStatementStatisticsImpl.normalize( sql );
+			if ( normalizedSql.size() >= queryStatisticsMaxSize ) {
+				// SQL with inlined values would otherwise make this grow without bounds
+				normalizedSql.clear();
+			}
+			normalizedSql.put( sql, normalized );
+		}
+		return normalized;
+	}
+
+	@Override
+	public void sqlStatementExecuted(
+			String sql,
+			long executionTime,
+			long fetchTime,
+			long rows,
+			Type[] parameterTypes,
+			Object[] parameterValues) {
+		( (ConcurrentSqlStatementStatisticsImpl) getSqlStatementStatistics( sql ) ).executed(
+				executionTime,
+				fetchTime,
+				rows
+		);
+		if ( executionTime > slowSqlStatementThreshold ) {
+			slowSqlStatementExecuted( sql, executionTime, parameterTypes, parameterValues );
+		}
+	}
+
+	private void slowSqlStatementExecuted(String sql, long executionTime, Type[] parameterTypes, Object[] parameterValues) {
+		// rendered outside of the lock, the threshold may have moved in the meantime
+		final SlowSqlStatementImpl slowStatement = new SlowSqlStatementImpl(
+				sql,
+				renderParameters( parameterTypes, parameterValues ),
+				executionTime,
+				System.currentTimeMillis()
+		);
+		synchronized ( slowSqlStatements ) {
+			if ( executionTime <= slowSqlStatementThreshold ) {
+				return;
+			}
+			int position = slowSqlStatements.size();
+			while ( position > 0 && slowSqlStatements.get( position - 1 ).getExecutionTime() < executionTime ) {
+				position--;
+			}
+			slowSqlStatements.add( position, slowStatement );
+			if ( slowSqlStatements.size() > slowSqlStatementsMaxSize ) {
+				slowSqlStatements.remove( slowSqlStatementsMaxSize );
+			}
+			if ( slowSqlStatements.size() == slowSqlStatementsMaxSize ) {
+				slowSqlStatementThreshold = slowSqlStatements.get( slowSqlStatementsMaxSize - 1 ).getExecutionTime();
+			}
+		}
+	}
+
+	private String[] renderParameters(Type[] parameterTypes, Object[] parameterValues) {
+		if ( parameterValues == null ) {
+			return ArrayHelper.EMPTY_STRING_ARRAY;
+		}
+		final String[] rendered = new String[parameterValues.length];
+		for ( int i = 0; i < parameterValues.length; i++ ) {
+			if ( parameterTypes[i] != null ) {
+				rendered[i] = parameterValues[i] == null
+						? "null"
+						: parameterTypes[i].toLoggableString( parameterValues[i], sessionFactory );
+			}
+		}
+		return rendered;
+	}
+
+	@Override
+	public String[] getSqlStatements() {
+		return ArrayHelper.toStringArray( sqlStatementStatistics.keySet() );
+	}
+
+	@Override
+	public SlowSqlStatement[] getSlowestSqlStatements() {
+		synchronized ( slowSqlStatements ) {
+			return slowSqlStatements.toArray( new SlowSqlStatement[slowSqlStatements.size()] );
+		}
+	}
+
+	@Override
+	public String getManagementDomain() {
+		// use Hibernate default domain
+		return null;
+	}
+
+	@Override
+	public String getManagementServiceType() {
+		// use Hibernate default scheme
+		return null;
+	}
+
+	@Override
+	public Object getManagementBean() {
+		return this;
+	}
+
+	@Override
+	public void queryExecutionTime(long nanoseconds) {
+		queryExecutionLatency.record( nanoseconds );
+	}
+
+	@Override
+	public void entityLoadTime(long nanoseconds) {
+		entityLoadLatency.record( nanoseconds );
+	}
+
+	@Override
+	public void flushTime(long nanoseconds) {
+		flushLatency.record( nanoseconds );
+	}
+
+	@Override
+	public void statementExecutionTime(long nanoseconds) {
+		statementExecutionLatency.record( nanoseconds );
+	}
+
+	@Override
+	public LatencyStatistics getQueryExecutionLatency() {
+		return queryExecutionLatency;
+	}
+
+	@Override
+	public LatencyStatistics getEntityLoadLatency() {
+		return entityLoadLatency;
+	}
+
+	@Override
+	public LatencyStatistics getFlushLatency() {
+		return flushLatency;
+	}
+
+	@Override
+	public LatencyStatistics getStatementExecutionLatency() {
+		return statementExecutionLatency;
+	}
+
 	/**
 	 * @return entity deletion count
 	 */
 	@Override
 	public long getEntityDeleteCount() {
-		return entityDeleteCount.get();
+		return entityDeleteCount.sum();
 	}
 
 	/**
@@ -512,7 +835,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityInsertCount() {
-		return entityInsertCount.get();
+		return entityInsertCount.sum();
 	}
 
 	/**
@@ -520,7 +843,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityLoadCount() {
-		return entityLoadCount.get();
+		return entityLoadCount.sum();
 	}
 
 	/**
@@ -528,7 +851,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityFetchCount() {
-		return entityFetchCount.get();
+		return entityFetchCount.sum();
 	}
 
 	/**
@@ -536,35 +859,47 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getEntityUpdateCount() {
-		return entityUpdateCount.get();
+		return entityUpdateCount.sum();
 	}
 	@Override
 	public long getQueryExecutionCount() {
-		return queryExecutionCount.get();
+		return queryExecutionCount.sum();
 	}
 	@Override
 	public long getQueryCacheHitCount() {
-		return queryCacheHitCount.get();
+		return queryCacheHitCount.sum();
 	}
 	@Override
 	public long getQueryCacheMissCount() {
-		return queryCacheMissCount.get();
+		return queryCacheMissCount.sum();
 	}
 	@Override
 	public long getQueryCachePutCount() {
-		return queryCachePutCount.get();
+		return queryCachePutCount.sum();
+	}
+	@Override
+	public long getQueryPlanCacheHitCount() {
+		return queryPlanCacheHitCount.sum();
+	}
+	@Override
+	public long getQueryPlanCacheMissCount() {
+		return queryPlanCacheMissCount.sum();
+	}
+	@Override
+	public long getQueryPlanCacheEvictionCount() {
+		return queryPlanCacheEvictionCount.sum();
 	}
 	@Override
 	public long getUpdateTimestampsCacheHitCount() {
-		return updateTimestampsCacheHitCount.get();
+		return updateTimestampsCacheHitCount.sum();
 	}
 	@Override
 	public long getUpdateTimestampsCacheMissCount() {
-		return updateTimestampsCacheMissCount.get();
+		return updateTimestampsCacheMissCount.sum();
 	}
 	@Override
 	public long getUpdateTimestampsCachePutCount() {
-		return updateTimestampsCachePutCount.get();
+		return updateTimestampsCachePutCount.sum();
 	}
 
 	/**
@@ -572,7 +907,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getFlushCount() {
-		return flushCount.get();
+		return flushCount.sum();
 	}
 
 	/**
@@ -580,7 +915,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getConnectCount() {
-		return connectCount.get();
+		return connectCount.sum();
 	}
 
 	/**
@@ -588,7 +923,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSecondLevelCacheHitCount() {
-		return secondLevelCacheHitCount.get();
+		return secondLevelCacheHitCount.sum();
 	}
 
 	/**
@@ -596,7 +931,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSecondLevelCacheMissCount() {
-		return secondLevelCacheMissCount.get();
+		return secondLevelCacheMissCount.sum();
 	}
 
 	/**
@@ -604,12 +939,12 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSecondLevelCachePutCount() {
-		return secondLevelCachePutCount.get();
+		return secondLevelCachePutCount.sum();
 	}
 
 	@Override
 	public long getNaturalIdQueryExecutionCount() {
-		return naturalIdQueryExecutionCount.get();
+		return naturalIdQueryExecutionCount.sum();
 	}
 
 	@Override
@@ -624,17 +959,17 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	
 	@Override
 	public long getNaturalIdCacheHitCount() {
-		return naturalIdCacheHitCount.get();
+		return naturalIdCacheHitCount.sum();
 	}
 
 	@Override
 	public long getNaturalIdCacheMissCount() {
-		return naturalIdCacheMissCount.get();
+		return naturalIdCacheMissCount.sum();
 	}
 
 	@Override
 	public long getNaturalIdCachePutCount() {
-		return naturalIdCachePutCount.get();
+		return naturalIdCachePutCount.sum();
 	}
 
 	/**
@@ -642,7 +977,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSessionCloseCount() {
-		return sessionCloseCount.get();
+		return sessionCloseCount.sum();
 	}
 
 	/**
@@ -650,7 +985,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getSessionOpenCount() {
-		return sessionOpenCount.get();
+		return sessionOpenCount.sum();
 	}
 
 	/**
@@ -658,7 +993,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionLoadCount() {
-		return collectionLoadCount.get();
+		return collectionLoadCount.sum();
 	}
 
 	/**
@@ -666,7 +1001,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionFetchCount() {
-		return collectionFetchCount.get();
+		return collectionFetchCount.sum();
 	}
 
 	/**
@@ -674,7 +1009,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionUpdateCount() {
-		return collectionUpdateCount.get();
+		return collectionUpdateCount.sum();
 	}
 
 	/**
@@ -683,7 +1018,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionRemoveCount() {
-		return collectionRemoveCount.get();
+		return collectionRemoveCount.sum();
 	}
 
 	/**
@@ -691,7 +1026,7 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	 */
 	@Override
 	public long getCollectionRecreateCount() {
-		return collectionRecreateCount.get();
+		return collectionRecreateCount.sum();
 	}
 
 	/**
@@ -709,40 +1044,40 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	public void logSummary() {
 		LOG.loggingStatistics();
 		LOG.startTime( startTime );
-		LOG.sessionsOpened( sessionOpenCount.get() );
-		LOG.sessionsClosed( sessionCloseCount.get() );
-		LOG.transactions( transactionCount.get() );
-		LOG.successfulTransactions( committedTransactionCount.get() );
-		LOG.optimisticLockFailures( optimisticFailureCount.get() );
-		LOG.flushes( flushCount.get() );
-		LOG.connectionsObtained( connectCount.get() );
-		LOG.statementsPrepared( prepareStatementCount.get() );
-		LOG.statementsClosed( closeStatementCount.get() );
-		LOG.secondLevelCachePuts( secondLevelCachePutCount.get() );
-		LOG.secondLevelCacheHits( secondLevelCacheHitCount.get() );
-		LOG.secondLevelCacheMisses( secondLevelCacheMissCount.get() );
-		LOG.entitiesLoaded( entityLoadCount.get() );
-		LOG.entitiesUpdated( entityUpdateCount.get() );
-		LOG.entitiesInserted( entityInsertCount.get() );
-		LOG.entitiesDeleted( entityDeleteCount.get() );
-		LOG.entitiesFetched( entityFetchCount.get() );
-		LOG.collectionsLoaded( collectionLoadCount.get() );
-		LOG.collectionsUpdated( collectionUpdateCount.get() );
-		LOG.collectionsRemoved( collectionRemoveCount.get() );
-		LOG.collectionsRecreated( collectionRecreateCount.get() );
-		LOG.collectionsFetched( collectionFetchCount.get() );
-		LOG.naturalIdCachePuts( naturalIdCachePutCount.get() );
-		LOG.naturalIdCacheHits( naturalIdCacheHitCount.get() );
-		LOG.naturalIdCacheMisses( naturalIdCacheMissCount.get() );
+		LOG.sessionsOpened( sessionOpenCount.sum() );
+		LOG.sessionsClosed( sessionCloseCount.sum() );
+		LOG.transactions( transactionCount.sum() );
+		LOG.successfulTransactions( committedTransactionCount.sum() );
+		LOG.optimisticLockFailures( optimisticFailureCount.sum() );
+		LOG.flushes( flushCount.sum() );
+		LOG.connectionsObtained( connectCount.sum() );
+		LOG.statementsPrepared( prepareStatementCount.sum() );
+		LOG.statementsClosed( closeStatementCount.sum() );
+		LOG.secondLevelCachePuts( secondLevelCachePutCount.sum() );
+		LOG.secondLevelCacheHits( secondLevelCacheHitCount.sum() );
+		LOG.secondLevelCacheMisses( secondLevelCacheMissCount.sum() );
+		LOG.entitiesLoaded( entityLoadCount.sum() );
+		LOG.entitiesUpdated( entityUpdateCount.sum() );
+		LOG.entitiesInserted( entityInsertCount.sum() );
+		LOG.entitiesDeleted( entityDeleteCount.sum() );
+		LOG.entitiesFetched( entityFetchCount.sum() );
+		LOG.collectionsLoaded( collectionLoadCount.sum() );
+		LOG.collectionsUpdated( collectionUpdateCount.sum() );
+		LOG.collectionsRemoved( collectionRemoveCount.sum() );
+		LOG.collectionsRecreated( collectionRecreateCount.sum() );
+		LOG.collectionsFetched( collectionFetchCount.sum() );
+		LOG.naturalIdCachePuts( naturalIdCachePutCount.sum() );
+		LOG.naturalIdCacheHits( naturalIdCacheHitCount.sum() );
+		LOG.naturalIdCacheMisses( naturalIdCacheMissCount.sum() );
 		LOG.naturalIdMaxQueryTime( naturalIdQueryExecutionMaxTime.get() );
-		LOG.naturalIdQueriesExecuted( naturalIdQueryExecutionCount.get() );
-		LOG.queriesExecuted( queryExecutionCount.get() );
-		LOG.queryCachePuts( queryCachePutCount.get() );
-		LOG.timestampCachePuts( updateTimestampsCachePutCount.get() );
-		LOG.timestampCacheHits( updateTimestampsCacheHitCount.get() );
-		LOG.timestampCacheMisses( updateTimestampsCacheMissCount.get() );
-		LOG.queryCacheHits( queryCacheHitCount.get() );
-		LOG.queryCacheMisses( queryCacheMissCount.get() );
+		LOG.naturalIdQueriesExecuted( naturalIdQueryExecutionCount.sum() );
+		LOG.queriesExecuted( queryExecutionCount.sum() );
+		LOG.queryCachePuts( queryCachePutCount.sum() );
+		LOG.timestampCachePuts( updateTimestampsCachePutCount.sum() );
+		LOG.timestampCacheHits( updateTimestampsCacheHitCount.sum() );
+		LOG.timestampCacheMisses( updateTimestampsCacheMissCount.sum() );
+		LOG.queryCacheHits( queryCacheHitCount.sum() );
+		LOG.queryCacheMisses( queryCacheMissCount.sum() );
 		LOG.maxQueryTime( queryExecutionMaxTime.get() );
 	}
 
@@ -819,43 +1154,43 @@ public class ConcurrentStatisticsImpl implements StatisticsImplementor, Service
 	}
 	@Override
 	public void endTransaction(boolean success) {
-		transactionCount.getAndIncrement();
+		transactionCount.increment();
 		if ( success ) {
-			committedTransactionCount.getAndIncrement();
+			committedTransactionCount.increment();
 		}
 	}
 	@Override
 	public long getSuccessfulTransactionCount() {
-		return committedTransactionCount.get();
+		return committedTransactionCount.sum();
 	}
 	@Override
 	public long getTransactionCount() {
-		return transactionCount.get();
+		return transactionCount.sum();
 	}
 	@Override
 	public void closeStatement() {
-		closeStatementCount.getAndIncrement();
+		closeStatementCount.increment();
 	}
 	@Override
 	public void prepareStatement() {
-		prepareStatementCount.getAndIncrement();
+		prepareStatementCount.increment();
 	}
 	@Override
 	public long getCloseStatementCount() {
-		return closeStatementCount.get();
+		return closeStatementCount.sum();
 	}
 	@Override
 	public long getPrepareStatementCount() {
-		return prepareStatementCount.get();
+		return prepareStatementCount.sum();
 	}
 	@Override
 	public void optimisticFailure(String entityName) {
-		optimisticFailureCount.getAndIncrement();
+		optimisticFailureCount.increment();
 		( (ConcurrentEntityStatisticsImpl) getEntityStatistics( entityName ) ).incrementOptimisticFailureCount();
 	}
 	@Override
 	public long getOptimisticFailureCount() {
-		return optimisticFailureCount.get();
+		return optimisticFailureCount.sum();
 	}
 
 	@Override
@@ -0,0 +1,142 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.hibernate.stat.LatencyStatistics;
+
+/**
+ * A fixed size, log-linear histogram of durations.
+ * <p/>
+ * Durations below 32 are counted exactly; above that each power of two range is split into 32 equally sized
+ * buckets, which bounds the relative error of the reported percentiles to about 3%.  Recording a duration does not
+ * allocate.
+ */
+public class LatencyHistogram implements LatencyStatistics {
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int BUCKETS = SUB_BUCKETS + ( 63 - SUB_BUCKET_BITS ) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray( BUCKETS );
+	private final StripedCounter count = new StripedCounter();
+	private final StripedCounter total = new StripedCounter();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Record a duration.
+	 *
+	 * @param duration The duration; negative values are recorded as 0
+	 */
+	public void record(long duration) {
+		final long value = duration < 0 ? 0 : duration;
+		counts.incrementAndGet( bucketIndex( value ) );
+		count.increment();
+		total.add( value );
+		for ( long old = max.get(); value > old && !max.compareAndSet( old, value ); old = max.get() ) {
+			// nothing to do here given the odd loop structure...
+		}
+	}
+
+	static int bucketIndex(long value) {
+		if ( value < SUB_BUCKETS ) {
+			return (int) value;
+		}
+		final int shift = 63 - Long.numberOfLeadingZeros( value ) - SUB_BUCKET_BITS;
+		final int subBucket = (int) ( value >>> shift ) - SUB_BUCKETS;
+		return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+	}
+
+	static long bucketUpperBound(int index) {
+		if ( index < SUB_BUCKETS ) {
+			return index;
+		}
+		final int shift = ( index - SUB_BUCKETS ) / SUB_BUCKETS;
+		final long subBucket = ( index - SUB_BUCKETS ) % SUB_BUCKETS;
+		return ( ( SUB_BUCKETS + subBucket + 1 ) << shift ) - 1;
+	}
+
+	@Override
+	public long getCount() {
+		return count.sum();
+	}
+
+	@Override
+	public long getMean() {
+		final long count = this.count.sum();
+		return count == 0 ? 0 : total.sum() / count;
+	}
+
+	@Override
+	public long getMax() {
+		return max.get();
+	}
+
+	@Override
+	public long getPercentile(double percentile) {
+		long recorded = 0;
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			recorded += counts.get( i );
+		}
+		if ( recorded == 0 ) {
+			return 0;
+		}
+
+		final long rank = Math.min( recorded, Math.max( 1L, (long) Math.ceil( percentile / 100d * recorded ) ) );
+		long seen = 0;
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			seen += counts.get( i );
+			if ( seen >= rank ) {
+				return Math.min( bucketUpperBound( i ), max.get() );
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Forget all recorded durations.
+	 */
+	public void reset() {
+		for ( int i = 0; i < BUCKETS; i++ ) {
+			counts.set( i, 0 );
+		}
+		count.reset();
+		total.reset();
+		max.set( 0 );
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()
+				.append( "LatencyStatistics" )
+				.append( "[count=" ).append( getCount() )
+				.append( ",mean=" ).append( getMean() )
+				.append( ",p50=" ).append( getPercentile( 50 ) )
+				.append( ",p99=" ).append( getPercentile( 99 ) )
+				.append( ",max=" ).append( getMax() )
+				.append( ']' )
+				.toString();
+	}
+}
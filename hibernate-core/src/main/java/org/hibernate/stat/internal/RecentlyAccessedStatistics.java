@@ -0,0 +1,53 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+/**
+ * Statistics for a category which is discarded when not used for a while, such as a query.
+ */
+abstract class RecentlyAccessedStatistics extends CategorizedStatistics {
+	// not volatile on purpose, eviction only needs an approximation
+	private long lastAccessTick;
+
+	RecentlyAccessedStatistics(String categoryName) {
+		super( categoryName );
+	}
+
+	/**
+	 * Record an access to these statistics, for the eviction of the least recently used ones.  The field is only
+	 * written when the tick moved since the previous access, which keeps frequently used statistics from being
+	 * written on every access.
+	 *
+	 * @param tick The current value of the access clock
+	 */
+	void accessed(long tick) {
+		if ( lastAccessTick != tick ) {
+			lastAccessTick = tick;
+		}
+	}
+
+	long getLastAccessTick() {
+		return lastAccessTick;
+	}
+}
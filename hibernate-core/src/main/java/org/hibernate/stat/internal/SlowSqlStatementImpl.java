@@ -0,0 +1,77 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.Arrays;
+
+import org.hibernate.stat.SlowSqlStatement;
+
+/**
+ * An execution of a SQL statement kept among the slowest ones
+ */
+class SlowSqlStatementImpl implements SlowSqlStatement {
+	private final String sql;
+	private final String[] parameters;
+	private final long executionTime;
+	private final long timestamp;
+
+	SlowSqlStatementImpl(String sql, String[] parameters, long executionTime, long timestamp) {
+		this.sql = sql;
+		this.parameters = parameters;
+		this.executionTime = executionTime;
+		this.timestamp = timestamp;
+	}
+
+	@Override
+	public String getSql() {
+		return sql;
+	}
+
+	@Override
+	public String[] getParameters() {
+		return parameters.clone();
+	}
+
+	@Override
+	public long getExecutionTime() {
+		return executionTime;
+	}
+
+	@Override
+	public long getTimestamp() {
+		return timestamp;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder()
+				.append( "SlowSqlStatement" )
+				.append( "[sql=" ).append( sql )
+				.append( ",parameters=" ).append( Arrays.toString( parameters ) )
+				.append( ",executionTime=" ).append( executionTime )
+				.append( ",timestamp=" ).append( timestamp )
+				.append( ']' )
+				.toString();
+	}
+}
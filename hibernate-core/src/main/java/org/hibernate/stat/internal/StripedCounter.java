@@ -0,0 +1,126 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter which spreads concurrent updates over several cells, each on its own cache line, so that threads
+ * updating the same counter do not contend on a single memory location.
+ * <p/>
+ * As long as updates are not contended they are applied to a single base value; the cells are only allocated
+ * the first time an update of the base value fails because of a concurrent update.  Reads sum the base value and
+ * the cells and are therefore not atomic with respect to concurrent updates.
+ */
+public class StripedCounter implements Serializable {
+	private static final int STRIPES = stripeCount();
+	// longs per cell, so that two cells never share a 64 byte cache line
+	private static final int PADDING = 8;
+
+	private final AtomicLong base = new AtomicLong();
+	private volatile AtomicLongArray cells;
+
+	private static int stripeCount() {
+		int stripes = 1;
+		final int processors = Runtime.getRuntime().availableProcessors();
+		while ( stripes < processors && stripes < 64 ) {
+			stripes <<= 1;
+		}
+		return stripes;
+	}
+
+	/**
+	 * Increment the counter by one.
+	 */
+	public void increment() {
+		add( 1 );
+	}
+
+	/**
+	 * Add the given value to the counter.
+	 *
+	 * @param value The value to add
+	 */
+	public void add(long value) {
+		AtomicLongArray cells = this.cells;
+		if ( cells == null ) {
+			final long current = base.get();
+			if ( base.compareAndSet( current, current + value ) ) {
+				return;
+			}
+			cells = expand();
+		}
+		cells.getAndAdd( cellIndex(), value );
+	}
+
+	private synchronized AtomicLongArray expand() {
+		if ( cells == null ) {
+			cells = new AtomicLongArray( STRIPES * PADDING );
+		}
+		return cells;
+	}
+
+	private static int cellIndex() {
+		final long threadId = Thread.currentThread().getId();
+		int hash = (int) ( threadId ^ ( threadId >>> 32 ) ) * 0x9E3779B9;
+		hash ^= hash >>> 16;
+		return ( hash & ( STRIPES - 1 ) ) * PADDING;
+	}
+
+	/**
+	 * The current value of the counter.
+	 *
+	 * @return The sum of all updates applied since creation or the last {@link #reset()}
+	 */
+	public long sum() {
+		long sum = base.get();
+		final AtomicLongArray cells = this.cells;
+		if ( cells != null ) {
+			for ( int i = 0; i < cells.length(); i += PADDING ) {
+				sum += cells.get( i );
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * Reset the counter to zero.  Updates applied concurrently with the reset may or may not be retained.
+	 */
+	public void reset() {
+		base.set( 0 );
+		final AtomicLongArray cells = this.cells;
+		if ( cells != null ) {
+			for ( int i = 0; i < cells.length(); i += PADDING ) {
+				cells.set( i, 0 );
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return Long.toString( sum() );
+	}
+}
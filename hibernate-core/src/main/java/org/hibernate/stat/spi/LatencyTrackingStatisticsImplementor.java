@@ -0,0 +1,60 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.spi;
+
+import org.hibernate.stat.LatencyTrackingStatistics;
+
+/**
+ * Optional contract for {@link StatisticsImplementor} implementations which also track the distribution of the
+ * durations of the main operations.
+ */
+public interface LatencyTrackingStatisticsImplementor extends StatisticsImplementor, LatencyTrackingStatistics {
+	/**
+	 * Callback indicating the time taken by the execution of a sql/hql query
+	 *
+	 * @param nanoseconds The execution time, in nanoseconds
+	 */
+	public void queryExecutionTime(long nanoseconds);
+
+	/**
+	 * Callback indicating the time taken to load an entity from the database
+	 *
+	 * @param nanoseconds The load time, in nanoseconds
+	 */
+	public void entityLoadTime(long nanoseconds);
+
+	/**
+	 * Callback indicating the time taken by a flush
+	 *
+	 * @param nanoseconds The flush time, in nanoseconds
+	 */
+	public void flushTime(long nanoseconds);
+
+	/**
+	 * Callback indicating the time taken by the execution of a JDBC statement or batch
+	 *
+	 * @param nanoseconds The execution time, in nanoseconds
+	 */
+	public void statementExecutionTime(long nanoseconds);
+}
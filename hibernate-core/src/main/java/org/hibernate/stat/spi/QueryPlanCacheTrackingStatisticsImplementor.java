@@ -0,0 +1,54 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.spi;
+
+import org.hibernate.stat.QueryPlanCacheTrackingStatistics;
+
+/**
+ * Optional contract for {@link StatisticsImplementor} implementations which also track the use of the query plan
+ * cache.
+ */
+public interface QueryPlanCacheTrackingStatisticsImplementor
+		extends StatisticsImplementor, QueryPlanCacheTrackingStatistics {
+	/**
+	 * Callback indicating a query plan was found in the query plan cache.
+	 *
+	 * @param query The query
+	 */
+	public void queryPlanCacheHit(String query);
+
+	/**
+	 * Callback indicating a query plan was not found in the query plan cache, and thus compiled.
+	 *
+	 * @param query The query
+	 */
+	public void queryPlanCacheMiss(String query);
+
+	/**
+	 * Callback indicating query plans were evicted from the query plan cache.
+	 *
+	 * @param count The number of evicted plans
+	 */
+	public void queryPlanCacheEviction(int count);
+}
@@ -0,0 +1,51 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.spi;
+
+import org.hibernate.stat.SqlStatementTrackingStatistics;
+import org.hibernate.type.Type;
+
+/**
+ * Optional contract for {@link StatisticsImplementor} implementations which also collect statistics per executed
+ * SQL statement.
+ */
+public interface SqlStatementTrackingStatisticsImplementor extends StatisticsImplementor, SqlStatementTrackingStatistics {
+	/**
+	 * Callback indicating the execution of a SQL statement or JDBC batch
+	 *
+	 * @param sql The SQL, as executed
+	 * @param executionTime The execution time, in nanoseconds
+	 * @param fetchTime The time spent reading the results, in nanoseconds
+	 * @param rows The number of rows affected or read
+	 * @param parameterTypes The types of the bound parameter values, indexed by position - 1; may be {@code null}
+	 * @param parameterValues The bound parameter values, indexed by position - 1; may be {@code null}
+	 */
+	public void sqlStatementExecuted(
+			String sql,
+			long executionTime,
+			long fetchTime,
+			long rows,
+			Type[] parameterTypes,
+			Object[] parameterValues);
+}
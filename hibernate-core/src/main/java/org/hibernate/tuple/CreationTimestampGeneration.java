@@ -23,6 +23,7 @@
  */
 package org.hibernate.tuple;
 
+import java.io.Serializable;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
@@ -36,7 +37,7 @@ import org.hibernate.annotations.CreationTimestamp;
  *
  * @author Gunnar Morling
  */
-public class CreationTimestampGeneration implements AnnotationValueGeneration<CreationTimestamp> {
+public class CreationTimestampGeneration implements AnnotationValueGeneration<CreationTimestamp>, Serializable {
 
 	private ValueGenerator<?> generator;
 
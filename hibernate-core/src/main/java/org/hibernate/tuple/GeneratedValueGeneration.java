@@ -23,6 +23,8 @@
  */
 package org.hibernate.tuple;
 
+import java.io.Serializable;
+
 import org.hibernate.annotations.Generated;
 
 /**
@@ -31,7 +33,7 @@ import org.hibernate.annotations.Generated;
  * @author Steve Ebersole
  * @author Gunnar Morling
  */
-public class GeneratedValueGeneration implements AnnotationValueGeneration<Generated> {
+public class GeneratedValueGeneration implements AnnotationValueGeneration<Generated>, Serializable {
 
 	private GenerationTiming timing;
 
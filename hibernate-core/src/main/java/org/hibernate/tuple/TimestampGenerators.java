@@ -23,6 +23,7 @@
  */
 package org.hibernate.tuple;
 
+import java.io.Serializable;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
@@ -37,7 +38,7 @@ import org.hibernate.Session;
  */
 /* package */ interface TimestampGenerators {
 
-	class CurrentDateGenerator implements ValueGenerator<Date> {
+	class CurrentDateGenerator implements ValueGenerator<Date>, Serializable {
 
 		@Override
 		public Date generateValue(Session session, Object owner) {
@@ -45,7 +46,7 @@ import org.hibernate.Session;
 		}
 	}
 
-	class CurrentCalendarGenerator implements ValueGenerator<Calendar> {
+	class CurrentCalendarGenerator implements ValueGenerator<Calendar>, Serializable {
 
 		@Override
 		public Calendar generateValue(Session session, Object owner) {
@@ -55,7 +56,7 @@ import org.hibernate.Session;
 		}
 	}
 
-	class CurrentSqlDateGenerator implements ValueGenerator<java.sql.Date> {
+	class CurrentSqlDateGenerator implements ValueGenerator<java.sql.Date>, Serializable {
 
 		@Override
 		public java.sql.Date generateValue(Session session, Object owner) {
@@ -63,7 +64,7 @@ import org.hibernate.Session;
 		}
 	}
 
-	class CurrentSqlTimeGenerator implements ValueGenerator<Time> {
+	class CurrentSqlTimeGenerator implements ValueGenerator<Time>, Serializable {
 
 		@Override
 		public Time generateValue(Session session, Object owner) {
@@ -71,7 +72,7 @@ import org.hibernate.Session;
 		}
 	}
 
-	class CurrentSqlTimestampGenerator implements ValueGenerator<Timestamp> {
+	class CurrentSqlTimestampGenerator implements ValueGenerator<Timestamp>, Serializable {
 
 		@Override
 		public Timestamp generateValue(Session session, Object owner) {
@@ -23,6 +23,7 @@
  */
 package org.hibernate.tuple;
 
+import java.io.Serializable;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.util.Calendar;
@@ -36,7 +37,7 @@ import org.hibernate.annotations.UpdateTimestamp;
  *
  * @author Gunnar Morling
  */
-public class UpdateTimestampGeneration implements AnnotationValueGeneration<UpdateTimestamp> {
+public class UpdateTimestampGeneration implements AnnotationValueGeneration<UpdateTimestamp>, Serializable {
 
 	private ValueGenerator<?> generator;
 
@@ -23,6 +23,8 @@
  */
 package org.hibernate.tuple.entity;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.HashSet;
@@ -36,7 +38,11 @@ import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.bytecode.instrumentation.internal.FieldInterceptionHelper;
 import org.hibernate.bytecode.instrumentation.spi.FieldInterceptor;
+import org.hibernate.bytecode.spi.BytecodeProvider;
+import org.hibernate.bytecode.spi.GeneratedPropertyAccessor;
+import org.hibernate.bytecode.spi.GeneratedPropertyAccessorProvider;
 import org.hibernate.bytecode.spi.ReflectionOptimizer;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Environment;
 import org.hibernate.classic.Lifecycle;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -44,9 +50,13 @@ import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.ReflectHelper;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.internal.util.type.PrimitiveWrapperHelper;
 import org.hibernate.mapping.PersistentClass;
 import org.hibernate.mapping.Property;
 import org.hibernate.mapping.Subclass;
+import org.hibernate.property.BasicPropertyAccessor;
+import org.hibernate.property.DirectPropertyAccessor;
 import org.hibernate.property.Getter;
 import org.hibernate.property.Setter;
 import org.hibernate.proxy.HibernateProxy;
@@ -69,6 +79,11 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 	private final boolean lifecycleImplementor;
 	private final Set lazyPropertyNames = new HashSet();
 	private final ReflectionOptimizer optimizer;
+	private final GeneratedPropertyAccessor generatedAccessor;
+	private final int[] unhandledGetterIndexes;
+	private final int[] unhandledSetterIndexes;
+	private final Class[] generatedSetterTypes;
+	private final boolean[] primitiveSetters;
 	private final boolean isInstrumented;
 
 	public PojoEntityTuplizer(EntityMetamodel entityMetamodel, PersistentClass mappedEntity) {
@@ -105,6 +120,121 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 //					mappedClass, getterNames, setterNames, propTypes
 //			);
 		}
+
+		final Member[] setterMembers = new Member[propertySpan];
+		if ( optimizer == null
+				&& ConfigurationHelper.getBoolean( AvailableSettings.USE_GENERATED_ACCESSORS, getFactory().getProperties(), true ) ) {
+			generatedAccessor = buildGeneratedAccessor( setterMembers );
+		}
+		else {
+			generatedAccessor = null;
+		}
+		unhandledGetterIndexes = unhandledIndexes( true );
+		unhandledSetterIndexes = unhandledIndexes( false );
+		generatedSetterTypes = generatedSetterTypes( setterMembers );
+		primitiveSetters = primitiveSetters( setterMembers );
+	}
+
+	private GeneratedPropertyAccessor buildGeneratedAccessor(Member[] setterMembers) {
+		final BytecodeProvider bytecodeProvider = Environment.getBytecodeProvider();
+		if ( !GeneratedPropertyAccessorProvider.class.isInstance( bytecodeProvider ) ) {
+			return null;
+		}
+		// only the standard accessors are known to do nothing but reading/writing the member
+		final Member[] getterMembers = new Member[propertySpan];
+		for ( int i = 0; i < propertySpan; i++ ) {
+			if ( getters[i] instanceof BasicPropertyAccessor.BasicGetter ) {
+				getterMembers[i] = getters[i].getMethod();
+			}
+			else if ( getters[i] instanceof DirectPropertyAccessor.DirectGetter ) {
+				getterMembers[i] = getters[i].getMember();
+			}
+			if ( setters[i] instanceof BasicPropertyAccessor.BasicSetter ) {
+				setterMembers[i] = setters[i].getMethod();
+			}
+			else if ( setters[i] instanceof DirectPropertyAccessor.DirectSetter
+					&& getters[i] instanceof DirectPropertyAccessor.DirectGetter ) {
+				// both resolve the same field
+				setterMembers[i] = getters[i].getMember();
+			}
+		}
+		return ( (GeneratedPropertyAccessorProvider) bytecodeProvider ).getGeneratedPropertyAccessor(
+				mappedClass,
+				getterMembers,
+				setterMembers
+		);
+	}
+
+	private int[] unhandledIndexes(boolean getter) {
+		if ( generatedAccessor == null ) {
+			return null;
+		}
+		int count = 0;
+		final int[] indexes = new int[propertySpan];
+		for ( int i = 0; i < propertySpan; i++ ) {
+			final boolean handled = getter ? generatedAccessor.isGetterHandled( i ) : generatedAccessor.isSetterHandled( i );
+			if ( !handled ) {
+				indexes[count++] = i;
+			}
+		}
+		final int[] result = new int[count];
+		System.arraycopy( indexes, 0, result, 0, count );
+		return result;
+	}
+
+	/**
+	 * The type of the values the generated accessor writes (boxed for primitives), {@code null} for the values it
+	 * does not write.
+	 */
+	private Class[] generatedSetterTypes(Member[] setterMembers) {
+		if ( generatedAccessor == null ) {
+			return null;
+		}
+		final Class[] types = new Class[propertySpan];
+		for ( int i = 0; i < propertySpan; i++ ) {
+			if ( generatedAccessor.isSetterHandled( i ) ) {
+				final Class type = setterType( setterMembers[i] );
+				types[i] = type.isPrimitive()
+						? PrimitiveWrapperHelper.getDescriptorByPrimitiveType( type ).getWrapperClass()
+						: type;
+			}
+		}
+		return types;
+	}
+
+	private boolean[] primitiveSetters(Member[] setterMembers) {
+		if ( generatedAccessor == null ) {
+			return null;
+		}
+		final boolean[] primitive = new boolean[propertySpan];
+		for ( int i = 0; i < propertySpan; i++ ) {
+			primitive[i] = generatedSetterTypes[i] != null && setterType( setterMembers[i] ).isPrimitive();
+		}
+		return primitive;
+	}
+
+	private static Class setterType(Member setterMember) {
+		return setterMember instanceof Method
+				? ( (Method) setterMember ).getParameterTypes()[0]
+				: ( (Field) setterMember ).getType();
+	}
+
+	/**
+	 * Can the generated accessor write the given values?  It does not do the checks the setters do (for a null
+	 * assigned to a primitive, or a value of the wrong type), so such values are left to the setters, which report
+	 * the problem the usual way.
+	 */
+	private boolean canSetWithGeneratedAccessor(Object[] values) {
+		for ( int i = 0; i < propertySpan; i++ ) {
+			final Class type = generatedSetterTypes[i];
+			if ( type != null ) {
+				final Object value = values[i];
+				if ( value == null ? primitiveSetters[i] : !type.isInstance( value ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -218,6 +348,14 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 		if ( !getEntityMetamodel().hasLazyProperties() && optimizer != null && optimizer.getAccessOptimizer() != null ) {
 			setPropertyValuesWithOptimizer( entity, values );
 		}
+		else if ( !getEntityMetamodel().hasLazyProperties()
+				&& generatedAccessor != null
+				&& canSetWithGeneratedAccessor( values ) ) {
+			generatedAccessor.setPropertyValues( entity, values );
+			for ( int i : unhandledSetterIndexes ) {
+				setters[i].set( entity, values[i], getFactory() );
+			}
+		}
 		else {
 			super.setPropertyValues( entity, values );
 		}
@@ -228,6 +366,14 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 		if ( shouldGetAllProperties( entity ) && optimizer != null && optimizer.getAccessOptimizer() != null ) {
 			return getPropertyValuesWithOptimizer( entity );
 		}
+		else if ( generatedAccessor != null && shouldGetAllProperties( entity ) ) {
+			final Object[] result = new Object[propertySpan];
+			generatedAccessor.getPropertyValues( entity, result );
+			for ( int i : unhandledGetterIndexes ) {
+				result[i] = getters[i].get( entity );
+			}
+			return result;
+		}
 		else {
 			return super.getPropertyValues( entity );
 		}
@@ -238,6 +384,14 @@ public class PojoEntityTuplizer extends AbstractEntityTuplizer {
 		if ( shouldGetAllProperties( entity ) && optimizer != null && optimizer.getAccessOptimizer() != null ) {
 			return getPropertyValuesWithOptimizer( entity );
 		}
+		else if ( generatedAccessor != null && shouldGetAllProperties( entity ) ) {
+			final Object[] result = new Object[propertySpan];
+			generatedAccessor.getPropertyValues( entity, result );
+			for ( int i : unhandledGetterIndexes ) {
+				result[i] = getters[i].getForInsert( entity, mergeMap, session );
+			}
+			return result;
+		}
 		else {
 			return super.getPropertyValuesToInsert( entity, mergeMap, session );
 		}
@@ -279,6 +279,14 @@ public abstract class AbstractStandardBasicType<T>
 			final SessionImplementor session) throws SQLException {
 		final WrapperOptions options = getOptions(session);
 		nullSafeSet( st, value, index, options );
+		if ( session != null ) {
+			session.getTransactionCoordinator().getJdbcCoordinator().getSqlStatementProfiler().parameterBound(
+					st,
+					index,
+					this,
+					value
+			);
+		}
 	}
 
 	@SuppressWarnings({ "unchecked" })
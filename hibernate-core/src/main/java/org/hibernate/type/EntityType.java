@@ -216,6 +216,15 @@ public abstract class EntityType extends AbstractType implements AssociationType
 		return referenceToPrimaryKey;
 	}
 
+	/**
+	 * Is the associated entity fetched eagerly when this type resolves an identifier?
+	 *
+	 * @return True if the associated entity is loaded rather than proxied.
+	 */
+	public boolean isEager() {
+		return eager;
+	}
+
 	@Override
 	public String getRHSUniqueKeyPropertyName() {
 		// Return null if this type references a PK.  This is important for
@@ -0,0 +1,198 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.spi;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionEventListenerManager;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UpdateTimestampsCacheTest extends BaseUnitTestCase {
+	private NotifyingTimestampsRegion region;
+	private SessionImplementor session;
+
+	@Before
+	public void setUp() {
+		region = mock( NotifyingTimestampsRegion.class );
+		session = mock( SessionImplementor.class );
+		when( session.getEventListenerManager() ).thenReturn( mock( SessionEventListenerManager.class ) );
+	}
+
+	@Test
+	public void testLocalTimestampsAvoidRegionReads() {
+		final UpdateTimestampsCache cache = new UpdateTimestampsCache( region, new Properties(), null );
+		final Set<Serializable> spaces = spaces( "A", "B" );
+
+		when( region.get( "A" ) ).thenReturn( 10L );
+		when( region.get( "B" ) ).thenReturn( null );
+		assertTrue( cache.isUpToDate( spaces, 20L, session ) );
+		assertTrue( cache.isUpToDate( spaces, 20L, session ) );
+		assertFalse( cache.isUpToDate( spaces, 5L, session ) );
+		verify( region, times( 1 ) ).get( "A" );
+		verify( region, times( 1 ) ).get( "B" );
+
+		// local writes are visible without reading the region back
+		when( region.nextTimestamp() ).thenReturn( 30L );
+		cache.invalidate( new Serializable[] { "B" }, session );
+		assertFalse( cache.isUpToDate( spaces, 20L, session ) );
+		assertTrue( cache.isUpToDate( spaces, 40L, session ) );
+		verify( region, times( 1 ) ).get( "B" );
+	}
+
+	@Test
+	public void testStaleLocalSpaceShortCircuitsRegion() {
+		final UpdateTimestampsCache cache = new UpdateTimestampsCache( region, new Properties(), null );
+
+		when( region.nextTimestamp() ).thenReturn( 30L );
+		cache.invalidate( new Serializable[] { "A" }, session );
+		assertFalse( cache.isUpToDate( spaces( "A", "B" ), 20L, session ) );
+		verify( region, never() ).get( anyObject() );
+	}
+
+	@Test
+	public void testInvalidationNotifications() {
+		final UpdateTimestampsCache cache = new UpdateTimestampsCache( region, new Properties(), null );
+		final ArgumentCaptor<TimestampsInvalidationListener> listener =
+				ArgumentCaptor.forClass( TimestampsInvalidationListener.class );
+		verify( region ).addInvalidationListener( listener.capture() );
+		final Set<Serializable> spaces = spaces( "A" );
+
+		when( region.get( "A" ) ).thenReturn( 10L );
+		assertTrue( cache.isUpToDate( spaces, 20L, session ) );
+
+		// a remote update of the space
+		when( region.get( "A" ) ).thenReturn( 25L );
+		listener.getValue().spaceInvalidated( "A" );
+		assertFalse( cache.isUpToDate( spaces, 20L, session ) );
+		assertFalse( cache.isUpToDate( spaces, 20L, session ) );
+		verify( region, times( 2 ) ).get( "A" );
+
+		// the region was cleared
+		when( region.get( "A" ) ).thenReturn( null );
+		listener.getValue().regionInvalidated();
+		assertTrue( cache.isUpToDate( spaces, 20L, session ) );
+		verify( region, times( 3 ) ).get( "A" );
+
+		cache.destroy();
+		verify( region ).removeInvalidationListener( listener.getValue() );
+	}
+
+	@Test
+	public void testLocalTimestampsDisabled() {
+		final Properties properties = new Properties();
+		properties.setProperty( AvailableSettings.USE_LOCAL_UPDATE_TIMESTAMPS, "false" );
+		final UpdateTimestampsCache cache = new UpdateTimestampsCache( region, properties, null );
+		final Set<Serializable> spaces = spaces( "A" );
+
+		when( region.get( "A" ) ).thenReturn( 10L );
+		assertTrue( cache.isUpToDate( spaces, 20L, session ) );
+		assertTrue( cache.isUpToDate( spaces, 20L, session ) );
+		verify( region, times( 2 ) ).get( "A" );
+		verify( region, never() ).addInvalidationListener( any( TimestampsInvalidationListener.class ) );
+	}
+
+	@Test
+	public void testConcurrentLocalWritesAreReread() {
+		final UpdateTimestampsCache cache = new UpdateTimestampsCache( region, new Properties(), null );
+		final Serializable[] space = new Serializable[] { "A" };
+
+		// an invalidation racing a pre-invalidation: the region applies 10 then 20, this JVM records 20 then 10
+		when( region.nextTimestamp() ).thenReturn( 10L, 20L );
+		doAnswer(
+				new Answer() {
+					private boolean racing;
+
+					@Override
+					public Object answer(InvocationOnMock invocation) {
+						if ( !racing ) {
+							racing = true;
+							cache.preInvalidate( space, session );
+						}
+						return null;
+					}
+				}
+		).when( region ).put( anyObject(), anyObject() );
+		cache.invalidate( space, session );
+
+		// the local value cannot be trusted, the region is read again
+		when( region.get( "A" ) ).thenReturn( 20L );
+		assertFalse( cache.isUpToDate( spaces( "A" ), 15L, session ) );
+		assertTrue( cache.isUpToDate( spaces( "A" ), 25L, session ) );
+		verify( region, times( 1 ) ).get( "A" );
+	}
+
+	@Test
+	public void testBulkRead() {
+		final BulkReadNotifyingTimestampsRegion bulkRegion = mock( BulkReadNotifyingTimestampsRegion.class );
+		final UpdateTimestampsCache cache = new UpdateTimestampsCache( bulkRegion, new Properties(), null );
+		final Map<Object, Object> timestamps = new HashMap<Object, Object>();
+		timestamps.put( "A", 10L );
+		when( bulkRegion.getAll( anyCollection() ) ).thenReturn( timestamps );
+
+		assertTrue( cache.isUpToDate( spaces( "A", "B", "C" ), 20L, session ) );
+		assertFalse( cache.isUpToDate( spaces( "A", "B", "C" ), 5L, session ) );
+		verify( bulkRegion, times( 1 ) ).getAll( anyCollection() );
+		verify( bulkRegion, never() ).get( anyObject() );
+
+		// a single space to read is read on its own
+		assertTrue( cache.isUpToDate( spaces( "D" ), 20L, session ) );
+		verify( bulkRegion, times( 1 ) ).get( "D" );
+		verify( bulkRegion, times( 1 ) ).getAll( anyCollection() );
+	}
+
+	private static Set<Serializable> spaces(String... names) {
+		final Set<Serializable> spaces = new HashSet<Serializable>();
+		Collections.addAll( spaces, names );
+		return spaces;
+	}
+
+	interface BulkReadNotifyingTimestampsRegion extends NotifyingTimestampsRegion, BulkReadTimestampsRegion {
+	}
+}
@@ -0,0 +1,176 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.engine.internal;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.BigDecimalType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.Type;
+import org.hibernate.type.UUIDCharType;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class EntityKeyMapTest extends BaseUnitTestCase {
+	@Test
+	public void testMatchesHashMapBehavior() {
+		final EntityPersister order = persister( "Order", "Order", LongType.INSTANCE );
+		final EntityPersister customer = persister( "Customer", "Customer", LongType.INSTANCE );
+		final EntityKeyMap<Object> map = new EntityKeyMap<Object>();
+		final Map<EntityKey, Object> expected = new HashMap<EntityKey, Object>();
+
+		final Random random = new Random( 42 );
+		for ( int i = 0; i < 20000; i++ ) {
+			final EntityPersister persister = random.nextBoolean() ? order : customer;
+			final EntityKey key = new EntityKey( (long) random.nextInt( 500 ), persister );
+			final int operation = random.nextInt( 3 );
+			if ( operation == 0 ) {
+				final Object value = new Object();
+				assertSame( expected.put( key, value ), map.put( key, value ) );
+			}
+			else if ( operation == 1 ) {
+				assertSame( expected.remove( key ), map.remove( key ) );
+			}
+			else {
+				assertSame( expected.get( key ), map.get( persister, key.getIdentifier() ) );
+				assertEquals( expected.containsKey( key ), map.containsKey( key ) );
+			}
+			assertEquals( expected.size(), map.size() );
+		}
+		assertEquals( expected, map );
+		assertEquals( expected.keySet(), map.keySet() );
+	}
+
+	@Test
+	public void testSubclassesShareHierarchyPartition() {
+		final EntityPersister animal = persister( "Animal", "Animal", LongType.INSTANCE );
+		final EntityPersister dog = persister( "Dog", "Animal", LongType.INSTANCE );
+		final EntityKeyMap<Object> map = new EntityKeyMap<Object>();
+
+		final Object rex = new Object();
+		map.put( new EntityKey( 1L, dog ), rex );
+		assertSame( rex, map.get( animal, 1L ) );
+		assertSame( rex, map.get( new EntityKey( 1L, animal ) ) );
+		// an Integer is not equal to a Long according to LongType
+		assertNull( map.get( animal, 1 ) );
+	}
+
+	@Test
+	public void testNaturalAndTypedIdentifiers() {
+		final EntityPersister document = persister( "Document", "Document", UUIDCharType.INSTANCE );
+		final EntityPersister price = persister( "Price", "Price", BigDecimalType.INSTANCE );
+		final EntityKeyMap<Object> map = new EntityKeyMap<Object>();
+
+		final UUID uuid = UUID.randomUUID();
+		final Object doc = new Object();
+		map.put( new EntityKey( uuid, document ), doc );
+		assertSame( doc, map.get( document, new UUID( uuid.getMostSignificantBits(), uuid.getLeastSignificantBits() ) ) );
+
+		// the identifier type defines equality: 1.0 and 1.00 are the same BigDecimal id
+		final Object one = new Object();
+		map.put( new EntityKey( new BigDecimal( "1.0" ), price ), one );
+		assertSame( one, map.get( price, new BigDecimal( "1.00" ) ) );
+		assertEquals( 2, map.size() );
+	}
+
+	@Test
+	public void testUnexpectedIdentifierClassFallsBackToType() {
+		final EntityPersister item = persister( "Item", "Item", LongType.INSTANCE );
+		final EntityKeyMap<Object> map = new EntityKeyMap<Object>();
+		for ( long i = 0; i < 100; i++ ) {
+			map.put( new EntityKey( i, item ), i );
+		}
+		final Object odd = new Object();
+		map.put( new EntityKey( "odd", item ), odd );
+
+		assertEquals( 101, map.size() );
+		assertSame( odd, map.get( item, "odd" ) );
+		for ( long i = 0; i < 100; i++ ) {
+			assertEquals( i, map.get( item, i ) );
+		}
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		final EntityPersister item = persister( "Item", "Item", LongType.INSTANCE );
+		final EntityKeyMap<Object> map = new EntityKeyMap<Object>();
+		for ( long i = 0; i < 1000; i++ ) {
+			map.put( new EntityKey( i, item ), i );
+		}
+		final Iterator<Map.Entry<EntityKey, Object>> itr = map.entrySet().iterator();
+		while ( itr.hasNext() ) {
+			final Map.Entry<EntityKey, Object> entry = itr.next();
+			if ( (Long) entry.getValue() % 2 == 0 ) {
+				itr.remove();
+			}
+		}
+		assertEquals( 500, map.size() );
+		for ( long i = 0; i < 1000; i++ ) {
+			assertEquals( i % 2 != 0, map.containsKey( new EntityKey( i, item ) ) );
+		}
+	}
+
+	@Test
+	public void testWeakValuesAreSkippedOnceCollected() throws Exception {
+		final EntityPersister item = persister( "Item", "Item", LongType.INSTANCE );
+		final EntityKeyMap<Object> map = new EntityKeyMap<Object>( true );
+		final Object kept = new Object();
+		map.put( new EntityKey( 1L, item ), kept );
+		map.put( new EntityKey( 2L, item ), new Object() );
+
+		for ( int i = 0; i < 20 && map.size() > 1; i++ ) {
+			System.gc();
+			Thread.sleep( 10 );
+		}
+		assertEquals( 1, map.size() );
+		assertSame( kept, map.values().iterator().next() );
+		assertFalse( map.containsKey( new EntityKey( 2L, item ) ) );
+		assertTrue( map.containsValue( kept ) );
+	}
+
+	private static EntityPersister persister(String entityName, String rootEntityName, Type identifierType) {
+		final EntityPersister persister = mock( EntityPersister.class );
+		when( persister.getEntityName() ).thenReturn( entityName );
+		when( persister.getRootEntityName() ).thenReturn( rootEntityName );
+		when( persister.getIdentifierType() ).thenReturn( identifierType );
+		return persister;
+	}
+}
@@ -23,6 +23,15 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.Test;
 
 import org.hibernate.id.IdentifierGeneratorHelper;
@@ -254,6 +263,148 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		assertEquals( 4, sequence.getCurrentValue() );
 	}
 
+	@Test
+	public void testBasicConcurrentHiLoOptimizerUsage() {
+		int increment = 10;
+		Long next;
+
+		// same expectations as for the (synchronized) hilo optimizer
+		SourceMock sequence = new SourceMock( 1 );
+		Optimizer optimizer = buildOptimizer( StandardOptimizerDescriptor.HILO_CONCURRENT, -1, increment );
+		for ( int i = 1; i <= increment; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 1, sequence.getTimesCalled() );
+		assertEquals( 1, sequence.getCurrentValue() );
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 11, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( 2, sequence.getCurrentValue() );
+
+		// table values starting at 0 are skipped
+		sequence = new SourceMock( 0 );
+		optimizer = buildOptimizer( StandardOptimizerDescriptor.HILO_CONCURRENT, -1, increment );
+		for ( int i = 1; i <= increment; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( 1, sequence.getCurrentValue() );
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 11, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 2, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testBasicConcurrentPooledOptimizerUsage() {
+		Long next;
+		// same expectations as for the (synchronized) pooled optimizer
+		SourceMock sequence = new SourceMock( 1, 10 );
+		Optimizer optimizer = buildOptimizer( StandardOptimizerDescriptor.POOLED_CONCURRENT, -1, 10 );
+		for ( int i = 1; i < 11; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() ); // twice to initialize state
+		assertEquals( 11, sequence.getCurrentValue() );
+		// force a "clock over"
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 11, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testSubsequentConcurrentPooledOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1001, 3, 5 );
+		final Optimizer optimizer = buildOptimizer( StandardOptimizerDescriptor.POOLED_CONCURRENT, 1, 3 );
+
+		for ( int i = 0; i < 3; i++ ) {
+			final Long next = (Long) optimizer.generate( sequence );
+			assertEquals( 1001 + i, next.intValue() );
+			assertEquals( (5+1), sequence.getTimesCalled() );
+			assertEquals( (1001+3), sequence.getCurrentValue() );
+		}
+
+		// force a "clock over"
+		final Long next = (Long) optimizer.generate( sequence );
+		assertEquals( (1001+3), next.intValue() );
+		assertEquals( (5+2), sequence.getTimesCalled() );
+		assertEquals( (1001+6), sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testPrefetchingPooledOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final Optimizer optimizer = buildOptimizer( StandardOptimizerDescriptor.POOLED_PREFETCH, -1, 10 );
+		for ( int i = 1; i < 6; i++ ) {
+			final Long next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() );
+
+		// handing out the value half-way through the block fetches the next block...
+		Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 6, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+
+		// ...which is then used without another round trip
+		for ( int i = 7; i < 16; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 3, sequence.getTimesCalled() );
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 16, next.intValue() );
+		assertEquals( 4, sequence.getTimesCalled() );
+		assertEquals( 31, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testConcurrentPooledOptimizerGeneratesUniqueValues() throws Exception {
+		final int threads = 8;
+		final int valuesPerThread = 5000;
+		for ( final StandardOptimizerDescriptor descriptor : new StandardOptimizerDescriptor[] {
+				StandardOptimizerDescriptor.HILO_CONCURRENT,
+				StandardOptimizerDescriptor.POOLED_CONCURRENT,
+				StandardOptimizerDescriptor.POOLED_PREFETCH
+		} ) {
+			final int sourceIncrement = descriptor.isPooled() ? 7 : 1;
+			final AccessCallback sequence = new SynchronizedSourceMock( new SourceMock( 1, sourceIncrement ) );
+			final Optimizer optimizer = buildOptimizer( descriptor, -1, 7 );
+			final Set<Long> values = Collections.newSetFromMap( new ConcurrentHashMap<Long, Boolean>() );
+			final ExecutorService executor = Executors.newFixedThreadPool( threads );
+			try {
+				final List<Future<?>> futures = new ArrayList<Future<?>>();
+				for ( int t = 0; t < threads; t++ ) {
+					futures.add(
+							executor.submit(
+									new Runnable() {
+										@Override
+										public void run() {
+											for ( int i = 0; i < valuesPerThread; i++ ) {
+												values.add( (Long) optimizer.generate( sequence ) );
+											}
+										}
+									}
+							)
+					);
+				}
+				for ( Future<?> future : futures ) {
+					future.get();
+				}
+			}
+			finally {
+				executor.shutdown();
+			}
+			assertEquals( threads * valuesPerThread, values.size() );
+		}
+	}
+
 	private static Optimizer buildNoneOptimizer(long initial, int increment) {
 		return buildOptimizer( StandardOptimizerDescriptor.NONE, initial, increment );
 	}
@@ -277,6 +428,24 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		return OptimizerFactory.buildOptimizer( descriptor.getExternalName(), Long.class, increment, initial );
 	}
 
+	private static class SynchronizedSourceMock implements AccessCallback {
+		private final SourceMock delegate;
+
+		private SynchronizedSourceMock(SourceMock delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public synchronized IntegralDataTypeHolder getNextValue() {
+			return delegate.getNextValue();
+		}
+
+		@Override
+		public String getTenantIdentifier() {
+			return null;
+		}
+	}
+
 	private static class SourceMock implements AccessCallback {
 		private IdentifierGeneratorHelper.BasicHolder value = new IdentifierGeneratorHelper.BasicHolder( Long.class );
 		private long initialValue;
@@ -0,0 +1,117 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.stat.internal;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.hibernate.stat.QueryStatistics;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest extends BaseUnitTestCase {
+	@Test
+	public void testBucketBoundaries() {
+		for ( long value : new long[] { 0, 1, 31, 32, 33, 63, 64, 1000, 123456789L, Long.MAX_VALUE } ) {
+			final int index = LatencyHistogram.bucketIndex( value );
+			assertTrue( value <= LatencyHistogram.bucketUpperBound( index ) );
+			if ( index > 0 ) {
+				assertTrue( value > LatencyHistogram.bucketUpperBound( index - 1 ) );
+			}
+		}
+	}
+
+	@Test
+	public void testPercentiles() {
+		final LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals( 0, histogram.getPercentile( 99 ) );
+
+		for ( long i = 1; i <= 10000; i++ ) {
+			histogram.record( i * 1000 );
+		}
+		assertEquals( 10000, histogram.getCount() );
+		assertEquals( 5000500, histogram.getMean() );
+		assertEquals( 10000000, histogram.getMax() );
+		assertWithin( 5000000, histogram.getPercentile( 50 ) );
+		assertWithin( 9900000, histogram.getPercentile( 99 ) );
+		assertEquals( 10000000, histogram.getPercentile( 100 ) );
+
+		histogram.reset();
+		assertEquals( 0, histogram.getCount() );
+		assertEquals( 0, histogram.getMax() );
+		assertEquals( 0, histogram.getPercentile( 50 ) );
+	}
+
+	private static void assertWithin(long expected, long actual) {
+		assertTrue( "expected ~" + expected + " but was " + actual, Math.abs( actual - expected ) <= expected / 32 );
+	}
+
+	@Test
+	public void testConcurrentCounting() throws Exception {
+		final StripedCounter counter = new StripedCounter();
+		final int threads = 8;
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final Thread[] workers = new Thread[threads];
+		for ( int i = 0; i < threads; i++ ) {
+			workers[i] = new Thread() {
+				@Override
+				public void run() {
+					try {
+						start.await();
+					}
+					catch (InterruptedException e) {
+						return;
+					}
+					for ( int j = 0; j < 100000; j++ ) {
+						counter.increment();
+					}
+				}
+			};
+			workers[i].start();
+		}
+		start.countDown();
+		for ( Thread worker : workers ) {
+			worker.join();
+		}
+		assertEquals( threads * 100000L, counter.sum() );
+
+		counter.reset();
+		assertEquals( 0, counter.sum() );
+	}
+
+	@Test
+	public void testQueryStatisticsAreBounded() {
+		final ConcurrentStatisticsImpl statistics = new ConcurrentStatisticsImpl();
+		final QueryStatistics retained = statistics.getQueryStatistics( "from Retained" );
+		for ( int i = 0; i < 6000; i++ ) {
+			statistics.getQueryStatistics( "from Retained" );
+			statistics.getQueryStatistics( "from Entity" + i );
+		}
+		assertTrue( statistics.getQueries().length <= 5000 );
+		assertTrue( retained == statistics.getQueryStatistics( "from Retained" ) );
+	}
+}
@@ -52,6 +52,7 @@ import org.hibernate.engine.spi.CompositeTracker;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.ManagedEntity;
 import org.hibernate.engine.spi.PersistentAttributeInterceptor;
+import org.hibernate.engine.spi.SelfDirtinessNotifier;
 import org.hibernate.engine.spi.SelfDirtinessTracker;
 import org.hibernate.engine.spi.Status;
 import org.hibernate.internal.CoreLogging;
@@ -156,7 +157,8 @@ public abstract class EnhancerTestUtils extends BaseUnitTestCase {
                         assertTrue(methodNames.contains(EnhancerConstants.NEXT_GETTER_NAME));
                         assertTrue(methodNames.contains(EnhancerConstants.NEXT_SETTER_NAME));
                     }
-                    if (interfaceNames.contains(SelfDirtinessTracker.class.getName())) {
+                    if (interfaceNames.contains(SelfDirtinessTracker.class.getName())
+                            || interfaceNames.contains(SelfDirtinessNotifier.class.getName())) {
                         assertTrue(fieldNames.contains(EnhancerConstants.TRACKER_FIELD_NAME));
                         assertTrue(methodNames.contains(EnhancerConstants.TRACKER_GET_NAME));
                         assertTrue(methodNames.contains(EnhancerConstants.TRACKER_CLEAR_NAME));
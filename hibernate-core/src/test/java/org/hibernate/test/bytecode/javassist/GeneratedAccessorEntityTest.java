@@ -0,0 +1,132 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.Session;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests entities whose state is written through a generated property accessor.
+ */
+public class GeneratedAccessorEntityTest extends BaseNonConfigCoreFunctionalTestCase {
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class };
+	}
+
+	@Test
+	public void testSettersAreInvokedOnce() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Product( 1L, "widget" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		Product.nameAssignments = 0;
+		s = openSession();
+		s.beginTransaction();
+		final Product product = (Product) s.get( Product.class, 1L );
+		assertEquals( "widget", product.getName() );
+		assertEquals( 1, Product.nameAssignments );
+		s.delete( product );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSetterExceptionPropagates() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.persist( new Product( 2L, "widget" ) );
+		s.flush();
+		s.createSQLQuery( "update Product set name = 'invalid' where id = 2" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+
+		Product.nameAssignments = 0;
+		s = openSession();
+		s.beginTransaction();
+		try {
+			s.get( Product.class, 2L );
+			fail( "expecting the exception thrown by the setter" );
+		}
+		catch (IllegalArgumentException expected) {
+			assertEquals( "invalid name", expected.getMessage() );
+		}
+		assertEquals( 1, Product.nameAssignments );
+		s.getTransaction().rollback();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		s.createSQLQuery( "delete from Product" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Entity(name = "Product")
+	public static class Product {
+		static int nameAssignments;
+
+		private Long id;
+		private String name;
+
+		public Product() {
+		}
+
+		public Product(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		@Id
+		public Long getId() {
+			return id;
+		}
+
+		public void setId(Long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public void setName(String name) {
+			nameAssignments++;
+			if ( "invalid".equals( name ) ) {
+				throw new IllegalArgumentException( "invalid name" );
+			}
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.bytecode.javassist;
+
+import java.lang.reflect.Member;
+
+import org.junit.Test;
+
+import org.hibernate.bytecode.internal.javassist.BytecodeProviderImpl;
+import org.hibernate.bytecode.spi.GeneratedPropertyAccessor;
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GeneratedPropertyAccessorTest extends BaseUnitTestCase {
+	@Test
+	public void testFieldAndMethodAccess() throws Exception {
+		final Member[] getters = new Member[] {
+				Item.class.getDeclaredField( "name" ),
+				Item.class.getDeclaredField( "count" ),
+				Item.class.getMethod( "getWeight" ),
+				Item.class.getDeclaredField( "secret" ),
+				Item.class.getDeclaredField( "code" ),
+				null
+		};
+		final Member[] setters = new Member[] {
+				Item.class.getDeclaredField( "name" ),
+				Item.class.getDeclaredField( "count" ),
+				Item.class.getMethod( "setWeight", double.class ),
+				Item.class.getDeclaredField( "secret" ),
+				Item.class.getDeclaredField( "code" ),
+				Item.class.getMethod( "withTags", String[].class )
+		};
+
+		final GeneratedPropertyAccessor accessor = new BytecodeProviderImpl()
+				.getGeneratedPropertyAccessor( Item.class, getters, setters );
+		assertNotNull( accessor );
+
+		assertTrue( accessor.isGetterHandled( 0 ) );
+		assertTrue( accessor.isGetterHandled( 1 ) );
+		assertTrue( accessor.isGetterHandled( 2 ) );
+		// private
+		assertFalse( accessor.isGetterHandled( 3 ) );
+		assertFalse( accessor.isSetterHandled( 3 ) );
+		// final fields can be read, but not written
+		assertTrue( accessor.isGetterHandled( 4 ) );
+		assertFalse( accessor.isSetterHandled( 4 ) );
+		assertFalse( accessor.isGetterHandled( 5 ) );
+		assertTrue( accessor.isSetterHandled( 5 ) );
+
+		final Item item = new Item();
+		final String[] tags = new String[] { "a", "b" };
+		accessor.setPropertyValues( item, new Object[] { "item", 3L, 2.5d, "ignored", "ignored", tags } );
+		assertEquals( "item", item.name );
+		assertEquals( 3L, item.count );
+		assertEquals( 2.5d, item.getWeight(), 0d );
+		assertNull( item.getSecret() );
+		assertSame( tags, item.tags );
+
+		final Object[] values = new Object[6];
+		accessor.getPropertyValues( item, values );
+		assertEquals( "item", values[0] );
+		assertEquals( 3L, values[1] );
+		assertEquals( 2.5d, values[2] );
+		assertNull( values[3] );
+		assertEquals( "code", values[4] );
+		assertNull( values[5] );
+	}
+
+	@Test( expected = NullPointerException.class )
+	public void testNullPrimitive() throws Exception {
+		final Member[] members = new Member[] { Item.class.getDeclaredField( "count" ) };
+		final GeneratedPropertyAccessor accessor = new BytecodeProviderImpl()
+				.getGeneratedPropertyAccessor( Item.class, members, members );
+		accessor.setPropertyValues( new Item(), new Object[] { null } );
+	}
+
+	@Test
+	public void testGeneratedClassIsReused() throws Exception {
+		final Member[] members = new Member[] {
+				Item.class.getDeclaredField( "name" ),
+				Item.class.getDeclaredField( "count" )
+		};
+		final GeneratedPropertyAccessor accessor = new BytecodeProviderImpl()
+				.getGeneratedPropertyAccessor( Item.class, members, members );
+		final GeneratedPropertyAccessor again = new BytecodeProviderImpl()
+				.getGeneratedPropertyAccessor( Item.class, members.clone(), members.clone() );
+		assertSame( accessor.getClass(), again.getClass() );
+
+		final Member[] other = new Member[] { Item.class.getDeclaredField( "name" ) };
+		final GeneratedPropertyAccessor different = new BytecodeProviderImpl()
+				.getGeneratedPropertyAccessor( Item.class, other, other );
+		assertNotSame( accessor.getClass(), different.getClass() );
+	}
+
+	@Test
+	public void testNothingAccessible() throws Exception {
+		final Member[] members = new Member[] { Item.class.getDeclaredField( "secret" ) };
+		assertNull( new BytecodeProviderImpl().getGeneratedPropertyAccessor( Item.class, members, members ) );
+	}
+
+	public static class Item {
+		String name;
+		long count;
+		private double weight;
+		private String secret;
+		final String code = "code";
+		String[] tags;
+
+		public double getWeight() {
+			return weight;
+		}
+
+		public void setWeight(double weight) {
+			this.weight = weight;
+		}
+
+		public String getSecret() {
+			return secret;
+		}
+
+		public Item withTags(String[] tags) {
+			this.tags = tags;
+			return this;
+		}
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.entry.BinaryCacheEntry;
+import org.hibernate.cache.spi.entry.BinaryCollectionCacheEntry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests entities and collections cached using binary cache entries.
+ */
+public class BinaryCacheEntryTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { BinaryCachedItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.USE_BINARY_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testBinaryStructureIsUsed() {
+		EntityPersister persister = sessionFactory().getEntityPersister( BinaryCachedItem.class.getName() );
+		assertSame( BinaryCacheEntry.INSTANCE, persister.getCacheEntryStructure() );
+		assertSame(
+				BinaryCollectionCacheEntry.INSTANCE,
+				sessionFactory().getCollectionPersister( BinaryCachedItem.class.getName() + ".tags" )
+						.getCacheEntryStructure()
+		);
+	}
+
+	@Test
+	public void testStateSurvivesTheCache() {
+		final Date created = new Date( 1400000000123L );
+		final byte[] data = new byte[] { 0, 1, -1, 127, -128 };
+
+		Session s = openSession();
+		s.beginTransaction();
+		BinaryCachedItem item = new BinaryCachedItem( 1L, "caf\u00e9 \ud83d\ude00" );
+		item.setQuantity( -42 );
+		item.setPrice( new BigDecimal( "-12345.6789" ) );
+		item.setActive( true );
+		item.setCreated( created );
+		item.setData( data );
+		item.getTags().add( "first" );
+		item.getTags().add( "second" );
+		s.save( item );
+		BinaryCachedItem empty = new BinaryCachedItem( 2L, null );
+		s.save( empty );
+		s.getTransaction().commit();
+		s.close();
+
+		// populate the collection cache
+		s = openSession();
+		s.beginTransaction();
+		Hibernate.initialize( ( (BinaryCachedItem) s.get( BinaryCachedItem.class, 1L ) ).getTags() );
+		s.getTransaction().commit();
+		s.close();
+
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (BinaryCachedItem) s.get( BinaryCachedItem.class, 1L );
+		assertEquals( "caf\u00e9 \ud83d\ude00", item.getName() );
+		assertEquals( -42, item.getQuantity() );
+		assertEquals( new BigDecimal( "-12345.6789" ), item.getPrice() );
+		assertTrue( item.isActive() );
+		assertNull( item.getGrade() );
+		assertEquals( created.getTime(), item.getCreated().getTime() );
+		assertArrayEquals( data, item.getData() );
+		assertEquals( 2, item.getTags().size() );
+		assertTrue( item.getTags().contains( "first" ) );
+		assertTrue( item.getTags().contains( "second" ) );
+
+		empty = (BinaryCachedItem) s.get( BinaryCachedItem.class, 2L );
+		assertNull( empty.getName() );
+		assertNull( empty.getPrice() );
+
+		assertEquals( 3, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+
+		s.delete( item );
+		s.delete( empty );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests reading and writing several entities at once through the second-level cache.
+ */
+public class BulkCacheAccessTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.USE_QUERY_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void createItems() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.setCacheMode( CacheMode.IGNORE );
+		for ( int i = 0; i < 10; i++ ) {
+			s.save( new CacheableItem( "item #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+		sessionFactory().getCache().evictEntityRegion( CacheableItem.class );
+	}
+
+	@After
+	public void deleteItems() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete CacheableItem" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testLoadedEntitiesArePutInBulk() {
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List items = s.createQuery( "from CacheableItem" ).list();
+		assertEquals( 10, items.size() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 10, statistics.getSecondLevelCachePutCount() );
+
+		s = openSession();
+		s.beginTransaction();
+		List<Long> ids = s.createQuery( "select i.id from CacheableItem i" ).list();
+		s.clear();
+		statistics.clear();
+		items = s.byMultipleIds( CacheableItem.class ).multiLoad( ids );
+		assertEquals( 10, items.size() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 10, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getSecondLevelCacheMissCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testCachedQueryResultsAreAssembledFromCache() {
+		Session s = openSession();
+		s.beginTransaction();
+		List items = s.createQuery( "from CacheableItem" ).setCacheable( true ).list();
+		assertEquals( 10, items.size() );
+		s.getTransaction().commit();
+		s.close();
+
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		items = s.createQuery( "from CacheableItem" ).setCacheable( true ).list();
+		assertEquals( 10, items.size() );
+		for ( Object item : items ) {
+			assertEquals( CacheableItem.class, item.getClass() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+		assertEquals( 10, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+	}
+}
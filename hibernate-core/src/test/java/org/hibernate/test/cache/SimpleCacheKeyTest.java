@@ -0,0 +1,126 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache;
+
+import org.hibernate.Session;
+import org.hibernate.cache.spi.CacheKey;
+import org.hibernate.cache.spi.SimpleCacheKey;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the simplified cache keys used for entities having a cache region to themselves.
+ */
+public class SimpleCacheKeyTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { CacheableItem.class, Company.class, User.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testKeySelection() {
+		Session s = openSession();
+		try {
+			final EntityPersister itemPersister = sessionFactory().getEntityPersister( CacheableItem.class.getName() );
+			final CacheKey itemKey = ( (SessionImplementor) s ).generateCacheKey(
+					1L,
+					itemPersister.getIdentifierType(),
+					itemPersister.getRootEntityName()
+			);
+			assertTrue( itemKey instanceof SimpleCacheKey );
+			assertEquals( Long.valueOf( 1L ).hashCode(), itemKey.hashCode() );
+			assertEquals( CacheableItem.class.getName(), itemKey.getEntityOrRoleName() );
+
+			final CollectionPersister usersPersister = sessionFactory().getCollectionPersister(
+					Company.class.getName() + ".users"
+			);
+			final CacheKey usersKey = ( (SessionImplementor) s ).generateCacheKey(
+					1,
+					usersPersister.getKeyType(),
+					usersPersister.getRole()
+			);
+			assertFalse( usersKey instanceof SimpleCacheKey );
+			assertFalse( usersKey.equals( itemKey ) );
+			assertFalse( itemKey.equals( usersKey ) );
+		}
+		finally {
+			s.close();
+		}
+	}
+
+	@Test
+	public void testEqualityFollowsIdentifier() {
+		final SimpleCacheKey key = new SimpleCacheKey( 1L, CacheableItem.class.getName() );
+		assertEquals( key, new SimpleCacheKey( 1L, CacheableItem.class.getName() ) );
+		assertEquals( key.hashCode(), new SimpleCacheKey( 1L, CacheableItem.class.getName() ).hashCode() );
+		assertFalse( key.equals( new SimpleCacheKey( 2L, CacheableItem.class.getName() ) ) );
+		assertFalse( key.equals( new SimpleCacheKey( 1, CacheableItem.class.getName() ) ) );
+	}
+
+	@Test
+	public void testEntityIsReadFromCache() {
+		Session s = openSession();
+		s.beginTransaction();
+		CacheableItem item = new CacheableItem( "data" );
+		s.save( item );
+		s.getTransaction().commit();
+		s.close();
+
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		item = (CacheableItem) s.get( CacheableItem.class, item.getId() );
+		assertEquals( "data", item.getName() );
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertTrue( sessionFactory().getCache().containsEntity( CacheableItem.class, item.getId() ) );
+
+		sessionFactory().getCache().evictEntity( CacheableItem.class, item.getId() );
+		assertFalse( sessionFactory().getCache().containsEntity( CacheableItem.class, item.getId() ) );
+
+		s.delete( item );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg.bootstrap;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.Version;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.BootstrapServiceRegistry;
+import org.hibernate.boot.registry.BootstrapServiceRegistryBuilder;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.boot.registry.classloading.internal.ClassLoaderServiceImpl;
+import org.hibernate.boot.spi.MetadataImplementor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.test.onetoone.basic.Child;
+import org.hibernate.test.onetoone.basic.Parent;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests reusing the Metadata cached by an earlier bootstrap.
+ */
+public class MetadataCacheTest extends BaseUnitTestCase {
+	private File cacheDirectory;
+	/**
+	 * The class whose class file is reported as changed by the {@link ChangingClassLoaderService}
+	 */
+	private String changedClassName;
+
+	@Before
+	public void createCacheDirectory() throws Exception {
+		cacheDirectory = File.createTempFile( "metadata-cache", "" );
+		cacheDirectory.delete();
+	}
+
+	@After
+	public void deleteCacheDirectory() {
+		final File[] files = cacheDirectory.listFiles();
+		if ( files != null ) {
+			for ( File file : files ) {
+				file.delete();
+			}
+		}
+		cacheDirectory.delete();
+	}
+
+	@Test
+	public void testCachedMetadataIsReused() {
+		final MetadataImplementor built = buildMetadata( Parent.class, Child.class );
+		assertTrue( cacheDirectory.exists() );
+		assertEquals( 1, cacheDirectory.listFiles().length );
+
+		final MetadataImplementor cached = buildMetadata( Parent.class, Child.class );
+		// the Metadata was read from the cache rather than built again
+		assertEquals( built.getUUID(), cached.getUUID() );
+		assertNotNull( cached.getEntityBinding( Parent.class.getName() ) );
+		assertNotNull( cached.getEntityBinding( Child.class.getName() ) );
+	}
+
+	@Test
+	public void testChangedSourcesAreNotReused() {
+		final MetadataImplementor built = buildMetadata( Parent.class, Child.class );
+		final MetadataImplementor other = buildMetadata( Parent.class );
+		assertFalse( built.getUUID().equals( other.getUUID() ) );
+		assertEquals( 2, cacheDirectory.listFiles().length );
+	}
+
+	@Test
+	public void testSessionFactoryFromCachedMetadata() {
+		buildMetadata( Parent.class, Child.class );
+
+		final StandardServiceRegistry ssr = buildServiceRegistry();
+		try {
+			final SessionFactory sessionFactory = new MetadataSources( ssr )
+					.addAnnotatedClass( Parent.class )
+					.addAnnotatedClass( Child.class )
+					.buildMetadata()
+					.buildSessionFactory();
+			try {
+				assertNotNull( sessionFactory.getClassMetadata( Parent.class ) );
+				assertNotNull( sessionFactory.getClassMetadata( Child.class ) );
+			}
+			finally {
+				sessionFactory.close();
+			}
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	@Test
+	public void testChangedReferencedClassesAreNotReused() {
+		final MetadataImplementor built = buildChangingMetadata( Customer.class );
+		assertEquals( built.getUUID(), buildChangingMetadata( Customer.class ).getUUID() );
+
+		// neither the embeddable nor the mapped superclass are part of the sources
+		changedClassName = Address.class.getName();
+		final MetadataImplementor embeddableChanged = buildChangingMetadata( Customer.class );
+		assertFalse( built.getUUID().equals( embeddableChanged.getUUID() ) );
+
+		changedClassName = Versioned.class.getName();
+		final MetadataImplementor superclassChanged = buildChangingMetadata( Customer.class );
+		assertFalse( embeddableChanged.getUUID().equals( superclassChanged.getUUID() ) );
+		assertEquals( superclassChanged.getUUID(), buildChangingMetadata( Customer.class ).getUUID() );
+	}
+
+	private MetadataImplementor buildChangingMetadata(Class... annotatedClasses) {
+		final BootstrapServiceRegistry bsr = new BootstrapServiceRegistryBuilder()
+				.applyClassLoaderService( new ChangingClassLoaderService() )
+				.build();
+		return buildMetadata( buildServiceRegistry( bsr ), annotatedClasses );
+	}
+
+	private MetadataImplementor buildMetadata(Class... annotatedClasses) {
+		return buildMetadata( buildServiceRegistry(), annotatedClasses );
+	}
+
+	private MetadataImplementor buildMetadata(StandardServiceRegistry ssr, Class... annotatedClasses) {
+		try {
+			final MetadataSources sources = new MetadataSources( ssr );
+			for ( Class annotatedClass : annotatedClasses ) {
+				sources.addAnnotatedClass( annotatedClass );
+			}
+			return (MetadataImplementor) sources.buildMetadata();
+		}
+		finally {
+			StandardServiceRegistryBuilder.destroy( ssr );
+		}
+	}
+
+	private StandardServiceRegistry buildServiceRegistry() {
+		return buildServiceRegistry( new BootstrapServiceRegistryBuilder().build() );
+	}
+
+	private StandardServiceRegistry buildServiceRegistry(BootstrapServiceRegistry bsr) {
+		return new StandardServiceRegistryBuilder( bsr )
+				.applySetting( AvailableSettings.BOOTSTRAP_METADATA_CACHE_DIRECTORY, cacheDirectory.getAbsolutePath() )
+				.build();
+	}
+
+	/**
+	 * Appends a byte to the class file of the {@link #changedClassName changed class}, as a recompilation would
+	 * change it.
+	 */
+	private class ChangingClassLoaderService extends ClassLoaderServiceImpl {
+		@Override
+		public InputStream locateResourceStream(String name) {
+			final InputStream stream = super.locateResourceStream( name );
+			if ( stream == null || changedClassName == null
+					|| !name.equals( changedClassName.replace( '.', '/' ) + ".class" ) ) {
+				return stream;
+			}
+			return new SequenceInputStream( stream, new ByteArrayInputStream( new byte[] { 0 } ) );
+		}
+	}
+
+	@MappedSuperclass
+	public static class Versioned {
+		@Version
+		private int version;
+	}
+
+	@Entity( name = "CachedCustomer" )
+	public static class Customer extends Versioned {
+		@Id
+		private Long id;
+		@Embedded
+		private Address address;
+	}
+
+	@Embeddable
+	public static class Address {
+		private String street;
+	}
+}
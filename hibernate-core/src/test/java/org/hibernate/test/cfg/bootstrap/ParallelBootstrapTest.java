@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cfg.bootstrap;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.test.legacy.Category;
+import org.hibernate.test.legacy.Master;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests building a SessionFactory with the persisters and named queries prepared concurrently.
+ */
+public class ParallelBootstrapTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] {
+				"legacy/MasterDetail.hbm.xml",
+				"legacy/Custom.hbm.xml",
+				"legacy/Category.hbm.xml",
+				"legacy/Nameable.hbm.xml",
+				"legacy/SingleSeveral.hbm.xml",
+				"legacy/WZ.hbm.xml",
+				"legacy/UpDown.hbm.xml",
+				"legacy/Eye.hbm.xml"
+		};
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.BOOTSTRAP_PARALLELISM, "4" );
+		cfg.setProperty( AvailableSettings.QUERY_STARTUP_CHECKING, "true" );
+	}
+
+	@Test
+	public void testPersistersAreRegistered() {
+		assertEquals( 4, sessionFactory().getSettings().getBootstrapParallelism() );
+		// each persister has to be registered under the name of the entity it was built for
+		for ( String entityName : sessionFactory().getAllClassMetadata().keySet() ) {
+			assertEquals( entityName, sessionFactory().getEntityPersister( entityName ).getEntityName() );
+		}
+		assertNotNull( sessionFactory().getEntityPersister( Master.class.getName() ) );
+		assertNotNull( sessionFactory().getClassMetadata( Category.class ) );
+		assertNotNull( sessionFactory().getCollectionPersister( Master.class.getName() + ".details" ) );
+		assertNotNull( sessionFactory().getCollectionRolesByEntityParticipant( Master.class.getName() ) );
+	}
+
+	@Test
+	public void testNamedQueriesAreUsable() {
+		Session s = openSession();
+		s.beginTransaction();
+		assertTrue( s.getNamedQuery( "all_details" ).list().isEmpty() );
+		assertTrue( s.getNamedQuery( "namedsql" ).list().isEmpty() );
+		s.getTransaction().commit();
+		s.close();
+	}
+}
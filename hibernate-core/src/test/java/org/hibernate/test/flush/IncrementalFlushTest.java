@@ -0,0 +1,159 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.junit.Test;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class IncrementalFlushTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { TrackedEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.INCREMENTAL_FLUSH, "true" );
+	}
+
+	@Test
+	public void testOnlyReportedChangesAreFlushed() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new TrackedEntity( 1L, "first" ) );
+		s.save( new TrackedEntity( 2L, "second" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		TrackedEntity first = (TrackedEntity) s.get( TrackedEntity.class, 1L );
+		TrackedEntity second = (TrackedEntity) s.get( TrackedEntity.class, 2L );
+		assertEquals( 0, dirtyEntityCount( s ) );
+
+		first.setName( "first, changed" );
+		second.setNameUntracked( "second, changed" );
+		assertEquals( 1, dirtyEntityCount( s ) );
+		s.flush();
+		assertEquals( 0, dirtyEntityCount( s ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( "first, changed", ( (TrackedEntity) s.get( TrackedEntity.class, 1L ) ).getName() );
+		// the untracked change was not seen, as the entity was skipped
+		assertEquals( "second", ( (TrackedEntity) s.get( TrackedEntity.class, 2L ) ).getName() );
+		s.createQuery( "delete TrackedEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testCollectionsOfSkippedOwners() {
+		Session s = openSession();
+		s.beginTransaction();
+		TrackedEntity first = new TrackedEntity( 1L, "first" );
+		first.getTags().add( "a" );
+		TrackedEntity second = new TrackedEntity( 2L, "second" );
+		second.getTags().add( "b" );
+		s.save( first );
+		s.save( second );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		first = (TrackedEntity) s.get( TrackedEntity.class, 1L );
+		second = (TrackedEntity) s.get( TrackedEntity.class, 2L );
+		assertEquals( 1, second.getTags().size() );
+		first.getTags().add( "c" );
+		// the collection reports its owner
+		assertEquals( 1, dirtyEntityCount( s ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		first = (TrackedEntity) s.get( TrackedEntity.class, 1L );
+		second = (TrackedEntity) s.get( TrackedEntity.class, 2L );
+		assertEquals( 2, first.getTags().size() );
+		// the skipped owner's collection must not be taken as dereferenced
+		assertEquals( 1, second.getTags().size() );
+		s.delete( first );
+		s.delete( second );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testSaveDeleteAndMerge() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new TrackedEntity( 1L, "first" ) );
+		s.save( new TrackedEntity( 2L, "second" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		TrackedEntity detached = (TrackedEntity) s.get( TrackedEntity.class, 2L );
+		s.getTransaction().commit();
+		s.close();
+
+		detached.setNameUntracked( "second, merged" );
+
+		s = openSession();
+		s.beginTransaction();
+		s.delete( s.get( TrackedEntity.class, 1L ) );
+		s.save( new TrackedEntity( 3L, "third" ) );
+		s.merge( detached );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertNull( s.get( TrackedEntity.class, 1L ) );
+		assertEquals( "second, merged", ( (TrackedEntity) s.get( TrackedEntity.class, 2L ) ).getName() );
+		assertEquals( "third", ( (TrackedEntity) s.get( TrackedEntity.class, 3L ) ).getName() );
+		assertTrue( s.createQuery( "delete TrackedEntity" ).executeUpdate() == 2 );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static int dirtyEntityCount(Session s) {
+		return ( (SessionImplementor) s ).getPersistenceContext().reentrantSafeDirtyEntityEntries().length;
+	}
+}
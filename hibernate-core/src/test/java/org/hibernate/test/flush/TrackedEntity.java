@@ -0,0 +1,153 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.flush;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.ElementCollection;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Transient;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.ManagedEntity;
+import org.hibernate.engine.spi.SelfDirtinessNotifier;
+
+/**
+ * An entity "enhanced" by hand for inline dirty checking, the way the bytecode enhancer would.
+ */
+@Entity
+public class TrackedEntity implements ManagedEntity, SelfDirtinessNotifier {
+	@Transient
+	private transient EntityEntry entityEntry;
+	@Transient
+	private transient ManagedEntity previous;
+	@Transient
+	private transient ManagedEntity next;
+	@Transient
+	private transient Set<String> tracker;
+
+	@Id
+	private Long id;
+	private String name;
+	@ElementCollection
+	private Set<String> tags = new HashSet<String>();
+
+	public TrackedEntity() {
+	}
+
+	public TrackedEntity(Long id, String name) {
+		this.id = id;
+		this.name = name;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+		$$_hibernate_trackChange( "name" );
+	}
+
+	/**
+	 * Changes the name without the change being tracked, like an in-place change to a mutable value would.
+	 */
+	public void setNameUntracked(String name) {
+		this.name = name;
+	}
+
+	public Set<String> getTags() {
+		return tags;
+	}
+
+	public void $$_hibernate_trackChange(String attributeName) {
+		if ( tracker == null ) {
+			tracker = new HashSet<String>();
+		}
+		tracker.add( attributeName );
+		if ( entityEntry != null ) {
+			entityEntry.markDirty( this );
+		}
+	}
+
+	@Override
+	public boolean $$_hibernate_hasDirtyAttributes() {
+		return tracker != null && !tracker.isEmpty();
+	}
+
+	@Override
+	public Set<String> $$_hibernate_getDirtyAttributes() {
+		if ( tracker == null ) {
+			tracker = new HashSet<String>();
+		}
+		return tracker;
+	}
+
+	@Override
+	public void $$_hibernate_clearDirtyAttributes() {
+		if ( tracker != null ) {
+			tracker.clear();
+		}
+	}
+
+	@Override
+	public Object $$_hibernate_getEntityInstance() {
+		return this;
+	}
+
+	@Override
+	public EntityEntry $$_hibernate_getEntityEntry() {
+		return entityEntry;
+	}
+
+	@Override
+	public void $$_hibernate_setEntityEntry(EntityEntry entityEntry) {
+		this.entityEntry = entityEntry;
+	}
+
+	@Override
+	public ManagedEntity $$_hibernate_getNextManagedEntity() {
+		return next;
+	}
+
+	@Override
+	public void $$_hibernate_setNextManagedEntity(ManagedEntity next) {
+		this.next = next;
+	}
+
+	@Override
+	public ManagedEntity $$_hibernate_getPreviousManagedEntity() {
+		return previous;
+	}
+
+	@Override
+	public void $$_hibernate_setPreviousManagedEntity(ManagedEntity previous) {
+		this.previous = previous;
+	}
+}
@@ -0,0 +1,138 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.insertordering;
+
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderInitiator;
+import org.hibernate.engine.jdbc.batch.internal.GroupingBatchBuilder;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.BatchObserver;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that {@link GroupingBatchBuilder} batches interleaved inserts without {@link Environment#ORDER_INSERTS}.
+ */
+public class GroupingBatchTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "insertordering/Mapping.hbm.xml" };
+	}
+
+	@Override
+	public void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.STATEMENT_BATCH_SIZE, "10" );
+		cfg.setProperty( BatchBuilderInitiator.BUILDER, StatsBatchBuilder.class.getName() );
+	}
+
+	@Test
+	public void testShortNameSelection() {
+		final BatchBuilder builder = BatchBuilderInitiator.INSTANCE.initiateService(
+				Collections.singletonMap( BatchBuilderInitiator.BUILDER, GroupingBatchBuilder.SHORT_NAME ),
+				serviceRegistry()
+		);
+		assertTrue( GroupingBatchBuilder.class.isInstance( builder ) );
+	}
+
+	@Test
+	public void testInterleavedInserts() {
+		Session s = openSession();
+		s.beginTransaction();
+		int iterations = 12;
+		for ( int i = 0; i < iterations; i++ ) {
+			User user = new User( "user-" + i );
+			Group group = new Group( "group-" + i );
+			s.save( user );
+			s.save( group );
+			user.addMembership( group );
+		}
+		StatsBatchBuilder.reset();
+		s.getTransaction().commit();
+		s.close();
+
+		// users and groups (and then memberships) are interleaved, yet share a single batch which is only
+		// implicitly executed once the users and then the memberships reach the batch size
+		assertEquals( 1, StatsBatchBuilder.built );
+		assertEquals( 2, StatsBatchBuilder.implicitExecutions );
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( iterations, s.createQuery( "from Membership m join fetch m.user join fetch m.group" ).list().size() );
+		Iterator users = s.createQuery( "from User u left join fetch u.memberships m left join fetch m.group" ).list().iterator();
+		while ( users.hasNext() ) {
+			s.delete( users.next() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 0, s.createQuery( "from User" ).list().size() );
+		assertEquals( 0, s.createQuery( "from Membership" ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	public static class StatsBatchBuilder extends GroupingBatchBuilder {
+		private static int built;
+		private static int implicitExecutions;
+
+		static void reset() {
+			built = 0;
+			implicitExecutions = 0;
+		}
+
+		@Override
+		public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+			built++;
+			final Batch batch = super.buildBatch( key, jdbcCoordinator );
+			batch.addObserver(
+					new BatchObserver() {
+						@Override
+						public void batchExplicitlyExecuted() {
+						}
+
+						@Override
+						public void batchImplicitlyExecuted() {
+							implicitExecutions++;
+						}
+					}
+			);
+			return batch;
+		}
+	}
+}
@@ -27,6 +27,7 @@ import java.sql.PreparedStatement;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
 
@@ -39,9 +40,12 @@ import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.EntityDependencyGraph;
 import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author Steve Ebersole
@@ -88,6 +92,72 @@ public class InsertOrderingTest extends BaseCoreFunctionalTestCase {
 		s.close();
 	}
 
+	@Test
+	public void testInterleavedParentChildInsertOrder() {
+		Session s = openSession();
+		s.beginTransaction();
+		int iterations = 12;
+		for ( int i = 0; i < iterations; i++ ) {
+			User user = new User( "user-" + i );
+			user.addMembership( new Group( "group-" + i ) );
+			// cascades to the group and then the membership, so the actions are queued user, group, membership, ...
+			s.save( user );
+		}
+		StatsBatch.reset();
+		s.getTransaction().commit();
+		s.close();
+
+		// every insert of an entity is issued before the inserts of the entities referencing it...
+		final List<String> tables = new ArrayList<String>();
+		for ( String sql : StatsBatch.executedSql ) {
+			final String table = insertedTable( sql );
+			if ( tables.isEmpty() || !tables.get( tables.size() - 1 ).equals( table ) ) {
+				tables.add( table );
+			}
+		}
+		assertEquals( 3, tables.size() );
+		assertEquals( "INS_ORD_MEM", tables.get( 2 ) );
+		assertTrue( tables.contains( "INS_ORD_USR" ) );
+		assertTrue( tables.contains( "INS_ORD_GRP" ) );
+
+		// ...so each table only needs ceil(12 / 10) JDBC batches
+		assertEquals( 6, StatsBatch.executedSql.size() );
+		for ( int i = 0; i < StatsBatch.executedRows.size(); i++ ) {
+			assertEquals( i % 2 == 0 ? 10 : 2, StatsBatch.executedRows.get( i ).intValue() );
+		}
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( iterations, s.createQuery( "from Membership m join fetch m.user join fetch m.group" ).list().size() );
+		Iterator users = s.createQuery( "from User u left join fetch u.memberships m left join fetch m.group" ).list().iterator();
+		while ( users.hasNext() ) {
+			s.delete( users.next() );
+		}
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	private static String insertedTable(String sql) {
+		final String prefix = "insert into ";
+		final int start = sql.toLowerCase().indexOf( prefix ) + prefix.length();
+		return sql.substring( start, sql.indexOf( ' ', start ) ).toUpperCase();
+	}
+
+	@Test
+	public void testEntityDependencyGraph() {
+		EntityDependencyGraph graph = sessionFactory().getEntityDependencyGraph();
+		String user = User.class.getName();
+		String group = Group.class.getName();
+		String membership = Membership.class.getName();
+
+		assertTrue( graph.references( membership, user ) );
+		assertTrue( graph.references( membership, group ) );
+		assertFalse( graph.references( user, membership ) );
+		assertTrue( graph.getInsertRank( user ) < graph.getInsertRank( membership ) );
+		assertTrue( graph.getInsertRank( group ) < graph.getInsertRank( membership ) );
+		assertFalse( graph.isCyclic( sessionFactory().getEntityPersister( membership ) ) );
+	}
+
 	public static class Counter {
 		public int count = 0;
 	}
@@ -96,6 +166,8 @@ public class InsertOrderingTest extends BaseCoreFunctionalTestCase {
 		private static String batchSQL;
 		private static List batchSizes = new ArrayList();
 		private static int currentBatch = -1;
+		private static List<String> executedSql = new ArrayList<String>();
+		private static List<Integer> executedRows = new ArrayList<Integer>();
 
 		public StatsBatch(BatchKey key, JdbcCoordinator jdbcCoordinator, int jdbcBatchSize) {
 			super( key, jdbcCoordinator, jdbcBatchSize );
@@ -105,6 +177,8 @@ public class InsertOrderingTest extends BaseCoreFunctionalTestCase {
 			batchSizes = new ArrayList();
 			currentBatch = -1;
 			batchSQL = null;
+			executedSql = new ArrayList<String>();
+			executedRows = new ArrayList<Integer>();
 		}
 
 		@Override
@@ -123,6 +197,17 @@ public class InsertOrderingTest extends BaseCoreFunctionalTestCase {
 			counter.count++;
 			super.addToBatch();
 		}
+
+		@Override
+		protected void batchExecutionEnded(PreparedStatement statement, long startTime, int[] rowCounts) {
+			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
+				if ( entry.getValue() == statement ) {
+					executedSql.add( entry.getKey() );
+					executedRows.add( rowCounts == null ? -1 : rowCounts.length );
+				}
+			}
+			super.batchExecutionEnded( statement, startTime, rowCounts );
+		}
 	}
 
 	public static class StatsBatchBuilder extends BatchBuilderImpl {
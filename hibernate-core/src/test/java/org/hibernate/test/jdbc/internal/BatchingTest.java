@@ -29,9 +29,12 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.Statement;
 
 import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
 import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
 import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
@@ -66,6 +69,12 @@ public class BatchingTest extends BaseCoreFunctionalTestCase implements BatchKey
 		return Expectations.BASIC;
 	}
 
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( Environment.STATEMENT_BATCH_SIZE, "10" );
+	}
+
 	@Test
 	public void testNonBatchingUsage() throws Exception {
 		Session session = openSession();
@@ -205,4 +214,64 @@ public class BatchingTest extends BaseCoreFunctionalTestCase implements BatchKey
 		session.close();
 	}
 
+	@Test
+	public void testBatchingUsageWithMixedStatements() throws Exception {
+		Session session = openSession();
+		SessionImplementor sessionImpl = (SessionImplementor) session;
+
+		TransactionCoordinator transactionCoordinator = sessionImpl.getTransactionCoordinator();
+		final JdbcCoordinator jdbcCoordinator = transactionCoordinator.getJdbcCoordinator();
+
+		// set up some tables to use
+		Statement statement = jdbcCoordinator.getStatementPreparer().createStatement();
+		String dropSql = getDialect().getDropTableString( "SANDBOX_JDBC_TST" );
+		try {
+			jdbcCoordinator.getResultSetReturn().execute( statement, dropSql );
+		}
+		catch ( Exception e ) {
+			// ignore if the DB doesn't support "if exists" and the table doesn't exist
+		}
+		jdbcCoordinator.getResultSetReturn().execute( statement, "create table SANDBOX_JDBC_TST ( ID integer, NAME varchar(100) )" );
+		jdbcCoordinator.release( statement );
+
+		TransactionImplementor txn = transactionCoordinator.getTransaction();
+		txn.begin();
+
+		// the default builder; a second SQL string under the same key must flush the first statement
+		final BatchKey batchKey = new BasicBatchKey( "this", Expectations.BASIC );
+		final Batch insertBatch = jdbcCoordinator.getBatch( batchKey );
+		assertTrue( "unexpected Batch impl", BatchingBatch.class.isInstance( insertBatch ) );
+
+		final JournalingBatchObserver batchObserver = new JournalingBatchObserver();
+		insertBatch.addObserver( batchObserver );
+
+		PreparedStatement insert = insertBatch.getBatchStatement( "insert into SANDBOX_JDBC_TST( ID, NAME ) values ( ?, ? )", false );
+		insert.setLong( 1, 1 );
+		insert.setString( 2, "name" );
+		insertBatch.addToBatch();
+		assertEquals( 0, batchObserver.getExplicitExecutionCount() );
+		assertEquals( 0, batchObserver.getImplicitExecutionCount() );
+
+		PreparedStatement insert2 = insertBatch.getBatchStatement( "insert into SANDBOX_JDBC_TST( NAME, ID ) values ( ?, ? )", false );
+		assertEquals( 1, batchObserver.getExplicitExecutionCount() );
+		assertEquals( 0, batchObserver.getImplicitExecutionCount() );
+		assertTrue( insert.isClosed() );
+		assertFalse( insert2.isClosed() );
+		insert2.setString( 1, "another name" );
+		insert2.setLong( 2, 2 );
+		insertBatch.addToBatch();
+
+		jdbcCoordinator.executeBatch();
+		assertFalse( jdbcCoordinator.hasRegisteredResources() );
+
+		statement = jdbcCoordinator.getStatementPreparer().createStatement();
+		ResultSet resultSet = jdbcCoordinator.getResultSetReturn().extract( statement, "select count(*) from SANDBOX_JDBC_TST" );
+		assertTrue( resultSet.next() );
+		assertEquals( 2, resultSet.getInt( 1 ) );
+		jdbcCoordinator.release( statement );
+
+		txn.commit();
+		session.close();
+	}
+
 }
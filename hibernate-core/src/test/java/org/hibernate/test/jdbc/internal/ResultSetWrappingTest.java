@@ -0,0 +1,113 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.jdbc.spi.JdbcWrapper;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.test.jdbc.Person;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests reading through the column name caching ResultSet wrapper.
+ */
+public class ResultSetWrappingTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "jdbc/Mappings.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.WRAP_RESULT_SETS, "true" );
+	}
+
+	@Test
+	public void testLoadThroughWrapper() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Person( "John", "Doe" ) );
+		s.save( new Person( "Jane", "Doe" ) );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		final List persons = s.createQuery( "from Person p where p.lastName = 'Doe' order by p.firstName" ).list();
+		assertEquals( 2, persons.size() );
+		assertEquals( "Jane", ( (Person) persons.get( 0 ) ).getFirstName() );
+		assertEquals( "John", ( (Person) persons.get( 1 ) ).getFirstName() );
+		s.createQuery( "delete Person" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testColumnLabelsResolvedThroughCache() throws SQLException {
+		Session s = openSession();
+		s.beginTransaction();
+		s.save( new Person( "John", "Doe" ) );
+		s.flush();
+
+		final JdbcCoordinator jdbcCoordinator = ( (SessionImplementor) s ).getTransactionCoordinator()
+				.getJdbcCoordinator();
+		final PreparedStatement ps = jdbcCoordinator.getStatementPreparer().prepareStatement(
+				"select ID, lastName, firstName from T_JDBC_PERSON"
+		);
+		final ResultSet rs = jdbcCoordinator.getResultSetReturn().extract( ps );
+		final ColumnNameCache columnNameCache = new ColumnNameCache( 3 );
+		final ResultSet wrapped = sessionFactory().getJdbcServices().getResultSetWrapper().wrap( rs, columnNameCache );
+
+		assertTrue( wrapped instanceof JdbcWrapper );
+		assertSame( rs, ( (JdbcWrapper) wrapped ).getWrappedObject() );
+		assertSame( rs, wrapped.unwrap( ResultSet.class ) );
+
+		assertTrue( wrapped.next() );
+		assertEquals( 3, wrapped.findColumn( "firstName" ) );
+		assertEquals( "John", wrapped.getString( "firstName" ) );
+		assertEquals( "Doe", wrapped.getString( "lastName" ) );
+		assertEquals( Integer.valueOf( 2 ), columnNameCache.getIndexForColumnName( "lastName", null ) );
+		jdbcCoordinator.release( ps );
+
+		s.createQuery( "delete Person" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,158 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.jdbc.internal;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.test.jdbc.Person;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the reuse of prepared statements through the per-connection statement cache.
+ */
+public class StatementCacheTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "jdbc/Mappings.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.STATEMENT_CACHE_SIZE, "2" );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testReleasedStatementIsReused() throws SQLException {
+		final String sql = "select ID from T_JDBC_PERSON";
+		Session s = openSession();
+		s.beginTransaction();
+		final JdbcCoordinator jdbcCoordinator = ( (SessionImplementor) s ).getTransactionCoordinator()
+				.getJdbcCoordinator();
+
+		final PreparedStatement first = jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
+		jdbcCoordinator.getResultSetReturn().extract( first );
+		// prepared again while the first one is in use
+		final PreparedStatement second = jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
+		assertNotSame( first, second );
+		jdbcCoordinator.release( second );
+		// only one idle statement is kept per SQL
+		jdbcCoordinator.release( first );
+		assertFalse( second.isClosed() );
+		assertTrue( first.isClosed() );
+
+		final PreparedStatement third = jdbcCoordinator.getStatementPreparer().prepareStatement( sql );
+		assertSame( second, third );
+		jdbcCoordinator.getResultSetReturn().extract( third );
+		jdbcCoordinator.release( third );
+
+		s.getTransaction().commit();
+		s.close();
+		assertTrue( second.isClosed() );
+	}
+
+	@Test
+	public void testLeastRecentlyUsedStatementIsEvicted() throws SQLException {
+		Session s = openSession();
+		s.beginTransaction();
+		final JdbcCoordinator jdbcCoordinator = ( (SessionImplementor) s ).getTransactionCoordinator()
+				.getJdbcCoordinator();
+
+		final PreparedStatement[] statements = new PreparedStatement[3];
+		for ( int i = 0; i < statements.length; i++ ) {
+			statements[i] = jdbcCoordinator.getStatementPreparer().prepareStatement(
+					"select ID from T_JDBC_PERSON where ID > " + i
+			);
+			jdbcCoordinator.release( statements[i] );
+		}
+		assertTrue( statements[0].isClosed() );
+		assertFalse( statements[1].isClosed() );
+		assertFalse( statements[2].isClosed() );
+
+		s.getTransaction().commit();
+		s.close();
+		assertTrue( statements[1].isClosed() );
+		assertTrue( statements[2].isClosed() );
+	}
+
+	@Test
+	public void testStatementsOnSuppliedConnectionAreClosed() throws SQLException {
+		final ConnectionProvider connectionProvider = sessionFactory().getServiceRegistry()
+				.getService( ConnectionProvider.class );
+		final Connection connection = connectionProvider.getConnection();
+		try {
+			Session s = sessionFactory().withOptions().connection( connection ).openSession();
+			final JdbcCoordinator jdbcCoordinator = ( (SessionImplementor) s ).getTransactionCoordinator()
+					.getJdbcCoordinator();
+			final PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(
+					"select ID from T_JDBC_PERSON"
+			);
+			jdbcCoordinator.release( statement );
+			assertFalse( statement.isClosed() );
+
+			s.close();
+			assertTrue( statement.isClosed() );
+			assertFalse( connection.isClosed() );
+		}
+		finally {
+			connectionProvider.closeConnection( connection );
+		}
+	}
+
+	@Test
+	public void testEntityOperationsReuseStatements() {
+		Session s = openSession();
+		s.beginTransaction();
+		for ( int i = 0; i < 5; i++ ) {
+			s.save( new Person( "John" + i, "Doe" ) );
+		}
+		s.flush();
+		s.clear();
+		sessionFactory().getStatistics().clear();
+		for ( long id = 1; id <= 5; id++ ) {
+			assertEquals( "Doe", ( (Person) s.get( Person.class, id ) ).getLastName() );
+		}
+		assertEquals( 1, sessionFactory().getStatistics().getPrepareStatementCount() );
+		s.createQuery( "delete Person" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+}
@@ -0,0 +1,164 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2010-2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.multiload;
+
+import java.util.List;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.Environment;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests loading entities through {@link Session#byMultipleIds}
+ */
+public class MultiLoadTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { SimpleEntity.class };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		cfg.setProperty( Environment.GENERATE_STATISTICS, "true" );
+	}
+
+	@Before
+	public void createEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.setCacheMode( CacheMode.IGNORE );
+		for ( int i = 1; i <= 60; i++ ) {
+			s.save( new SimpleEntity( i, "Entity #" + i ) );
+		}
+		s.getTransaction().commit();
+		s.close();
+		sessionFactory().getCache().evictEntityRegion( SimpleEntity.class );
+	}
+
+	@After
+	public void deleteEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.createQuery( "delete SimpleEntity" ).executeUpdate();
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testResultsFollowIdOrder() {
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		List results = s.byMultipleIds( SimpleEntity.class ).multiLoad( 5, 99, 3, 5, 1 );
+		assertEquals( 5, results.size() );
+		assertEquals( 5, ( (SimpleEntity) results.get( 0 ) ).getId().intValue() );
+		assertNull( results.get( 1 ) );
+		assertEquals( 3, ( (SimpleEntity) results.get( 2 ) ).getId().intValue() );
+		assertSame( results.get( 0 ), results.get( 3 ) );
+		assertEquals( 1, ( (SimpleEntity) results.get( 4 ) ).getId().intValue() );
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testBatchSize() {
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		Session s = openSession();
+		s.beginTransaction();
+		Integer[] ids = new Integer[60];
+		for ( int i = 0; i < ids.length; i++ ) {
+			ids[i] = i + 1;
+		}
+		List results = s.byMultipleIds( SimpleEntity.class ).withBatchSize( 25 ).multiLoad( ids );
+		assertEquals( 60, results.size() );
+		for ( int i = 0; i < ids.length; i++ ) {
+			assertEquals( ids[i], ( (SimpleEntity) results.get( i ) ).getId() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 3, statistics.getPrepareStatementCount() );
+	}
+
+	@Test
+	public void testManagedAndDeletedEntities() {
+		Session s = openSession();
+		s.beginTransaction();
+		SimpleEntity first = (SimpleEntity) s.get( SimpleEntity.class, 1 );
+		SimpleEntity second = (SimpleEntity) s.get( SimpleEntity.class, 2 );
+		s.delete( second );
+
+		List results = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		assertSame( first, results.get( 0 ) );
+		assertNull( results.get( 1 ) );
+		assertNotNull( results.get( 2 ) );
+		s.getTransaction().rollback();
+		s.close();
+	}
+
+	@Test
+	public void testSecondLevelCacheIsUsed() {
+		Session s = openSession();
+		s.beginTransaction();
+		s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3 );
+		s.getTransaction().commit();
+		s.close();
+
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		List results = s.byMultipleIds( SimpleEntity.class ).multiLoad( 1, 2, 3, 4 );
+		assertEquals( 4, results.size() );
+		for ( int i = 0; i < 4; i++ ) {
+			assertEquals( i + 1, ( (SimpleEntity) results.get( i ) ).getId().intValue() );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		assertEquals( 3, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 1, statistics.getPrepareStatementCount() );
+	}
+}
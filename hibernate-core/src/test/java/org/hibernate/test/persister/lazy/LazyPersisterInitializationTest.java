@@ -0,0 +1,150 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.persister.lazy;
+
+import java.util.HashSet;
+import java.util.Set;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.NamedQuery;
+import javax.persistence.OneToMany;
+
+import org.hibernate.Hibernate;
+import org.hibernate.HibernateException;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.persister.collection.AbstractCollectionPersister;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+public class LazyPersisterInitializationTest extends BaseCoreFunctionalTestCase {
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.LAZY_PERSISTER_INITIALIZATION, "true" );
+	}
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] { Customer.class, Order.class };
+	}
+
+	@Test
+	public void testLoadersAreBuiltOnDemand() {
+		Session s = openSession();
+		s.beginTransaction();
+		Customer customer = new Customer( "C-1" );
+		s.persist( customer );
+		Order order = new Order( customer );
+		customer.orders.add( order );
+		s.persist( order );
+		s.getTransaction().commit();
+		s.close();
+
+		s = openSession();
+		s.beginTransaction();
+		customer = (Customer) s.get( Customer.class, customer.id );
+		assertNotNull( customer );
+		assertFalse( Hibernate.isInitialized( customer.orders ) );
+		assertEquals( 1, customer.orders.size() );
+		assertEquals( customer.id, ( (Order) s.get( Order.class, order.id ) ).customer.id );
+		assertEquals( customer.id, ( (Customer) s.bySimpleNaturalId( Customer.class ).load( "C-1" ) ).id );
+		s.delete( customer.orders.iterator().next() );
+		s.delete( customer );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test
+	public void testInitializePersisters() {
+		sessionFactory().initializePersisters( Customer.class.getName() );
+		final AbstractCollectionPersister ordersPersister = (AbstractCollectionPersister) sessionFactory()
+				.getCollectionPersister( Customer.class.getName() + ".orders" );
+		assertNotNull( ordersPersister.getInitializer() );
+		sessionFactory().initializePersisters();
+	}
+
+	@Test
+	public void testNamedQueriesAreCheckedOnFirstUse() {
+		Session s = openSession();
+		try {
+			s.getNamedQuery( "Customer.broken" );
+			fail( "expecting the named query to be rejected" );
+		}
+		catch (HibernateException expected) {
+		}
+		finally {
+			s.close();
+		}
+	}
+
+	@Entity(name = "Customer")
+	@NamedQuery(name = "Customer.broken", query = "from Customer c where c.noSuchProperty = 1")
+	public static class Customer {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		@org.hibernate.annotations.NaturalId
+		@Column(unique = true)
+		String code;
+
+		@OneToMany(mappedBy = "customer")
+		Set<Order> orders = new HashSet<Order>();
+
+		public Customer() {
+		}
+
+		public Customer(String code) {
+			this.code = code;
+		}
+	}
+
+	@Entity(name = "CustomerOrder")
+	public static class Order {
+		@Id
+		@GeneratedValue
+		Long id;
+
+		@ManyToOne
+		Customer customer;
+
+		public Order() {
+		}
+
+		public Order(Customer customer) {
+			this.customer = customer;
+		}
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2010-2011, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.QueryHandle;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.query.spi.HQLQueryHandle;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.stat.QueryPlanCacheTrackingStatistics;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for HQL queries prepared through {@link org.hibernate.SessionFactory#prepareQuery}
+ */
+public class PreparedQueryTest extends BaseCoreFunctionalTestCase {
+	public String[] getMappings() {
+		return new String[]{
+			"queryplan/filter-defs.hbm.xml",
+			"queryplan/Joined.hbm.xml"
+		};
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testPreparedQueryIsInterned() {
+		QueryHandle handle = sessionFactory().prepareQuery( "from Person where name = :name" );
+		assertSame( handle, sessionFactory().prepareQuery( "from Person where name = :name" ) );
+
+		QueryPlanCache cache = sessionFactory().getQueryPlanCache();
+		assertSame(
+				( (HQLQueryHandle) handle ).getQueryPlan(),
+				cache.getHQLQueryPlan( "from Person where name = :name", false, Collections.EMPTY_MAP )
+		);
+	}
+
+	@Test
+	public void testPreparedQueryExecution() {
+		Session s = openSession();
+		s.beginTransaction();
+		Person female = new Person( "Jane", 'F' );
+		Person male = new Person( "John", 'M' );
+		s.save( female );
+		s.save( male );
+		s.getTransaction().commit();
+		s.close();
+
+		QueryHandle byName = sessionFactory().prepareQuery( "from Person where name = :name" );
+		QueryHandle byNames = sessionFactory().prepareQuery( "from Person where name in (:names)" );
+
+		s = openSession();
+		s.beginTransaction();
+		List results = s.createQuery( byName ).setParameter( "name", "Jane" ).list();
+		assertEquals( 1, results.size() );
+		results = s.createQuery( byNames ).setParameterList( "names", Arrays.asList( "Jane", "John" ) ).list();
+		assertEquals( 2, results.size() );
+
+		s.enableFilter( "sex" ).setParameter( "sexCode", Character.valueOf( 'M' ) );
+		results = s.createQuery( byNames ).setParameterList( "names", Arrays.asList( "Jane", "John" ) ).list();
+		assertEquals( 1, results.size() );
+		s.disableFilter( "sex" );
+
+		s.delete( s.get( Person.class, female.getId() ) );
+		s.delete( s.get( Person.class, male.getId() ) );
+		s.getTransaction().commit();
+		s.close();
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testForeignQueryHandle() {
+		Session s = openSession();
+		try {
+			s.createQuery(
+					new QueryHandle() {
+						@Override
+						public String getQueryString() {
+							return "from Person";
+						}
+					}
+			);
+		}
+		finally {
+			s.close();
+		}
+	}
+
+	@Test
+	public void testQueryPlanCacheStatistics() {
+		QueryPlanCacheTrackingStatistics statistics = (QueryPlanCacheTrackingStatistics) sessionFactory().getStatistics();
+		statistics.clear();
+		QueryPlanCache cache = sessionFactory().getQueryPlanCache();
+		cache.getHQLQueryPlan( "from Person where sex = 'F'", false, Collections.EMPTY_MAP );
+		assertEquals( 1, statistics.getQueryPlanCacheMissCount() );
+		cache.getHQLQueryPlan( "from Person where sex = 'F'", false, Collections.EMPTY_MAP );
+		assertEquals( 1, statistics.getQueryPlanCacheHitCount() );
+	}
+}
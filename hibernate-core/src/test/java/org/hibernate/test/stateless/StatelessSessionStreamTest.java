@@ -0,0 +1,190 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stateless;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.hibernate.EntityStream;
+import org.hibernate.EntityStreamHandler;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class StatelessSessionStreamTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "stateless/Document.hbm.xml", "stateless/Contact.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration configuration) {
+		super.configure( configuration );
+		configuration.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Test
+	public void testStreamWithHandler() {
+		Session s = openSession();
+		Transaction tx = s.beginTransaction();
+		for ( int i = 0; i < 10; i++ ) {
+			s.persist( new Document( "text " + i, "doc" + i ) );
+		}
+		tx.commit();
+		s.close();
+
+		final List<Document> documents = new ArrayList<Document>();
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		tx = ss.beginTransaction();
+		long count = ss.stream( Document.class ).setFetchSize( 3 ).forEach(
+				new EntityStreamHandler<Document>() {
+					@Override
+					public void handle(Document entity) {
+						documents.add( entity );
+					}
+				}
+		);
+		assertEquals( 10, count );
+		for ( Document document : documents ) {
+			assertTrue( document.getName().startsWith( "doc" ) );
+			assertEquals( "text " + document.getName().substring( 3 ), document.getText() );
+			assertNotNull( document.getLastModified() );
+		}
+		tx.commit();
+		ss.close();
+
+		s = openSession();
+		tx = s.beginTransaction();
+		s.createQuery( "delete Document" ).executeUpdate();
+		tx.commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamAsIterator() {
+		Session s = openSession();
+		Transaction tx = s.beginTransaction();
+		Country country = new Country();
+		s.save( country );
+		Org org = new Org();
+		org.setCountry( country );
+		s.save( org );
+		for ( int i = 0; i < 3; i++ ) {
+			Contact contact = new Contact();
+			contact.setOrg( org );
+			s.save( contact );
+		}
+		tx.commit();
+		s.close();
+
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		tx = ss.beginTransaction();
+		EntityStream<Contact> contacts = ss.stream( Contact.class );
+		int count = 0;
+		while ( contacts.hasNext() ) {
+			Contact contact = contacts.next();
+			assertNotNull( contact.getId() );
+			assertEquals( org.getId(), contact.getOrg().getId() );
+			assertEquals( country.getId(), contact.getOrg().getCountry().getId() );
+			count++;
+		}
+		assertEquals( 3, count );
+		assertFalse( contacts.hasNext() );
+		contacts.close();
+
+		// closing a stream before reading it all releases the cursor
+		contacts = ss.stream( Contact.class );
+		assertTrue( contacts.hasNext() );
+		contacts.close();
+		assertFalse( contacts.hasNext() );
+		tx.commit();
+		ss.close();
+
+		s = openSession();
+		tx = s.beginTransaction();
+		s.createQuery( "delete Contact" ).executeUpdate();
+		s.createQuery( "delete Org" ).executeUpdate();
+		s.createQuery( "delete Country" ).executeUpdate();
+		tx.commit();
+		s.close();
+	}
+
+	@Test
+	public void testStreamResolvesManyToOnesInBatches() {
+		Session s = openSession();
+		Transaction tx = s.beginTransaction();
+		final List<Org> orgs = new ArrayList<Org>();
+		for ( int i = 0; i < 5; i++ ) {
+			Country country = new Country();
+			s.save( country );
+			Org org = new Org();
+			org.setCountry( country );
+			s.save( org );
+			orgs.add( org );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			Contact contact = new Contact();
+			contact.setOrg( orgs.get( i % orgs.size() ) );
+			s.save( contact );
+		}
+		tx.commit();
+		s.close();
+
+		sessionFactory().getStatistics().clear();
+		StatelessSession ss = sessionFactory().openStatelessSession();
+		tx = ss.beginTransaction();
+		long count = ss.stream( Contact.class ).forEach(
+				new EntityStreamHandler<Contact>() {
+					@Override
+					public void handle(Contact contact) {
+						assertNotNull( contact.getOrg() );
+						assertNotNull( contact.getOrg().getCountry() );
+					}
+				}
+		);
+		assertEquals( 10, count );
+		tx.commit();
+		ss.close();
+		// the stream select and a single select of the orgs (joined to their countries), not one per contact
+		assertEquals( 2, sessionFactory().getStatistics().getPrepareStatementCount() );
+
+		s = openSession();
+		tx = s.beginTransaction();
+		s.createQuery( "delete Contact" ).executeUpdate();
+		s.createQuery( "delete Org" ).executeUpdate();
+		s.createQuery( "delete Country" ).executeUpdate();
+		tx.commit();
+		s.close();
+	}
+}
@@ -0,0 +1,145 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.stats;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.engine.jdbc.internal.SqlStatementProfilerImpl;
+import org.hibernate.stat.SlowSqlStatement;
+import org.hibernate.stat.SqlStatementStatistics;
+import org.hibernate.stat.SqlStatementTrackingStatistics;
+import org.hibernate.stat.internal.ConcurrentSqlStatementStatisticsImpl;
+
+import org.hibernate.testing.junit4.BaseCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the statistics collected per SQL statement.
+ */
+public class SqlStatementStatisticsTest extends BaseCoreFunctionalTestCase {
+	@Override
+	public String[] getMappings() {
+		return new String[] { "stats/Continent.hbm.xml" };
+	}
+
+	@Override
+	protected void configure(Configuration cfg) {
+		super.configure( cfg );
+		cfg.setProperty( AvailableSettings.GENERATE_STATISTICS, "true" );
+		cfg.setProperty( AvailableSettings.SLOW_SQL_STATEMENTS_MAX_SIZE, "2" );
+	}
+
+	@Test
+	public void testNormalize() {
+		assertEquals(
+				"select c.name from Continent c where c.name = ? and c.id in (?, ...) and c.\"col 1\" = ?",
+				ConcurrentSqlStatementStatisticsImpl.normalize(
+						"select c.name\n  from Continent c where c.name = 'it''s' and c.id in (1, 2,3) and c.\"col 1\" = 4.5"
+				)
+		);
+		assertEquals(
+				"select name2_0_ from Continent continent0_ where continent0_.id=?",
+				ConcurrentSqlStatementStatisticsImpl.normalize(
+						"select name2_0_ from Continent continent0_ where continent0_.id=?"
+				)
+		);
+	}
+
+	@Test
+	public void testStatementStatistics() {
+		final SqlStatementTrackingStatistics statistics = (SqlStatementTrackingStatistics) sessionFactory().getStatistics();
+
+		Session s = openSession();
+		s.beginTransaction();
+		for ( String name : new String[] { "Europe", "Asia", "Africa" } ) {
+			final Continent continent = new Continent();
+			continent.setName( name );
+			s.save( continent );
+		}
+		s.getTransaction().commit();
+		s.close();
+
+		statistics.clear();
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 1, s.createQuery( "from Continent where name = 'Europe'" ).list().size() );
+		assertEquals( 1, s.createQuery( "from Continent where name = 'Asia'" ).list().size() );
+		assertEquals( 2, s.createQuery( "from Continent where name <> :name" ).setString( "name", "Asia" ).list().size() );
+		s.getTransaction().commit();
+		s.close();
+
+		final String[] sqlStatements = statistics.getSqlStatements();
+		assertEquals( 2, sqlStatements.length );
+		SqlStatementStatistics literalQueryStatistics = null;
+		for ( String sql : sqlStatements ) {
+			if ( sql.contains( "=?" ) || sql.contains( "= ?" ) ) {
+				literalQueryStatistics = statistics.getSqlStatementStatistics( sql );
+			}
+		}
+		assertNotNull( literalQueryStatistics );
+		assertEquals( 2, literalQueryStatistics.getExecutionCount() );
+		assertEquals( 2, literalQueryStatistics.getRowCount() );
+		assertTrue( literalQueryStatistics.getExecutionMaxTime() > 0 );
+		assertTrue( literalQueryStatistics.getExecutionTotalTime() >= literalQueryStatistics.getExecutionMaxTime() );
+
+		final SlowSqlStatement[] slowest = statistics.getSlowestSqlStatements();
+		assertEquals( 2, slowest.length );
+		assertTrue( slowest[0].getExecutionTime() >= slowest[1].getExecutionTime() );
+		for ( SlowSqlStatement slowStatement : slowest ) {
+			if ( slowStatement.getSql().contains( "<>" ) ) {
+				assertEquals( 1, slowStatement.getParameters().length );
+				assertEquals( "Asia", slowStatement.getParameters()[0] );
+			}
+			else {
+				assertEquals( 0, slowStatement.getParameters().length );
+			}
+		}
+
+		s = openSession();
+		s.beginTransaction();
+		assertEquals( 3, s.createQuery( "delete Continent" ).executeUpdate() );
+		s.getTransaction().commit();
+		s.close();
+
+		for ( String sql : statistics.getSqlStatements() ) {
+			if ( sql.startsWith( "delete" ) ) {
+				assertEquals( 3, statistics.getSqlStatementStatistics( sql ).getRowCount() );
+			}
+		}
+	}
+
+	@Test
+	public void testProfilerWithoutStatistics() {
+		final SqlStatementProfilerImpl profiler = new SqlStatementProfilerImpl( null );
+		profiler.statementPrepared( null, "select 1" );
+		profiler.statementExecuted( null, 10L, 1 );
+		profiler.statementReleased( null );
+	}
+}
@@ -23,10 +23,16 @@
  */
 package org.hibernate.cache.ehcache.internal.nonstop;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 
@@ -37,7 +43,7 @@ import org.hibernate.cache.spi.access.SoftLock;
  * @author Abhishek Sanoujam
  * @author Alex Snaps
  */
-public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAccessStrategy {
+public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAccessStrategy, BulkRegionAccessStrategy {
 	private final EntityRegionAccessStrategy actualStrategy;
 	private final HibernateNonstopCacheExceptionHandler hibernateNonstopExceptionHandler;
 
@@ -113,6 +119,54 @@ public class NonstopAwareEntityRegionAccessStrategy implements EntityRegionAcces
 		}
 	}
 
+	@Override
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		try {
+			if ( actualStrategy instanceof BulkRegionAccessStrategy ) {
+				return ( (BulkRegionAccessStrategy) actualStrategy ).getAll( keys, txTimestamp );
+			}
+			final Map<Object,Object> values = new HashMap<Object,Object>();
+			for ( Object key : keys ) {
+				final Object value = actualStrategy.get( key, txTimestamp );
+				if ( value != null ) {
+					values.put( key, value );
+				}
+			}
+			return values;
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return Collections.emptyMap();
+		}
+	}
+
+	@Override
+	public int putAllFromLoad(Map<?,?> values, Map<?,?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		try {
+			if ( actualStrategy instanceof BulkRegionAccessStrategy ) {
+				return ( (BulkRegionAccessStrategy) actualStrategy ).putAllFromLoad(
+						values,
+						versions,
+						txTimestamp,
+						minimalPutOverride
+				);
+			}
+			int puts = 0;
+			for ( Map.Entry<?,?> entry : values.entrySet() ) {
+				final Object version = versions.get( entry.getKey() );
+				if ( actualStrategy.putFromLoad( entry.getKey(), entry.getValue(), txTimestamp, version, minimalPutOverride ) ) {
+					puts++;
+				}
+			}
+			return puts;
+		}
+		catch (NonStopCacheException nonStopCacheException) {
+			hibernateNonstopExceptionHandler.handleNonstopCacheException( nonStopCacheException );
+			return 0;
+		}
+	}
+
 	@Override
 	public boolean insert(Object key, Object value, Object version) throws CacheException {
 		try {
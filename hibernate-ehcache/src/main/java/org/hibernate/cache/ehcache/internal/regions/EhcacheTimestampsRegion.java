@@ -23,12 +23,19 @@
  */
 package org.hibernate.cache.ehcache.internal.regions;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
+import net.sf.ehcache.constructs.nonstop.NonStopCacheException;
 
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.ehcache.internal.nonstop.HibernateNonstopCacheExceptionHandler;
 import org.hibernate.cache.ehcache.internal.strategy.EhcacheAccessStrategyFactory;
-import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.BulkReadTimestampsRegion;
 
 /**
  * A timestamps region specific wrapper around an Ehcache instance.
@@ -37,7 +44,7 @@ import org.hibernate.cache.spi.TimestampsRegion;
  * @author Abhishek Sanoujam
  * @author Alex Snaps
  */
-public class EhcacheTimestampsRegion extends EhcacheGeneralDataRegion implements TimestampsRegion {
+public class EhcacheTimestampsRegion extends EhcacheGeneralDataRegion implements BulkReadTimestampsRegion {
 	/**
 	 * Constructs an EhcacheTimestampsRegion around the given underlying cache.
 	 *
@@ -51,4 +58,27 @@ public class EhcacheTimestampsRegion extends EhcacheGeneralDataRegion implements
 			Properties properties) {
 		super( accessStrategyFactory, underlyingCache, properties );
 	}
+
+	@Override
+	public Map<Object, Object> getAll(Collection<?> keys) throws CacheException {
+		try {
+			final Map<Object, Object> result = new HashMap<Object, Object>();
+			for ( Map.Entry<Object, Element> entry : getCache().getAll( keys ).entrySet() ) {
+				if ( entry.getValue() != null ) {
+					result.put( entry.getKey(), entry.getValue().getObjectValue() );
+				}
+			}
+			return result;
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				return new HashMap<Object, Object>();
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
 }
@@ -23,6 +23,11 @@
  */
 package org.hibernate.cache.ehcache.internal.regions;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 import net.sf.ehcache.Ehcache;
@@ -129,6 +134,69 @@ public class EhcacheTransactionalDataRegion extends EhcacheDataRegion implements
 		}
 	}
 
+	/**
+	 * Get the values mapped to the given keys in a single call to the cache.
+	 *
+	 * @param keys The cache keys
+	 *
+	 * @return The cached data, keyed by cache key; keys with no value mapped are not part of the map
+	 */
+	public final Map<Object,Object> getAll(Collection<?> keys) {
+		final Map<Object,Object> values = new HashMap<Object,Object>();
+		try {
+			final Map<Object,Element> elements = getCache().getAll( keys );
+			for ( Map.Entry<Object,Element> entry : elements.entrySet() ) {
+				if ( entry.getValue() != null ) {
+					values.put( entry.getKey(), entry.getValue().getObjectValue() );
+				}
+			}
+			return values;
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+				return values;
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
+	/**
+	 * Map each of the given values to its key in a single call to the cache, replacing any existing
+	 * mappings for these keys
+	 *
+	 * @param values The data to cache, keyed by cache key
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final void putAll(Map<?,?> values) throws CacheException {
+		try {
+			final List<Element> elements = new ArrayList<Element>( values.size() );
+			for ( Map.Entry<?,?> entry : values.entrySet() ) {
+				elements.add( new Element( entry.getKey(), entry.getValue() ) );
+			}
+			getCache().putAll( elements );
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( e );
+		}
+		catch (IllegalStateException e) {
+			throw new CacheException( e );
+		}
+		catch (net.sf.ehcache.CacheException e) {
+			if ( e instanceof NonStopCacheException ) {
+				HibernateNonstopCacheExceptionHandler.getInstance()
+						.handleNonstopCacheException( (NonStopCacheException) e );
+			}
+			else {
+				throw new CacheException( e );
+			}
+		}
+	}
+
 	/**
 	 * Map the given value to the given key, replacing any existing mapping for this key
 	 *
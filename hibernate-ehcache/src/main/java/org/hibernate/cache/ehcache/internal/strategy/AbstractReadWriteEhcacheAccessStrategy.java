@@ -24,7 +24,10 @@
 package org.hibernate.cache.ehcache.internal.strategy;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -91,6 +94,51 @@ abstract class AbstractReadWriteEhcacheAccessStrategy<T
 		}
 	}
 
+	/**
+	 * Reads all keys in a single call to the cache, unless the region locks are independent of the cache in which
+	 * case each key is read under its own read lock.  Only readable items are returned.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#getAll(java.util.Collection, long)
+	 */
+	public final Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		final Map<Object,Object> values = new HashMap<Object,Object>();
+		if ( region().locksAreIndependentOfCache() ) {
+			for ( Object key : keys ) {
+				final Object value = get( key, txTimestamp );
+				if ( value != null ) {
+					values.put( key, value );
+				}
+			}
+		}
+		else {
+			for ( Map.Entry<Object,Object> entry : region().getAll( keys ).entrySet() ) {
+				final Lockable item = (Lockable) entry.getValue();
+				if ( item.isReadable( txTimestamp ) ) {
+					values.put( entry.getKey(), item.getValue() );
+				}
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Puts each value under its own write lock, as the writeability check of an item and its replacement must not be
+	 * interleaved with concurrent soft-locks.
+	 *
+	 * @see org.hibernate.cache.spi.access.BulkRegionAccessStrategy#putAllFromLoad(java.util.Map, java.util.Map, long, boolean)
+	 */
+	public final int putAllFromLoad(Map<?,?> values, Map<?,?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		int puts = 0;
+		for ( Map.Entry<?,?> entry : values.entrySet() ) {
+			final Object version = versions.get( entry.getKey() );
+			if ( putFromLoad( entry.getKey(), entry.getValue(), txTimestamp, version, minimalPutOverride ) ) {
+				puts++;
+			}
+		}
+		return puts;
+	}
+
 	/**
 	 * Returns <code>false</code> and fails to put the value if there is an existing un-writeable item mapped to this
 	 * key.
@@ -23,9 +23,14 @@
  */
 package org.hibernate.cache.ehcache.internal.strategy;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
 import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
@@ -38,7 +43,7 @@ import org.hibernate.cfg.Settings;
  */
 public class NonStrictReadWriteEhcacheEntityRegionAccessStrategy
 		extends AbstractEhcacheAccessStrategy<EhcacheEntityRegion>
-		implements EntityRegionAccessStrategy {
+		implements EntityRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	/**
 	 * Create a non-strict read/write access strategy accessing the given collection region.
@@ -72,6 +77,22 @@ public class NonStrictReadWriteEhcacheEntityRegionAccessStrategy
 		}
 	}
 
+	@Override
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		return region().getAll( keys );
+	}
+
+	@Override
+	public int putAllFromLoad(Map<?,?> values, Map<?,?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		final Map<Object,Object> puts = new HashMap<Object,Object>( values );
+		if ( minimalPutOverride ) {
+			puts.keySet().removeAll( region().getAll( values.keySet() ).keySet() );
+		}
+		region().putAll( puts );
+		return puts.size();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * <p/>
@@ -23,9 +23,14 @@
  */
 package org.hibernate.cache.ehcache.internal.strategy;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.ehcache.internal.regions.EhcacheEntityRegion;
 import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.BulkRegionAccessStrategy;
 import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
 import org.hibernate.cache.spi.access.SoftLock;
 import org.hibernate.cfg.Settings;
@@ -37,7 +42,7 @@ import org.hibernate.cfg.Settings;
  * @author Alex Snaps
  */
 public class ReadOnlyEhcacheEntityRegionAccessStrategy extends AbstractEhcacheAccessStrategy<EhcacheEntityRegion>
-		implements EntityRegionAccessStrategy {
+		implements EntityRegionAccessStrategy, BulkRegionAccessStrategy {
 
 	/**
 	 * Create a read-only access strategy accessing the given entity region.
@@ -71,6 +76,22 @@ public class ReadOnlyEhcacheEntityRegionAccessStrategy extends AbstractEhcacheAc
 		}
 	}
 
+	@Override
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		return region().getAll( keys );
+	}
+
+	@Override
+	public int putAllFromLoad(Map<?,?> values, Map<?,?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		final Map<Object,Object> puts = new HashMap<Object,Object>( values );
+		if ( minimalPutOverride ) {
+			puts.keySet().removeAll( region().getAll( values.keySet() ).keySet() );
+		}
+		region().putAll( puts );
+		return puts.size();
+	}
+
 	@Override
 	public SoftLock lockItem(Object key, Object version) throws UnsupportedOperationException {
 		return null;
@@ -131,4 +131,11 @@ public interface EnversSettings {
 	 * Exactly one row with {@code null} end date exists for each identifier.
 	 */
 	public static final String ALLOW_IDENTIFIER_REUSE = "org.hibernate.envers.allow_identifier_reuse";
+
+	/**
+	 * Insert audit rows directly through the persisters of the audit entities, in one JDBC batch per audit table,
+	 * instead of saving them through the session. Audit rows inserted this way do not trigger the save and insert
+	 * event listeners. Defaults to {@code false}.
+	 */
+	public static final String USE_DIRECT_AUDIT_ROW_INSERTS = "org.hibernate.envers.use_direct_audit_row_inserts";
 }
@@ -81,6 +81,9 @@ public class GlobalConfiguration {
 	// Support reused identifiers of previously deleted entities
 	private final boolean allowIdentifierReuse;
 
+	// Insert audit rows through the audit entity persisters rather than through the session
+	private final boolean useDirectAuditRowInserts;
+
 	/*
 		 Which operator to use in correlated subqueries (when we want a property to be equal to the result of
 		 a correlated subquery, for example: e.p <operator> (select max(e2.p) where e2.p2 = e.p2 ...).
@@ -164,6 +167,10 @@ public class GlobalConfiguration {
 		allowIdentifierReuse = ConfigurationHelper.getBoolean(
 				EnversSettings.ALLOW_IDENTIFIER_REUSE, properties, false
 		);
+
+		useDirectAuditRowInserts = ConfigurationHelper.getBoolean(
+				EnversSettings.USE_DIRECT_AUDIT_ROW_INSERTS, properties, false
+		);
 	}
 
 	public boolean isGenerateRevisionsForCollections() {
@@ -225,4 +232,8 @@ public class GlobalConfiguration {
 	public boolean isAllowIdentifierReuse() {
 		return allowIdentifierReuse;
 	}
+
+	public boolean isUseDirectAuditRowInserts() {
+		return useDirectAuditRowInserts;
+	}
 }
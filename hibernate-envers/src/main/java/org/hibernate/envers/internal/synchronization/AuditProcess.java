@@ -33,6 +33,7 @@ import org.hibernate.FlushMode;
 import org.hibernate.Session;
 import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
 import org.hibernate.envers.internal.revisioninfo.RevisionInfoGenerator;
 import org.hibernate.envers.internal.synchronization.work.AuditWorkUnit;
 import org.hibernate.envers.tools.Pair;
@@ -48,6 +49,8 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 	private final Queue<AuditWorkUnit> undoQueue;
 	private final Map<Pair<String, Object>, AuditWorkUnit> usedIds;
 	private final EntityChangeNotifier entityChangeNotifier;
+	private final AuditRowWriter auditRowWriter;
+	private final RevisionEndUpdates revisionEndUpdates;
 
 	private Object revisionData;
 
@@ -59,6 +62,8 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 		undoQueue = new LinkedList<AuditWorkUnit>();
 		usedIds = new HashMap<Pair<String, Object>, AuditWorkUnit>();
 		entityChangeNotifier = new EntityChangeNotifier( revisionInfoGenerator, session );
+		auditRowWriter = new AuditRowWriter();
+		revisionEndUpdates = new RevisionEndUpdates();
 	}
 
 	private void removeWorkUnit(AuditWorkUnit vwu) {
@@ -135,6 +140,25 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 		return revisionData;
 	}
 
+	/**
+	 * The audit rows queued by the audit strategy, inserted once the revision entity has been flushed.
+	 *
+	 * @return The queued audit rows
+	 */
+	public AuditRowWriter getAuditRowWriter() {
+		return auditRowWriter;
+	}
+
+	/**
+	 * The updates of previous audit rows queued by the audit strategy, executed once the audit rows of this
+	 * process have been flushed.
+	 *
+	 * @return The queued updates
+	 */
+	public RevisionEndUpdates getRevisionEndUpdates() {
+		return revisionEndUpdates;
+	}
+
 	@Override
 	public void doBeforeTransactionCompletion(SessionImplementor session) {
 		if ( workUnits.size() == 0 && undoQueue.size() == 0 ) {
@@ -150,6 +174,8 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 						.openSession();
 				executeInSession( temporarySession );
 				temporarySession.flush();
+				auditRowWriter.execute( (SessionImplementor) temporarySession, (EventSource) session );
+				revisionEndUpdates.execute( (SessionImplementor) temporarySession );
 			}
 			finally {
 				if ( temporarySession != null ) {
@@ -162,6 +188,8 @@ public class AuditProcess implements BeforeTransactionCompletionProcess {
 
 			// Explicitly flushing the session, as the auto-flush may have already happened.
 			session.flush();
+			auditRowWriter.execute( session, (EventSource) session );
+			revisionEndUpdates.execute( session );
 		}
 	}
 }
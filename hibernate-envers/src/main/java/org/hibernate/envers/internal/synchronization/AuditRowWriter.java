@@ -0,0 +1,127 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.internal.synchronization;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Collects the rows written to the audit tables by an {@link AuditProcess} and inserts them directly through the
+ * persisters of the audit entities, bypassing the persistence context and the save event listeners.
+ * <p/>
+ * Rows are grouped by audit entity, in the order in which each audit entity was first seen, so that the inserts
+ * of an audit table end up in the same JDBC batch.  The only foreign keys of audit tables reference the revision
+ * entity, which is flushed before the rows are written, and, for joined inheritance, the table of the audited
+ * super-class, which the persister itself inserts first.
+ * <p/>
+ * Only used when {@link org.hibernate.envers.configuration.EnversSettings#USE_DIRECT_AUDIT_ROW_INSERTS} is enabled;
+ * otherwise the audit strategies save the rows through the session.  Even then, the
+ * {@link org.hibernate.envers.strategy.ValidityAuditStrategy} keeps saving the rows of collection (middle) tables,
+ * and the previous rows whose end revision it sets, through the session, as it queries the rows written earlier in
+ * the same transaction.
+ */
+public class AuditRowWriter {
+	private final Map<String, List<Object>> rowsByAuditEntityName = new LinkedHashMap<String, List<Object>>();
+
+	/**
+	 * Queue an audit row.
+	 *
+	 * @param auditEntityName The name of the audit entity
+	 * @param data The audit data, as built by the work units
+	 */
+	public void add(String auditEntityName, Object data) {
+		List<Object> rows = rowsByAuditEntityName.get( auditEntityName );
+		if ( rows == null ) {
+			rows = new ArrayList<Object>();
+			rowsByAuditEntityName.put( auditEntityName, rows );
+		}
+		rows.add( data );
+	}
+
+	public boolean isEmpty() {
+		return rowsByAuditEntityName.isEmpty();
+	}
+
+	/**
+	 * Insert all queued rows.  The revision entity referenced by the rows must already have been flushed.
+	 * <p/>
+	 * The query cache invalidation of the audit tables completes once the transaction does, so it is registered
+	 * with the session owning the transaction rather than with the session writing the rows, which may be a
+	 * temporary session closed before completion.
+	 *
+	 * @param session The session writing the rows
+	 * @param transactionSession The session owning the transaction
+	 */
+	public void execute(SessionImplementor session, EventSource transactionSession) {
+		if ( rowsByAuditEntityName.isEmpty() ) {
+			return;
+		}
+
+		final SessionFactoryImplementor factory = session.getFactory();
+		final Set<Serializable> querySpaces = new LinkedHashSet<Serializable>();
+		try {
+			for ( Map.Entry<String, List<Object>> entry : rowsByAuditEntityName.entrySet() ) {
+				final EntityPersister persister = factory.getEntityPersister( entry.getKey() );
+				for ( Object data : entry.getValue() ) {
+					final Serializable id = persister.getIdentifier( data, session );
+					final Object[] values = persister.getPropertyValuesToInsert( data, null, session );
+					persister.insert( id, values, data, session );
+				}
+				querySpaces.addAll( Arrays.asList( persister.getQuerySpaces() ) );
+			}
+			session.getTransactionCoordinator().getJdbcCoordinator().executeBatch();
+		}
+		finally {
+			rowsByAuditEntityName.clear();
+		}
+
+		if ( factory.getSettings().isQueryCacheEnabled() ) {
+			invalidate( transactionSession, querySpaces.toArray( new Serializable[querySpaces.size()] ) );
+		}
+	}
+
+	private void invalidate(EventSource session, final Serializable[] querySpaces) {
+		session.getFactory().getUpdateTimestampsCache().preInvalidate( querySpaces, session );
+		session.getActionQueue().registerProcess(
+				new AfterTransactionCompletionProcess() {
+					@Override
+					public void doAfterTransactionCompletion(boolean success, SessionImplementor session) {
+						session.getFactory().getUpdateTimestampsCache().invalidate( querySpaces, session );
+					}
+				}
+		);
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.internal.synchronization;
+
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.jdbc.Expectation;
+import org.hibernate.type.Type;
+
+/**
+ * Collects the updates setting the end revision of previous audit rows (see
+ * {@link org.hibernate.envers.strategy.ValidityAuditStrategy}) so that they can be executed as JDBC batches, one
+ * per update statement (that is, per audit table), once the audit rows of the transaction have been flushed.
+ */
+public class RevisionEndUpdates {
+	private final Map<String, Group> groups = new LinkedHashMap<String, Group>();
+
+	/**
+	 * Queue an update.
+	 *
+	 * @param auditedEntityName The name of the audit entity whose table is updated
+	 * @param sql The update statement
+	 * @param types The types of the statement parameters
+	 * @param values The values of the statement parameters
+	 * @param id The identifier of the audited entity, for error reporting
+	 * @param rowRequired Whether the update must affect exactly one row
+	 */
+	public void add(
+			String auditedEntityName,
+			String sql,
+			Type[] types,
+			Object[] values,
+			Serializable id,
+			boolean rowRequired) {
+		Group group = groups.get( sql );
+		if ( group == null ) {
+			group = new Group( auditedEntityName, sql, types );
+			groups.put( sql, group );
+		}
+		group.values.add( values );
+		group.ids.add( id );
+		group.rowsRequired.add( rowRequired );
+	}
+
+	public boolean isEmpty() {
+		return groups.isEmpty();
+	}
+
+	/**
+	 * Execute all queued updates through the JDBC batch of the given session.
+	 *
+	 * @param session The session
+	 */
+	public void execute(SessionImplementor session) {
+		try {
+			for ( Group group : groups.values() ) {
+				group.execute( session );
+			}
+		}
+		finally {
+			groups.clear();
+		}
+	}
+
+	private static class Group implements Expectation {
+		private final String auditedEntityName;
+		private final String sql;
+		private final Type[] types;
+		private final List<Object[]> values = new ArrayList<Object[]>();
+		private final List<Serializable> ids = new ArrayList<Serializable>();
+		private final List<Boolean> rowsRequired = new ArrayList<Boolean>();
+		private int verifiedCount;
+
+		private Group(String auditedEntityName, String sql, Type[] types) {
+			this.auditedEntityName = auditedEntityName;
+			this.sql = sql;
+			this.types = types;
+		}
+
+		private void execute(SessionImplementor session) {
+			final JdbcCoordinator jdbcCoordinator = session.getTransactionCoordinator().getJdbcCoordinator();
+			final BatchKey batchKey = new BasicBatchKey( auditedEntityName + "#REVEND", this );
+			try {
+				for ( Object[] row : values ) {
+					final PreparedStatement statement = jdbcCoordinator.getBatch( batchKey ).getBatchStatement( sql, false );
+					int index = 1;
+					for ( int i = 0; i < types.length; i++ ) {
+						types[i].nullSafeSet( statement, row[i], index, session );
+						index += types[i].getColumnSpan( session.getFactory() );
+					}
+					jdbcCoordinator.getBatch( batchKey ).addToBatch();
+				}
+				jdbcCoordinator.executeBatch();
+			}
+			catch (SQLException e) {
+				jdbcCoordinator.abortBatch();
+				throw session.getFactory().getSQLExceptionHelper().convert(
+						e,
+						"could not update previous revisions of " + auditedEntityName,
+						sql
+				);
+			}
+			catch (RuntimeException e) {
+				jdbcCoordinator.abortBatch();
+				throw e;
+			}
+		}
+
+		// Batches report the row counts of their statements in order, whatever the batch size.
+		@Override
+		public void verifyOutcome(int rowCount, PreparedStatement statement, int batchPosition)
+				throws SQLException, HibernateException {
+			final int index = verifiedCount++;
+			if ( rowCount == Statement.SUCCESS_NO_INFO ) {
+				return;
+			}
+			if ( rowCount != 1 && rowsRequired.get( index ) ) {
+				throw new RuntimeException(
+						"Cannot update previous revision for entity " + auditedEntityName + " and id " + ids.get( index )
+				);
+			}
+		}
+
+		@Override
+		public int prepare(PreparedStatement statement) throws SQLException, HibernateException {
+			return 0;
+		}
+
+		@Override
+		public boolean canBeBatched() {
+			return true;
+		}
+	}
+}
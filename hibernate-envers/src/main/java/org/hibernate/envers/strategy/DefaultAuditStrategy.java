@@ -11,6 +11,7 @@ import org.hibernate.envers.internal.entities.mapper.relation.MiddleIdData;
 import org.hibernate.envers.internal.synchronization.SessionCacheCleaner;
 import org.hibernate.envers.internal.tools.query.Parameters;
 import org.hibernate.envers.internal.tools.query.QueryBuilder;
+import org.hibernate.event.spi.EventSource;
 
 import static org.hibernate.envers.internal.entities.mapper.relation.query.QueryConstants.MIDDLE_ENTITY_ALIAS_DEF_AUD_STR;
 import static org.hibernate.envers.internal.entities.mapper.relation.query.QueryConstants.REVISION_PARAMETER;
@@ -36,8 +37,12 @@ public class DefaultAuditStrategy implements AuditStrategy {
 			Serializable id,
 			Object data,
 			Object revision) {
-		session.save( enversService.getAuditEntitiesConfiguration().getAuditEntityName( entityName ), data );
-		sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
+		saveAuditData(
+				session,
+				enversService,
+				enversService.getAuditEntitiesConfiguration().getAuditEntityName( entityName ),
+				data
+		);
 	}
 
 	@Override
@@ -48,8 +53,26 @@ public class DefaultAuditStrategy implements AuditStrategy {
 			EnversService enversService,
 			PersistentCollectionChangeData persistentCollectionChangeData,
 			Object revision) {
-		session.save( persistentCollectionChangeData.getEntityName(), persistentCollectionChangeData.getData() );
-		sessionCacheCleaner.scheduleAuditDataRemoval( session, persistentCollectionChangeData.getData() );
+		saveAuditData(
+				session,
+				enversService,
+				persistentCollectionChangeData.getEntityName(),
+				persistentCollectionChangeData.getData()
+		);
+	}
+
+	private void saveAuditData(Session session, EnversService enversService, String auditEntityName, Object data) {
+		if ( enversService.getGlobalConfiguration().isUseDirectAuditRowInserts() ) {
+			// inserted together with the other audit rows of the transaction
+			enversService.getAuditProcessManager().get( (EventSource) session ).getAuditRowWriter().add(
+					auditEntityName,
+					data
+			);
+		}
+		else {
+			session.save( auditEntityName, data );
+			sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
+		}
 	}
 
 
@@ -1,16 +1,13 @@
 package org.hibernate.envers.strategy;
 
 import java.io.Serializable;
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.SQLException;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.LockOptions;
 import org.hibernate.Session;
-import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.envers.RevisionType;
@@ -24,7 +21,6 @@ import org.hibernate.envers.internal.synchronization.SessionCacheCleaner;
 import org.hibernate.envers.internal.tools.query.Parameters;
 import org.hibernate.envers.internal.tools.query.QueryBuilder;
 import org.hibernate.event.spi.EventSource;
-import org.hibernate.jdbc.ReturningWork;
 import org.hibernate.persister.entity.Queryable;
 import org.hibernate.persister.entity.UnionSubclassEntityPersister;
 import org.hibernate.property.Getter;
@@ -67,6 +63,8 @@ public class ValidityAuditStrategy implements AuditStrategy {
 
 	private final SessionCacheCleaner sessionCacheCleaner;
 
+	private final Map<String, String> updateSqlByAuditedEntityName = new ConcurrentHashMap<String, String>();
+
 	public ValidityAuditStrategy() {
 		sessionCacheCleaner = new SessionCacheCleaner();
 	}
@@ -84,7 +82,17 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		final String revisionInfoEntityName = enversService.getAuditEntitiesConfiguration().getRevisionInfoEntityName();
 
 		// Save the audit data
-		session.save( auditedEntityName, data );
+		if ( enversService.getGlobalConfiguration().isUseDirectAuditRowInserts() ) {
+			// inserted together with the other audit rows of the transaction
+			enversService.getAuditProcessManager().get( (EventSource) session ).getAuditRowWriter().add(
+					auditedEntityName,
+					data
+			);
+		}
+		else {
+			session.save( auditedEntityName, data );
+			sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
+		}
 
 		// Update the end date of the previous row.
 		//
@@ -94,129 +102,111 @@ public class ValidityAuditStrategy implements AuditStrategy {
 		// reused, this guarantees correct strategy behavior: exactly one row with
 		// null end date exists for each identifier.
 		final boolean reuseEntityIdentifier = enversService.getGlobalConfiguration().isAllowIdentifierReuse();
-		if ( reuseEntityIdentifier || getRevisionType( enversService, data ) != RevisionType.ADD ) {
-			// Register transaction completion process to guarantee execution of UPDATE statement after INSERT.
-			( (EventSource) session ).getActionQueue().registerProcess( new BeforeTransactionCompletionProcess() {
-				@Override
-				public void doBeforeTransactionCompletion(final SessionImplementor sessionImplementor) {
-					final Queryable productionEntityQueryable = getQueryable( entityName, sessionImplementor );
-					final Queryable rootProductionEntityQueryable = getQueryable(
-							productionEntityQueryable.getRootEntityName(), sessionImplementor
-					);
-					final Queryable auditedEntityQueryable = getQueryable( auditedEntityName, sessionImplementor );
-					final Queryable rootAuditedEntityQueryable = getQueryable(
-							auditedEntityQueryable.getRootEntityName(), sessionImplementor
-					);
-
-					final String updateTableName;
-					if ( UnionSubclassEntityPersister.class.isInstance( rootProductionEntityQueryable ) ) {
-						// this is the condition causing all the problems in terms of the generated SQL UPDATE
-						// the problem being that we currently try to update the in-line view made up of the union query
-						//
-						// this is extremely hacky means to get the root table name for the union subclass style entities.
-						// hacky because it relies on internal behavior of UnionSubclassEntityPersister
-						// !!!!!! NOTICE - using subclass persister, not root !!!!!!
-						updateTableName = auditedEntityQueryable.getSubclassTableName( 0 );
-					}
-					else {
-						updateTableName = rootAuditedEntityQueryable.getTableName();
-					}
+		final RevisionType revisionType = getRevisionType( enversService, data );
+		if ( reuseEntityIdentifier || revisionType != RevisionType.ADD ) {
+			// Queue the UPDATE statement with the audit process of the transaction; it is executed, batched with the
+			// updates of the other audit rows of the same table, after the INSERT statements have been flushed.
+			final SessionImplementor sessionImplementor = (SessionImplementor) session;
+			final Queryable productionEntityQueryable = getQueryable( entityName, sessionImplementor );
+			final Queryable rootProductionEntityQueryable = getQueryable(
+					productionEntityQueryable.getRootEntityName(), sessionImplementor
+			);
+			final Queryable auditedEntityQueryable = getQueryable( auditedEntityName, sessionImplementor );
+			final Queryable rootAuditedEntityQueryable = getQueryable(
+					auditedEntityQueryable.getRootEntityName(), sessionImplementor
+			);
+
+			final boolean isRevisionEndTimestampEnabled = audEntitiesCfg.isRevisionEndTimestampEnabled();
+			final Number revisionNumber = enversService.getRevisionInfoNumberReader().getRevisionNumber( revision );
+			final Type revisionInfoIdType = sessionImplementor.getFactory().getEntityPersister( revisionInfoEntityName ).getIdentifierType();
+			final Type idType = rootProductionEntityQueryable.getIdentifierType();
+			final Type revType = rootAuditedEntityQueryable.getPropertyType( audEntitiesCfg.getRevisionNumberPath() );
+
+			final Type[] types;
+			final Object[] values;
+			if ( isRevisionEndTimestampEnabled ) {
+				final Object revEndTimestampObj = revisionTimestampGetter.get( revision );
+				final Date revisionEndTimestamp = convertRevEndTimestampToDate( revEndTimestampObj );
+				final Type revEndTsType = rootAuditedEntityQueryable.getPropertyType(
+						audEntitiesCfg.getRevisionEndTimestampFieldName()
+				);
+				types = new Type[] { revisionInfoIdType, revEndTsType, idType, revType };
+				values = new Object[] { revisionNumber, revisionEndTimestamp, id, revisionNumber };
+			}
+			else {
+				types = new Type[] { revisionInfoIdType, idType, revType };
+				values = new Object[] { revisionNumber, id, revisionNumber };
+			}
+
+			enversService.getAuditProcessManager().get( (EventSource) session ).getRevisionEndUpdates().add(
+					auditedEntityName,
+					getUpdateSql(
+							auditedEntityName,
+							rootProductionEntityQueryable,
+							auditedEntityQueryable,
+							rootAuditedEntityQueryable,
+							audEntitiesCfg,
+							sessionImplementor
+					),
+					types,
+					values,
+					id,
+					!reuseEntityIdentifier || revisionType != RevisionType.ADD
+			);
+		}
+	}
 
-					final Type revisionInfoIdType = sessionImplementor.getFactory().getEntityPersister( revisionInfoEntityName ).getIdentifierType();
-					final String revEndColumnName = rootAuditedEntityQueryable.toColumns( enversService.getAuditEntitiesConfiguration().getRevisionEndFieldName() )[0];
+	private String getUpdateSql(
+			String auditedEntityName,
+			Queryable rootProductionEntityQueryable,
+			Queryable auditedEntityQueryable,
+			Queryable rootAuditedEntityQueryable,
+			AuditEntitiesConfiguration audEntitiesCfg,
+			SessionImplementor sessionImplementor) {
+		String updateSql = updateSqlByAuditedEntityName.get( auditedEntityName );
+		if ( updateSql != null ) {
+			return updateSql;
+		}
 
-					final boolean isRevisionEndTimestampEnabled = enversService.getAuditEntitiesConfiguration().isRevisionEndTimestampEnabled();
+		final String updateTableName;
+		if ( UnionSubclassEntityPersister.class.isInstance( rootProductionEntityQueryable ) ) {
+			// this is the condition causing all the problems in terms of the generated SQL UPDATE
+			// the problem being that we currently try to update the in-line view made up of the union query
+			//
+			// this is extremely hacky means to get the root table name for the union subclass style entities.
+			// hacky because it relies on internal behavior of UnionSubclassEntityPersister
+			// !!!!!! NOTICE - using subclass persister, not root !!!!!!
+			updateTableName = auditedEntityQueryable.getSubclassTableName( 0 );
+		}
+		else {
+			updateTableName = rootAuditedEntityQueryable.getTableName();
+		}
 
-					// update audit_ent set REVEND = ? [, REVEND_TSTMP = ?] where (prod_ent_id) = ? and REV <> ? and REVEND is null
-					final Update update = new Update( sessionImplementor.getFactory().getDialect() ).setTableName( updateTableName );
-					// set REVEND = ?
-					update.addColumn( revEndColumnName );
-					// set [, REVEND_TSTMP = ?]
-					if ( isRevisionEndTimestampEnabled ) {
-						update.addColumn(
-								rootAuditedEntityQueryable.toColumns( enversService.getAuditEntitiesConfiguration().getRevisionEndTimestampFieldName() )[0]
-						);
-					}
+		final String revEndColumnName = rootAuditedEntityQueryable.toColumns( audEntitiesCfg.getRevisionEndFieldName() )[0];
 
-					// where (prod_ent_id) = ?
-					update.addPrimaryKeyColumns( rootProductionEntityQueryable.getIdentifierColumnNames() );
-					// where REV <> ?
-					update.addWhereColumn(
-							rootAuditedEntityQueryable.toColumns( enversService.getAuditEntitiesConfiguration().getRevisionNumberPath() )[0], "<> ?"
-					);
-					// where REVEND is null
-					update.addWhereColumn( revEndColumnName, " is null" );
-
-					// Now lets execute the sql...
-					final String updateSql = update.toStatementString();
-
-					int rowCount = ( (Session) sessionImplementor ).doReturningWork(
-							new ReturningWork<Integer>() {
-								@Override
-								public Integer execute(Connection connection) throws SQLException {
-									PreparedStatement preparedStatement = sessionImplementor.getTransactionCoordinator()
-											.getJdbcCoordinator().getStatementPreparer().prepareStatement( updateSql );
-
-									try {
-										int index = 1;
-
-										// set REVEND = ?
-										final Number revisionNumber = enversService.getRevisionInfoNumberReader().getRevisionNumber(
-												revision
-										);
-										revisionInfoIdType.nullSafeSet(
-												preparedStatement, revisionNumber, index, sessionImplementor
-										);
-										index += revisionInfoIdType.getColumnSpan( sessionImplementor.getFactory() );
-
-										// set [, REVEND_TSTMP = ?]
-										if ( isRevisionEndTimestampEnabled ) {
-											final Object revEndTimestampObj = revisionTimestampGetter.get( revision );
-											final Date revisionEndTimestamp = convertRevEndTimestampToDate( revEndTimestampObj );
-											final Type revEndTsType = rootAuditedEntityQueryable.getPropertyType(
-													enversService.getAuditEntitiesConfiguration().getRevisionEndTimestampFieldName()
-											);
-											revEndTsType.nullSafeSet(
-													preparedStatement, revisionEndTimestamp, index, sessionImplementor
-											);
-											index += revEndTsType.getColumnSpan( sessionImplementor.getFactory() );
-										}
-
-										// where (prod_ent_id) = ?
-										final Type idType = rootProductionEntityQueryable.getIdentifierType();
-										idType.nullSafeSet( preparedStatement, id, index, sessionImplementor );
-										index += idType.getColumnSpan( sessionImplementor.getFactory() );
-
-										// where REV <> ?
-										final Type revType = rootAuditedEntityQueryable.getPropertyType(
-												enversService.getAuditEntitiesConfiguration().getRevisionNumberPath()
-										);
-										revType.nullSafeSet( preparedStatement, revisionNumber, index, sessionImplementor );
-
-										// where REVEND is null
-										// 		nothing to bind....
-
-										return sessionImplementor.getTransactionCoordinator()
-												.getJdbcCoordinator().getResultSetReturn().executeUpdate( preparedStatement );
-									}
-									finally {
-										sessionImplementor.getTransactionCoordinator().getJdbcCoordinator().release(
-												preparedStatement
-										);
-									}
-								}
-							}
-					);
-
-					if ( rowCount != 1 && ( !reuseEntityIdentifier || ( getRevisionType( enversService, data ) != RevisionType.ADD ) ) ) {
-						throw new RuntimeException(
-								"Cannot update previous revision for entity " + auditedEntityName + " and id " + id
-						);
-					}
-				}
-			});
+		// update audit_ent set REVEND = ? [, REVEND_TSTMP = ?] where (prod_ent_id) = ? and REV <> ? and REVEND is null
+		final Update update = new Update( sessionImplementor.getFactory().getDialect() ).setTableName( updateTableName );
+		// set REVEND = ?
+		update.addColumn( revEndColumnName );
+		// set [, REVEND_TSTMP = ?]
+		if ( audEntitiesCfg.isRevisionEndTimestampEnabled() ) {
+			update.addColumn(
+					rootAuditedEntityQueryable.toColumns( audEntitiesCfg.getRevisionEndTimestampFieldName() )[0]
+			);
 		}
-		sessionCacheCleaner.scheduleAuditDataRemoval( session, data );
+
+		// where (prod_ent_id) = ?
+		update.addPrimaryKeyColumns( rootProductionEntityQueryable.getIdentifierColumnNames() );
+		// where REV <> ?
+		update.addWhereColumn(
+				rootAuditedEntityQueryable.toColumns( audEntitiesCfg.getRevisionNumberPath() )[0], "<> ?"
+		);
+		// where REVEND is null
+		update.addWhereColumn( revEndColumnName, " is null" );
+
+		updateSql = update.toStatementString();
+		updateSqlByAuditedEntityName.put( auditedEntityName, updateSql );
+		return updateSql;
 	}
 
 	private Queryable getQueryable(String entityName, SessionImplementor sessionImplementor) {
@@ -278,7 +268,8 @@ public class ValidityAuditStrategy implements AuditStrategy {
 			);
 		}
 
-		// Save the audit data
+		// Save the audit data.  Always through the session, even with direct audit row inserts: the query above
+		// must find the rows saved earlier in the same transaction (HHH-5967), and it cannot see queued rows.
 		session.save( persistentCollectionChangeData.getEntityName(), persistentCollectionChangeData.getData() );
 		sessionCacheCleaner.scheduleAuditDataRemoval( session, persistentCollectionChangeData.getData() );
 	}
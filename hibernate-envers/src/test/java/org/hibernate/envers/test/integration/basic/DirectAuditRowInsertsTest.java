@@ -0,0 +1,83 @@
+package org.hibernate.envers.test.integration.basic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.enhanced.SequenceIdRevisionEntity;
+import org.hibernate.envers.test.BaseEnversFunctionalTestCase;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests that audit rows inserted directly through the audit entity persisters bypass the insert event listeners,
+ * while the audited data itself is still recorded.
+ */
+public class DirectAuditRowInsertsTest extends BaseEnversFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class<?>[] {StrTestEntity.class};
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+
+		settings.put( EnversSettings.USE_DIRECT_AUDIT_ROW_INSERTS, "true" );
+	}
+
+	@Test
+	public void testAuditRowsBypassEventListeners() {
+		final EventListenerRegistry registry = sessionFactory().getServiceRegistry()
+				.getService( EventListenerRegistry.class );
+		final RecordingPostInsertListener listener = new RecordingPostInsertListener();
+
+		registry.getEventListenerGroup( EventType.POST_INSERT ).appendListener( listener );
+
+		Session session = openSession();
+		session.getTransaction().begin();
+		StrTestEntity entity = new StrTestEntity( "str1" );
+		session.save( entity );
+		session.getTransaction().commit();
+		session.close();
+
+		// Only the original data and the revision entity go through the event listeners.
+		Assert.assertEquals( 2, listener.getEntityNames().size() );
+		Assert.assertTrue( listener.getEntityNames().contains( StrTestEntity.class.getName() ) );
+		Assert.assertTrue( listener.getEntityNames().contains( SequenceIdRevisionEntity.class.getName() ) );
+
+		final List<Number> revisions = getAuditReader().getRevisions( StrTestEntity.class, entity.getId() );
+		Assert.assertEquals( 1, revisions.size() );
+		Assert.assertEquals(
+				"str1",
+				getAuditReader().find( StrTestEntity.class, entity.getId(), revisions.get( 0 ) ).getStr()
+		);
+	}
+
+	private static class RecordingPostInsertListener implements PostInsertEventListener {
+		private final List<String> entityNames = new ArrayList<String>();
+
+		@Override
+		public void onPostInsert(PostInsertEvent event) {
+			entityNames.add( event.getPersister().getEntityName() );
+		}
+
+		@Override
+		public boolean requiresPostCommitHanding(EntityPersister persister) {
+			return false;
+		}
+
+		public List<String> getEntityNames() {
+			return entityNames;
+		}
+	}
+}
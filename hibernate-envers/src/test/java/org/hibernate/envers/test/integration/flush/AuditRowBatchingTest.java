@@ -0,0 +1,176 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.flush;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderInitiator;
+import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import org.hibernate.testing.cache.CachingRegionFactory;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that audit rows inserted directly (see {@link EnversSettings#USE_DIRECT_AUDIT_ROW_INSERTS}) are written in one
+ * JDBC batch per audit table, and that the query cache invalidation of the
+ * audit tables completes with the transaction, also when the session flushes manually (and the rows are written
+ * by a temporary session).
+ */
+public class AuditRowBatchingTest extends BaseEnversJPAFunctionalTestCase {
+	private static final String AUDIT_TABLE = "STR_TEST_AUD";
+
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { StrTestEntity.class };
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		options.put( EnversSettings.USE_DIRECT_AUDIT_ROW_INSERTS, "true" );
+		options.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		options.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		options.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		options.put( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() );
+		options.put( BatchBuilderInitiator.BUILDER, RecordingBatchBuilder.class.getName() );
+	}
+
+	@Test
+	public void testAuditRowsAreBatched() {
+		final List<Integer> ids = persist( FlushMode.AUTO, 5 );
+
+		assertEquals( Arrays.asList( 5 ), RecordingBatch.auditInsertBatchSizes );
+		assertAudited( ids );
+		assertAuditTableInvalidated();
+	}
+
+	@Test
+	public void testAuditRowsAreBatchedWithManualFlush() {
+		final List<Integer> ids = persist( FlushMode.MANUAL, 3 );
+
+		assertEquals( Arrays.asList( 3 ), RecordingBatch.auditInsertBatchSizes );
+		assertAudited( ids );
+		assertAuditTableInvalidated();
+	}
+
+	private List<Integer> persist(FlushMode flushMode, int count) {
+		final EntityManager em = getEntityManager();
+		em.unwrap( Session.class ).setFlushMode( flushMode );
+		RecordingBatch.reset();
+		em.getTransaction().begin();
+		final List<Integer> ids = new ArrayList<Integer>();
+		for ( int i = 0; i < count; i++ ) {
+			final StrTestEntity entity = new StrTestEntity( "x" + i );
+			em.persist( entity );
+			ids.add( entity.getId() );
+		}
+		em.flush();
+		em.getTransaction().commit();
+		em.close();
+		return ids;
+	}
+
+	private void assertAudited(List<Integer> ids) {
+		final EntityManager em = getEntityManager();
+		for ( Integer id : ids ) {
+			assertEquals( 1, AuditReaderFactory.get( em ).getRevisions( StrTestEntity.class, id ).size() );
+		}
+		em.close();
+	}
+
+	/**
+	 * The audit table was pre-invalidated (with a timestamp in the future) when the rows were written; once the
+	 * transaction completed it must have been invalidated with a current timestamp.
+	 */
+	private void assertAuditTableInvalidated() {
+		final EntityManager em = getEntityManager();
+		final TimestampsRegion region = ( (SessionImplementor) em.unwrap( Session.class ) ).getFactory()
+				.getUpdateTimestampsCache()
+				.getRegion();
+		em.close();
+		final Long timestamp = (Long) region.get( AUDIT_TABLE );
+		assertNotNull( timestamp );
+		assertTrue( timestamp <= region.nextTimestamp() );
+	}
+
+	public static class RecordingBatch extends BatchingBatch {
+		private static List<Integer> auditInsertBatchSizes = new ArrayList<Integer>();
+
+		public RecordingBatch(BatchKey key, JdbcCoordinator jdbcCoordinator, int jdbcBatchSize) {
+			super( key, jdbcCoordinator, jdbcBatchSize );
+		}
+
+		static void reset() {
+			auditInsertBatchSizes = new ArrayList<Integer>();
+		}
+
+		@Override
+		protected void batchExecutionEnded(PreparedStatement statement, long startTime, int[] rowCounts) {
+			for ( Map.Entry<String, PreparedStatement> entry : getStatements().entrySet() ) {
+				if ( entry.getValue() == statement && entry.getKey().startsWith( "insert into " + AUDIT_TABLE + " " ) ) {
+					auditInsertBatchSizes.add( rowCounts == null ? -1 : rowCounts.length );
+				}
+			}
+			super.batchExecutionEnded( statement, startTime, rowCounts );
+		}
+	}
+
+	public static class RecordingBatchBuilder extends BatchBuilderImpl {
+		private int jdbcBatchSize;
+
+		@Override
+		public void configure(Map configurationValues) {
+			super.configure( configurationValues );
+			jdbcBatchSize = ConfigurationHelper.getInt( AvailableSettings.STATEMENT_BATCH_SIZE, configurationValues, 1 );
+		}
+
+		@Override
+		public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+			return new RecordingBatch( key, jdbcCoordinator, jdbcBatchSize );
+		}
+	}
+}
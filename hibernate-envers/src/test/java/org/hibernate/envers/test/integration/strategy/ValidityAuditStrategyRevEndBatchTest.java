@@ -0,0 +1,183 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.envers.test.integration.strategy;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderInitiator;
+import org.hibernate.engine.jdbc.batch.internal.BatchingBatch;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.envers.AuditReaderFactory;
+import org.hibernate.envers.configuration.EnversSettings;
+import org.hibernate.envers.strategy.ValidityAuditStrategy;
+import org.hibernate.envers.test.BaseEnversJPAFunctionalTestCase;
+import org.hibernate.envers.test.entities.StrTestEntity;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that the end revisions set by the {@link ValidityAuditStrategy} are updated through JDBC batches, and that
+ * a previous audit row which cannot be found still fails the transaction.
+ */
+public class ValidityAuditStrategyRevEndBatchTest extends BaseEnversJPAFunctionalTestCase {
+	@Override
+	protected Class<?>[] getAnnotatedClasses() {
+		return new Class[] { StrTestEntity.class };
+	}
+
+	@Override
+	protected void addConfigOptions(Map options) {
+		super.addConfigOptions( options );
+		options.put( EnversSettings.AUDIT_STRATEGY, ValidityAuditStrategy.class.getName() );
+		options.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		options.put( BatchBuilderInitiator.BUILDER, RecordingBatchBuilder.class.getName() );
+	}
+
+	@Test
+	public void testRevisionEndsAreUpdatedInOneBatch() {
+		final EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		final List<Integer> ids = new ArrayList<Integer>();
+		for ( int i = 0; i < 5; i++ ) {
+			final StrTestEntity entity = new StrTestEntity( "x" + i );
+			em.persist( entity );
+			ids.add( entity.getId() );
+		}
+		em.getTransaction().commit();
+
+		RecordingBatch.reset();
+		em.getTransaction().begin();
+		for ( Integer id : ids ) {
+			em.find( StrTestEntity.class, id ).setStr( "y" );
+		}
+		em.getTransaction().commit();
+
+		// one statement execution updating the previous audit rows of all five entities
+		assertEquals( Arrays.asList( 5 ), RecordingBatch.revisionEndBatchSizes );
+
+		for ( Integer id : ids ) {
+			final List<Number> revisions = AuditReaderFactory.get( em ).getRevisions( StrTestEntity.class, id );
+			assertEquals( 2, revisions.size() );
+			final Number revisionEnd = (Number) em.createNativeQuery(
+					"select REVEND from STR_TEST_AUD where id = :id and REV = :rev"
+			)
+					.setParameter( "id", id )
+					.setParameter( "rev", revisions.get( 0 ) )
+					.getSingleResult();
+			assertEquals( revisions.get( 1 ).intValue(), revisionEnd.intValue() );
+		}
+		em.close();
+	}
+
+	@Test
+	public void testMissingPreviousRevisionFails() {
+		EntityManager em = getEntityManager();
+		em.getTransaction().begin();
+		final StrTestEntity entity = new StrTestEntity( "a" );
+		em.persist( entity );
+		em.getTransaction().commit();
+		final Integer id = entity.getId();
+
+		// lose the audit row whose end revision the next update has to set
+		em.getTransaction().begin();
+		em.createNativeQuery( "delete from STR_TEST_AUD where id = :id" ).setParameter( "id", id ).executeUpdate();
+		em.getTransaction().commit();
+
+		em.getTransaction().begin();
+		em.find( StrTestEntity.class, id ).setStr( "b" );
+		try {
+			em.getTransaction().commit();
+			fail( "Expecting the missing previous revision to be reported" );
+		}
+		catch (RuntimeException expected) {
+			assertTrue( hasMessage( expected, "Cannot update previous revision for entity " ) );
+		}
+		em.close();
+
+		// the transaction was rolled back
+		em = getEntityManager();
+		assertEquals( "a", em.find( StrTestEntity.class, id ).getStr() );
+		em.close();
+	}
+
+	private static boolean hasMessage(Throwable throwable, String prefix) {
+		for ( Throwable cause = throwable; cause != null; cause = cause.getCause() ) {
+			if ( cause.getMessage() != null && cause.getMessage().startsWith( prefix ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static class RecordingBatch extends BatchingBatch {
+		private static List<Integer> revisionEndBatchSizes = new ArrayList<Integer>();
+
+		public RecordingBatch(BatchKey key, JdbcCoordinator jdbcCoordinator, int jdbcBatchSize) {
+			super( key, jdbcCoordinator, jdbcBatchSize );
+		}
+
+		static void reset() {
+			revisionEndBatchSizes = new ArrayList<Integer>();
+		}
+
+		@Override
+		protected void batchExecutionEnded(PreparedStatement statement, long startTime, int[] rowCounts) {
+			for ( Map.Entry<String, PreparedStatement> entry : getStatements().entrySet() ) {
+				if ( entry.getValue() == statement && entry.getKey().startsWith( "update STR_TEST_AUD " ) ) {
+					revisionEndBatchSizes.add( rowCounts == null ? -1 : rowCounts.length );
+				}
+			}
+			super.batchExecutionEnded( statement, startTime, rowCounts );
+		}
+	}
+
+	public static class RecordingBatchBuilder extends BatchBuilderImpl {
+		private int jdbcBatchSize;
+
+		@Override
+		public void configure(Map configurationValues) {
+			super.configure( configurationValues );
+			jdbcBatchSize = ConfigurationHelper.getInt( AvailableSettings.STATEMENT_BATCH_SIZE, configurationValues, 1 );
+		}
+
+		@Override
+		public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+			return new RecordingBatch( key, jdbcCoordinator, jdbcBatchSize );
+		}
+	}
+}
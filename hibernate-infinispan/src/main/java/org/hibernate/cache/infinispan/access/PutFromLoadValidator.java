@@ -23,15 +23,13 @@
  */
 package org.hibernate.cache.infinispan.access;
 
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
 import javax.transaction.SystemException;
 import javax.transaction.Transaction;
 import javax.transaction.TransactionManager;
@@ -79,6 +77,14 @@ import org.infinispan.manager.EmbeddedCacheManager;
  * {@link #acquirePutFromLoadLock(Object)} without a preceding {@link #registerPendingPut(Object)}
  * call.
  * </p>
+ * <p/>
+ * <p>
+ * None of the methods used on the read path ({@link #registerPendingPut}, {@link #acquirePutFromLoadLock} and
+ * {@link #releasePutFromLoadLock}) ever block: the pending puts for a key are kept in an immutable snapshot which is
+ * replaced using compare-and-set.  Region invalidations are tracked with a counter which every pending put is stamped
+ * with when registered and compared against when the put is attempted.  Only the invalidation methods wait, and only
+ * for the puts which were already in progress when they were called.
+ * </p>
  *
  * @author Brian Stansberry
  * @version $Revision: $
@@ -92,6 +98,11 @@ public class PutFromLoadValidator {
 	 */
 	public static final long NAKED_PUT_INVALIDATION_PERIOD = TimeUnit.SECONDS.toMillis( 20 );
 
+	/**
+	 * Maximum time (in ms) an invalidation waits for the puts in progress at the time it was requested to complete.
+	 */
+	private static final long IN_PROGRESS_PUT_TIMEOUT = TimeUnit.SECONDS.toMillis( 60 );
+
 	/**
 	 * Used to determine whether the owner of a pending put is a thread or a transaction
 	 */
@@ -107,18 +118,16 @@ public class PutFromLoadValidator {
 
 	private final ConcurrentMap<Object, Long> recentRemovals = new ConcurrentHashMap<Object, Long>();
 	/**
-	 * List of recent removals. Used to ensure we don't leak memory via the recentRemovals map
+	 * Queue of recent removals, in the order they happened. Used to ensure we don't leak memory via the
+	 * recentRemovals map
 	 */
-	private final List<RecentRemoval> removalsQueue = new LinkedList<RecentRemoval>();
-	/**
-	 * The time when the first element in removalsQueue will expire. No reason to do housekeeping on
-	 * the queue before this time.
-	 */
-	private volatile long earliestRemovalTimestamp;
+	private final ConcurrentLinkedQueue<RecentRemoval> removalsQueue = new ConcurrentLinkedQueue<RecentRemoval>();
+
 	/**
-	 * Lock controlling access to removalsQueue
+	 * The number of calls to invalidateRegion(). A registered put is only valid if no region invalidation happened
+	 * since it was registered.
 	 */
-	private final Lock removalsLock = new ReentrantLock();
+	private final AtomicLong regionInvalidations = new AtomicLong();
 
 	/**
 	 * The time of the last call to regionRemoved(), plus NAKED_PUT_INVALIDATION_PERIOD. All naked
@@ -181,6 +190,9 @@ public class PutFromLoadValidator {
 	 * <strong>NOTE:</strong> A call to this method that returns <code>true</code>
 	 * should always be matched with a call to {@link #releasePutFromLoadLock(Object)}.
 	 * </p>
+	 * <p>
+	 * This method never blocks; if the put is not valid (any more) it returns <code>false</code> immediately.
+	 * </p>
 	 *
 	 * @param key the key
 	 *
@@ -188,67 +200,30 @@ public class PutFromLoadValidator {
 	 *         can proceed; <code>false</code> if the data should not be cached
 	 */
 	public boolean acquirePutFromLoadLock(Object key) {
-		boolean valid = false;
-		boolean locked = false;
-		final long now = System.currentTimeMillis();
-
-		try {
-			final PendingPutMap pending = pendingPuts.get( key );
-			if ( pending != null ) {
-				locked = pending.acquireLock( 100, TimeUnit.MILLISECONDS );
-				if ( locked ) {
-					try {
-						final PendingPut toCancel = pending.remove( getOwnerForPut() );
-						if ( toCancel != null ) {
-							valid = !toCancel.completed;
-							toCancel.completed = true;
-						}
-					}
-					finally {
-						if ( !valid ) {
-							pending.releaseLock();
-							locked = false;
-						}
-					}
-				}
-			}
-			else {
-				// Key wasn't in pendingPuts, so either this is a "naked put"
-				// or regionRemoved has been called. Check if we can proceed
-				if ( now > invalidationTimestamp ) {
-					final Long removedTime = recentRemovals.get( key );
-					if ( removedTime == null || now > removedTime ) {
-						// It's legal to proceed. But we have to record this key
-						// in pendingPuts so releasePutFromLoadLock can find it.
-						// To do this we basically simulate a normal "register
-						// then acquire lock" pattern
-						registerPendingPut( key );
-						locked = acquirePutFromLoadLock( key );
-						valid = locked;
-					}
-				}
+		final PendingPutMap pending = pendingPuts.get( key );
+		if ( pending != null ) {
+			final boolean valid = pending.acquire( getOwnerForPut(), regionInvalidations.get() );
+			if ( !valid ) {
+				removeIfUnused( key, pending );
 			}
+			return valid;
 		}
-		catch (Throwable t) {
-			if ( locked ) {
-				final PendingPutMap toRelease = pendingPuts.get( key );
-				if ( toRelease != null ) {
-					toRelease.releaseLock();
-				}
-			}
 
-			if ( t instanceof RuntimeException ) {
-				throw (RuntimeException) t;
-			}
-			else if ( t instanceof Error ) {
-				throw (Error) t;
-			}
-			else {
-				throw new RuntimeException( t );
+		// Key wasn't in pendingPuts, so either this is a "naked put"
+		// or regionRemoved has been called. Check if we can proceed
+		final long now = System.currentTimeMillis();
+		if ( now > invalidationTimestamp ) {
+			final Long removedTime = recentRemovals.get( key );
+			if ( removedTime == null || now > removedTime ) {
+				// It's legal to proceed. But we have to record this key
+				// in pendingPuts so releasePutFromLoadLock can find it.
+				// To do this we basically simulate a normal "register
+				// then acquire lock" pattern
+				registerPendingPut( key );
+				return acquirePutFromLoadLock( key );
 			}
 		}
-
-		return valid;
+		return false;
 	}
 
 	/**
@@ -260,10 +235,8 @@ public class PutFromLoadValidator {
 	public void releasePutFromLoadLock(Object key) {
 		final PendingPutMap pending = pendingPuts.get( key );
 		if ( pending != null ) {
-			if ( pending.size() == 0 ) {
-				pendingPuts.remove( key, pending );
-			}
-			pending.releaseLock();
+			pending.release( getOwnerForPut() );
+			removeIfUnused( key, pending );
 		}
 	}
 
@@ -280,62 +253,23 @@ public class PutFromLoadValidator {
 	 *         caller should treat as an exception condition)
 	 */
 	public boolean invalidateKey(Object key) {
-		boolean success = true;
-
-		// Invalidate any pending puts
-		final PendingPutMap pending = pendingPuts.get( key );
-		if ( pending != null ) {
-			// This lock should be available very quickly, but we'll be
-			// very patient waiting for it as callers should treat not
-			// acquiring it as an exception condition
-			if ( pending.acquireLock( 60, TimeUnit.SECONDS ) ) {
-				try {
-					pending.invalidate();
-				}
-				finally {
-					pending.releaseLock();
-				}
-			}
-			else {
-				success = false;
-			}
-		}
-
-		// Record when this occurred to invalidate later naked puts
+		// Record when this occurred to invalidate later naked puts; this is done first so that a
+		// naked put either sees the removal or registers in time to be invalidated below
 		final RecentRemoval removal = new RecentRemoval( key, this.nakedPutInvalidationPeriod );
 		recentRemovals.put( key, removal.timestamp );
+		removalsQueue.add( removal );
 
 		// Don't let recentRemovals map become a memory leak
-		RecentRemoval toClean = null;
-		final boolean attemptClean = removal.timestamp > earliestRemovalTimestamp;
-		removalsLock.lock();
-		try {
-			removalsQueue.add( removal );
-
-			if ( attemptClean ) {
-				if ( removalsQueue.size() > 1 ) {
-					// we have at least one as we just added it
-					toClean = removalsQueue.remove( 0 );
-				}
-				earliestRemovalTimestamp = removalsQueue.get( 0 ).timestamp;
-			}
-		}
-		finally {
-			removalsLock.unlock();
-		}
+		expireRemovals();
 
-		if ( toClean != null ) {
-			Long cleaned = recentRemovals.get( toClean.key );
-			if ( cleaned != null && cleaned.equals( toClean.timestamp ) ) {
-				cleaned = recentRemovals.remove( toClean.key );
-				if ( cleaned != null && !cleaned.equals( toClean.timestamp ) ) {
-					// Oops; removed the wrong timestamp; restore it
-					recentRemovals.putIfAbsent( toClean.key, cleaned );
-				}
-			}
+		// Invalidate any pending puts
+		final PendingPutMap pending = pendingPuts.get( key );
+		if ( pending != null ) {
+			final boolean success = pending.invalidate( IN_PROGRESS_PUT_TIMEOUT );
+			removeIfUnused( key, pending );
+			return success;
 		}
-
-		return success;
+		return true;
 	}
 
 	/**
@@ -349,46 +283,26 @@ public class PutFromLoadValidator {
 	 *         caller should treat as an exception condition)
 	 */
 	public boolean invalidateRegion() {
-
-		boolean ok = false;
 		invalidationTimestamp = System.currentTimeMillis() + this.nakedPutInvalidationPeriod;
+		// puts registered from now on are stamped with the new count; the older ones can no longer be acquired
+		regionInvalidations.incrementAndGet();
 
+		boolean ok = true;
 		try {
-
-			// Acquire the lock for each entry to ensure any ongoing
-			// work associated with it is completed before we return
+			// Wait for any ongoing work associated with each entry to be
+			// completed before we return
 			for ( PendingPutMap entry : pendingPuts.values() ) {
-				if ( entry.acquireLock( 60, TimeUnit.SECONDS ) ) {
-					try {
-						entry.invalidate();
-					}
-					finally {
-						entry.releaseLock();
-					}
-				}
-				else {
+				if ( !entry.invalidate( IN_PROGRESS_PUT_TIMEOUT ) ) {
 					ok = false;
 				}
 			}
 
-			removalsLock.lock();
-			try {
-				recentRemovals.clear();
-				removalsQueue.clear();
-
-				ok = true;
-
-			}
-			finally {
-				removalsLock.unlock();
-			}
+			recentRemovals.clear();
+			removalsQueue.clear();
 		}
 		catch (Exception e) {
 			ok = false;
 		}
-		finally {
-			earliestRemovalTimestamp = invalidationTimestamp;
-		}
 
 		return ok;
 	}
@@ -405,35 +319,22 @@ public class PutFromLoadValidator {
 	 * @param key key that will be used for subsequent cache put
 	 */
 	public void registerPendingPut(Object key) {
-		final PendingPut pendingPut = new PendingPut( getOwnerForPut() );
-		final PendingPutMap pendingForKey = new PendingPutMap( pendingPut );
+		final PendingPut pendingPut = new PendingPut( getOwnerForPut(), regionInvalidations.get() );
 
 		for (; ; ) {
-			final PendingPutMap existing = pendingPuts.putIfAbsent( key, pendingForKey );
-			if ( existing != null ) {
-				if ( existing.acquireLock( 10, TimeUnit.SECONDS ) ) {
-
-					try {
-						existing.put( pendingPut );
-						final PendingPutMap doublecheck = pendingPuts.putIfAbsent( key, existing );
-						if ( doublecheck == null || doublecheck == existing ) {
-							break;
-						}
-						// else we hit a race and need to loop to try again
-					}
-					finally {
-						existing.releaseLock();
-					}
-				}
-				else {
-					// Can't get the lock; when we come back we'll be a "naked put"
+			PendingPutMap pending = pendingPuts.get( key );
+			if ( pending == null ) {
+				// normal case
+				pending = pendingPuts.putIfAbsent( key, new PendingPutMap( pendingPut ) );
+				if ( pending == null ) {
 					break;
 				}
 			}
-			else {
-				// normal case
+			if ( pending.register( pendingPut ) ) {
 				break;
 			}
+			// else we hit a race with the removal of an unused entry and need to loop to try again
+			pendingPuts.remove( key, pending );
 		}
 	}
 
@@ -443,13 +344,7 @@ public class PutFromLoadValidator {
 	 * Only for use by unit tests; may be removed at any time
 	 */
 	protected int getRemovalQueueLength() {
-		removalsLock.lock();
-		try {
-			return removalsQueue.size();
-		}
-		finally {
-			removalsLock.unlock();
-		}
+		return removalsQueue.size();
 	}
 
 	// ---------------------------------------------------------------- Private
@@ -468,96 +363,194 @@ public class PutFromLoadValidator {
 
 	}
 
+	private void removeIfUnused(Object key, PendingPutMap pending) {
+		if ( pending.close() ) {
+			pendingPuts.remove( key, pending );
+		}
+	}
+
+	private void expireRemovals() {
+		final long now = System.currentTimeMillis();
+		for ( RecentRemoval oldest = removalsQueue.peek();
+				oldest != null && oldest.timestamp < now;
+				oldest = removalsQueue.peek() ) {
+			if ( removalsQueue.remove( oldest ) ) {
+				// leaves a more recent removal of the same key in place
+				recentRemovals.remove( oldest.key, oldest.timestamp );
+			}
+		}
+	}
+
 	/**
-	 * Lazy-initialization map for PendingPut. Optimized for the expected usual case where only a
-	 * single put is pending for a given key.
+	 * The pending puts for a single key. Optimized for the expected usual case where only a single put is pending for
+	 * a given key.
 	 * <p/>
-	 * This class is NOT THREAD SAFE. All operations on it must be performed with the lock held.
+	 * This class is thread safe without locking: its state is an immutable snapshot which is replaced as a whole.
 	 */
 	private static class PendingPutMap {
-		private PendingPut singlePendingPut;
-		private Map<Object, PendingPut> fullMap;
-		private final Lock lock = new ReentrantLock();
+		private static final AtomicReferenceFieldUpdater<PendingPutMap, Snapshot> SNAPSHOT_UPDATER =
+				AtomicReferenceFieldUpdater.newUpdater( PendingPutMap.class, Snapshot.class, "snapshot" );
+
+		private volatile Snapshot snapshot;
 
 		PendingPutMap(PendingPut singleItem) {
-			this.singlePendingPut = singleItem;
+			this.snapshot = new Snapshot( new PendingPut[] { singleItem }, Snapshot.NONE );
 		}
 
-		public void put(PendingPut pendingPut) {
-			if ( singlePendingPut == null ) {
-				if ( fullMap == null ) {
-					// initial put
-					singlePendingPut = pendingPut;
+		/**
+		 * Adds a pending put, replacing any registered earlier by the same owner.
+		 *
+		 * @return <code>false</code> if this map was closed and should not be used anymore
+		 */
+		public boolean register(PendingPut pendingPut) {
+			for (; ; ) {
+				final Snapshot current = snapshot;
+				if ( current == Snapshot.CLOSED ) {
+					return false;
 				}
-				else {
-					fullMap.put( pendingPut.owner, pendingPut );
+				final int index = Snapshot.indexOf( current.registered, pendingPut.owner );
+				final PendingPut[] registered = index < 0
+						? Snapshot.with( current.registered, pendingPut )
+						: Snapshot.with( Snapshot.without( current.registered, index ), pendingPut );
+				if ( SNAPSHOT_UPDATER.compareAndSet( this, current, new Snapshot( registered, current.inProgress ) ) ) {
+					return true;
 				}
 			}
-			else {
-				// 2nd put; need a map
-				fullMap = new HashMap<Object, PendingPut>( 4 );
-				fullMap.put( singlePendingPut.owner, singlePendingPut );
-				singlePendingPut = null;
-				fullMap.put( pendingPut.owner, pendingPut );
+		}
+
+		/**
+		 * Turns the put registered by the given owner into a put in progress, provided it is still valid.
+		 */
+		public boolean acquire(Object owner, long regionInvalidations) {
+			for (; ; ) {
+				final Snapshot current = snapshot;
+				final int index = Snapshot.indexOf( current.registered, owner );
+				if ( index < 0 ) {
+					// never registered, or invalidated since
+					return false;
+				}
+				final PendingPut pendingPut = current.registered[index];
+				final boolean valid = pendingPut.regionInvalidations == regionInvalidations;
+				final Snapshot next = new Snapshot(
+						Snapshot.without( current.registered, index ),
+						valid ? Snapshot.with( current.inProgress, pendingPut ) : current.inProgress
+				);
+				if ( SNAPSHOT_UPDATER.compareAndSet( this, current, next ) ) {
+					return valid;
+				}
 			}
 		}
 
-		public PendingPut remove(Object ownerForPut) {
-			PendingPut removed = null;
-			if ( fullMap == null ) {
-				if ( singlePendingPut != null
-						&& singlePendingPut.owner.equals( ownerForPut ) ) {
-					removed = singlePendingPut;
-					singlePendingPut = null;
+		public void release(Object owner) {
+			for (; ; ) {
+				final Snapshot current = snapshot;
+				final int index = Snapshot.indexOf( current.inProgress, owner );
+				if ( index < 0 ) {
+					return;
+				}
+				final Snapshot next = new Snapshot( current.registered, Snapshot.without( current.inProgress, index ) );
+				if ( SNAPSHOT_UPDATER.compareAndSet( this, current, next ) ) {
+					return;
 				}
 			}
-			else {
-				removed = fullMap.remove( ownerForPut );
+		}
+
+		/**
+		 * Drops all registered puts and waits for the puts in progress to complete.
+		 *
+		 * @return <code>false</code> if the puts in progress did not complete in time
+		 */
+		public boolean invalidate(long timeout) {
+			Snapshot current;
+			do {
+				current = snapshot;
+				if ( current.registered.length == 0 ) {
+					break;
+				}
+			} while ( !SNAPSHOT_UPDATER.compareAndSet( this, current, new Snapshot( Snapshot.NONE, current.inProgress ) ) );
+
+			final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos( timeout );
+			for ( PendingPut inProgress : current.inProgress ) {
+				// puts started after this point have been registered after the invalidation, so need not be waited for
+				while ( Snapshot.contains( snapshot.inProgress, inProgress ) ) {
+					if ( System.nanoTime() - deadline > 0 || Thread.currentThread().isInterrupted() ) {
+						return false;
+					}
+					LockSupport.parkNanos( TimeUnit.MICROSECONDS.toNanos( 100 ) );
+				}
 			}
-			return removed;
+			return true;
+		}
+
+		/**
+		 * Closes this map if no put is registered or in progress.
+		 *
+		 * @return <code>true</code> if the map got closed, in which case it should be removed.
+		 */
+		public boolean close() {
+			final Snapshot current = snapshot;
+			return current != Snapshot.CLOSED
+					&& current.registered.length == 0
+					&& current.inProgress.length == 0
+					&& SNAPSHOT_UPDATER.compareAndSet( this, current, Snapshot.CLOSED );
 		}
+	}
+
+	private static final class Snapshot {
+		private static final PendingPut[] NONE = new PendingPut[0];
+		private static final Snapshot CLOSED = new Snapshot( NONE, NONE );
+
+		private final PendingPut[] registered;
+		private final PendingPut[] inProgress;
 
-		public int size() {
-			return fullMap == null ? (singlePendingPut == null ? 0 : 1)
-					: fullMap.size();
+		private Snapshot(PendingPut[] registered, PendingPut[] inProgress) {
+			this.registered = registered;
+			this.inProgress = inProgress;
 		}
 
-		public boolean acquireLock(long time, TimeUnit unit) {
-			try {
-				return lock.tryLock( time, unit );
+		private static int indexOf(PendingPut[] puts, Object owner) {
+			for ( int i = 0; i < puts.length; i++ ) {
+				if ( puts[i].owner.equals( owner ) ) {
+					return i;
+				}
 			}
-			catch (InterruptedException e) {
-				Thread.currentThread().interrupt();
-				return false;
+			return -1;
+		}
+
+		private static boolean contains(PendingPut[] puts, PendingPut pendingPut) {
+			for ( PendingPut put : puts ) {
+				if ( put == pendingPut ) {
+					return true;
+				}
 			}
+			return false;
 		}
 
-		public void releaseLock() {
-			lock.unlock();
+		private static PendingPut[] with(PendingPut[] puts, PendingPut pendingPut) {
+			final PendingPut[] result = new PendingPut[puts.length + 1];
+			System.arraycopy( puts, 0, result, 0, puts.length );
+			result[puts.length] = pendingPut;
+			return result;
 		}
 
-		public void invalidate() {
-			if ( singlePendingPut != null ) {
-				singlePendingPut.completed = true;
-				// Nullify to avoid leaking completed pending puts
-				singlePendingPut = null;
-			}
-			else if ( fullMap != null ) {
-				for ( PendingPut pp : fullMap.values() ) {
-					pp.completed = true;
-				}
-				// Nullify to avoid leaking completed pending puts
-				fullMap = null;
+		private static PendingPut[] without(PendingPut[] puts, int index) {
+			if ( puts.length == 1 ) {
+				return NONE;
 			}
+			final PendingPut[] result = new PendingPut[puts.length - 1];
+			System.arraycopy( puts, 0, result, 0, index );
+			System.arraycopy( puts, index + 1, result, index, result.length - index );
+			return result;
 		}
 	}
 
 	private static class PendingPut {
 		private final Object owner;
-		private volatile boolean completed;
+		private final long regionInvalidations;
 
-		private PendingPut(Object owner) {
+		private PendingPut(Object owner, long regionInvalidations) {
 			this.owner = owner;
+			this.regionInvalidations = regionInvalidations;
 		}
 	}
 
@@ -23,6 +23,12 @@
  */
 package org.hibernate.cache.infinispan.access;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.impl.BaseRegion;
 import org.hibernate.cache.infinispan.util.Caches;
@@ -84,6 +90,52 @@ public class TransactionalAccessDelegate {
 		return val;
 	}
 
+   /**
+    * Attempt to retrieve several objects from the cache with a single {@code getAll} call.
+    *
+    * @param keys The keys of the items to be retrieved
+    * @param txTimestamp a timestamp prior to the transaction start time
+    * @return the cached objects, keyed by their key; keys not found in the cache are not part of the map
+    * @throws CacheException if the cache retrieval failed
+    */
+	@SuppressWarnings({"UnusedParameters", "unchecked"})
+	public Map<Object,Object> getAll(Collection<?> keys, long txTimestamp) throws CacheException {
+		if ( !region.checkValid() ) {
+			return Collections.emptyMap();
+		}
+		final Map<Object,Object> vals = new HashMap<Object,Object>( cache.getAll( new HashSet<Object>( keys ) ) );
+		for ( Object key : keys ) {
+			if ( vals.get( key ) == null ) {
+				vals.remove( key );
+				putValidator.registerPendingPut( key );
+			}
+		}
+		return vals;
+	}
+
+   /**
+    * Attempt to cache several objects, after loading them from the database.  Each put goes through the
+    * put from load validator, so the objects are written one at a time.
+    *
+    * @param values The items, keyed by their key
+    * @param versions The item version numbers, keyed by their key
+    * @param txTimestamp a timestamp prior to the transaction start time
+    * @param minimalPutOverride Explicit minimalPut flag
+    * @return the number of objects successfully cached
+    * @throws CacheException if storing the objects failed
+    */
+	public int putAllFromLoad(Map<?,?> values, Map<?,?> versions, long txTimestamp, boolean minimalPutOverride)
+			throws CacheException {
+		int puts = 0;
+		for ( Map.Entry<?,?> entry : values.entrySet() ) {
+			final Object version = versions.get( entry.getKey() );
+			if ( putFromLoad( entry.getKey(), entry.getValue(), txTimestamp, version, minimalPutOverride ) ) {
+				puts++;
+			}
+		}
+		return puts;
+	}
+
    /**
     * Attempt to cache an object, after loading from the database.
     *
@@ -22,14 +22,18 @@
  */
 package org.hibernate.cache.infinispan.timestamp;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import javax.transaction.Transaction;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.infinispan.util.Caches;
+import org.hibernate.cache.spi.NotifyingTimestampsRegion;
 import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsInvalidationListener;
 
 import org.infinispan.AdvancedCache;
 import org.infinispan.context.Flag;
@@ -46,7 +50,7 @@ import org.infinispan.notifications.cachelistener.event.CacheEntryRemovedEvent;
  * @since 4.1
  */
 @Listener
-public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
+public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl implements NotifyingTimestampsRegion {
 
 	/**
 	 * Maintains a local (authoritative) cache of timestamps along with the
@@ -56,6 +60,13 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 	 */
 	private final Map localCache = new ConcurrentHashMap();
 
+	/**
+	 * Told about every change applied to {@link #localCache} (whether it originated locally or remotely), once the
+	 * change is visible.
+	 */
+	private final List<TimestampsInvalidationListener> invalidationListeners =
+			new CopyOnWriteArrayList<TimestampsInvalidationListener>();
+
    /**
     * Clustered timestamps region constructor.
     *
@@ -123,11 +134,25 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 		// Invalidate first
 		super.invalidateRegion();
 		localCache.clear();
+		for ( TimestampsInvalidationListener listener : invalidationListeners ) {
+			listener.regionInvalidated();
+		}
+	}
+
+	@Override
+	public void addInvalidationListener(TimestampsInvalidationListener listener) {
+		invalidationListeners.add( listener );
+	}
+
+	@Override
+	public void removeInvalidationListener(TimestampsInvalidationListener listener) {
+		invalidationListeners.remove( listener );
 	}
 
 	@Override
 	public void destroy() throws CacheException {
 		localCache.clear();
+		invalidationListeners.clear();
 		cache.removeListener( this );
 		super.destroy();
 	}
@@ -152,6 +177,7 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 	public void nodeModified(CacheEntryModifiedEvent event) {
 		if ( !event.isPre() ) {
 			localCache.put( event.getKey(), event.getValue() );
+			notifySpaceInvalidated( event.getKey() );
 		}
 	}
 
@@ -167,6 +193,13 @@ public class ClusteredTimestampsRegionImpl extends TimestampsRegionImpl {
 			return;
 		}
 		localCache.remove( event.getKey() );
+		notifySpaceInvalidated( event.getKey() );
+	}
+
+	private void notifySpaceInvalidated(Object key) {
+		for ( TimestampsInvalidationListener listener : invalidationListeners ) {
+			listener.spaceInvalidated( key );
+		}
 	}
 
 }
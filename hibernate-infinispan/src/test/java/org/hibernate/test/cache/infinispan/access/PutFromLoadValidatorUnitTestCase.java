@@ -517,6 +517,81 @@ public class PutFromLoadValidatorUnitTestCase {
       });
    }
 
+   @Test
+   public void testPutRegisteredDuringInvalidationDoesNotBlock() throws Exception {
+      withCacheManager(new CacheManagerCallable(
+            TestCacheManagerFactory.createCacheManager(false)) {
+         @Override
+         public void call() {
+            final PutFromLoadValidator testee = new PutFromLoadValidator(
+                  cm, null, PutFromLoadValidator.NAKED_PUT_INVALIDATION_PERIOD);
+            final CountDownLatch removeLatch = new CountDownLatch(1);
+            final CountDownLatch pferLatch = new CountDownLatch(1);
+
+            Callable<Boolean> pferCallable = new Callable<Boolean>() {
+               public Boolean call() throws Exception {
+                  testee.registerPendingPut(KEY1);
+                  if (testee.acquirePutFromLoadLock(KEY1)) {
+                     try {
+                        removeLatch.countDown();
+                        pferLatch.await();
+                        return Boolean.TRUE;
+                     }
+                     finally {
+                        testee.releasePutFromLoadLock(KEY1);
+                     }
+                  }
+                  return Boolean.FALSE;
+               }
+            };
+
+            Callable<Boolean> invalidateCallable = new Callable<Boolean>() {
+               public Boolean call() throws Exception {
+                  removeLatch.await();
+                  return testee.invalidateKey(KEY1);
+               }
+            };
+
+            Callable<Boolean> laterPferCallable = new Callable<Boolean>() {
+               public Boolean call() throws Exception {
+                  testee.registerPendingPut(KEY1);
+                  if (testee.acquirePutFromLoadLock(KEY1)) {
+                     testee.releasePutFromLoadLock(KEY1);
+                     return Boolean.TRUE;
+                  }
+                  return Boolean.FALSE;
+               }
+            };
+
+            ExecutorService executorService = Executors.newCachedThreadPool();
+            Future<Boolean> pferFuture = executorService.submit(pferCallable);
+            Future<Boolean> invalidateFuture = executorService.submit(invalidateCallable);
+
+            try {
+               try {
+                  invalidateFuture.get(1, TimeUnit.SECONDS);
+                  fail("invalidateFuture did not block");
+               }
+               catch (TimeoutException good) {}
+
+               // registered after the invalidation, so neither blocked nor rejected by it
+               Future<Boolean> laterPferFuture = executorService.submit(laterPferCallable);
+               assertTrue(laterPferFuture.get(1, TimeUnit.SECONDS));
+               assertFalse(invalidateFuture.isDone());
+
+               pferLatch.countDown();
+
+               assertTrue(pferFuture.get(5, TimeUnit.SECONDS));
+               assertTrue(invalidateFuture.get(5, TimeUnit.SECONDS));
+            } catch (Exception e) {
+               throw new RuntimeException(e);
+            } finally {
+               executorService.shutdownNow();
+            }
+         }
+      });
+   }
+
    private static class TestValidator extends PutFromLoadValidator {
 
       protected TestValidator(EmbeddedCacheManager cm,
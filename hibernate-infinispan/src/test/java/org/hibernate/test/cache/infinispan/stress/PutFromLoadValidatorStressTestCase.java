@@ -0,0 +1,187 @@
+package org.hibernate.test.cache.infinispan.stress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import org.infinispan.test.CacheManagerCallable;
+import org.infinispan.test.fwk.TestCacheManagerFactory;
+import org.infinispan.util.logging.Log;
+import org.infinispan.util.logging.LogFactory;
+
+import org.hibernate.cache.infinispan.access.PutFromLoadValidator;
+
+import static org.infinispan.test.TestingUtil.withCacheManager;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * A stress test for {@link PutFromLoadValidator} on its own, mixing many
+ * concurrent loads of a few hot keys with invalidations of the same keys.
+ * <p/>
+ * Every key has a "database" version which writers bump before invalidating
+ * the key, the way an update does. Loaders only cache the version they read
+ * if the validator allows them to, so at the end no cached version may be
+ * older than the database one.
+ * <p/>
+ * Only the public API of the validator is used, so the reported throughput
+ * can be compared with that of earlier versions of the validator.
+ */
+@Ignore
+public class PutFromLoadValidatorStressTestCase {
+
+   static final Log log = LogFactory.getLog(PutFromLoadValidatorStressTestCase.class);
+   static final int NUM_LOADERS = 32;
+   static final int NUM_WRITERS = 4;
+   static final int NUM_KEYS = 16;
+   static final long RUNNING_TIME_SECS = Integer.getInteger("time", 30);
+
+   final AtomicBoolean run = new AtomicBoolean(true);
+   final AtomicLongArray database = new AtomicLongArray(NUM_KEYS);
+   final ConcurrentMap<Integer, Long> cache = new ConcurrentHashMap<Integer, Long>();
+   final Object[] rowLocks = new Object[NUM_KEYS];
+
+   {
+      for (int i = 0; i < NUM_KEYS; i++)
+         rowLocks[i] = new Object();
+   }
+
+   @Test
+   public void testLoadInvalidateMix() throws Exception {
+      withCacheManager(new CacheManagerCallable(
+            TestCacheManagerFactory.createCacheManager(false)) {
+         @Override
+         public void call() {
+            try {
+               doTest(new PutFromLoadValidator(cm, null,
+                     PutFromLoadValidator.NAKED_PUT_INVALIDATION_PERIOD));
+            } catch (Exception e) {
+               throw new RuntimeException(e);
+            }
+         }
+      });
+   }
+
+   private void doTest(PutFromLoadValidator validator) throws Exception {
+      ExecutorService executor = Executors.newFixedThreadPool(NUM_LOADERS + NUM_WRITERS);
+      try {
+         CyclicBarrier barrier = new CyclicBarrier(NUM_LOADERS + NUM_WRITERS + 1);
+         List<Future<Long>> loaders = new ArrayList<Future<Long>>(NUM_LOADERS);
+         List<Future<Long>> writers = new ArrayList<Future<Long>>(NUM_WRITERS);
+         for (int i = 0; i < NUM_LOADERS; i++)
+            loaders.add(executor.submit(new Loader(barrier, validator, i)));
+         for (int i = 0; i < NUM_WRITERS; i++)
+            writers.add(executor.submit(new Writer(barrier, validator, i)));
+         barrier.await(); // wait for all threads to be ready
+
+         long start = System.nanoTime();
+         Thread.sleep(TimeUnit.SECONDS.toMillis(RUNNING_TIME_SECS));
+         run.set(false); // Instruct tests to stop doing work
+         barrier.await(2, TimeUnit.MINUTES); // wait for all threads to finish
+         long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+         long loads = 0;
+         for (Future<Long> future : loaders)
+            loads += future.get();
+         long invalidations = 0;
+         for (Future<Long> future : writers)
+            invalidations += future.get();
+         log.infof("Loads/ms: %.2f, invalidations/ms: %.2f",
+               (double) loads / millis, (double) invalidations / millis);
+
+         for (int i = 0; i < NUM_KEYS; i++) {
+            Long cached = cache.get(i);
+            if (cached != null)
+               assertEquals("Stale entry cached for key " + i, database.get(i), cached.longValue());
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+
+   private class Loader implements Callable<Long> {
+      final CyclicBarrier barrier;
+      final PutFromLoadValidator validator;
+      final Random random;
+
+      Loader(CyclicBarrier barrier, PutFromLoadValidator validator, int seed) {
+         this.barrier = barrier;
+         this.validator = validator;
+         this.random = new Random(seed);
+      }
+
+      @Override
+      public Long call() throws Exception {
+         barrier.await();
+         long loads = 0;
+         try {
+            while (run.get()) {
+               Integer key = random.nextInt(NUM_KEYS);
+               if (cache.get(key) != null)
+                  continue;
+
+               validator.registerPendingPut(key);
+               long version = database.get(key);
+               if (validator.acquirePutFromLoadLock(key)) {
+                  try {
+                     cache.putIfAbsent(key, version);
+                  } finally {
+                     validator.releasePutFromLoadLock(key);
+                  }
+               }
+               loads++;
+            }
+            return loads;
+         } finally {
+            barrier.await();
+         }
+      }
+   }
+
+   private class Writer implements Callable<Long> {
+      final CyclicBarrier barrier;
+      final PutFromLoadValidator validator;
+      final Random random;
+
+      Writer(CyclicBarrier barrier, PutFromLoadValidator validator, int seed) {
+         this.barrier = barrier;
+         this.validator = validator;
+         this.random = new Random(-seed);
+      }
+
+      @Override
+      public Long call() throws Exception {
+         barrier.await();
+         long invalidations = 0;
+         try {
+            while (run.get()) {
+               Integer key = random.nextInt(NUM_KEYS);
+               // writers of the same key are serialized, as by the database row lock
+               synchronized (rowLocks[key]) {
+                  database.incrementAndGet(key);
+                  cache.remove(key);
+                  if (!validator.invalidateKey(key))
+                     throw new IllegalStateException("Invalidation of key " + key + " failed");
+               }
+               invalidations++;
+            }
+            return invalidations;
+         } finally {
+            barrier.await();
+         }
+      }
+   }
+
+}
@@ -0,0 +1,262 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.regions.OffHeapCollectionRegion;
+import org.hibernate.cache.offheap.internal.regions.OffHeapEntityRegion;
+import org.hibernate.cache.offheap.internal.regions.OffHeapNaturalIdRegion;
+import org.hibernate.cache.offheap.internal.regions.OffHeapQueryResultsRegion;
+import org.hibernate.cache.offheap.internal.regions.OffHeapTimestampsRegion;
+import org.hibernate.cache.offheap.internal.store.EvictionPolicy;
+import org.hibernate.cache.offheap.internal.store.OffHeapStore;
+import org.hibernate.cache.offheap.internal.store.StoreConfiguration;
+import org.hibernate.cache.offheap.internal.util.Timestamper;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A RegionFactory keeping cached entity, collection, natural-id and query data serialized in direct memory, outside
+ * of the Java heap, so that large caches do not add to garbage collection pauses.
+ * <p/>
+ * Each region is backed by its own {@link OffHeapStore}, limited in size, optionally expiring entries after a time to
+ * live and evicting entries by LRU or LFU once full.  The defaults are set by the {@code hibernate.cache.offheap.*}
+ * settings; each of {@link #MAX_SIZE}, {@link #TIME_TO_LIVE} and {@link #EVICTION} may be overridden for a single
+ * region by inserting {@code region.<region name>} before its last part, for instance
+ * {@code hibernate.cache.offheap.region.com.acme.Customer.max_size}.
+ * <p/>
+ * Direct memory is allocated as regions fill up; the JVM limit on direct memory ({@code -XX:MaxDirectMemorySize})
+ * must allow for the sum of the region sizes.  Update timestamps are kept on the heap and are never evicted.
+ */
+public class OffHeapRegionFactory implements RegionFactory {
+	/**
+	 * The maximum amount of off-heap memory used by a region, in bytes.  May be suffixed by {@code k}, {@code m} or
+	 * {@code g}.  Defaults to 64 megabytes.
+	 */
+	public static final String MAX_SIZE = "hibernate.cache.offheap.max_size";
+
+	/**
+	 * The number of seconds after which cached data expires.  Defaults to {@code 0}, meaning cached data does not
+	 * expire.
+	 */
+	public static final String TIME_TO_LIVE = "hibernate.cache.offheap.time_to_live";
+
+	/**
+	 * The eviction policy applied once a region is full, either {@code lru} (the default) or {@code lfu}.
+	 */
+	public static final String EVICTION = "hibernate.cache.offheap.eviction";
+
+	/**
+	 * The number of independently locked segments of each region.  Defaults to 16.
+	 */
+	public static final String SEGMENTS = "hibernate.cache.offheap.segments";
+
+	/**
+	 * The size of the blocks in which cached data is stored, in bytes.  Defaults to 128.
+	 */
+	public static final String BLOCK_SIZE = "hibernate.cache.offheap.block_size";
+
+	/**
+	 * The soft-lock timeout of the read/write access strategies, in milliseconds.  Defaults to 60000.
+	 */
+	public static final String LOCK_TIMEOUT = "hibernate.cache.offheap.lock_timeout";
+
+	private static final Logger LOG = CoreLogging.logger( OffHeapRegionFactory.class );
+
+	private static final String SETTINGS_PREFIX = "hibernate.cache.offheap.";
+	private static final String REGION_SETTINGS_PREFIX = SETTINGS_PREFIX + "region.";
+
+	private static final long DEFAULT_MAX_SIZE = 64L * 1024 * 1024;
+	private static final int DEFAULT_SEGMENTS = 16;
+	private static final int DEFAULT_BLOCK_SIZE = 128;
+	private static final int DEFAULT_LOCK_TIMEOUT = 60000;
+
+	private final List<OffHeapStore> stores = new ArrayList<OffHeapStore>();
+
+	private Settings settings;
+	private int lockTimeout;
+
+	@Override
+	public void start(Settings settings, Properties properties) throws CacheException {
+		this.settings = settings;
+		this.lockTimeout = ConfigurationHelper.getInt( LOCK_TIMEOUT, properties, DEFAULT_LOCK_TIMEOUT );
+	}
+
+	@Override
+	public void stop() {
+		synchronized ( stores ) {
+			for ( OffHeapStore store : stores ) {
+				store.clear();
+			}
+			stores.clear();
+		}
+	}
+
+	@Override
+	public boolean isMinimalPutsEnabledByDefault() {
+		// puts serialize the cached data, which is more expensive than checking whether it is cached already
+		return true;
+	}
+
+	@Override
+	public AccessType getDefaultAccessType() {
+		return AccessType.READ_WRITE;
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public EntityRegion buildEntityRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new OffHeapEntityRegion(
+				regionName,
+				buildStore( regionName, properties ),
+				lockTimeout,
+				settings,
+				metadata
+		);
+	}
+
+	@Override
+	public NaturalIdRegion buildNaturalIdRegion(String regionName, Properties properties, CacheDataDescription metadata)
+			throws CacheException {
+		return new OffHeapNaturalIdRegion(
+				regionName,
+				buildStore( regionName, properties ),
+				lockTimeout,
+				settings,
+				metadata
+		);
+	}
+
+	@Override
+	public CollectionRegion buildCollectionRegion(
+			String regionName,
+			Properties properties,
+			CacheDataDescription metadata) throws CacheException {
+		return new OffHeapCollectionRegion(
+				regionName,
+				buildStore( regionName, properties ),
+				lockTimeout,
+				settings,
+				metadata
+		);
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, Properties properties) throws CacheException {
+		return new OffHeapQueryResultsRegion( regionName, buildStore( regionName, properties ), lockTimeout );
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, Properties properties) throws CacheException {
+		return new OffHeapTimestampsRegion( regionName, lockTimeout );
+	}
+
+	private OffHeapStore buildStore(String regionName, Properties properties) {
+		final String maxSize = regionSetting( regionName, "max_size", properties );
+		final String timeToLive = regionSetting( regionName, "time_to_live", properties );
+		final String eviction = regionSetting( regionName, "eviction", properties );
+
+		final EvictionPolicy evictionPolicy = eviction == null
+				? EvictionPolicy.LRU
+				: EvictionPolicy.fromExternalName( eviction );
+		if ( evictionPolicy == null ) {
+			throw new CacheException( "Unrecognized eviction policy [" + eviction + "] for region [" + regionName + "]" );
+		}
+
+		final StoreConfiguration configuration;
+		try {
+			configuration = new StoreConfiguration(
+					maxSize == null ? DEFAULT_MAX_SIZE : parseSize( maxSize ),
+					timeToLive == null ? 0 : Long.parseLong( timeToLive.trim() ) * 1000,
+					evictionPolicy,
+					ConfigurationHelper.getInt( SEGMENTS, properties, DEFAULT_SEGMENTS ),
+					ConfigurationHelper.getInt( BLOCK_SIZE, properties, DEFAULT_BLOCK_SIZE )
+			);
+		}
+		catch (IllegalArgumentException e) {
+			throw new CacheException( "Invalid off-heap cache settings for region [" + regionName + "]", e );
+		}
+
+		LOG.debugf(
+				"Building off-heap region [%s] : max size %s bytes, time to live %s ms, %s eviction",
+				regionName,
+				configuration.getMaxBytes(),
+				configuration.getTimeToLive(),
+				configuration.getEvictionPolicy()
+		);
+		final OffHeapStore store = new OffHeapStore( configuration );
+		synchronized ( stores ) {
+			stores.add( store );
+		}
+		return store;
+	}
+
+	private static String regionSetting(String regionName, String name, Properties properties) {
+		final String value = properties.getProperty( REGION_SETTINGS_PREFIX + regionName + '.' + name );
+		return value != null ? value : properties.getProperty( SETTINGS_PREFIX + name );
+	}
+
+	private static long parseSize(String value) {
+		final String size = value.trim().toLowerCase( Locale.ENGLISH );
+		if ( size.isEmpty() ) {
+			throw new NumberFormatException( "Empty size" );
+		}
+		long multiplier = 1;
+		switch ( size.charAt( size.length() - 1 ) ) {
+			case 'k':
+				multiplier = 1024L;
+				break;
+			case 'm':
+				multiplier = 1024L * 1024;
+				break;
+			case 'g':
+				multiplier = 1024L * 1024 * 1024;
+				break;
+			default:
+				return Long.parseLong( size );
+		}
+		return Long.parseLong( size.substring( 0, size.length() - 1 ).trim() ) * multiplier;
+	}
+}
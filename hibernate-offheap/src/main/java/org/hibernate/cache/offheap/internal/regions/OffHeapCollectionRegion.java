@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.store.OffHeapStore;
+import org.hibernate.cache.offheap.internal.strategy.NonStrictReadWriteOffHeapCollectionRegionAccessStrategy;
+import org.hibernate.cache.offheap.internal.strategy.ReadOnlyOffHeapCollectionRegionAccessStrategy;
+import org.hibernate.cache.offheap.internal.strategy.ReadWriteOffHeapCollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.CoreLogging;
+
+import org.jboss.logging.Logger;
+
+/**
+ * An off-heap collection region.
+ */
+public class OffHeapCollectionRegion extends OffHeapTransactionalDataRegion implements CollectionRegion {
+	private static final Logger LOG = CoreLogging.logger( OffHeapCollectionRegion.class );
+
+	/**
+	 * Constructs an OffHeapCollectionRegion.
+	 *
+	 * @param name The region name
+	 * @param store The store holding the region data
+	 * @param lockTimeout The soft-lock timeout, in milliseconds
+	 * @param settings The Hibernate settings
+	 * @param metadata Information regarding the type of data to be cached in this region
+	 */
+	public OffHeapCollectionRegion(
+			String name,
+			OffHeapStore store,
+			int lockTimeout,
+			Settings settings,
+			CacheDataDescription metadata) {
+		super( name, store, lockTimeout, settings, metadata );
+	}
+
+	@Override
+	public CollectionRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		switch ( accessType ) {
+			case READ_ONLY:
+				if ( getCacheDataDescription().isMutable() ) {
+					LOG.warnf( "read-only cache configured for mutable collection [ %s ]", getName() );
+				}
+				return new ReadOnlyOffHeapCollectionRegionAccessStrategy( this );
+			case READ_WRITE:
+				return new ReadWriteOffHeapCollectionRegionAccessStrategy( this );
+			case NONSTRICT_READ_WRITE:
+				return new NonStrictReadWriteOffHeapCollectionRegionAccessStrategy( this );
+			case TRANSACTIONAL:
+				throw new CacheException(
+						"Off-heap cache regions do not support transactional access [" + getName() + "]"
+				);
+			default:
+				throw new IllegalArgumentException( "unrecognized access strategy type [" + accessType + "]" );
+		}
+	}
+}
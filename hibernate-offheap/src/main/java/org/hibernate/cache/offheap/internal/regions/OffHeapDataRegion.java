@@ -0,0 +1,115 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import java.util.Map;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.store.OffHeapStore;
+import org.hibernate.cache.offheap.internal.util.Timestamper;
+import org.hibernate.cache.spi.Region;
+
+/**
+ * The ultimate superclass for all off-heap cache regions, each of them backed by its own {@link OffHeapStore}.
+ */
+public abstract class OffHeapDataRegion implements Region {
+	private final String name;
+	private final OffHeapStore store;
+	private final int lockTimeout;
+
+	/**
+	 * Create a region backed by the given store.
+	 *
+	 * @param name The region name
+	 * @param store The store holding the region data
+	 * @param lockTimeout The soft-lock timeout, in milliseconds
+	 */
+	OffHeapDataRegion(String name, OffHeapStore store, int lockTimeout) {
+		this.name = name;
+		this.store = store;
+		this.lockTimeout = Timestamper.ONE_MS * lockTimeout;
+	}
+
+	/**
+	 * The store holding the region data.
+	 */
+	protected OffHeapStore getStore() {
+		return store;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		store.clear();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return key != null && store.containsKey( key );
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Reports the off-heap memory used by the region data.
+	 */
+	@Override
+	public long getSizeInMemory() {
+		return store.getUsedBytes();
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return store.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	@Override
+	public Map toMap() {
+		return store.toMap();
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return lockTimeout;
+	}
+
+	@Override
+	public String toString() {
+		return "OffHeapRegion[" + name + "]";
+	}
+}
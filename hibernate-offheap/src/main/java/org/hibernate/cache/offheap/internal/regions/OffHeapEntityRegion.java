@@ -0,0 +1,84 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.store.OffHeapStore;
+import org.hibernate.cache.offheap.internal.strategy.NonStrictReadWriteOffHeapEntityRegionAccessStrategy;
+import org.hibernate.cache.offheap.internal.strategy.ReadOnlyOffHeapEntityRegionAccessStrategy;
+import org.hibernate.cache.offheap.internal.strategy.ReadWriteOffHeapEntityRegionAccessStrategy;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.EntityRegion;
+import org.hibernate.cache.spi.access.AccessType;
+import org.hibernate.cache.spi.access.EntityRegionAccessStrategy;
+import org.hibernate.cfg.Settings;
+import org.hibernate.internal.CoreLogging;
+
+import org.jboss.logging.Logger;
+
+/**
+ * An off-heap entity region.
+ */
+public class OffHeapEntityRegion extends OffHeapTransactionalDataRegion implements EntityRegion {
+	private static final Logger LOG = CoreLogging.logger( OffHeapEntityRegion.class );
+
+	/**
+	 * Constructs an OffHeapEntityRegion.
+	 *
+	 * @param name The region name
+	 * @param store The store holding the region data
+	 * @param lockTimeout The soft-lock timeout, in milliseconds
+	 * @param settings The Hibernate settings
+	 * @param metadata Information regarding the type of data to be cached in this region
+	 */
+	public OffHeapEntityRegion(
+			String name,
+			OffHeapStore store,
+			int lockTimeout,
+			Settings settings,
+			CacheDataDescription metadata) {
+		super( name, store, lockTimeout, settings, metadata );
+	}
+
+	@Override
+	public EntityRegionAccessStrategy buildAccessStrategy(AccessType accessType) throws CacheException {
+		switch ( accessType ) {
+			case READ_ONLY:
+				if ( getCacheDataDescription().isMutable() ) {
+					LOG.warnf( "read-only cache configured for mutable entity [ %s ]", getName() );
+				}
+				return new ReadOnlyOffHeapEntityRegionAccessStrategy( this );
+			case READ_WRITE:
+				return new ReadWriteOffHeapEntityRegionAccessStrategy( this );
+			case NONSTRICT_READ_WRITE:
+				return new NonStrictReadWriteOffHeapEntityRegionAccessStrategy( this );
+			case TRANSACTIONAL:
+				throw new CacheException(
+						"Off-heap cache regions do not support transactional access [" + getName() + "]"
+				);
+			default:
+				throw new IllegalArgumentException( "unrecognized access strategy type [" + accessType + "]" );
+		}
+	}
+}
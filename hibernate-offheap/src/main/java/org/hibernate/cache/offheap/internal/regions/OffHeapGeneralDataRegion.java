@@ -0,0 +1,74 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.store.OffHeapStore;
+import org.hibernate.cache.spi.GeneralDataRegion;
+import org.hibernate.internal.CoreLogging;
+
+import org.jboss.logging.Logger;
+
+/**
+ * An off-heap region for query results and other general data.
+ */
+abstract class OffHeapGeneralDataRegion extends OffHeapDataRegion implements GeneralDataRegion {
+	private static final Logger LOG = CoreLogging.logger( OffHeapGeneralDataRegion.class );
+
+	OffHeapGeneralDataRegion(String name, OffHeapStore store, int lockTimeout) {
+		super( name, store, lockTimeout );
+	}
+
+	@Override
+	public Object get(Object key) throws CacheException {
+		LOG.debugf( "key: %s", key );
+		if ( key == null ) {
+			return null;
+		}
+		final Object value = getStore().get( key );
+		if ( value == null ) {
+			LOG.debugf( "Element for key %s is null", key );
+		}
+		return value;
+	}
+
+	@Override
+	public void put(Object key, Object value) throws CacheException {
+		LOG.debugf( "key: %s value: %s", key, value );
+		if ( key == null || value == null ) {
+			return;
+		}
+		getStore().put( key, value );
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		getStore().remove( key );
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		getStore().clear();
+	}
+}
@@ -0,0 +1,148 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.util.Timestamper;
+import org.hibernate.cache.spi.NotifyingTimestampsRegion;
+import org.hibernate.cache.spi.TimestampsInvalidationListener;
+
+/**
+ * The update timestamps region of the off-heap cache.
+ * <p/>
+ * Unlike the other regions its data stays on the heap: it holds a single small entry per table, and entries must never
+ * be evicted or expire since a missing timestamp would let stale query results be used.
+ */
+public class OffHeapTimestampsRegion implements NotifyingTimestampsRegion {
+	private final String name;
+	private final int lockTimeout;
+	private final ConcurrentMap<Object,Object> timestamps = new ConcurrentHashMap<Object,Object>();
+	private final List<TimestampsInvalidationListener> listeners =
+			new CopyOnWriteArrayList<TimestampsInvalidationListener>();
+
+	/**
+	 * Constructs an OffHeapTimestampsRegion.
+	 *
+	 * @param name The region name
+	 * @param lockTimeout The soft-lock timeout, in milliseconds
+	 */
+	public OffHeapTimestampsRegion(String name, int lockTimeout) {
+		this.name = name;
+		this.lockTimeout = Timestamper.ONE_MS * lockTimeout;
+	}
+
+	@Override
+	public String getName() {
+		return name;
+	}
+
+	@Override
+	public Object get(Object key) throws CacheException {
+		return key == null ? null : timestamps.get( key );
+	}
+
+	@Override
+	public void put(Object key, Object value) throws CacheException {
+		if ( key == null || value == null ) {
+			return;
+		}
+		timestamps.put( key, value );
+	}
+
+	@Override
+	public void evict(Object key) throws CacheException {
+		if ( key == null ) {
+			return;
+		}
+		timestamps.remove( key );
+		for ( TimestampsInvalidationListener listener : listeners ) {
+			listener.spaceInvalidated( key );
+		}
+	}
+
+	@Override
+	public void evictAll() throws CacheException {
+		timestamps.clear();
+		for ( TimestampsInvalidationListener listener : listeners ) {
+			listener.regionInvalidated();
+		}
+	}
+
+	@Override
+	public void addInvalidationListener(TimestampsInvalidationListener listener) {
+		listeners.add( listener );
+	}
+
+	@Override
+	public void removeInvalidationListener(TimestampsInvalidationListener listener) {
+		listeners.remove( listener );
+	}
+
+	@Override
+	public void destroy() throws CacheException {
+		timestamps.clear();
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return key != null && timestamps.containsKey( key );
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return -1;
+	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return timestamps.size();
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return 0;
+	}
+
+	@Override
+	public Map toMap() {
+		return Collections.unmodifiableMap( timestamps );
+	}
+
+	@Override
+	public long nextTimestamp() {
+		return Timestamper.next();
+	}
+
+	@Override
+	public int getTimeout() {
+		return lockTimeout;
+	}
+}
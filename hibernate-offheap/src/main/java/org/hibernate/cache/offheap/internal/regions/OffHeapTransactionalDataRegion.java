@@ -0,0 +1,146 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.regions;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.store.OffHeapStore;
+import org.hibernate.cache.spi.CacheDataDescription;
+import org.hibernate.cache.spi.TransactionalDataRegion;
+import org.hibernate.cfg.Settings;
+
+/**
+ * An off-heap region holding entity, collection or natural-id data.
+ * <p/>
+ * Each individual store operation is atomic; the read/write access strategies additionally need to check and replace
+ * an entry as one operation, for which this region provides striped write locks.
+ */
+public class OffHeapTransactionalDataRegion extends OffHeapDataRegion implements TransactionalDataRegion {
+	private static final int LOCK_STRIPES = 64;
+
+	private final Settings settings;
+	private final CacheDataDescription metadata;
+	private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+
+	OffHeapTransactionalDataRegion(
+			String name,
+			OffHeapStore store,
+			int lockTimeout,
+			Settings settings,
+			CacheDataDescription metadata) {
+		super( name, store, lockTimeout );
+		this.settings = settings;
+		this.metadata = metadata;
+		for ( int i = 0; i < LOCK_STRIPES; i++ ) {
+			locks[i] = new ReentrantLock();
+		}
+	}
+
+	/**
+	 * Access the settings object.
+	 *
+	 * @return The settings
+	 */
+	public Settings getSettings() {
+		return settings;
+	}
+
+	@Override
+	public boolean isTransactionAware() {
+		return false;
+	}
+
+	@Override
+	public CacheDataDescription getCacheDataDescription() {
+		return metadata;
+	}
+
+	/**
+	 * Get the value mapped to this key, or null if no value is mapped to this key.
+	 *
+	 * @param key The cache key
+	 *
+	 * @return The cached data
+	 */
+	public final Object get(Object key) throws CacheException {
+		return getStore().get( key );
+	}
+
+	/**
+	 * Map the given value to the given key, replacing any existing mapping for this key
+	 *
+	 * @param key The cache key
+	 * @param value The data to cache
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final void put(Object key, Object value) throws CacheException {
+		getStore().put( key, value );
+	}
+
+	/**
+	 * Remove the mapping for this key (if any exists).
+	 *
+	 * @param key The cache key
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final void remove(Object key) throws CacheException {
+		getStore().remove( key );
+	}
+
+	/**
+	 * Remove all mapping from this cache region.
+	 *
+	 * @throws CacheException Indicates a problem accessing the cache
+	 */
+	public final void clear() throws CacheException {
+		getStore().clear();
+	}
+
+	/**
+	 * Attempts to write lock the mapping for the given key.
+	 *
+	 * @param key The cache key
+	 */
+	public final void writeLock(Object key) {
+		lockFor( key ).lock();
+	}
+
+	/**
+	 * Attempts to write unlock the mapping for the given key.
+	 *
+	 * @param key The cache key
+	 */
+	public final void writeUnlock(Object key) {
+		lockFor( key ).unlock();
+	}
+
+	private ReentrantLock lockFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= ( hash >>> 16 );
+		return locks[hash & ( LOCK_STRIPES - 1 )];
+	}
+}
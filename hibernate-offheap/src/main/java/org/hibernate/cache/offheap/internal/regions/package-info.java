@@ -0,0 +1,4 @@
+/**
+ * Defines {@link org.hibernate.cache.spi.RegionFactory} support for the off-heap cache
+ */
+package org.hibernate.cache.offheap.internal.regions;
@@ -0,0 +1,179 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.store;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Off-heap memory of one segment, divided into fixed size blocks.  A value spans a chain of blocks, each block
+ * starting with the index of the next block of the chain; free blocks are chained the same way.  Pages of direct
+ * memory are only allocated once the blocks already carved out are all in use.
+ * <p/>
+ * Not thread safe; access is guarded by the owning segment.
+ */
+final class BlockStorage {
+	static final int HEADER_SIZE = 4;
+
+	private static final int NO_BLOCK = -1;
+	private static final int PAGE_SIZE = 1024 * 1024;
+
+	private final int blockSize;
+	private final int payloadSize;
+	private final int maxBlocks;
+	private final int blocksPerPage;
+	private final List<ByteBuffer> pages = new ArrayList<ByteBuffer>();
+
+	private int carvedBlocks;
+	private int freeHead = NO_BLOCK;
+	private int freeBlocks;
+
+	BlockStorage(long capacity, int blockSize) {
+		this.blockSize = blockSize;
+		this.payloadSize = blockSize - HEADER_SIZE;
+		this.maxBlocks = (int) Math.min( Integer.MAX_VALUE, capacity / blockSize );
+		this.blocksPerPage = Math.max( 1, Math.min( maxBlocks, PAGE_SIZE / blockSize ) );
+	}
+
+	/**
+	 * The number of blocks needed to store the given number of bytes.
+	 */
+	int blocksFor(int length) {
+		return length <= payloadSize ? 1 : ( length + payloadSize - 1 ) / payloadSize;
+	}
+
+	int getMaxBlocks() {
+		return maxBlocks;
+	}
+
+	int getAvailableBlocks() {
+		return freeBlocks + ( maxBlocks - carvedBlocks );
+	}
+
+	long getUsedBytes() {
+		return (long) ( carvedBlocks - freeBlocks ) * blockSize;
+	}
+
+	/**
+	 * Write the data into a new chain of blocks.  The caller must make sure enough blocks are available.
+	 *
+	 * @return The first block of the chain
+	 */
+	int write(byte[] data) {
+		final int count = blocksFor( data.length );
+		int first = NO_BLOCK;
+		int previous = NO_BLOCK;
+		int offset = 0;
+		for ( int i = 0; i < count; i++ ) {
+			final int block = allocateBlock();
+			if ( previous == NO_BLOCK ) {
+				first = block;
+			}
+			else {
+				setNext( previous, block );
+			}
+			final int length = Math.min( payloadSize, data.length - offset );
+			final ByteBuffer page = pageOf( block );
+			page.position( positionOf( block ) + HEADER_SIZE );
+			page.put( data, offset, length );
+			offset += length;
+			previous = block;
+		}
+		setNext( previous, NO_BLOCK );
+		return first;
+	}
+
+	byte[] read(int firstBlock, int length) {
+		final byte[] data = new byte[length];
+		int block = firstBlock;
+		int offset = 0;
+		while ( offset < length ) {
+			final int chunk = Math.min( payloadSize, length - offset );
+			final ByteBuffer page = pageOf( block );
+			page.position( positionOf( block ) + HEADER_SIZE );
+			page.get( data, offset, chunk );
+			offset += chunk;
+			block = nextOf( block );
+		}
+		return data;
+	}
+
+	/**
+	 * Return the chain of blocks starting at the given block to the free list.
+	 */
+	void free(int firstBlock) {
+		int block = firstBlock;
+		while ( block != NO_BLOCK ) {
+			final int next = nextOf( block );
+			setNext( block, freeHead );
+			freeHead = block;
+			freeBlocks++;
+			block = next;
+		}
+	}
+
+	/**
+	 * Drop all blocks, releasing the pages to the garbage collector.
+	 */
+	void clear() {
+		pages.clear();
+		carvedBlocks = 0;
+		freeHead = NO_BLOCK;
+		freeBlocks = 0;
+	}
+
+	private int allocateBlock() {
+		if ( freeHead != NO_BLOCK ) {
+			final int block = freeHead;
+			freeHead = nextOf( block );
+			freeBlocks--;
+			return block;
+		}
+		if ( carvedBlocks == maxBlocks ) {
+			throw new IllegalStateException( "No free off-heap block" );
+		}
+		if ( carvedBlocks % blocksPerPage == 0 ) {
+			final int pageBlocks = Math.min( blocksPerPage, maxBlocks - carvedBlocks );
+			pages.add( ByteBuffer.allocateDirect( pageBlocks * blockSize ) );
+		}
+		return carvedBlocks++;
+	}
+
+	private ByteBuffer pageOf(int block) {
+		return pages.get( block / blocksPerPage );
+	}
+
+	private int positionOf(int block) {
+		return ( block % blocksPerPage ) * blockSize;
+	}
+
+	private int nextOf(int block) {
+		return pageOf( block ).getInt( positionOf( block ) );
+	}
+
+	private void setNext(int block, int next) {
+		pageOf( block ).putInt( positionOf( block ), next );
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.store;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The policies available for choosing which entry to evict when a segment of an {@link OffHeapStore} is full.
+ */
+public enum EvictionPolicy {
+	/**
+	 * Evict the least recently used entry of the segment.
+	 */
+	LRU {
+		@Override
+		Object selectVictim(Iterator<Map.Entry<Object,StoredValue>> eldestFirst, long now) {
+			return eldestFirst.next().getKey();
+		}
+	},
+
+	/**
+	 * Evict the least frequently used entry out of a sample of the least recently used entries of the segment.  An
+	 * expired entry found in the sample is evicted right away.
+	 */
+	LFU {
+		@Override
+		Object selectVictim(Iterator<Map.Entry<Object,StoredValue>> eldestFirst, long now) {
+			Map.Entry<Object,StoredValue> victim = null;
+			for ( int i = 0; i < SAMPLE_SIZE && eldestFirst.hasNext(); i++ ) {
+				final Map.Entry<Object,StoredValue> candidate = eldestFirst.next();
+				if ( candidate.getValue().isExpired( now ) ) {
+					return candidate.getKey();
+				}
+				if ( victim == null || candidate.getValue().getHits() < victim.getValue().getHits() ) {
+					victim = candidate;
+				}
+			}
+			return victim.getKey();
+		}
+	};
+
+	private static final int SAMPLE_SIZE = 8;
+
+	/**
+	 * Select the entry to evict.
+	 *
+	 * @param eldestFirst Iterator over the (non-empty) entries of the segment, least recently used first
+	 * @param now The current time, in milliseconds
+	 *
+	 * @return The key of the entry to evict
+	 */
+	abstract Object selectVictim(Iterator<Map.Entry<Object,StoredValue>> eldestFirst, long now);
+
+	/**
+	 * Interpret the external name of an eviction policy.
+	 *
+	 * @param name The external name, case insensitive
+	 *
+	 * @return The eviction policy, or {@code null} if the name is not recognized
+	 */
+	public static EvictionPolicy fromExternalName(String name) {
+		if ( name == null ) {
+			return null;
+		}
+		for ( EvictionPolicy policy : values() ) {
+			if ( policy.name().equals( name.trim().toUpperCase( Locale.ENGLISH ) ) ) {
+				return policy;
+			}
+		}
+		return null;
+	}
+}
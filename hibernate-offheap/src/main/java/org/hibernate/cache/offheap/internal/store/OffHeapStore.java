@@ -0,0 +1,335 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.store;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.type.SerializationException;
+
+/**
+ * A bounded key/value store keeping its values serialized in direct (off-heap) memory.
+ * <p/>
+ * The store is split into independently locked segments, each owning an equal share of the configured memory.
+ * Keys, along with a small index entry per value, remain on the heap.  Values are serialized on the way in and
+ * deserialized on the way out, so callers always get a copy; byte arrays are stored as is.  When a segment runs out
+ * of memory, entries are evicted according to the configured {@link EvictionPolicy}.  Entries older than the
+ * configured time to live are dropped when next accessed or when found during eviction.
+ */
+public class OffHeapStore {
+	private final Segment[] segments;
+	private final long timeToLive;
+	private final EvictionPolicy evictionPolicy;
+
+	/**
+	 * Constructs an OffHeapStore.  Direct memory is allocated on demand, up to the configured maximum.
+	 *
+	 * @param configuration The store configuration
+	 */
+	public OffHeapStore(StoreConfiguration configuration) {
+		this.timeToLive = configuration.getTimeToLive();
+		this.evictionPolicy = configuration.getEvictionPolicy();
+
+		int segmentCount = 1;
+		while ( segmentCount < configuration.getSegments() ) {
+			segmentCount <<= 1;
+		}
+		final long segmentCapacity = Math.max( 1L, configuration.getMaxBytes() / segmentCount );
+		this.segments = new Segment[segmentCount];
+		for ( int i = 0; i < segmentCount; i++ ) {
+			segments[i] = new Segment( new BlockStorage( segmentCapacity, configuration.getBlockSize() ) );
+		}
+	}
+
+	/**
+	 * Get the value mapped to the given key.
+	 *
+	 * @param key The key
+	 *
+	 * @return A copy of the value, or {@code null} if none is mapped or it expired
+	 */
+	public Object get(Object key) {
+		return decode( segmentFor( key ).get( key, System.currentTimeMillis() ) );
+	}
+
+	/**
+	 * Map the given value to the given key.  A value too large for a segment is not stored, but still replaces the
+	 * value previously mapped to the key.
+	 *
+	 * @param key The key
+	 * @param value The value; a byte array or a {@link Serializable}
+	 *
+	 * @return {@code true} if the value was stored
+	 */
+	public boolean put(Object key, Object value) {
+		final boolean raw = value instanceof byte[];
+		final byte[] data;
+		if ( raw ) {
+			data = (byte[]) value;
+		}
+		else if ( value instanceof Serializable ) {
+			try {
+				data = SerializationHelper.serialize( (Serializable) value );
+			}
+			catch (SerializationException e) {
+				throw new CacheException( "Could not serialize value to be kept off-heap", e );
+			}
+		}
+		else {
+			throw new CacheException( "Values kept off-heap must be Serializable : " + value.getClass().getName() );
+		}
+
+		final long now = System.currentTimeMillis();
+		final long expirationTime = timeToLive > 0 ? now + timeToLive : Long.MAX_VALUE;
+		return segmentFor( key ).put( key, data, raw, expirationTime, now );
+	}
+
+	/**
+	 * Remove the value mapped to the given key, if any.
+	 *
+	 * @param key The key
+	 */
+	public void remove(Object key) {
+		segmentFor( key ).remove( key );
+	}
+
+	/**
+	 * Is a non-expired value mapped to the given key?
+	 *
+	 * @param key The key
+	 *
+	 * @return {@code true} if a non-expired value is mapped to the key
+	 */
+	public boolean containsKey(Object key) {
+		return segmentFor( key ).containsKey( key, System.currentTimeMillis() );
+	}
+
+	/**
+	 * Remove all values.
+	 */
+	public void clear() {
+		for ( Segment segment : segments ) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * The number of values in the store, including expired values not dropped yet.
+	 *
+	 * @return The number of values
+	 */
+	public long size() {
+		long size = 0;
+		for ( Segment segment : segments ) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * The off-heap memory occupied by the stored values.
+	 *
+	 * @return The number of bytes in use
+	 */
+	public long getUsedBytes() {
+		long usedBytes = 0;
+		for ( Segment segment : segments ) {
+			usedBytes += segment.getUsedBytes();
+		}
+		return usedBytes;
+	}
+
+	/**
+	 * Copy the non-expired mappings to a new on-heap map.  Expensive; meant for statistics and management purposes.
+	 *
+	 * @return The mappings of the store
+	 */
+	public Map<Object,Object> toMap() {
+		final long now = System.currentTimeMillis();
+		final Map<Object,Object> map = new HashMap<Object,Object>();
+		for ( Segment segment : segments ) {
+			for ( Object key : segment.keys() ) {
+				final Object value = decode( segment.get( key, now ) );
+				if ( value != null ) {
+					map.put( key, value );
+				}
+			}
+		}
+		return map;
+	}
+
+	private Segment segmentFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= ( hash >>> 16 );
+		return segments[hash & ( segments.length - 1 )];
+	}
+
+	private static Object decode(Object read) {
+		if ( read instanceof SerializedValue ) {
+			try {
+				return SerializationHelper.deserialize( ( (SerializedValue) read ).data );
+			}
+			catch (SerializationException e) {
+				throw new CacheException( "Could not deserialize value kept off-heap", e );
+			}
+		}
+		return read;
+	}
+
+	/**
+	 * The bytes of a serialized value, as opposed to a byte array value stored as is.
+	 */
+	private static final class SerializedValue {
+		private final byte[] data;
+
+		private SerializedValue(byte[] data) {
+			this.data = data;
+		}
+	}
+
+	private final class Segment extends ReentrantLock {
+		// access ordered, so that iteration starts with the least recently used entry
+		private final LinkedHashMap<Object,StoredValue> index = new LinkedHashMap<Object,StoredValue>( 16, 0.75f, true );
+		private final BlockStorage storage;
+
+		private Segment(BlockStorage storage) {
+			this.storage = storage;
+		}
+
+		private Object get(Object key, long now) {
+			lock();
+			try {
+				final StoredValue stored = index.get( key );
+				if ( stored == null ) {
+					return null;
+				}
+				if ( stored.isExpired( now ) ) {
+					drop( key );
+					return null;
+				}
+				stored.hit();
+				final byte[] data = storage.read( stored.getFirstBlock(), stored.getLength() );
+				return stored.isRaw() ? data : new SerializedValue( data );
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private boolean put(Object key, byte[] data, boolean raw, long expirationTime, long now) {
+			lock();
+			try {
+				drop( key );
+				final int blocks = storage.blocksFor( data.length );
+				if ( blocks > storage.getMaxBlocks() ) {
+					return false;
+				}
+				while ( storage.getAvailableBlocks() < blocks ) {
+					drop( evictionPolicy.selectVictim( index.entrySet().iterator(), now ) );
+				}
+				index.put( key, new StoredValue( storage.write( data ), data.length, raw, expirationTime ) );
+				return true;
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private void remove(Object key) {
+			lock();
+			try {
+				drop( key );
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private boolean containsKey(Object key, long now) {
+			lock();
+			try {
+				final StoredValue stored = index.get( key );
+				return stored != null && !stored.isExpired( now );
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private void clear() {
+			lock();
+			try {
+				index.clear();
+				storage.clear();
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private int size() {
+			lock();
+			try {
+				return index.size();
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private long getUsedBytes() {
+			lock();
+			try {
+				return storage.getUsedBytes();
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private List<Object> keys() {
+			lock();
+			try {
+				return new ArrayList<Object>( index.keySet() );
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private void drop(Object key) {
+			final StoredValue stored = index.remove( key );
+			if ( stored != null ) {
+				storage.free( stored.getFirstBlock() );
+			}
+		}
+	}
+}
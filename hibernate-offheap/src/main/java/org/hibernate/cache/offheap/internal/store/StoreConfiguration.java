@@ -0,0 +1,91 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.store;
+
+/**
+ * The sizing, expiration and eviction settings of an {@link OffHeapStore}.
+ */
+public class StoreConfiguration {
+	private final long maxBytes;
+	private final long timeToLive;
+	private final EvictionPolicy evictionPolicy;
+	private final int segments;
+	private final int blockSize;
+
+	/**
+	 * Constructs a StoreConfiguration.
+	 *
+	 * @param maxBytes The maximum number of bytes of off-heap memory used by the store
+	 * @param timeToLive The time, in milliseconds, after which entries expire; {@code 0} means never
+	 * @param evictionPolicy The policy used to evict entries once the store is full
+	 * @param segments The number of independently locked segments; rounded up to a power of two
+	 * @param blockSize The size of the blocks in which values are stored
+	 */
+	public StoreConfiguration(
+			long maxBytes,
+			long timeToLive,
+			EvictionPolicy evictionPolicy,
+			int segments,
+			int blockSize) {
+		if ( maxBytes <= 0 ) {
+			throw new IllegalArgumentException( "Off-heap store size must be positive : " + maxBytes );
+		}
+		if ( timeToLive < 0 ) {
+			throw new IllegalArgumentException( "Off-heap store time to live must not be negative : " + timeToLive );
+		}
+		if ( segments <= 0 ) {
+			throw new IllegalArgumentException( "Off-heap store segment count must be positive : " + segments );
+		}
+		if ( blockSize <= BlockStorage.HEADER_SIZE ) {
+			throw new IllegalArgumentException(
+					"Off-heap store block size must be larger than " + BlockStorage.HEADER_SIZE + " : " + blockSize
+			);
+		}
+		this.maxBytes = maxBytes;
+		this.timeToLive = timeToLive;
+		this.evictionPolicy = evictionPolicy;
+		this.segments = segments;
+		this.blockSize = blockSize;
+	}
+
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	public long getTimeToLive() {
+		return timeToLive;
+	}
+
+	public EvictionPolicy getEvictionPolicy() {
+		return evictionPolicy;
+	}
+
+	public int getSegments() {
+		return segments;
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+}
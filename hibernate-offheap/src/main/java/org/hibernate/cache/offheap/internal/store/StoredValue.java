@@ -0,0 +1,71 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.store;
+
+/**
+ * The on-heap index entry of a value kept in off-heap blocks.
+ */
+final class StoredValue {
+	private final int firstBlock;
+	private final int length;
+	private final boolean raw;
+	private final long expirationTime;
+	private int hits;
+
+	StoredValue(int firstBlock, int length, boolean raw, long expirationTime) {
+		this.firstBlock = firstBlock;
+		this.length = length;
+		this.raw = raw;
+		this.expirationTime = expirationTime;
+	}
+
+	int getFirstBlock() {
+		return firstBlock;
+	}
+
+	int getLength() {
+		return length;
+	}
+
+	/**
+	 * Was the value a byte array stored as is, rather than a serialized object?
+	 */
+	boolean isRaw() {
+		return raw;
+	}
+
+	boolean isExpired(long now) {
+		return now >= expirationTime;
+	}
+
+	int getHits() {
+		return hits;
+	}
+
+	void hit() {
+		if ( hits < Integer.MAX_VALUE ) {
+			hits++;
+		}
+	}
+}
@@ -0,0 +1,4 @@
+/**
+ * Defines the segmented, off-heap storage backing the off-heap cache regions
+ */
+package org.hibernate.cache.offheap.internal.store;
@@ -0,0 +1,94 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.regions.OffHeapCollectionRegion;
+import org.hibernate.cache.spi.CollectionRegion;
+import org.hibernate.cache.spi.access.CollectionRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Off-heap non-strict read/write collection region access strategy
+ */
+public class NonStrictReadWriteOffHeapCollectionRegionAccessStrategy
+		extends AbstractOffHeapAccessStrategy<OffHeapCollectionRegion>
+		implements CollectionRegionAccessStrategy {
+
+	/**
+	 * Create a non-strict read/write access strategy accessing the given collection region.
+	 *
+	 * @param region The wrapped region
+	 */
+	public NonStrictReadWriteOffHeapCollectionRegionAccessStrategy(OffHeapCollectionRegion region) {
+		super( region );
+	}
+
+	@Override
+	public CollectionRegion getRegion() {
+		return region();
+	}
+
+	@Override
+	public Object get(Object key, long txTimestamp) throws CacheException {
+		return region().get( key );
+	}
+
+	@Override
+	public boolean putFromLoad(Object key, Object value, long txTimestamp, Object version, boolean minimalPutOverride)
+			throws CacheException {
+		if ( minimalPutOverride && region().contains( key ) ) {
+			return false;
+		}
+		else {
+			region().put( key, value );
+			return true;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Since this is a non-strict read/write strategy item locking is not used.
+	 */
+	@Override
+	public SoftLock lockItem(Object key, Object version) throws CacheException {
+		return null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Since this is a non-strict read/write strategy item locking is not used.
+	 */
+	@Override
+	public void unlockItem(Object key, SoftLock lock) throws CacheException {
+		region().remove( key );
+	}
+
+	@Override
+	public void remove(Object key) throws CacheException {
+		region().remove( key );
+	}
+}
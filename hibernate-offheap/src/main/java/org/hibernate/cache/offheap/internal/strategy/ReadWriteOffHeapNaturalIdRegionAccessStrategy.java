@@ -0,0 +1,128 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.strategy;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.offheap.internal.regions.OffHeapNaturalIdRegion;
+import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.access.NaturalIdRegionAccessStrategy;
+import org.hibernate.cache.spi.access.SoftLock;
+
+/**
+ * Off-heap read/write natural-id region access strategy
+ */
+public class ReadWriteOffHeapNaturalIdRegionAccessStrategy
+		extends AbstractReadWriteOffHeapAccessStrategy<OffHeapNaturalIdRegion>
+		implements NaturalIdRegionAccessStrategy {
+
+	/**
+	 * Create a read/write access strategy accessing the given natural-id region.
+	 *
+	 * @param region The wrapped region
+	 */
+	public ReadWriteOffHeapNaturalIdRegionAccessStrategy(OffHeapNaturalIdRegion region) {
+		super( region );
+	}
+
+	@Override
+	public NaturalIdRegion getRegion() {
+		return region();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * A no-op since this is an asynchronous cache access strategy.
+	 */
+	@Override
+	public boolean insert(Object key, Object value) throws CacheException {
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Inserts will only succeed if there is no existing value mapped to this key.
+	 */
+	@Override
+	public boolean afterInsert(Object key, Object value) throws CacheException {
+		region().writeLock( key );
+		try {
+			final Lockable item = (Lockable) region().get( key );
+			if ( item == null ) {
+				region().put( key, new Item( value, null, region().nextTimestamp() ) );
+				return true;
+			}
+			else {
+				return false;
+			}
+		}
+		finally {
+			region().writeUnlock( key );
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * A no-op since this is an asynchronous cache access strategy.
+	 */
+	@Override
+	public boolean update(Object key, Object value) throws CacheException {
+		return false;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p/>
+	 * Updates will only succeed if this entry was locked by this transaction and exclusively this transaction for the
+	 * duration of this transaction.  It is important to also note that updates will fail if the soft-lock expired during
+	 * the course of this transaction.
+	 */
+	@Override
+	public boolean afterUpdate(Object key, Object value, SoftLock lock) throws CacheException {
+		region().writeLock( key );
+		try {
+			final Lockable item = (Lockable) region().get( key );
+			if ( item != null && item.isUnlockable( lock ) ) {
+				final Lock lockItem = (Lock) item;
+				if ( lockItem.wasLockedConcurrently() ) {
+					decrementLock( key, lockItem );
+					return false;
+				}
+				else {
+					region().put( key, new Item( value, null, region().nextTimestamp() ) );
+					return true;
+				}
+			}
+			else {
+				handleLockExpiry( key, item );
+				return false;
+			}
+		}
+		finally {
+			region().writeUnlock( key );
+		}
+	}
+}
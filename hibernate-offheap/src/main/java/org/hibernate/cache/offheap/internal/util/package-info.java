@@ -0,0 +1,4 @@
+/**
+ * Utilities for the off-heap cache integration
+ */
+package org.hibernate.cache.offheap.internal.util;
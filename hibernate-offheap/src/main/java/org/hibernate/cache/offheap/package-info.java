@@ -0,0 +1,4 @@
+/**
+ * Defines a second-level cache service which keeps cached data serialized in off-heap memory.
+ */
+package org.hibernate.cache.offheap;
@@ -0,0 +1,120 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.cache.offheap.internal.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the off-heap store underlying the off-heap cache regions.
+ */
+public class OffHeapStoreTest extends BaseUnitTestCase {
+	@Test
+	public void testValuesAreCopiedInAndOut() {
+		final OffHeapStore store = new OffHeapStore( new StoreConfiguration( 64 * 1024, 0, EvictionPolicy.LRU, 4, 64 ) );
+
+		final List<Integer> value = new ArrayList<Integer>();
+		for ( int i = 0; i < 300; i++ ) {
+			value.add( i );
+		}
+		store.put( "list", value );
+		assertEquals( value, store.get( "list" ) );
+
+		final byte[] bytes = new byte[500];
+		Arrays.fill( bytes, (byte) 7 );
+		store.put( "bytes", bytes );
+		assertArrayEquals( bytes, (byte[]) store.get( "bytes" ) );
+
+		store.put( "list", "replaced" );
+		assertEquals( "replaced", store.get( "list" ) );
+		assertEquals( 2, store.size() );
+		assertTrue( store.getUsedBytes() > 0 );
+
+		store.remove( "list" );
+		assertNull( store.get( "list" ) );
+		assertFalse( store.containsKey( "list" ) );
+
+		store.clear();
+		assertEquals( 0, store.size() );
+		assertEquals( 0, store.getUsedBytes() );
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntriesAreEvicted() {
+		final OffHeapStore store = new OffHeapStore( new StoreConfiguration( 16 * 1024, 0, EvictionPolicy.LRU, 1, 64 ) );
+		store.put( "first", "value" );
+		for ( int i = 0; i < 1000; i++ ) {
+			store.put( i, "value-" + i );
+		}
+
+		assertTrue( store.getUsedBytes() <= 16 * 1024 );
+		assertNull( store.get( "first" ) );
+		assertNull( store.get( 0 ) );
+		assertEquals( "value-999", store.get( 999 ) );
+	}
+
+	@Test
+	public void testFrequentlyUsedEntriesSurviveLfuEviction() {
+		final OffHeapStore store = new OffHeapStore( new StoreConfiguration( 8 * 1024, 0, EvictionPolicy.LFU, 1, 64 ) );
+		store.put( "hot", "value" );
+		for ( int i = 0; i < 20; i++ ) {
+			store.get( "hot" );
+		}
+		for ( int i = 0; i < 1000; i++ ) {
+			store.put( i, "value-" + i );
+		}
+
+		assertEquals( "value", store.get( "hot" ) );
+	}
+
+	@Test
+	public void testEntriesExpire() throws Exception {
+		final OffHeapStore store = new OffHeapStore( new StoreConfiguration( 8 * 1024, 50, EvictionPolicy.LRU, 1, 64 ) );
+		store.put( "key", "value" );
+		assertEquals( "value", store.get( "key" ) );
+
+		Thread.sleep( 100 );
+		assertNull( store.get( "key" ) );
+		assertEquals( 0, store.size() );
+	}
+
+	@Test
+	public void testValueLargerThanSegmentIsNotStored() {
+		final OffHeapStore store = new OffHeapStore( new StoreConfiguration( 8 * 1024, 0, EvictionPolicy.LRU, 1, 64 ) );
+		store.put( "key", "value" );
+
+		assertFalse( store.put( "key", new byte[64 * 1024] ) );
+		assertNull( store.get( "key" ) );
+	}
+}
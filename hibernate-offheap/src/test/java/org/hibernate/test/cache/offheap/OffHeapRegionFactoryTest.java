@@ -0,0 +1,133 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * Copyright (c) 2015, Red Hat Inc. or third-party contributors as
+ * indicated by the @author tags or express copyright attribution
+ * statements applied by the authors.  All third-party contributions are
+ * distributed under license by Red Hat Inc.
+ *
+ * This copyrighted material is made available to anyone wishing to use, modify,
+ * copy, or redistribute it subject to the terms and conditions of the GNU
+ * Lesser General Public License, as published by the Free Software Foundation.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this distribution; if not, write to:
+ * Free Software Foundation, Inc.
+ * 51 Franklin Street, Fifth Floor
+ * Boston, MA  02110-1301  USA
+ */
+package org.hibernate.test.cache.offheap;
+
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cache.offheap.OffHeapRegionFactory;
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.transaction.internal.jdbc.JdbcTransactionFactory;
+import org.hibernate.stat.SecondLevelCacheStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests entities cached in off-heap regions.
+ */
+public class OffHeapRegionFactoryTest extends BaseNonConfigCoreFunctionalTestCase {
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class };
+	}
+
+	@Override
+	public String getCacheConcurrencyStrategy() {
+		return "read-write";
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( Environment.CACHE_REGION_FACTORY, "offheap" );
+		settings.put( Environment.CACHE_REGION_PREFIX, "" );
+		settings.put( Environment.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( Environment.GENERATE_STATISTICS, "true" );
+		settings.put( Environment.TRANSACTION_STRATEGY, JdbcTransactionFactory.class.getName() );
+		settings.put( OffHeapRegionFactory.MAX_SIZE, "1m" );
+	}
+
+	@Test
+	public void testEntityIsCachedOffHeap() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		Item item = new Item();
+		item.setName( "widget" );
+		item.setDescription( "A really top-quality, full-featured widget." );
+		s.persist( item );
+		t.commit();
+		s.close();
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		final SecondLevelCacheStatistics regionStatistics = statistics.getSecondLevelCacheStatistics(
+				Item.class.getName()
+		);
+		assertEquals( 1, regionStatistics.getPutCount() );
+		assertEquals( 1, regionStatistics.getElementCountInMemory() );
+		assertTrue( regionStatistics.getSizeInMemory() > 0 );
+
+		s = openSession();
+		t = s.beginTransaction();
+		item = (Item) s.get( Item.class, item.getId() );
+		assertEquals( 1, regionStatistics.getHitCount() );
+		assertEquals( 0, regionStatistics.getMissCount() );
+		item.setDescription( "A bog standard item" );
+		t.commit();
+		s.close();
+
+		assertEquals( 2, regionStatistics.getPutCount() );
+
+		statistics.clear();
+		s = openSession();
+		t = s.beginTransaction();
+		item = (Item) s.get( Item.class, item.getId() );
+		assertEquals( "A bog standard item", item.getDescription() );
+		assertEquals( 1, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		s.delete( item );
+		t.commit();
+		s.close();
+	}
+
+	@Test
+	public void testEvictedEntityIsReloaded() {
+		Session s = openSession();
+		Transaction t = s.beginTransaction();
+		Item item = new Item();
+		item.setName( "gadget" );
+		s.persist( item );
+		t.commit();
+		s.close();
+
+		sessionFactory().getCache().evictEntityRegion( Item.class );
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		s = openSession();
+		t = s.beginTransaction();
+		item = (Item) s.get( Item.class, item.getId() );
+		assertEquals( "gadget", item.getName() );
+		assertEquals( 0, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 1, statistics.getSecondLevelCacheMissCount() );
+		s.delete( item );
+		t.commit();
+		s.close();
+	}
+}
@@ -23,15 +23,19 @@
  */
 package org.hibernate.testing.cache;
 
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.hibernate.cache.CacheException;
 import org.hibernate.cache.spi.CacheDataDescription;
 import org.hibernate.cache.spi.CollectionRegion;
 import org.hibernate.cache.spi.EntityRegion;
 import org.hibernate.cache.spi.NaturalIdRegion;
+import org.hibernate.cache.spi.NotifyingTimestampsRegion;
 import org.hibernate.cache.spi.QueryResultsRegion;
 import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsInvalidationListener;
 import org.hibernate.cache.spi.TimestampsRegion;
 import org.hibernate.cache.spi.access.AccessType;
 import org.hibernate.cfg.Settings;
@@ -121,9 +125,37 @@ public class CachingRegionFactory implements RegionFactory {
 		}
 	}
 
-	private static class TimestampsRegionImpl extends BaseGeneralDataRegion implements TimestampsRegion {
+	private static class TimestampsRegionImpl extends BaseGeneralDataRegion implements NotifyingTimestampsRegion {
+		private final List<TimestampsInvalidationListener> listeners = new CopyOnWriteArrayList<TimestampsInvalidationListener>();
+
 		TimestampsRegionImpl(String name) {
 			super( name );
 		}
+
+		@Override
+		public void evict(Object key) throws CacheException {
+			super.evict( key );
+			for ( TimestampsInvalidationListener listener : listeners ) {
+				listener.spaceInvalidated( key );
+			}
+		}
+
+		@Override
+		public void evictAll() throws CacheException {
+			super.evictAll();
+			for ( TimestampsInvalidationListener listener : listeners ) {
+				listener.regionInvalidated();
+			}
+		}
+
+		@Override
+		public void addInvalidationListener(TimestampsInvalidationListener listener) {
+			listeners.add( listener );
+		}
+
+		@Override
+		public void removeInvalidationListener(TimestampsInvalidationListener listener) {
+			listeners.remove( listener );
+		}
 	}
 }